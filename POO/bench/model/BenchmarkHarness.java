@@ -0,0 +1,85 @@
+/* ===========================================================
+ * BenchmarkHarness ; micro-benchmarks do Model sem dependências externas.
+ * Aquece, mede em rodadas e reporta ns/op e bytes alocados por op
+ * (alocação medida por thread via com.sun.management.ThreadMXBean).
+ * =========================================================== */
+
+package model;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+final class BenchmarkHarness {
+
+    /* Corpo do benchmark: executa 'ops' operações. */
+    @FunctionalInterface
+    interface Body {
+        void run(int ops);
+    }
+
+    /* Resultado de um benchmark (mediana das rodadas medidas). */
+    record Result(String name, long opsPerRound, double nsPerOp, double minNsPerOp, double bytesPerOp) {
+        String format() {
+            return String.format(java.util.Locale.ROOT, "%-48s %12.1f %12.1f %12.1f",
+                                 name, nsPerOp, minNsPerOp, bytesPerOp);
+        }
+    }
+
+    static final String HEADER = String.format(java.util.Locale.ROOT, "%-48s %12s %12s %12s",
+                                               "benchmark", "ns/op", "min ns/op", "bytes/op");
+
+    // Consumidor de resultados (evita eliminação de código morto pelo JIT)
+    private static int sink;
+
+    private final int warmupRounds;
+    private final int measuredRounds;
+
+    BenchmarkHarness(final int warmupRounds, final int measuredRounds) {
+        if (warmupRounds < 0 || measuredRounds <= 0) throw new IllegalArgumentException("Rodadas inválidas.");
+        this.warmupRounds = warmupRounds;
+        this.measuredRounds = measuredRounds;
+    }
+
+    Result measure(final String name, final int opsPerRound, final Body body) {
+        for (int r = 0; r < warmupRounds; r++) {
+            body.run(opsPerRound);
+        }
+
+        final double[] ns = new double[measuredRounds];
+        final double[] bytes = new double[measuredRounds];
+        for (int r = 0; r < measuredRounds; r++) {
+            final long b0 = allocatedBytes();
+            final long t0 = System.nanoTime();
+            body.run(opsPerRound);
+            final long t1 = System.nanoTime();
+            final long b1 = allocatedBytes();
+            ns[r] = (double) (t1 - t0) / opsPerRound;
+            bytes[r] = (double) (b1 - b0) / opsPerRound;
+        }
+
+        Arrays.sort(ns);
+        Arrays.sort(bytes);
+        return new Result(name, opsPerRound, ns[measuredRounds / 2], ns[0], bytes[measuredRounds / 2]);
+    }
+
+    /* Consome um valor produzido pelo benchmark. */
+    static void consume(final int value) {
+        sink ^= value;
+    }
+
+    static void consume(final Object value) {
+        sink ^= (value == null ? 0 : 1);
+    }
+
+    /* Valor acumulado (impresso no fim para manter os resultados vivos). */
+    static int sink() { return sink; }
+
+    /* Bytes alocados pela thread atual (HotSpot); 0 se indisponível. */
+    static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (mx instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) mx).getCurrentThreadAllocatedBytes();
+        }
+        return 0L;
+    }
+}
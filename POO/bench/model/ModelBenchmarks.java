@@ -0,0 +1,374 @@
+/* ===========================================================
+ * ModelBenchmarks ; benchmarks dos caminhos quentes do Model.
+ * Uso (a partir de POO/):
+ *   java model.ModelBenchmarks                       -> imprime os resultados
+ *   java model.ModelBenchmarks -o bench/results/x.txt -> grava os resultados
+ *   java model.ModelBenchmarks -c bench/results/baseline.txt -> compara com a linha de base
+ * =========================================================== */
+
+package model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import model.api.dto.PlayerColor;
+import model.sim.SimulationColumn;
+import model.sim.SimulationResultReader;
+import model.sim.SimulationResultWriter;
+
+public final class ModelBenchmarks {
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private static final int INITIAL_PLAYER_MONEY = 4000;
+    private static final int INITIAL_BANK_CASH = 200_000;
+    private static final int PLAYERS = 4;
+    private static final int OWNED_PROPERTIES = 6;
+    private static final int RESET_EVERY_TURNS = 1024;
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 7;
+
+    private ModelBenchmarks() { }
+
+    public static void main(final String[] args) throws IOException {
+        Path output = null;
+        Path compare = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-o": output = Paths.get(args[++i]); break;
+                case "-c": compare = Paths.get(args[++i]); break;
+                default: throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+
+        final List<BenchmarkHarness.Result> results = runAll(new BenchmarkHarness(WARMUP_ROUNDS, MEASURED_ROUNDS));
+
+        final List<String> lines = new ArrayList<>();
+        lines.add("# java " + System.getProperty("java.version") + " | " + System.getProperty("os.name")
+                  + " " + System.getProperty("os.arch") + " | cpus " + Runtime.getRuntime().availableProcessors()
+                  + " | " + LocalDate.now());
+        lines.add("# warmup " + WARMUP_ROUNDS + " rodadas, " + MEASURED_ROUNDS + " medidas (mediana)");
+        lines.add(BenchmarkHarness.HEADER);
+        for (BenchmarkHarness.Result r : results) lines.add(r.format());
+
+        lines.forEach(System.out::println);
+        System.out.println("(sink " + BenchmarkHarness.sink() + ")");
+
+        if (output != null) {
+            Files.write(output, lines, StandardCharsets.UTF_8);
+            System.out.println("Resultados gravados em " + output);
+        }
+        if (compare != null) {
+            compareWith(compare, results);
+        }
+    }
+
+    static List<BenchmarkHarness.Result> runAll(final BenchmarkHarness h) {
+        final List<BenchmarkHarness.Result> out = new ArrayList<>();
+        out.add(benchRollAndResolve(h));
+        out.add(benchLiquidation(h));
+        out.add(benchBankTransfer(h));
+        out.add(benchBankTransferPoll(h));
+        out.add(benchPropertyData(h));
+        out.add(benchBoardFromCsv(h));
+        out.add(benchDeckFromCsv(h));
+        out.add(benchStressDeckCsv(h));
+        out.add(benchDefinitionLookup(h));
+        out.add(benchCompiledBoard(h));
+        out.add(benchSaveGame(h));
+        out.add(benchResultColumnScan(h));
+        return out;
+    }
+
+    // ===== Benchmarks =====
+
+    /* Um turno completo sem decisões: rolar, mover, resolver casa, drenar log, encerrar. */
+    private static BenchmarkHarness.Result benchRollAndResolve(final BenchmarkHarness h) {
+        final GameEngine engine = newEngine(42L);
+        // Partidas longas esgotariam o caixa do banco: volta ao início periodicamente
+        final EngineSnapshot start = engine.newSnapshot();
+        final int[] turn = { 0 };
+        return h.measure("GameEngine.rollAndResolve (+endTurn)", 200_000, ops -> {
+            for (int i = 0; i < ops; i++) {
+                if (++turn[0] % RESET_EVERY_TURNS == 0) engine.restoreFrom(start);
+                engine.rollAndResolve();
+                BenchmarkHarness.consume(engine.collectTransactions());
+                BenchmarkHarness.consume(engine.endTurn());
+            }
+        });
+    }
+
+    /* Jogador sem saldo precisa vender parte dos seus imóveis para cobrir a dívida. */
+    private static BenchmarkHarness.Result benchLiquidation(final BenchmarkHarness h) {
+        final BoardDefinition def = BoardFactory.definition(BOARD_CSV);
+        final Board board = def.newBoard();
+        final EconomyService economy = new EconomyService(new Bank(INITIAL_BANK_CASH));
+        final Player player = new Player("P1", "Player 1", PlayerColor.RED, 0);
+        final OwnableSquare[] owned = firstOwnables(def, board, OWNED_PROPERTIES);
+        final int required = totalInvestment(owned) / 2;
+
+        return h.measure("EconomyService.liquidateOrBankruptIfNeeded", 200_000, ops -> {
+            for (int i = 0; i < ops; i++) {
+                player.restoreState(0, 0, false, 0, true);
+                for (OwnableSquare sq : owned) {
+                    sq.setOwner(player);
+                    player.restoreProperty(sq);
+                }
+                economy.restoreBankCash(INITIAL_BANK_CASH);
+                BenchmarkHarness.consume(economy.liquidateOrBankruptIfNeeded(player, required) ? 1 : 0);
+                BenchmarkHarness.consume(economy.drainTransactionLog());
+            }
+        });
+    }
+
+    /* Quatro transferências (jogador/jogador e com o banco) seguidas da drenagem do log. */
+    private static BenchmarkHarness.Result benchBankTransfer(final BenchmarkHarness h) {
+        final Bank bank = new Bank(INITIAL_BANK_CASH);
+        final Player a = new Player("P1", "Player 1", PlayerColor.RED, INITIAL_PLAYER_MONEY);
+        final Player b = new Player("P2", "Player 2", PlayerColor.BLUE, INITIAL_PLAYER_MONEY);
+        return h.measure("Bank.transfer x4 + drainTransactions", 500_000, ops -> {
+            for (int i = 0; i < ops; i++) {
+                bank.transfer(a, b, 10);
+                bank.transfer(b, a, 10);
+                bank.transfer(null, a, 5);
+                bank.transfer(a, null, 5);
+                BenchmarkHarness.consume(bank.drainTransactions());
+            }
+        });
+    }
+
+    /* As mesmas transferências lidas por um cursor próprio, sem DTOs (caminho sem alocação). */
+    private static BenchmarkHarness.Result benchBankTransferPoll(final BenchmarkHarness h) {
+        final Bank bank = new Bank(INITIAL_BANK_CASH);
+        final Player a = new Player("P1", "Player 1", PlayerColor.RED, INITIAL_PLAYER_MONEY);
+        final Player b = new Player("P2", "Player 2", PlayerColor.BLUE, INITIAL_PLAYER_MONEY);
+        final TransactionJournal.Cursor cursor = bank.journal().newCursor();
+        final TransactionJournal.Visitor visitor = (seq, from, to, amount, fromBalance, toBalance) ->
+                BenchmarkHarness.consume(amount + toBalance);
+        return h.measure("Bank.transfer x4 + Cursor.poll", 500_000, ops -> {
+            for (int i = 0; i < ops; i++) {
+                bank.transfer(a, b, 10);
+                bank.transfer(b, a, 10);
+                bank.transfer(null, a, 5);
+                bank.transfer(a, null, 5);
+                BenchmarkHarness.consume(cursor.poll(visitor));
+            }
+        });
+    }
+
+    /* DTOs das propriedades do jogador da vez (painel de propriedades da View). */
+    private static BenchmarkHarness.Result benchPropertyData(final BenchmarkHarness h) {
+        final BoardDefinition def = BoardFactory.definition(BOARD_CSV);
+        final Board board = def.newBoard();
+        final List<Player> players = newPlayers();
+        final GameEngine engine = new GameEngine(board, players,
+                DeckFactory.definition(DECK_CSV).newDeck(new SplittableRandom(1L)),
+                new EconomyService(new Bank(INITIAL_BANK_CASH)), 0, new SplittableRandom(2L));
+        for (OwnableSquare sq : firstOwnables(def, board, OWNED_PROPERTIES)) {
+            sq.setOwner(players.get(0));
+            players.get(0).addProperty(sq);
+        }
+        return h.measure("GameEngine.getCurrentPlayerPropertyData", 500_000, ops -> {
+            for (int i = 0; i < ops; i++) {
+                BenchmarkHarness.consume(engine.getCurrentPlayerPropertyData().size());
+            }
+        });
+    }
+
+    private static BenchmarkHarness.Result benchBoardFromCsv(final BenchmarkHarness h) {
+        return h.measure("BoardFactory.fromCSV", 2_000, ops -> {
+            for (int i = 0; i < ops; i++) {
+                BenchmarkHarness.consume(BoardFactory.fromCSV(BOARD_CSV).size());
+            }
+        });
+    }
+
+    private static BenchmarkHarness.Result benchDeckFromCsv(final BenchmarkHarness h) {
+        final SplittableRandom rng = new SplittableRandom(3L);
+        return h.measure("DeckFactory.fromCSV", 2_000, ops -> {
+            for (int i = 0; i < ops; i++) {
+                BenchmarkHarness.consume(DeckFactory.fromCSV(DECK_CSV, rng).size());
+            }
+        });
+    }
+
+    /* Baralho sintético grande (arquivo mapeado): custo por linha do parser de bytes. */
+    private static BenchmarkHarness.Result benchStressDeckCsv(final BenchmarkHarness h) {
+        final int rows = 200_000;
+        final Card.CardType[] types = Card.CardType.values();
+        final Path file;
+        try {
+            file = Files.createTempFile("bench-deck", ".csv");
+            try (java.io.BufferedWriter w = Files.newBufferedWriter(file)) {
+                w.write("index,type,value\n");
+                for (int i = 0; i < rows; i++) {
+                    w.write(i + "," + types[i % types.length] + "," + (i % 1000) + "\n");
+                }
+            }
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+        file.toFile().deleteOnExit();
+        return h.measure("DeckFactory.parseDefinition (stress, por linha)", rows, ops -> {
+            for (int i = 0; i < ops; i += rows) {
+                BenchmarkHarness.consume(DeckFactory.parseDefinition(file).size());
+            }
+        });
+    }
+
+    /* Caminho de GameAPI.startGame para um tabuleiro/baralho já conhecidos (cache em processo). */
+    private static BenchmarkHarness.Result benchDefinitionLookup(final BenchmarkHarness h) {
+        return h.measure("DefinitionCache board+deck (hit)", 200_000, ops -> {
+            for (int i = 0; i < ops; i++) {
+                BenchmarkHarness.consume(BoardFactory.definition(BOARD_CSV).size()
+                                         + DeckFactory.definition(DECK_CSV).size());
+            }
+        });
+    }
+
+    /* Decodificação da forma compilada do tabuleiro (primeira partida de um processo novo). */
+    private static BenchmarkHarness.Result benchCompiledBoard(final BenchmarkHarness h) {
+        final BoardDefinition def = BoardFactory.definition(BOARD_CSV);
+        final java.nio.ByteBuffer buf = java.nio.ByteBuffer.allocate(def.maxEncodedBytes());
+        def.writeTo(buf);
+        buf.flip();
+        return h.measure("BoardDefinition.readFrom (compiled)", 20_000, ops -> {
+            for (int i = 0; i < ops; i++) {
+                BenchmarkHarness.consume(BoardDefinition.readFrom(buf.duplicate()).size());
+            }
+        });
+    }
+
+    /* Checkpoint de uma partida em andamento (arquivo substituído a cada save). */
+    private static BenchmarkHarness.Result benchSaveGame(final BenchmarkHarness h) {
+        final PlayerColor[] colors = PlayerColor.values();
+        final List<GameAPI.PlayerSpec> specs = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            specs.add(new GameAPI.PlayerSpec("P" + (i + 1), "Player " + (i + 1), colors[i]));
+        }
+        final GameAPI api = new GameAPI();
+        api.startGame(new GameAPI.PlayersConfig(specs), BOARD_CSV, DECK_CSV,
+                      INITIAL_PLAYER_MONEY, INITIAL_BANK_CASH, 42L);
+        for (int t = 0; t < 60; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy()) api.chooseBuildHouse();
+            api.endTurn();
+        }
+        final Path file;
+        try {
+            file = Files.createTempFile("bench", ".sav");
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+        file.toFile().deleteOnExit();
+        return h.measure("GameAPI.saveGame", 5_000, ops -> {
+            for (int i = 0; i < ops; i++) api.saveGame(file);
+        });
+    }
+
+    /* Varredura de uma coluna (TURNS) de um arquivo de resultados com 1M partidas. */
+    private static BenchmarkHarness.Result benchResultColumnScan(final BenchmarkHarness h) {
+        final int games = 1_000_000;
+        final Path file;
+        final SimulationResultReader reader;
+        try {
+            file = Files.createTempFile("bench-results", ".msim");
+            file.toFile().deleteOnExit();
+            final SplittableRandom rng = new SplittableRandom(5L);
+            try (SimulationResultWriter w = SimulationResultWriter.create(file, PLAYERS, false)) {
+                for (int g = 0; g < games; g++) {
+                    final int winner = rng.nextInt(-1, PLAYERS);
+                    w.append(g, rng.nextLong(), winner, 40 + rng.nextInt(400), winner < 0 ? 0 : PLAYERS - 1, null);
+                }
+            }
+            reader = SimulationResultReader.open(file);
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+        final long[] sum = { 0 };
+        return h.measure("SimulationResultReader.scan(TURNS) (por partida)", games, ops -> {
+            try {
+                for (int i = 0; i < ops; i += games) reader.scan(SimulationColumn.TURNS, t -> sum[0] += t);
+            } catch (IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+            BenchmarkHarness.consume(sum[0]);
+        });
+    }
+
+    // ===== Auxiliares =====
+
+    private static GameEngine newEngine(final long seed) {
+        final SplittableRandom master = new SplittableRandom(seed);
+        final Deck deck = DeckFactory.definition(DECK_CSV).newDeck(master.split());
+        return new GameEngine(BoardFactory.definition(BOARD_CSV).newBoard(), newPlayers(), deck,
+                              new EconomyService(new Bank(INITIAL_BANK_CASH)), 0, master.split());
+    }
+
+    private static List<Player> newPlayers() {
+        final PlayerColor[] colors = PlayerColor.values();
+        final List<Player> players = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new Player("P" + (i + 1), "Player " + (i + 1), colors[i], INITIAL_PLAYER_MONEY));
+        }
+        return players;
+    }
+
+    private static OwnableSquare[] firstOwnables(final BoardDefinition def, final Board board, final int n) {
+        final OwnableSquare[] out = new OwnableSquare[n];
+        int k = 0;
+        for (int i = 0; i < def.size() && k < n; i++) {
+            if (def.isOwnable(i)) out[k++] = (OwnableSquare) board.squareAt(i);
+        }
+        if (k < n) throw new IllegalStateException("Tabuleiro com poucas propriedades.");
+        return out;
+    }
+
+    private static int totalInvestment(final OwnableSquare[] squares) {
+        int total = 0;
+        for (OwnableSquare sq : squares) total += sq.getPrice();
+        return total;
+    }
+
+    /* Imprime a variação de cada benchmark em relação a um arquivo de resultados anterior. */
+    private static void compareWith(final Path baselineFile, final List<BenchmarkHarness.Result> results)
+            throws IOException {
+        final Map<String, double[]> baseline = new HashMap<>();
+        for (String line : Files.readAllLines(baselineFile, StandardCharsets.UTF_8)) {
+            if (line.startsWith("#") || line.startsWith("benchmark") || line.isBlank()) continue;
+            // Nome (pode conter espaços) seguido de três colunas numéricas
+            final String[] cols = line.trim().split("\\s+");
+            final int n = cols.length;
+            if (n < 4) continue;
+            final String name = String.join(" ", java.util.Arrays.copyOf(cols, n - 3));
+            baseline.put(name, new double[] {
+                Double.parseDouble(cols[n - 3]), Double.parseDouble(cols[n - 1])
+            });
+        }
+
+        System.out.println();
+        System.out.println("Comparação com " + baselineFile + ":");
+        for (BenchmarkHarness.Result r : results) {
+            final double[] base = baseline.get(r.name());
+            if (base == null) {
+                System.out.println(String.format(Locale.ROOT, "%-48s (sem linha de base)", r.name()));
+                continue;
+            }
+            System.out.println(String.format(Locale.ROOT, "%-48s tempo %+7.1f%%   alocação %10.1f -> %10.1f bytes/op",
+                                             r.name(), 100.0 * (r.nsPerOp() - base[0]) / base[0],
+                                             base[1], r.bytesPerOp()));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/* ===========================================================
+ * SnapshotBenchmark ; mede o custo de capturar/restaurar o estado da partida.
+ * Uso: java model.SnapshotBenchmark [iterações] [object|compact]
+ * Reporta ns/op e bytes alocados por operação (ver BenchmarkHarness).
+ * "restoreSnapshot" volta sempre ao mesmo estado; "alternando" desfaz de fato
+ * alguns turnos a cada restauração (dinheiro, posições, donos e construções
+ * diferentes), como uma busca que explora um lance e volta.
+ * =========================================================== */
+
+package model;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.api.dto.PlayerColor;
+
+public final class SnapshotBenchmark {
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    // Turnos entre os dois estados do benchmark alternado
+    private static final int DIVERGING_TURNS = 8;
+
+    private SnapshotBenchmark() { }
+
+    public static void main(final String[] args) {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        final GameAPI.EngineKind kind = args.length > 1
+            ? GameAPI.EngineKind.valueOf(args[1].toUpperCase())
+            : GameAPI.EngineKind.OBJECT;
+
+        final GameAPI api = newGame(kind);
+        // Estado de meio de jogo: algumas propriedades compradas e cartas já sacadas
+        for (int t = 0; t < 60; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy()) api.chooseBuildHouse();
+            api.endTurn();
+        }
+
+        final EngineSnapshot snapshot = api.createSnapshot();
+        for (int t = 0; t < DIVERGING_TURNS; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy()) api.chooseBuildHouse();
+            api.endTurn();
+        }
+        final EngineSnapshot later = api.createSnapshot();
+        System.out.println("Motor: " + kind + " | iterações: " + iterations);
+        System.out.println(BenchmarkHarness.HEADER);
+
+        final BenchmarkHarness h = new BenchmarkHarness(WARMUP_ROUNDS, MEASURED_ROUNDS);
+        System.out.println(h.measure("GameAPI.restoreSnapshot", iterations, ops -> {
+            for (int i = 0; i < ops; i++) api.restoreSnapshot(snapshot);
+        }).format());
+        System.out.println(h.measure("GameAPI.restoreSnapshot (alternando)", iterations, ops -> {
+            for (int i = 0; i < ops; i++) api.restoreSnapshot((i & 1) == 0 ? later : snapshot);
+        }).format());
+        System.out.println(h.measure("GameAPI.snapshotInto", iterations, ops -> {
+            for (int i = 0; i < ops; i++) api.snapshotInto(snapshot);
+        }).format());
+    }
+
+    private static GameAPI newGame(final GameAPI.EngineKind kind) {
+        final PlayerColor[] colors = PlayerColor.values();
+        final List<GameAPI.PlayerSpec> specs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            specs.add(new GameAPI.PlayerSpec("P" + (i + 1), "Player " + (i + 1), colors[i]));
+        }
+        final GameAPI api = new GameAPI();
+        api.startGame(new GameAPI.PlayersConfig(specs), BOARD_CSV, DECK_CSV, 4000, 200_000, 42L, kind);
+        return api;
+    }
+}
@@ -6,13 +6,16 @@
 
 package controller;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import model.DefinitionReloader;
 import model.GameAPI;
 import model.GameAPI.PlayerSpec;
 import model.GameAPI.PlayersConfig;
+import model.SessionLog;
 import model.api.dto.OwnableInfo;
 import model.api.dto.Ownables;
 import model.api.dto.PlayerColor;
@@ -25,6 +28,10 @@ public class GameController {
     private final GameAPI gameAPI;
     private final List<GameObserver> observers;
     private boolean gameStarted;
+
+    // Log de sessões (opcional): as ações da partida passam por ele
+    private final SessionLog sessionLog;
+    private SessionLog.Session session;
     
     // Mock de dados para testes
     private Integer mockedDice1;
@@ -38,11 +45,46 @@ public class GameController {
     
     // Cores padrão para os jogadores (definidas pelo enum PlayerColor)
     private static final PlayerColor[] PLAYER_COLORS = PlayerColor.values();
+
+    // Recarga a quente dos CSVs (uma por processo)
+    private static DefinitionReloader definitionReloader;
     
     public GameController() {
-        this.gameAPI = new GameAPI();
+        this(new GameAPI(), null, null);
+    }
+
+    /**
+     * Controller cujas ações são gravadas no log de sessões compartilhado:
+     * cada partida iniciada aqui vira uma sessão recuperável após um reinício.
+     */
+    public GameController(SessionLog sessionLog) {
+        this(new GameAPI(), sessionLog, null);
+    }
+
+    /**
+     * Retoma uma sessão recuperada do log (SessionLog.recoveredSessions()).
+     */
+    public GameController(SessionLog.Session session) {
+        this(session.api(), null, session);
+        this.gameStarted = true;
+    }
+
+    private GameController(GameAPI gameAPI, SessionLog sessionLog, SessionLog.Session session) {
+        this.gameAPI = gameAPI;
         this.observers = new ArrayList<>();
         this.gameStarted = false;
+        this.sessionLog = sessionLog;
+        this.session = session;
+    }
+    
+    /**
+     * Passa a recarregar board.csv e deck.csv quando editados: novas partidas
+     * usam os valores novos, a partida em andamento mantém os seus.
+     */
+    public static synchronized void enableDefinitionHotReload() throws IOException {
+        if (definitionReloader == null) {
+            definitionReloader = DefinitionReloader.watch(Paths.get(BOARD_CSV), Paths.get(DECK_CSV));
+        }
     }
     
     /**
@@ -285,6 +327,7 @@ public class GameController {
             
             // Inicia o jogo através da API
             gameAPI.startGame(config, boardPath, deckPath, INITIAL_PLAYER_MONEY, INITIAL_BANK_CASH);
+            if (sessionLog != null) session = sessionLog.startSession(gameAPI);
             gameStarted = true;
             
             // Atualiza as posições iniciais de todos os jogadores
@@ -338,7 +381,7 @@ public class GameController {
             }
             
             // Executa a jogada através da API (move o jogador de verdade)
-            gameAPI.rollAndResolve();
+            if (session != null) session.rollAndResolve(); else gameAPI.rollAndResolve();
             
             // Obtém os valores dos dados reais que foram lançados via GameAPI
             GameAPI.DiceData lastRoll = gameAPI.getLastDiceData();
@@ -390,7 +433,7 @@ public class GameController {
         
         try {
             // Finaliza o turno e obtém o próximo jogador
-            gameAPI.endTurn();
+            if (session != null) session.endTurn(); else gameAPI.endTurn();
             notifyTurnEnded();
             // Limpa transações visuais ao fim do turno
             notifyClearTransactions();
@@ -431,6 +474,14 @@ public class GameController {
         return gameAPI.getWinners();
     }
 
+    /**
+     * Encerra a partida (vencedores exibidos ou janela descartada). Com log de
+     * sessões, a sessão é fechada e não volta numa recuperação. Idempotente.
+     */
+    public void endGame() {
+        if (session != null) session.close();
+    }
+
     /**
      * Garante que o jogo foi iniciado; lança IllegalStateException caso contrário.
      */
@@ -447,6 +498,34 @@ public class GameController {
         return gameAPI.getPlayerMoney(playerIndex);
     }
 
+    // ========== Classificação por patrimônio (acesso de conveniência para a view) ==========
+
+    public int getNumberOfPlayers() {
+        return gameStarted ? gameAPI.getNumberOfPlayers() : 0;
+    }
+
+    /** Índice do jogador na posição 'rank' da classificação (0 = líder). */
+    public int getPlayerAtStanding(int rank) {
+        return gameAPI.getPlayerAtStanding(rank);
+    }
+
+    /** Patrimônio (saldo + recompra dos títulos) de um jogador. */
+    public int getPlayerNetWorth(int playerIndex) {
+        return gameAPI.getPlayerNetWorth(playerIndex);
+    }
+
+    public String getPlayerName(int playerIndex) {
+        return gameAPI.getPlayerName(playerIndex);
+    }
+
+    public PlayerColor getPlayerColor(int playerIndex) {
+        return gameAPI.getPlayerColor(playerIndex);
+    }
+
+    public boolean isPlayerAlive(int playerIndex) {
+        return gameAPI.isPlayerAlive(playerIndex);
+    }
+
     /**
      * Tenta comprar a propriedade onde o jogador atual está.
      * Se não for possível, envia uma mensagem de debug explicando o motivo.
@@ -457,7 +536,7 @@ public class GameController {
         try {
             final int currentPlayer = gameAPI.getCurrentPlayerIndex();
 
-            if (!gameAPI.chooseBuy()) {
+            if (!(session != null ? session.chooseBuy() : gameAPI.chooseBuy())) {
                 String reason = gameAPI.getBuyNotAllowedReason();
                 if (reason == null) reason = "Unknown reason";
                 notifyGameMessage("Buy blocked: " + reason);
@@ -500,7 +579,7 @@ public class GameController {
         try {
             final int currentPlayer = gameAPI.getCurrentPlayerIndex();
 
-            if (!gameAPI.chooseBuildHouse()) {
+            if (!(session != null ? session.chooseBuildHouse() : gameAPI.chooseBuildHouse())) {
                 String reason = gameAPI.getBuildHouseNotAllowedReason();
                 if (reason == null) reason = "Unknown reason";
                 notifyGameMessage("Build House blocked: " + reason);
@@ -532,7 +611,7 @@ public class GameController {
         try {
             final int currentPlayer = gameAPI.getCurrentPlayerIndex();
 
-            if (!gameAPI.chooseBuildHotel()) {
+            if (!(session != null ? session.chooseBuildHotel() : gameAPI.chooseBuildHotel())) {
                 String reason = gameAPI.getBuildHotelNotAllowedReason();
                 if (reason == null) reason = "Unknown reason";
                 notifyGameMessage("Build Hotel blocked: " + reason);
@@ -561,7 +640,7 @@ public class GameController {
             final int currentPlayer = gameAPI.getCurrentPlayerIndex();
             final String name = gameAPI.getSquareName(boardIndex);
 
-            gameAPI.sellAtIndex(boardIndex);
+            if (session != null) session.sellAtIndex(boardIndex); else gameAPI.sellAtIndex(boardIndex);
 
             notifyGameMessage(gameAPI.getPlayerName(currentPlayer) + " sold " + name);
             notifyPropertySold(currentPlayer);
@@ -0,0 +1,175 @@
+/* ===========================================================
+ * ReplayController ; controlador de reprodução de partidas gravadas.
+ * Lê um log de turnos (ReplayReader) e empurra os eventos para qualquer
+ * GameObserver, na velocidade escolhida, sem executar o motor do jogo e sem
+ * tocar em partidas em andamento.
+ * Os eventos são entregues na Event Dispatch Thread (javax.swing.Timer).
+ * =========================================================== */
+
+package controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.swing.Timer;
+
+import model.ReplayReader;
+
+/**
+ * Reprodução de uma partida gravada: play/pause, velocidade, passo a passo,
+ * busca de turno e salto de turnos.
+ */
+public class ReplayController {
+
+    /** Velocidade de reprodução. STEP = parado, avançando só por step()/stepTurn(). */
+    public enum Speed {
+        X1(400), X10(40), MAX(0), STEP(-1);
+
+        private final int eventDelayMillis;
+
+        Speed(int eventDelayMillis) {
+            this.eventDelayMillis = eventDelayMillis;
+        }
+
+        public int eventDelayMillis() { return eventDelayMillis; }
+    }
+
+    // Em MAX, quantos eventos por tick do timer (mantém a UI responsiva)
+    private static final int MAX_EVENTS_PER_TICK = 2000;
+
+    private final ReplayReader reader;
+    private final ReplayNotifier notifier;
+    private final Timer timer;
+    private Speed speed = Speed.STEP;
+
+    public ReplayController(Path file) throws IOException {
+        this(ReplayReader.open(file));
+    }
+
+    public ReplayController(ReplayReader reader) {
+        this.reader = reader;
+        this.notifier = new ReplayNotifier(reader);
+        this.timer = new Timer(0, e -> onTick());
+        this.timer.setRepeats(true);
+    }
+
+    public void addObserver(GameObserver observer) {
+        notifier.addObserver(observer);
+    }
+
+    public void removeObserver(GameObserver observer) {
+        notifier.removeObserver(observer);
+    }
+
+    /** Envia o estado inicial (turno atual do leitor) para os observadores. */
+    public void start() {
+        notifier.notifyFullState();
+    }
+
+    // ==== Velocidade ====
+
+    /** Define a velocidade; STEP pausa. As demais continuam ou iniciam a reprodução. */
+    public void setSpeed(Speed speed) {
+        if (speed == null) throw new IllegalArgumentException("speed");
+        this.speed = speed;
+        if (speed == Speed.STEP) {
+            timer.stop();
+            return;
+        }
+        timer.setDelay(speed.eventDelayMillis());
+        timer.setInitialDelay(speed.eventDelayMillis());
+        if (!timer.isRunning() && reader.hasNext()) timer.start();
+    }
+
+    public Speed getSpeed() {
+        return speed;
+    }
+
+    public boolean isPlaying() {
+        return timer.isRunning();
+    }
+
+    /** Pausa (equivale a setSpeed(STEP)). */
+    public void pause() {
+        setSpeed(Speed.STEP);
+    }
+
+    // ==== Passo a passo ====
+
+    /**
+     * Avança até o próximo evento visível (dados, movimento, carta, compra, construção,
+     * venda ou fim de turno); deltas de saldo/dono/status vêm junto.
+     * @return false se o log acabou
+     */
+    public boolean step() {
+        while (reader.next()) {
+            notifier.notifyCurrentEvent();
+            if (isPaced(reader.eventType())) return true;
+        }
+        return false;
+    }
+
+    /** Avança até o fim do turno atual. */
+    public boolean stepTurn() {
+        while (reader.next()) {
+            notifier.notifyCurrentEvent();
+            if (reader.eventType() == ReplayReader.END_TURN) return true;
+        }
+        return false;
+    }
+
+    // ==== Busca ====
+
+    /** Vai para o início do turno dado e redesenha o estado completo. */
+    public void seek(int turn) {
+        reader.seek(turn);
+        notifier.notifyFullState();
+    }
+
+    /** Pula n turnos para frente (ou para trás, se negativo). */
+    public void skip(int turns) {
+        reader.skip(turns);
+        notifier.notifyFullState();
+    }
+
+    public int getTurn() {
+        return reader.turn();
+    }
+
+    public int getTurnCount() {
+        return reader.turnCount();
+    }
+
+    public int getPlayerCount() {
+        return reader.playerCount();
+    }
+
+    public boolean isFinished() {
+        return !reader.hasNext();
+    }
+
+    // ==== Reprodução automática ====
+
+    private void onTick() {
+        final int steps = speed == Speed.MAX ? MAX_EVENTS_PER_TICK : 1;
+        for (int i = 0; i < steps; i++) {
+            if (!step()) {
+                timer.stop();
+                speed = Speed.STEP;
+                return;
+            }
+        }
+    }
+
+    private static boolean isPaced(int type) {
+        switch (type) {
+            case ReplayReader.MONEY:
+            case ReplayReader.OWNER:
+            case ReplayReader.BUILDINGS:
+            case ReplayReader.STATUS:
+                return false;
+            default:
+                return true;
+        }
+    }
+}
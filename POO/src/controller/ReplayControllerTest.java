@@ -0,0 +1,196 @@
+package controller;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameAPI;
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.ReplayReader;
+import model.api.dto.OwnableInfo;
+import model.api.dto.Ownables;
+import model.api.dto.PlayerColor;
+import model.api.dto.Transaction;
+
+public class ReplayControllerTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int TURNS = 24;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private Path file;
+    private ReplayReader reader;
+    private ReplayController replay;
+    private final Recorder recorder = new Recorder();
+
+    /* Guarda cada notificação como texto ("dice 3 4", "moved 0 -1 5", ...). */
+    private static final class Recorder implements GameObserver {
+        final List<String> calls = new ArrayList<>();
+
+        public void onTurnStarted(int playerIndex, String playerName, PlayerColor color, int money) {
+            calls.add("turnStarted " + playerIndex);
+        }
+        public void onDiceRolled(int dice1, int dice2, boolean isDouble) { calls.add("dice " + dice1 + " " + dice2); }
+        public void onPlayerMoved(int playerIndex, int from, int to) {
+            calls.add("moved " + playerIndex + " " + from + " " + to);
+        }
+        public void onSquareLanded(int playerIndex, int squareIndex, String name, String type) {
+            calls.add("landed " + squareIndex);
+        }
+        public void onChanceSquareLand(int playerIndex, int cardIndex) { calls.add("card " + cardIndex); }
+        public void onStreetOwnableLand(int playerIndex, String name, Ownables.Street info) { calls.add("street"); }
+        public void onCompanyOwnableLand(int playerIndex, String name, Ownables.Company info) { calls.add("company"); }
+        public void onStreetOwnableUpdate(int playerIndex, Ownables.Street info) { calls.add("streetUpdate"); }
+        public void onCompanyOwnableUpdate(int playerIndex, Ownables.Company info) { calls.add("companyUpdate"); }
+        public void onTurnEnded() { calls.add("turnEnded"); }
+        public void onGameMessage(String message) { calls.add("message " + message); }
+        public void onCurrentPlayerPropertyDataUpdated(List<OwnableInfo> items) { calls.add("properties"); }
+        public void onPropertySold(int playerIndex) { calls.add("sold " + playerIndex); }
+        public void onTransactionsUpdated(List<Transaction> transactions) { calls.add("transactions"); }
+        public void onPlayerBankrupt(int playerIndex) { calls.add("bankrupt " + playerIndex); }
+
+        long count(String prefix) {
+            return calls.stream().filter(c -> c.startsWith(prefix)).count();
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("replay-controller", ".mtlg");
+        List<PlayerSpec> specs = new ArrayList<>();
+        specs.add(new PlayerSpec("P1", "Alice", PlayerColor.RED));
+        specs.add(new PlayerSpec("P2", "Bob", PlayerColor.BLUE));
+        specs.add(new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 1500, 200_000, 12L, GameAPI.EngineKind.COMPACT);
+        api.enableTurnLog(8);
+        for (int t = 0; t < TURNS; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy() && !api.chooseBuildHouse()) api.chooseBuildHotel();
+            api.endTurn();
+        }
+        api.saveTurnLog(file);
+
+        reader = ReplayReader.open(file);
+        replay = new ReplayController(reader);
+        replay.addObserver(recorder);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        replay.pause();
+        Files.deleteIfExists(file);
+    }
+
+    /* Eventos que param o step(): dados, movimento, carta, compra/construção/venda e fim de turno. */
+    private static long pacedIn(List<String> calls) {
+        return calls.stream().filter(c -> c.startsWith("dice ") || c.startsWith("card ") || c.equals("turnEnded")
+                                          || c.startsWith("moved ") && !c.contains(" -1 ")
+                                          || c.startsWith("message ") && (c.contains(" bought ")
+                                              || c.contains(" built a ") || c.contains(" sold ")))
+                    .count();
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void stepShouldStopAtEachVisibleEvent() {
+        int steps = 0;
+        while (true) {
+            int before = recorder.calls.size();
+            if (!replay.step()) break;
+            steps++;
+            List<String> added = recorder.calls.subList(before, recorder.calls.size());
+            assertEquals("passo " + steps + ": " + added, 1, pacedIn(added));
+        }
+        // Cada turno tem ao menos o lance e o fim de turno
+        assertTrue(steps >= 2 * TURNS);
+        assertEquals(TURNS, recorder.count("turnEnded"));
+        assertEquals(TURNS, replay.getTurn());
+        assertTrue(replay.isFinished());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void stepTurnShouldAdvanceExactlyOneTurn() {
+        for (int t = 1; t <= TURNS; t++) {
+            int before = recorder.calls.size();
+            assertTrue(replay.stepTurn());
+            List<String> added = recorder.calls.subList(before, recorder.calls.size());
+            assertEquals(t, replay.getTurn());
+            assertEquals(1, added.stream().filter(c -> c.equals("turnEnded")).count());
+            assertEquals("turnEnded", added.get(added.size() - 4)); // + turnStarted, mensagem, propriedades
+            assertTrue(added.stream().anyMatch(c -> c.startsWith("dice ")));
+        }
+        assertFalse(replay.stepTurn());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void seekAndSkipShouldStayInsideTheLog() {
+        replay.seek(5);
+        assertEquals(5, replay.getTurn());
+        assertTrue(recorder.calls.contains("message Replay: turn 5 of " + TURNS));
+        for (int p = 0; p < replay.getPlayerCount(); p++) {
+            final String prefix = "moved " + p + " -1 ";
+            assertTrue(recorder.calls.stream().anyMatch(c -> c.startsWith(prefix)));
+        }
+
+        replay.skip(1000);
+        assertEquals(TURNS, replay.getTurn());
+        assertTrue(replay.isFinished());
+        replay.skip(-3);
+        assertEquals(TURNS - 3, replay.getTurn());
+        replay.skip(-1000);
+        assertEquals(0, replay.getTurn());
+
+        for (int turn : new int[] { -1, TURNS + 1 }) {
+            try {
+                replay.seek(turn);
+                fail("turno " + turn + " fora do log");
+            } catch (IllegalArgumentException expected) {
+                assertEquals(0, replay.getTurn());
+            }
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void endOfLogShouldStopPlayback() throws InterruptedException {
+        replay.seek(TURNS);
+        int before = recorder.calls.size();
+        assertFalse(replay.step());
+        assertFalse(replay.stepTurn());
+        assertEquals(before, recorder.calls.size());
+
+        // No fim, play não chega a ligar o timer
+        replay.setSpeed(ReplayController.Speed.X10);
+        assertFalse(replay.isPlaying());
+
+        // Do meio, a reprodução corre até o fim e volta sozinha a STEP
+        replay.seek(TURNS - 2);
+        replay.setSpeed(ReplayController.Speed.MAX);
+        assertTrue(replay.isPlaying());
+        while (replay.isPlaying()) Thread.sleep(5);
+        assertEquals(ReplayController.Speed.STEP, replay.getSpeed());
+        assertTrue(replay.isFinished());
+        assertEquals(TURNS, replay.getTurn());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void pauseShouldStopTheTimer() {
+        replay.setSpeed(ReplayController.Speed.X1);
+        assertTrue(replay.isPlaying());
+        assertEquals(ReplayController.Speed.X1, replay.getSpeed());
+        replay.pause();
+        assertFalse(replay.isPlaying());
+        assertEquals(ReplayController.Speed.STEP, replay.getSpeed());
+    }
+}
@@ -0,0 +1,149 @@
+/* ===========================================================
+ * ReplayNotifier ; traduz eventos de um ReplayReader em chamadas de GameObserver.
+ * Permite que a mesma View (GameWindow/BoardPanel) exiba uma partida gravada.
+ * Os DTOs só são criados aqui, no momento de notificar.
+ * =========================================================== */
+
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.ReplayReader;
+
+/**
+ * Notifica observadores a partir do evento atual de um {@link ReplayReader}.
+ */
+public class ReplayNotifier {
+
+    private final ReplayReader reader;
+    private final List<GameObserver> observers = new ArrayList<>();
+
+    public ReplayNotifier(ReplayReader reader) {
+        this.reader = reader;
+    }
+
+    public void addObserver(GameObserver observer) {
+        if (observer != null && !observers.contains(observer)) {
+            observers.add(observer);
+        }
+    }
+
+    public void removeObserver(GameObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Redesenha tudo a partir do estado atual do leitor (após abrir ou após seek):
+     * posições, falências, propriedades e o jogador da vez.
+     */
+    public void notifyFullState() {
+        for (int i = 0; i < reader.playerCount(); i++) {
+            final int pos = reader.playerPosition(i);
+            for (GameObserver o : observers) o.onPlayerMoved(i, -1, pos);
+            if (!reader.isPlayerAlive(i)) {
+                for (GameObserver o : observers) o.onPlayerBankrupt(i);
+            }
+        }
+        for (int sq = 0; sq < reader.squareCount(); sq++) {
+            if (reader.ownerOf(sq) >= 0) notifyOwnableUpdate(reader.ownerOf(sq), sq);
+        }
+        notifyGameMessage("Replay: turn " + reader.turn() + " of " + reader.turnCount());
+        notifyTurnStarted();
+    }
+
+    /** Notifica os observadores sobre o evento em que o leitor está. */
+    public void notifyCurrentEvent() {
+        final int p = reader.eventPlayer();
+        final int a = reader.eventA();
+        final int b = reader.eventB();
+        switch (reader.eventType()) {
+            case ReplayReader.ROLL:
+                for (GameObserver o : observers) o.onDiceRolled(a, b, a == b);
+                notifyGameMessage("Dice rolled: " + a + " and " + b + (a == b ? " (DOUBLE!)" : ""));
+                break;
+            case ReplayReader.POSITION:
+                for (GameObserver o : observers) o.onPlayerMoved(p, b, a);
+                notifySquareLanded(p, a);
+                break;
+            case ReplayReader.CARD:
+                for (GameObserver o : observers) o.onChanceSquareLand(p, a);
+                notifyGameMessage("Chance card drawn, index: " + a);
+                break;
+            case ReplayReader.BUY:
+                notifyGameMessage(reader.playerName(p) + " bought " + reader.squareName(a));
+                break;
+            case ReplayReader.BUILD_HOUSE:
+                notifyGameMessage(reader.playerName(p) + " built a house on " + reader.squareName(a));
+                break;
+            case ReplayReader.BUILD_HOTEL:
+                notifyGameMessage(reader.playerName(p) + " built a hotel on " + reader.squareName(a));
+                break;
+            case ReplayReader.SELL:
+                notifyGameMessage(reader.playerName(p) + " sold " + reader.squareName(a));
+                for (GameObserver o : observers) o.onPropertySold(p);
+                break;
+            case ReplayReader.OWNER:
+            case ReplayReader.BUILDINGS:
+                notifyOwnableUpdate(reader.currentPlayerIndex(), a);
+                break;
+            case ReplayReader.MONEY:
+                notifyGameMessage(reader.playerName(p) + " balance: " + reader.eventValue());
+                break;
+            case ReplayReader.STATUS:
+                if (!reader.isPlayerAlive(p)) {
+                    notifyGameMessage("PLAYER BANKRUPTCY: " + reader.playerName(p) + " has gone bankrupt!");
+                    for (GameObserver o : observers) o.onPlayerBankrupt(p);
+                }
+                break;
+            case ReplayReader.END_TURN:
+                for (GameObserver o : observers) o.onTurnEnded();
+                notifyTurnStarted();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void notifyTurnStarted() {
+        final int next = reader.currentPlayerIndex();
+        for (GameObserver o : observers) {
+            o.onTurnStarted(next, reader.playerName(next), reader.playerColor(next), reader.playerMoney(next));
+        }
+        notifyGameMessage("=== Turn of " + reader.playerName(next) + " ===");
+        final var items = reader.propertyData(next);
+        for (GameObserver o : observers) o.onCurrentPlayerPropertyDataUpdated(items);
+    }
+
+    private void notifySquareLanded(int playerIndex, int squareIndex) {
+        final String name = reader.squareName(squareIndex);
+        final String type = reader.squareType(squareIndex);
+        for (GameObserver o : observers) o.onSquareLanded(playerIndex, squareIndex, name, type);
+
+        final var street = reader.streetInfo(squareIndex);
+        if (street != null) {
+            for (GameObserver o : observers) o.onStreetOwnableLand(playerIndex, name, street);
+            return;
+        }
+        final var company = reader.companyInfo(squareIndex);
+        if (company != null) {
+            for (GameObserver o : observers) o.onCompanyOwnableLand(playerIndex, name, company);
+        }
+    }
+
+    private void notifyOwnableUpdate(int playerIndex, int squareIndex) {
+        final var street = reader.streetInfo(squareIndex);
+        if (street != null) {
+            for (GameObserver o : observers) o.onStreetOwnableUpdate(playerIndex, street);
+            return;
+        }
+        final var company = reader.companyInfo(squareIndex);
+        if (company != null) {
+            for (GameObserver o : observers) o.onCompanyOwnableUpdate(playerIndex, company);
+        }
+    }
+
+    private void notifyGameMessage(String message) {
+        for (GameObserver o : observers) o.onGameMessage(message);
+    }
+}
@@ -10,6 +10,28 @@ import org.junit.runners.Suite;
     PlayerTest.class,
     StreetOwnableSquareTest.class,
     EconomyServiceTest.class,
-    GameEngineTest.class
+    GameEngineTest.class,
+    CompactGameEngineTest.class,
+    EngineSnapshotTest.class,
+    AllocationFreeTurnTest.class,
+    TransactionJournalTest.class,
+    GameSaveTest.class,
+    TurnLogTest.class,
+    ReplayReaderTest.class,
+    DefinitionCacheTest.class,
+    CsvParserTest.class,
+    DefinitionReloaderTest.class,
+    model.sim.SimulationResultStoreTest.class,
+    ZobristHashTest.class,
+    model.sim.ReplayVerifierTest.class,
+    model.sim.SimulationRunnerTest.class,
+    SessionLogTest.class,
+    SessionCacheTest.class,
+    OwnershipSetTest.class,
+    LiquidationPlannerTest.class,
+    PropertyValuesTest.class,
+    MultiPartySettlementTest.class,
+    NetWorthBoardTest.class,
+    controller.ReplayControllerTest.class
 })
 public class AllModelTests { }
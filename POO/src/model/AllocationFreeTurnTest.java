@@ -0,0 +1,104 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+
+public class AllocationFreeTurnTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    // Aquecimento + medida por motor, com folga para máquinas lentas/compartilhadas
+    private static final int ALLOCATION_TIMEOUT = 60000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+    private static final int TURNS = 1_000_000;
+    private static final int RESET_EVERY_TURNS = 2048;
+    // Folga para a própria leitura do contador; bem abaixo de 1 byte por turno
+    private static final long ALLOCATION_SLACK_BYTES = 16 * 1024;
+
+    private GameAPI newGame(GameAPI.EngineKind kind) {
+        List<PlayerSpec> specs = new ArrayList<>();
+        PlayerColor[] colors = PlayerColor.values();
+        for (int i = 0; i < 4; i++) specs.add(new PlayerSpec("P" + i, "Player " + i, colors[i]));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 4000, 200_000, 99L, kind);
+        api.setTransactionLogging(false);
+
+        // Meio de jogo: imóveis com dono para que haja aluguel
+        for (int t = 0; t < 120; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy()) api.chooseBuildHouse();
+            api.endTurn();
+        }
+        return api;
+    }
+
+    /* Roda turnos completos (rolar, mover, cair na casa, aluguel/carta, encerrar). */
+    private long playTurns(GameAPI api, EngineSnapshot start, int turns) {
+        long checksum = 0;
+        for (int t = 1; t <= turns; t++) {
+            if (t % RESET_EVERY_TURNS == 0) api.restoreSnapshot(start);
+            api.rollAndResolve();
+            checksum += api.getLastDiceData().d1();
+            checksum += api.getPlayerMoney(api.getCurrentPlayerIndex());
+            checksum += api.getLastDrawedCardIndex();
+            checksum += api.fetchAndClearTransactions().size();
+            api.endTurn();
+        }
+        return checksum;
+    }
+
+    private void assertTurnsDoNotAllocate(GameAPI.EngineKind kind) {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (!(mx instanceof com.sun.management.ThreadMXBean)) return; // JVM sem o contador
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) mx;
+
+        GameAPI api = newGame(kind);
+        EngineSnapshot start = api.createSnapshot();
+        playTurns(api, start, 100_000); // aquecimento (JIT)
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long checksum = playTurns(api, start, TURNS);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(checksum != 0);
+        assertTrue(kind + ": " + allocated + " bytes alocados em " + TURNS + " turnos",
+                   allocated < ALLOCATION_SLACK_BYTES);
+    }
+
+    @Test(timeout = ALLOCATION_TIMEOUT)
+    public void objectEngineTurnsShouldNotAllocate() {
+        assertTurnsDoNotAllocate(GameAPI.EngineKind.OBJECT);
+    }
+
+    @Test(timeout = ALLOCATION_TIMEOUT)
+    public void compactEngineTurnsShouldNotAllocate() {
+        assertTurnsDoNotAllocate(GameAPI.EngineKind.COMPACT);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void transactionsShouldStillBeLoggedByDefault() {
+        List<PlayerSpec> specs = new ArrayList<>();
+        specs.add(new PlayerSpec("P0", "Player 0", PlayerColor.RED));
+        specs.add(new PlayerSpec("P1", "Player 1", PlayerColor.BLUE));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 4000, 200_000, 5L);
+
+        api.setMockedDiceValues(1, 2);
+        api.rollAndResolve();
+        assertTrue(api.chooseBuy()); // casa 3 do tabuleiro padrão é uma rua
+        assertEquals(1, api.fetchAndClearTransactions().size());
+        assertTrue(api.fetchAndClearTransactions().isEmpty());
+    }
+}
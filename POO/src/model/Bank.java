@@ -9,8 +9,15 @@ final class Bank {
 
     // --- Caixa do banco ---
     private int cash;
-    // Registro de transações desde a última drenagem
-    private final java.util.List<model.api.dto.Transaction> transactions = new java.util.ArrayList<>();
+    // Diário de transações (buffer circular; cada consumidor lê com o seu cursor)
+    private final TransactionJournal journal = new TransactionJournal();
+    // Cursor da drenagem legada (UI via drainTransactions)
+    private final TransactionJournal.Cursor drainCursor = journal.newCursor();
+    // Jogadores já registrados no diário (índice = parte no diário)
+    private Player[] parties = new Player[8];
+    private int partyCount;
+    // Desligado: transferências não são registradas no diário (simulação/busca)
+    private boolean recording = true;
 
     Bank(final int initialCash) {
         if (initialCash < 0) throw new IllegalArgumentException("Caixa inicial inválido.");
@@ -35,49 +42,100 @@ final class Bank {
             ensureBankHas(amount);
             to.credit(amount);
             cash -= amount;
-            // registra transação (BANK -> Player)
-            transactions.add(new model.api.dto.Transaction(
-                    "BANK", null,
-                    to.getName(), to.getColor(),
-                    amount,
-                    cash, // caixa do banco após pagamento
-                    to.getMoney() // saldo do jogador após crédito
-            ));
-            return;
+        } else if (to == null) { // Player -> BANK
+            from.debit(amount);
+            cash += amount;
+        } else { // Player -> Player (caixa do banco não muda)
+            from.debit(amount);
+            to.credit(amount);
         }
+        if (recording) record(from, to, amount);
+    }
 
-        if (to == null) { // Player -> BANK
-            from.debit(amount); 
-            cash += amount;
-            // registra transação (Player -> BANK)
-            transactions.add(new model.api.dto.Transaction(
-                    from.getName(), from.getColor(),
-                    "BANK", null,
-                    amount,
-                    from.getMoney(), // saldo do jogador após débito
-                    cash // caixa do banco após recebimento
-            ));
-            return;
+    /*
+     * Registra a transferência já feita: saldos após a operação (o caixa do banco
+     * na ponta BANK). Fora de transfer() para que ele continue pequeno e inlinável.
+     */
+    private void record(final Player from, final Player to, final int amount) {
+        journal.append(from == null ? TransactionJournal.BANK : partyOf(from),
+                       to == null ? TransactionJournal.BANK : partyOf(to),
+                       amount,
+                       from == null ? cash : from.getMoney(),
+                       to == null ? cash : to.getMoney());
+    }
+
+    /* ===========================================================
+     * Acerto de um jogador com todos os outros vivos da lista, numa só
+     * entrada do diário (parte ALL). A EconomyService já garantiu a liquidez
+     * de quem paga; aqui só se move o dinheiro.
+     *  - payToAll:      'payer' paga 'amount' a cada um dos outros
+     *  - collectFromAll: cada um dos outros paga 'amount' a 'receiver'
+     * ===========================================================
+     */
+    void payToAll(final Player payer, final java.util.List<Player> players, final int amount) {
+        if (amount < 0) throw new IllegalArgumentException("Amount deve ser >= 0");
+        final int legs = countOthers(payer, players);
+        if (legs == 0) return;
+        payer.debit(amount * legs);
+        int othersBalance = 0;
+        for (int i = 0; i < players.size(); i++) {
+            final Player p = players.get(i);
+            if (p == payer || !p.isAlive()) continue;
+            p.credit(amount);
+            othersBalance += p.getMoney();
+        }
+        if (recording) journal.append(partyOf(payer), TransactionJournal.ALL,
+                                      amount * legs, payer.getMoney(), othersBalance);
+    }
+
+    void collectFromAll(final Player receiver, final java.util.List<Player> players, final int amount) {
+        if (amount < 0) throw new IllegalArgumentException("Amount deve ser >= 0");
+        int legs = 0;
+        int othersBalance = 0;
+        for (int i = 0; i < players.size(); i++) {
+            final Player p = players.get(i);
+            if (p == receiver || !p.isAlive()) continue;
+            p.debit(amount);
+            othersBalance += p.getMoney();
+            legs++;
         }
+        if (legs == 0) return;
+        receiver.credit(amount * legs);
+        if (recording) journal.append(TransactionJournal.ALL, partyOf(receiver),
+                                      amount * legs, othersBalance, receiver.getMoney());
+    }
 
-        // Player -> Player
-        from.debit(amount);
-        to.credit(amount);
-        // registra transação (Player -> Player)
-        transactions.add(new model.api.dto.Transaction(
-                from.getName(), from.getColor(),
-                to.getName(), to.getColor(),
-                amount,
-                from.getMoney(),
-                to.getMoney()
-        ));
-        // caixa do banco não muda
+    /* Outros jogadores vivos da lista. */
+    static int countOthers(final Player self, final java.util.List<Player> players) {
+        int n = 0;
+        for (int i = 0; i < players.size(); i++) {
+            final Player p = players.get(i);
+            if (p != self && p.isAlive()) n++;
+        }
+        return n;
     }
 
     /* ===========================================================
      * Utilidades
      * ===========================================================
      */
+
+    /** Liga/desliga o registro de transações. */
+    void setRecording(final boolean recording) {
+        this.recording = recording;
+    }
+
+    /** Diário de transações (leitura por cursores). */
+    TransactionJournal journal() { return journal; }
+
+    /** Caixa atual do banco. */
+    int cash() { return cash; }
+
+    /** Restaura o caixa a partir de um snapshot. */
+    void restoreCash(final int cash) {
+        if (cash < 0) throw new IllegalArgumentException("Caixa inválido.");
+        this.cash = cash;
+    }
     
     private void ensureBankHas(final long amount) {
         if (amount > Integer.MAX_VALUE) throw new IllegalArgumentException("Valor excessivo.");
@@ -87,11 +145,39 @@ final class Bank {
     }
 
     /**
-     * Retorna e limpa o registro de transações acumuladas desde a última chamada.
+     * Retorna as transações registradas desde a última chamada (cursor próprio;
+     * outros consumidores do diário não são afetados).
      */
     java.util.List<model.api.dto.Transaction> drainTransactions() {
-        java.util.List<model.api.dto.Transaction> out = new java.util.ArrayList<>(transactions);
-        transactions.clear();
-        return out;
+        return drainCursor.pollTransactions();
+    }
+
+    /* Registra o jogador no diário, se ainda não estiver. */
+    void registerParty(final Player p) {
+        partyOf(p);
+    }
+
+    /*
+     * Índice do jogador no diário. O jogador guarda o seu índice, então o caminho
+     * comum é só uma conferência (e pequeno o bastante para ser inlinado).
+     */
+    private int partyOf(final Player p) {
+        final int known = p.journalParty();
+        return known >= 0 && known < partyCount && parties[known] == p ? known : findParty(p);
+    }
+
+    /* Procura o jogador (ou o registra, na primeira transação) e guarda o índice nele. */
+    private int findParty(final Player p) {
+        int party = -1;
+        for (int i = 0; i < partyCount && party < 0; i++) {
+            if (parties[i] == p) party = i;
+        }
+        if (party < 0) {
+            if (partyCount == parties.length) parties = java.util.Arrays.copyOf(parties, partyCount * 2);
+            parties[partyCount++] = p;
+            party = journal.registerParty(p.getName(), p.getColor());
+        }
+        p.setJournalParty(party);
+        return party;
     }
 }
@@ -0,0 +1,205 @@
+/* ===========================================================
+ * BoardDefinition ; definição imutável do tabuleiro (nomes, tipos, preços,
+ * multiplicadores, valores e índice da prisão).
+ * Lida uma vez por processo e compartilhada por todas as partidas; cada partida
+ * guarda apenas o estado mutável (dono/construções).
+ * =========================================================== */
+
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+final class BoardDefinition {
+
+    // Tipos de casa codificados em byte
+    static final byte SQ_DUMMY = 0;
+    static final byte SQ_STREET = 1;
+    static final byte SQ_COMPANY = 2;
+    static final byte SQ_MONEY = 3;
+    static final byte SQ_GOTOJAIL = 4;
+    static final byte SQ_CHANCE = 5;
+
+    private final int size;
+    private final int jailIndex;
+    private final byte[] kind;
+    private final int[] price;
+    private final int[] multiplier;
+    private final int[] amount;
+    private final String[] name;
+    private final String[] id;
+    private final String[] type;
+    // Aluguel/custos/recompra por nível, calculados ao carregar (null nas casas sem dono)
+    private final PropertyValues[] values;
+
+    // Casas sem estado (compartilhadas entre partidas); null nas casas com dono
+    private final Square[] sharedSquares;
+
+    // Hash do CSV de origem: gravado pelo DefinitionCache antes de publicar (null fora do cache)
+    private String contentHash;
+
+    private BoardDefinition(final List<Square> squares, final int jailIndex) {
+        Objects.requireNonNull(squares, "squares");
+        if (squares.isEmpty()) throw new IllegalArgumentException("Board não pode ser vazio.");
+        this.size = squares.size();
+        if (jailIndex < 0 || jailIndex >= size) {
+            throw new IllegalArgumentException("jailIndex fora do intervalo do board.");
+        }
+        this.jailIndex = jailIndex;
+        this.kind = new byte[size];
+        this.price = new int[size];
+        this.multiplier = new int[size];
+        this.amount = new int[size];
+        this.name = new String[size];
+        this.id = new String[size];
+        this.type = new String[size];
+        this.values = new PropertyValues[size];
+        this.sharedSquares = new Square[size];
+
+        for (int i = 0; i < size; i++) {
+            final Square sq = squares.get(i);
+            name[i] = sq.name();
+            type[i] = sq.type();
+            if (sq instanceof OwnableSquare) {
+                final OwnableSquare own = (OwnableSquare) sq;
+                price[i] = own.getPrice();
+                id[i] = own.getId();
+                values[i] = own.values();
+                if (sq instanceof CompanyOwnableSquare) {
+                    kind[i] = SQ_COMPANY;
+                    multiplier[i] = ((CompanyOwnableSquare) sq).getMultiplier();
+                } else {
+                    kind[i] = SQ_STREET;
+                }
+                continue;
+            }
+            if (sq instanceof MoneySquare) {
+                kind[i] = SQ_MONEY;
+                amount[i] = ((MoneySquare) sq).amount();
+            } else if (sq instanceof GoToJailSquare) {
+                kind[i] = SQ_GOTOJAIL;
+            } else if (sq instanceof ChanceSquare) {
+                kind[i] = SQ_CHANCE;
+            } else {
+                kind[i] = SQ_DUMMY;
+            }
+            sharedSquares[i] = sq;
+        }
+    }
+
+    /**
+     * Cria a definição a partir das casas lidas do CSV.
+     * As casas sem estado passam a ser compartilhadas; as casas com dono
+     * servem só de molde e nunca são usadas diretamente em uma partida.
+     */
+    static BoardDefinition of(final List<Square> squares, final int jailIndex) {
+        return new BoardDefinition(squares, jailIndex);
+    }
+
+    /* Hash do conteúdo de que a definição veio (ver DefinitionCache.hashOf). */
+    String contentHash() { return contentHash; }
+
+    void setContentHash(final String hash) { this.contentHash = hash; }
+
+    /* Monta um Board para uma nova partida: só as casas com dono são instanciadas. */
+    Board newBoard() {
+        final List<Square> squares = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (kind[i]) {
+                case SQ_STREET:
+                    squares.add(new StreetOwnableSquare(i, name[i], id[i], price[i], values[i]));
+                    break;
+                case SQ_COMPANY:
+                    squares.add(new CompanyOwnableSquare(i, name[i], id[i], price[i], multiplier[i], values[i]));
+                    break;
+                default:
+                    squares.add(sharedSquares[i]);
+                    break;
+            }
+        }
+        return new Board(squares, jailIndex);
+    }
+
+    // ===== Forma compilada (DefinitionCache) =====
+
+    /*
+     * Layout: int casas, int prisão; por casa: byte tipo, int índice, str nome,
+     * str id (vazio se não tiver dono), int preço, int multiplicador, int valor.
+     */
+    void writeTo(final ByteBuffer buf) {
+        buf.putInt(size);
+        buf.putInt(jailIndex);
+        for (int i = 0; i < size; i++) {
+            buf.put(kind[i]);
+            buf.putInt(sharedSquares[i] != null ? sharedSquares[i].index() : i);
+            GameSaveCodec.putString(buf, name[i]);
+            GameSaveCodec.putString(buf, id[i] != null ? id[i] : "");
+            buf.putInt(price[i]);
+            buf.putInt(multiplier[i]);
+            buf.putInt(amount[i]);
+        }
+    }
+
+    int maxEncodedBytes() {
+        int bytes = 8;
+        for (int i = 0; i < size; i++) {
+            bytes += 1 + 4 + 2 + 4 * name[i].length() + 2 + (id[i] != null ? 4 * id[i].length() : 0) + 12;
+        }
+        return bytes;
+    }
+
+    static BoardDefinition readFrom(final ByteBuffer buf) {
+        final int n = buf.getInt();
+        final int jail = buf.getInt();
+        if (n <= 0 || (long) n * 19 > buf.remaining()) throw new IllegalArgumentException("Quantidade de casas inválida na forma compilada: " + n);
+        final List<Square> squares = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            final byte k = buf.get();
+            final int index = buf.getInt();
+            final String nm = GameSaveCodec.getString(buf);
+            final String sqId = GameSaveCodec.getString(buf);
+            final int pr = buf.getInt();
+            final int mult = buf.getInt();
+            final int amt = buf.getInt();
+            switch (k) {
+                case SQ_STREET:   squares.add(new StreetOwnableSquare(index, nm, sqId, pr)); break;
+                case SQ_COMPANY:  squares.add(new CompanyOwnableSquare(index, nm, sqId, pr, mult)); break;
+                case SQ_MONEY:    squares.add(new MoneySquare(index, nm, amt)); break;
+                case SQ_GOTOJAIL: squares.add(new GoToJailSquare(index, nm)); break;
+                case SQ_CHANCE:   squares.add(new ChanceSquare(index, nm)); break;
+                case SQ_DUMMY:    squares.add(new DummySquare(index, nm)); break;
+                default: throw new IllegalArgumentException("Tipo de casa inválido na forma compilada: " + k);
+            }
+        }
+        return of(squares, jail);
+    }
+
+    int size() { return size; }
+    int jailIndex() { return jailIndex; }
+    byte kind(final int index) { return kind[index]; }
+    boolean isOwnable(final int index) { return kind[index] == SQ_STREET || kind[index] == SQ_COMPANY; }
+    int price(final int index) { return price[index]; }
+    int multiplier(final int index) { return multiplier[index]; }
+    int amount(final int index) { return amount[index]; }
+    String name(final int index) { return name[index]; }
+    String type(final int index) { return type[index]; }
+
+    // ===== Valores derivados (tabelas de PropertyValues, as mesmas das casas do Board) =====
+
+    int houseCost(final int index) { return values[index].houseCost(); }
+    int hotelCost(final int index) { return values[index].hotelCost(); }
+
+    /* Aluguel de uma rua com as construções dadas. */
+    int streetRent(final int index, final int houses, final boolean hotel) {
+        return values[index].rent(PropertyValues.level(houses, hotel));
+    }
+
+    /* Valor de recompra pelo banco (companhias: só o preço; ruas sem dono: 0). */
+    int sellValue(final int index, final boolean owned, final int houses, final boolean hotel) {
+        if (kind[index] == SQ_COMPANY) return values[index].sellValue(0);
+        if (!owned) return 0;
+        return values[index].sellValue(PropertyValues.level(houses, hotel));
+    }
+}
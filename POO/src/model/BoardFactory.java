@@ -4,6 +4,7 @@
 
 package model;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.*;
 
@@ -17,41 +18,60 @@ final class BoardFactory extends FactoryBase<Square> {
     );
 
     static Board fromCSV(final Path csvPath) {
+        return parseDefinition(csvPath).newBoard();
+    }
+
+    /* Definição compartilhada do tabuleiro: o CSV só é lido quando o conteúdo é novo (DefinitionCache). */
+    static BoardDefinition definition(final Path csvPath) {
+        Objects.requireNonNull(csvPath);
+        return DefinitionCache.board(csvPath);
+    }
+
+    static BoardDefinition parseDefinition(final Path csvPath) {
         BoardFactory factory = new BoardFactory();
-        List<Square> squares = factory.readCSV(csvPath, EXPECTED_HEADER);
-        
-        if (factory.jailIndex == -1) {
+        return factory.toDefinition(factory.readCSV(csvPath, EXPECTED_HEADER));
+    }
+
+    /* Parse do conteúdo já lido (o DefinitionCache faz hash e parse dos mesmos bytes). */
+    static BoardDefinition parseDefinition(final ByteBuffer csv) {
+        BoardFactory factory = new BoardFactory();
+        return factory.toDefinition(factory.parseCSV(csv, EXPECTED_HEADER));
+    }
+
+    private BoardDefinition toDefinition(final List<Square> squares) {
+        if (jailIndex == -1) {
             throw new IllegalStateException("Nenhuma JailSquare encontrada no tabuleiro.");
         }
 
-        return new Board(squares, factory.jailIndex);
+        return BoardDefinition.of(squares, jailIndex);
     }
 
     @Override
-    protected Square parseLine(String[] p) {
-        int index = parseInt(p[0]);
-        String type = p[1].trim().toUpperCase(Locale.ROOT);
-        String name = p[2].trim();
-        int price = parseInt(p[3]);
-        int multiplier = parseInt(p[4]);
-        int value = parseInt(p[5]);
+    protected Square parseRow(CsvRow row) {
+        int index = row.intField(0);
+        String name = row.stringField(2);
 
         // Algumas casas (START, JAIL, PARKING) não possuem regra de negócio
-        if (type.equals("START") || type.equals("JAIL") || type.equals("PARKING")) {
-            // Se for JAIL, registramos o índice para o Board
-            if (type.equals("JAIL")) this.jailIndex = index;
+        if (row.equalsIgnoreCase(1, "START") || row.equalsIgnoreCase(1, "PARKING")) {
+            return new DummySquare(index, name);
+        }
+        if (row.equalsIgnoreCase(1, "JAIL")) {
+            // Registramos o índice da cadeia para o Board
+            this.jailIndex = index;
             return new DummySquare(index, name);
         }
 
-        return switch (type) {
-            case "STREET" -> new StreetOwnableSquare(
-                index, name, name.toUpperCase(), price);
-            case "COMPANY" -> new CompanyOwnableSquare(
-                index, name, name.toUpperCase(), price, multiplier);
-            case "MONEY" -> new MoneySquare(index, name, value);
-            case "GOTOJAIL" -> new GoToJailSquare(index, name);
-            case "CHANCE" -> new ChanceSquare(index, name);
-            default -> throw new IllegalArgumentException("Valor inesperado ao criar quadrado de tabuleiro: " + type);
-        };
+        if (row.equalsIgnoreCase(1, "STREET"))
+            return new StreetOwnableSquare(index, name, name.toUpperCase(), row.intField(3));
+        if (row.equalsIgnoreCase(1, "COMPANY"))
+            return new CompanyOwnableSquare(index, name, name.toUpperCase(), row.intField(3), row.intField(4));
+        if (row.equalsIgnoreCase(1, "MONEY"))
+            return new MoneySquare(index, name, row.intField(5));
+        if (row.equalsIgnoreCase(1, "GOTOJAIL"))
+            return new GoToJailSquare(index, name);
+        if (row.equalsIgnoreCase(1, "CHANCE"))
+            return new ChanceSquare(index, name);
+        throw new IllegalArgumentException("Valor inesperado ao criar quadrado de tabuleiro: "
+                                           + row.stringField(1).toUpperCase(Locale.ROOT));
     }
 }
@@ -50,19 +50,11 @@ final class Card {
                 break;
             }
             case PAY_ALL: {
-                for (Player other : engine.allPlayers()) {
-                    if (other != player && other.isAlive()) {
-                        economy.transfer(player, other, value);
-                    }
-                }
+                economy.payAll(player, engine.players(), value);
                 break;
             }
             case RECEIVE_ALL: {
-                for (Player other : engine.allPlayers()) {
-                    if (other != player && other.isAlive()) {
-                        economy.transfer(other, player, value);
-                    }
-                }
+                economy.receiveAll(player, engine.players(), value);
                 break;
             }
             case GO_TO_JAIL: {
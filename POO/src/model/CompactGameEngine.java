@@ -0,0 +1,924 @@
+/* ===========================================================
+ * CompactGameEngine ; motor de regras em arrays primitivos (struct-of-arrays).
+ * Mesmas regras do GameEngine, mas o estado vive em int[]/boolean[] por jogador
+ * e byte[] por casa, sem objetos Player/Square por partida.
+ * Tabuleiro e baralho vêm das definições imutáveis compartilhadas entre partidas.
+ * Pensado para simulação em massa e hospedagem densa de partidas.
+ * =========================================================== */
+
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import model.api.dto.OwnableInfo;
+import model.api.dto.Ownables;
+import model.api.dto.PlayerColor;
+import model.api.dto.PlayerRef;
+import model.api.dto.Transaction;
+
+final class CompactGameEngine extends GameCore {
+
+    private static final byte NO_OWNER = -1;
+    private static final int PASS_START_AMOUNT = 200;
+
+    // ===== Definições compartilhadas (somente leitura) =====
+    private final BoardDefinition board;
+    private final DeckDefinition deck;
+    private final int size;
+    private final int returnedJailCardSlot; // carta "saída livre" devolvida ao fundo do baralho
+
+    // ===== Jogadores (identidade) =====
+    private final int playerCount;
+    private final String[] playerId;
+    private final String[] playerName;
+    private final PlayerColor[] playerColor;
+
+    // ===== Jogadores (estado) =====
+    private final int[] money;
+    private final int[] position;
+    private final int[] jailCards;
+    private final boolean[] inJail;
+    private final boolean[] alive;
+
+    // Propriedades de cada jogador (bitset + ordem de aquisição)
+    private final OwnershipSet[] owned;
+
+    // ===== Casas (estado) =====
+    private final byte[] owner;
+    private final byte[] houses;
+    private final byte[] hotel;
+
+    // ===== Baralho (fila circular de slots de carta) =====
+    private final int[] deckOrder;
+    private int deckHead;
+    private int deckCount;
+
+    // ===== Banco =====
+    private int bankCash;
+    // Diário de transações (parte = índice do jogador) e cursor da drenagem legada
+    private final TransactionJournal journal = new TransactionJournal();
+    private final TransactionJournal.Cursor drainCursor = journal.newCursor();
+    private boolean recordTransactions = true;
+
+    // Liquidação (ver EconomyService.liquidateOrBankruptIfNeeded)
+    private GameAPI.LiquidationPolicy liquidationPolicy = GameAPI.LiquidationPolicy.MIN_VALUE;
+    private final LiquidationPlanner planner = new LiquidationPlanner();
+
+    // ===== Turno =====
+    private final SplitMix64 rng;
+    private int currentPlayerIndex;
+    private int lastRollerIndex = -1;
+    private int lastD1;
+    private int lastD2;
+    private boolean hasRoll;
+    private int lastDrawedCardIndex = -1;
+    private String lastLandedOwnableName = null;
+    private boolean hasBuiltThisTurn = false;
+
+    // Hash do estado visível, atualizado nas escritas (setMoney, setOwner, ...)
+    private final ZobristHash hash = new ZobristHash();
+
+    // Patrimônio de cada jogador, atualizado nas mesmas escritas do hash
+    private final NetWorthBoard netWorth;
+
+    // Mock de dados para testes
+    private int mockedDice1;
+    private int mockedDice2;
+    private boolean hasMockedDice;
+
+    CompactGameEngine(final BoardDefinition board,
+                      final DeckDefinition deck,
+                      final List<Player> players,
+                      final int initialBankCash,
+                      final int startIndex,
+                      final SplittableRandom deckRng,
+                      final SplittableRandom rng) {
+        this.board = Objects.requireNonNull(board, "board");
+        this.deck = Objects.requireNonNull(deck, "deck");
+        Objects.requireNonNull(players, "players");
+        this.rng = new SplitMix64(Objects.requireNonNull(rng, "rng").nextLong());
+        if (initialBankCash < 0) throw new IllegalArgumentException("Caixa inicial inválido.");
+        if (players.size() > Byte.MAX_VALUE) throw new IllegalArgumentException("Jogadores demais.");
+        this.size = board.size();
+
+        // Baralho: slots 0..n-1 são as cartas da definição; o slot n é a "saída livre" devolvida
+        final int n = deck.size();
+        this.returnedJailCardSlot = n;
+        this.deckOrder = new int[n + 1];
+        System.arraycopy(deck.shuffledOrder(deckRng), 0, deckOrder, 0, n);
+        this.deckHead = 0;
+        this.deckCount = n;
+
+        // Jogadores
+        this.playerCount = players.size();
+        this.playerId = new String[playerCount];
+        this.playerName = new String[playerCount];
+        this.playerColor = new PlayerColor[playerCount];
+        this.money = new int[playerCount];
+        this.position = new int[playerCount];
+        this.jailCards = new int[playerCount];
+        this.inJail = new boolean[playerCount];
+        this.alive = new boolean[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            final Player p = players.get(i);
+            playerId[i] = p.getId();
+            playerName[i] = p.getName();
+            playerColor[i] = p.getColor();
+            money[i] = p.getMoney();
+            position[i] = p.getPosition();
+            alive[i] = p.isAlive();
+            journal.registerParty(playerName[i], playerColor[i]);
+        }
+        this.netWorth = new NetWorthBoard(playerCount);
+        this.owned = new OwnershipSet[playerCount];
+        for (int i = 0; i < playerCount; i++) owned[i] = new OwnershipSet(size);
+
+        // Casas
+        this.owner = new byte[size];
+        this.houses = new byte[size];
+        this.hotel = new byte[size];
+        java.util.Arrays.fill(owner, NO_OWNER);
+
+        this.bankCash = initialBankCash;
+        this.currentPlayerIndex = startIndex;
+        hash.set(ZobristHash.of(newSnapshot()));
+        rebuildNetWorth();
+    }
+
+    // ===== CHAMADAS PELA API =====
+    // ===== CHAMADAS PELA API =====
+
+    /* ===========================================================
+     * Executa a jogada completa: rolar dados → aplicar prisão → mover → resolver casa.
+     * =========================================================== */
+    @Override
+    void rollAndResolve() {
+        if (!isRollAllowed()) return;
+
+        final int p = currentPlayerIndex;
+        this.lastRollerIndex = p;
+
+        roll();
+        logEvent(TurnLog.ROLL, p, lastD1, lastD2);
+
+        // Regras de prisão (dupla ou cartão)
+        if (inJail[p]) {
+            if (lastD1 == lastD2) {
+                setInJail(p, false);
+            } else if (jailCards[p] > 0) {
+                setJailCards(p, jailCards[p] - 1);
+                setInJail(p, false);
+                returnJailCardToBottom();
+            }
+        }
+        if (inJail[p]) return;
+
+        // Movimento (bônus ao cruzar a partida)
+        final int steps = lastD1 + lastD2;
+        final int from = position[p];
+        if ((from + steps) >= size) {
+            applyIncome(p, PASS_START_AMOUNT);
+        }
+        setPosition(p, (from + steps) % size);
+
+        onLand(p);
+    }
+
+    /* ===========================================================
+     * Compra da propriedade atual (se aplicável).
+     * =========================================================== */
+    @Override
+    boolean chooseBuy() {
+        final int p = currentPlayerIndex;
+        final int sq = position[p];
+        if (!isOwnable(sq)) return false;
+        if (owner[sq] != NO_OWNER) return false;
+
+        final int price = board.price(sq);
+        if (money[p] < price) return false;
+
+        payToBank(p, price);
+        setOwner(sq, p);
+        addProperty(p, sq);
+        this.hasBuiltThisTurn = true;
+        logEvent(TurnLog.BUY, p, sq, 0);
+        return true;
+    }
+
+    /* ===========================================================
+     * Construção de casa em propriedade do jogador.
+     * =========================================================== */
+    @Override
+    boolean chooseBuildHouse() {
+        if (this.hasBuiltThisTurn) return false;
+        final int p = currentPlayerIndex;
+        final int sq = position[p];
+        if (board.kind(sq) != BoardDefinition.SQ_STREET) return false;
+        if (owner[sq] != p) return false;
+        if (houses[sq] >= 4) return false;
+
+        final int cost = houseCost(sq);
+        if (money[p] < cost) return false;
+
+        payToBank(p, cost);
+        setBuildings(sq, houses[sq] + 1, hotel[sq]);
+        this.hasBuiltThisTurn = true;
+        logEvent(TurnLog.BUILD_HOUSE, p, sq, 0);
+        return true;
+    }
+
+    /* ===========================================================
+     * Construção de hotel em propriedade do jogador.
+     * =========================================================== */
+    @Override
+    boolean chooseBuildHotel() {
+        if (this.hasBuiltThisTurn) return false;
+        final int p = currentPlayerIndex;
+        final int sq = position[p];
+        if (board.kind(sq) != BoardDefinition.SQ_STREET) return false;
+        if (owner[sq] != p) return false;
+        if (houses[sq] < 1 || hotel[sq] != 0) return false;
+
+        final int cost = hotelCost(sq);
+        if (money[p] < cost) return false;
+
+        payToBank(p, cost);
+        setBuildings(sq, houses[sq], 1);
+        this.hasBuiltThisTurn = true;
+        logEvent(TurnLog.BUILD_HOTEL, p, sq, 0);
+        return true;
+    }
+
+    /* ===========================================================
+     * Vende a propriedade do indice enviado para o banco.
+     * =========================================================== */
+    @Override
+    void sellAtIndex(final int boardIndex) {
+        checkIndex(boardIndex);
+        if (!isOwnable(boardIndex))
+            throw new IllegalArgumentException("Casa não é uma propriedade: " + boardIndex);
+        buyback(boardIndex, currentPlayerIndex);
+        logEvent(TurnLog.SELL, currentPlayerIndex, boardIndex, 0);
+    }
+
+    /* ===========================================================
+     * Finaliza o turno e retorna o índice do próximo jogador.
+     * =========================================================== */
+    @Override
+    int endTurn() {
+        this.hasRoll = false;
+        this.hasBuiltThisTurn = false;
+        final int previous = currentPlayerIndex;
+        do {
+            currentPlayerIndex = (currentPlayerIndex + 1) % playerCount;
+        } while (!alive[currentPlayerIndex]);
+        hash.change(ZobristHash.CURRENT, 0, previous, currentPlayerIndex);
+        logEvent(TurnLog.END_TURN, previous, currentPlayerIndex, 0);
+        return currentPlayerIndex;
+    }
+
+    // ===== REGRAS INTERNAS =====
+    // ===== REGRAS INTERNAS =====
+
+    private void roll() {
+        if (hasMockedDice) {
+            this.lastD1 = mockedDice1;
+            this.lastD2 = mockedDice2;
+            this.hasMockedDice = false;
+        } else {
+            this.lastD1 = rng.nextInt(1, 7);
+            this.lastD2 = rng.nextInt(1, 7);
+        }
+        this.hasRoll = true;
+    }
+
+    /* Resolve o efeito da casa onde o jogador parou. */
+    private void onLand(final int p) {
+        final int sq = position[p];
+        this.lastLandedOwnableName = isOwnable(sq) ? board.name(sq) : null;
+
+        switch (board.kind(sq)) {
+            case BoardDefinition.SQ_STREET:
+            case BoardDefinition.SQ_COMPANY: {
+                final int o = owner[sq];
+                if (o == NO_OWNER || o == p) return;
+                chargeRent(p, o, rent(sq));
+                break;
+            }
+            case BoardDefinition.SQ_MONEY: {
+                final int amount = board.amount(sq);
+                if (amount > 0) applyIncome(p, amount);
+                else if (amount < 0) applyPayment(p, -amount);
+                break;
+            }
+            case BoardDefinition.SQ_GOTOJAIL: {
+                sendToJail(p);
+                break;
+            }
+            case BoardDefinition.SQ_CHANCE: {
+                drawAndUseCard(p);
+                break;
+            }
+            default: {
+                break;
+            }
+        }
+    }
+
+    private void drawAndUseCard(final int p) {
+        final int slot = deckOrder[deckHead];
+        deckHead = (deckHead + 1) % deckOrder.length;
+        deckCount--;
+        // Carta "saída livre" sai do baralho; as demais voltam para o fim
+        if (cardType(slot) != Card.CardType.GET_OUT_OF_JAIL) {
+            pushDeckBottom(slot);
+        }
+        this.lastDrawedCardIndex = cardId(slot);
+        logEvent(TurnLog.CARD, p, lastDrawedCardIndex, 0);
+
+        final int value = cardValue(slot);
+        switch (cardType(slot)) {
+            case PAY_BANK: {
+                applyPayment(p, value);
+                break;
+            }
+            case RECEIVE_BANK: {
+                applyIncome(p, value);
+                break;
+            }
+            case PAY_ALL: {
+                payAll(p, value);
+                break;
+            }
+            case RECEIVE_ALL: {
+                receiveAll(p, value);
+                break;
+            }
+            case GO_TO_JAIL: {
+                sendToJail(p);
+                break;
+            }
+            case GET_OUT_OF_JAIL: {
+                setJailCards(p, jailCards[p] + 1);
+                break;
+            }
+            default: {
+                break;
+            }
+        }
+    }
+
+    private int cardId(final int slot) {
+        return slot == returnedJailCardSlot ? 0 : deck.id(slot);
+    }
+
+    private Card.CardType cardType(final int slot) {
+        return slot == returnedJailCardSlot ? Card.CardType.GET_OUT_OF_JAIL : deck.type(slot);
+    }
+
+    private int cardValue(final int slot) {
+        return slot == returnedJailCardSlot ? 0 : deck.value(slot);
+    }
+
+    private void returnJailCardToBottom() {
+        pushDeckBottom(returnedJailCardSlot);
+    }
+
+    private void pushDeckBottom(final int slot) {
+        deckOrder[(deckHead + deckCount) % deckOrder.length] = slot;
+        deckCount++;
+    }
+
+    private void sendToJail(final int p) {
+        setInJail(p, true);
+        setPosition(p, board.jailIndex());
+    }
+
+    // ===== ECONOMIA (espelha EconomyService/Bank) =====
+
+    private void chargeRent(final int visitor, final int o, final int rent) {
+        if (rent <= 0) return;
+        if (!liquidateOrBankruptIfNeeded(visitor, rent)) return;
+        payToPlayer(visitor, o, rent);
+    }
+
+    /* Mesmas regras de EconomyService.payAll/receiveAll: uma entrada composta (parte ALL). */
+    private void payAll(final int p, final int amount) {
+        if (amount <= 0 || !alive[p]) return;
+        int legs = 0;
+        for (int other = 0; other < playerCount; other++) {
+            if (other != p && alive[other]) legs++;
+        }
+        if (legs == 0) return;
+        if (!liquidateOrBankruptIfNeeded(p, amount * legs)) return;
+        debit(p, amount * legs);
+        int othersBalance = 0;
+        for (int other = 0; other < playerCount; other++) {
+            if (other == p || !alive[other]) continue;
+            setMoney(other, money[other] + amount);
+            othersBalance += money[other];
+        }
+        if (recordTransactions) journal.append(p, TransactionJournal.ALL, amount * legs, money[p], othersBalance);
+    }
+
+    private void receiveAll(final int p, final int amount) {
+        if (amount <= 0) return;
+        for (int other = 0; other < playerCount; other++) {
+            if (other != p && alive[other]) liquidateOrBankruptIfNeeded(other, amount);
+        }
+        int legs = 0;
+        int othersBalance = 0;
+        for (int other = 0; other < playerCount; other++) {
+            if (other == p || !alive[other]) continue;
+            debit(other, amount);
+            othersBalance += money[other];
+            legs++;
+        }
+        if (legs == 0) return;
+        setMoney(p, money[p] + amount * legs);
+        if (recordTransactions) journal.append(TransactionJournal.ALL, p, amount * legs, othersBalance, money[p]);
+    }
+
+    private void applyPayment(final int p, final int amount) {
+        if (amount <= 0) return;
+        if (!liquidateOrBankruptIfNeeded(p, amount)) return;
+        payToBank(p, amount);
+    }
+
+    private void applyIncome(final int p, final int amount) {
+        if (amount <= 0) return;
+        receiveFromBank(p, amount);
+    }
+
+    /* Vende o conjunto mais barato que cobre (ou em ordem de aquisição) até cobrir o valor; senão, falência. */
+    private boolean liquidateOrBankruptIfNeeded(final int p, final int required) {
+        if (money[p] >= required) return true;
+
+        int missing = required - money[p];
+        if (liquidationPolicy == GameAPI.LiquidationPolicy.MIN_VALUE && sellCheapestCover(p, missing)) {
+            return true;
+        }
+        while (!owned[p].isEmpty()) {
+            missing -= buyback(owned[p].first(), p);
+            if (missing <= 0) return true;
+        }
+
+        declareBankruptcy(p);
+        return false;
+    }
+
+    private boolean sellCheapestCover(final int p, final int missing) {
+        final OwnershipSet set = owned[p];
+        planner.clear();
+        for (int sq = set.first(); sq != OwnershipSet.NONE; sq = set.next(sq)) planner.add(sellValue(sq));
+        final int n = planner.plan(missing);
+        if (n < 0) return false;
+
+        int k = 0;
+        int pos = 0;
+        for (int sq = set.first(); sq != OwnershipSet.NONE && k < n; pos++) {
+            final int next = set.next(sq);
+            if (pos == planner.picked(k)) {
+                buyback(sq, p);
+                k++;
+            }
+            sq = next;
+        }
+        return true;
+    }
+
+    private void declareBankruptcy(final int p) {
+        while (!owned[p].isEmpty()) {
+            final int sq = owned[p].first();
+            removeProperty(p, sq);
+            clearOwner(sq, p);
+        }
+        hash.change(ZobristHash.ALIVE, p, alive[p], false);
+        netWorth.setAlive(p, false);
+        alive[p] = false;
+        setMoney(p, 0);
+    }
+
+    private int buyback(final int sq, final int p) {
+        final int received = sellValue(sq);
+        receiveFromBank(p, received);
+        removeProperty(p, sq);
+        clearOwner(sq, p);
+        return received;
+    }
+
+    private void clearOwner(final int sq, final int p) {
+        if (owner[sq] != p) return;
+        setOwner(sq, NO_OWNER);
+        setBuildings(sq, 0, 0);
+    }
+
+    private void payToBank(final int p, final int amount) {
+        debit(p, amount);
+        bankCash += amount;
+        if (recordTransactions) journal.append(p, TransactionJournal.BANK, amount, money[p], bankCash);
+    }
+
+    private void receiveFromBank(final int p, final int amount) {
+        if (bankCash < amount) {
+            throw new IllegalStateException("Banco sem caixa suficiente para a operação.");
+        }
+        setMoney(p, money[p] + amount);
+        bankCash -= amount;
+        if (recordTransactions) journal.append(TransactionJournal.BANK, p, amount, bankCash, money[p]);
+    }
+
+    private void payToPlayer(final int from, final int to, final int amount) {
+        debit(from, amount);
+        setMoney(to, money[to] + amount);
+        if (recordTransactions) journal.append(from, to, amount, money[from], money[to]);
+    }
+
+    private void debit(final int p, final int amount) {
+        if (amount > money[p]) {
+            throw new IllegalStateException("Saldo insuficiente para débito: " + amount + " > " + money[p]);
+        }
+        setMoney(p, money[p] - amount);
+    }
+
+    // ===== Escritas do estado visível (mantêm o hash Zobrist e o patrimônio) =====
+
+    private void setMoney(final int p, final int value) {
+        hash.change(ZobristHash.MONEY, p, money[p], value);
+        netWorth.add(p, value - money[p]);
+        money[p] = value;
+    }
+
+    private void setPosition(final int p, final int sq) {
+        hash.change(ZobristHash.POSITION, p, position[p], sq);
+        position[p] = sq;
+    }
+
+    private void setInJail(final int p, final boolean flag) {
+        hash.change(ZobristHash.IN_JAIL, p, inJail[p], flag);
+        inJail[p] = flag;
+    }
+
+    private void setJailCards(final int p, final int count) {
+        hash.change(ZobristHash.JAIL_CARDS, p, jailCards[p], count);
+        jailCards[p] = count;
+    }
+
+    private void setOwner(final int sq, final int p) {
+        hash.change(ZobristHash.OWNER, sq, owner[sq], p);
+        final int previous = owner[sq];
+        final int before = sellValue(sq);
+        owner[sq] = (byte) p;
+        if (previous != p) {
+            if (previous != NO_OWNER) netWorth.add(previous, -before);
+            if (p != NO_OWNER) netWorth.add(p, sellValue(sq));
+        }
+    }
+
+    private void setBuildings(final int sq, final int h, final int hotelFlag) {
+        hash.change(ZobristHash.HOUSES, sq, houses[sq], h);
+        hash.change(ZobristHash.HOTEL, sq, hotel[sq], hotelFlag);
+        final int before = sellValue(sq);
+        houses[sq] = (byte) h;
+        hotel[sq] = (byte) hotelFlag;
+        if (owner[sq] != NO_OWNER) netWorth.add(owner[sq], sellValue(sq) - before);
+    }
+
+    /* Patrimônio calculado do zero (referência para o incremental; após restaurar). */
+    private void rebuildNetWorth() {
+        for (int p = 0; p < playerCount; p++) {
+            int worth = money[p];
+            final OwnershipSet set = owned[p];
+            for (int sq = set.first(); sq != OwnershipSet.NONE; sq = set.next(sq)) worth += sellValue(sq);
+            netWorth.reset(p, worth, alive[p]);
+        }
+        netWorth.rebuild();
+    }
+
+    // ===== PROPRIEDADES =====
+
+    private void addProperty(final int p, final int sq) {
+        owned[p].add(sq);
+    }
+
+    private void removeProperty(final int p, final int sq) {
+        owned[p].remove(sq);
+    }
+
+    // ===== VALORES (mesmas fórmulas de StreetOwnableSquare/CompanyOwnableSquare) =====
+
+    private boolean isOwnable(final int sq) {
+        return board.isOwnable(sq);
+    }
+
+    private int houseCost(final int sq) {
+        return board.houseCost(sq);
+    }
+
+    private int hotelCost(final int sq) {
+        return board.hotelCost(sq);
+    }
+
+    private int sellValue(final int sq) {
+        return board.sellValue(sq, owner[sq] != NO_OWNER, houses[sq], hotel[sq] != 0);
+    }
+
+    private int rent(final int sq) {
+        if (board.kind(sq) == BoardDefinition.SQ_COMPANY) {
+            return board.multiplier(sq) * (hasRoll ? lastD1 + lastD2 : 0);
+        }
+        return board.streetRent(sq, houses[sq], hotel[sq] != 0);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Index fora do board: " + index);
+        }
+    }
+
+    // ===== AUXILIARES API =====
+    // ===== AUXILIARES API =====
+
+    @Override int playerCount() { return playerCount; }
+    @Override int playerPosition(final int playerIndex) { return position[playerIndex]; }
+    @Override String playerName(final int playerIndex) { return playerName[playerIndex]; }
+    @Override int playerMoney(final int playerIndex) { return money[playerIndex]; }
+    @Override boolean playerInJail(final int playerIndex) { return inJail[playerIndex]; }
+    @Override PlayerColor playerColor(final int playerIndex) { return playerColor[playerIndex]; }
+    @Override boolean playerAlive(final int playerIndex) { return alive[playerIndex]; }
+
+    @Override int currentPlayerIndex() { return currentPlayerIndex; }
+    @Override boolean isRollAllowed() { return lastRollerIndex != currentPlayerIndex; }
+    @Override int lastDrawedCardIndex() { return lastDrawedCardIndex; }
+    @Override String lastLandedOwnableName() { return lastLandedOwnableName; }
+
+    @Override
+    int lastDie1() {
+        if (!hasRoll) throw new IllegalStateException("Nenhum lance de dados neste turno.");
+        return lastD1;
+    }
+
+    @Override
+    int lastDie2() {
+        if (!hasRoll) throw new IllegalStateException("Nenhum lance de dados neste turno.");
+        return lastD2;
+    }
+
+    @Override
+    String getSquareName(final int index) {
+        checkIndex(index);
+        return board.name(index);
+    }
+
+    @Override
+    String getSquareType(final int index) {
+        checkIndex(index);
+        return board.type(index);
+    }
+
+    @Override
+    List<OwnableInfo> getCurrentPlayerPropertyData() {
+        final int p = currentPlayerIndex;
+        final OwnershipSet set = owned[p];
+        final List<OwnableInfo> out = new ArrayList<>(set.size());
+        for (int sq = set.first(); sq != OwnershipSet.NONE; sq = set.next(sq)) {
+            out.add(board.kind(sq) == BoardDefinition.SQ_STREET ? getStreetOwnableInfo(sq) : getCompanyOwnableInfo(sq));
+        }
+        return out;
+    }
+
+    @Override
+    List<PlayerRef> getWinners() {
+        final int n = netWorth.leaders();
+        final List<PlayerRef> res = new ArrayList<>(n);
+        for (int r = 0; r < n; r++) res.add(toPlayerRef(netWorth.playerAt(r)));
+        return Collections.unmodifiableList(res);
+    }
+
+    // ============ SUPORTE A LOG ============
+    // ============ SUPORTE A LOG ============
+
+    @Override
+    String buyNotAllowedReason() {
+        final int p = currentPlayerIndex;
+        final int sq = position[p];
+        if (!isOwnable(sq)) return "Not a buyable property";
+        if (owner[sq] != NO_OWNER) return "Property already owned";
+        if (money[p] < board.price(sq)) {
+            return "Insufficient funds: missing " + (board.price(sq) - money[p]);
+        }
+        return null;
+    }
+
+    @Override
+    String buildHouseNotAllowedReason() {
+        return buildNotAllowedReasonHelper(true);
+    }
+
+    @Override
+    String buildHotelNotAllowedReason() {
+        return buildNotAllowedReasonHelper(false);
+    }
+
+    private String buildNotAllowedReasonHelper(final boolean isHouse) {
+        final int p = currentPlayerIndex;
+        final int sq = position[p];
+        if (board.kind(sq) != BoardDefinition.SQ_STREET) return "Not a street (cannot build)";
+        if (owner[sq] != p) return "You don't own this property";
+        if (this.hasBuiltThisTurn) return "Already built once this turn";
+
+        if (isHouse) {
+            if (houses[sq] >= 4) return "Cannot build more houses (max 4 houses)";
+            final int cost = houseCost(sq);
+            if (money[p] < cost) return "Insufficient funds: missing " + (cost - money[p]);
+        } else {
+            if (houses[sq] < 1 || hotel[sq] != 0) return "Cannot build hotel (need at least 1 house)";
+            final int cost = hotelCost(sq);
+            if (money[p] < cost) return "Insufficient funds: missing " + (cost - money[p]);
+        }
+        return null;
+    }
+
+    // ============ MONTAGEM DTO ============
+    // ============ MONTAGEM DTO ============
+
+    private PlayerRef toPlayerRef(final int p) {
+        if (p == NO_OWNER) return null;
+        return new PlayerRef(playerId[p], playerColor[p]);
+    }
+
+    private OwnableInfo.Core buildOwnableCore(final int sq) {
+        return new OwnableInfo.Core(toPlayerRef(owner[sq]), board.name(sq), sq, board.price(sq), sellValue(sq));
+    }
+
+    @Override
+    Ownables.Street getStreetOwnableInfo(final int index) {
+        checkIndex(index);
+        if (board.kind(index) != BoardDefinition.SQ_STREET) return null;
+        return new Ownables.Street(buildOwnableCore(index), rent(index), houses[index], hotel[index] != 0);
+    }
+
+    @Override
+    Ownables.Company getCompanyOwnableInfo(final int index) {
+        checkIndex(index);
+        if (board.kind(index) != BoardDefinition.SQ_COMPANY) return null;
+        return new Ownables.Company(buildOwnableCore(index), board.multiplier(index));
+    }
+
+    @Override
+    List<Transaction> collectTransactions() {
+        return drainCursor.pollTransactions();
+    }
+
+    @Override
+    void setTransactionLogging(final boolean enabled) {
+        this.recordTransactions = enabled;
+    }
+
+    @Override
+    void setLiquidationPolicy(final GameAPI.LiquidationPolicy policy) {
+        this.liquidationPolicy = Objects.requireNonNull(policy, "policy");
+    }
+
+    @Override
+    TransactionJournal transactionJournal() {
+        return journal;
+    }
+
+    // ============ SNAPSHOT ============
+    // ============ SNAPSHOT ============
+
+    @Override
+    EngineSnapshot newSnapshot() {
+        final EngineSnapshot s = new EngineSnapshot(playerCount, size, deckOrder.length);
+        snapshotInto(s);
+        return s;
+    }
+
+    @Override
+    void snapshotInto(final EngineSnapshot s) {
+        s.checkShape(playerCount, size);
+        System.arraycopy(money, 0, s.money, 0, playerCount);
+        System.arraycopy(position, 0, s.position, 0, playerCount);
+        System.arraycopy(jailCards, 0, s.jailCards, 0, playerCount);
+        System.arraycopy(inJail, 0, s.inJail, 0, playerCount);
+        System.arraycopy(alive, 0, s.alive, 0, playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            final OwnershipSet set = owned[i];
+            int k = 0;
+            for (int sq = set.first(); sq != OwnershipSet.NONE; sq = set.next(sq)) s.owned[i * size + k++] = sq;
+            s.ownedCount[i] = k;
+        }
+        System.arraycopy(owner, 0, s.owner, 0, size);
+        System.arraycopy(houses, 0, s.houses, 0, size);
+        System.arraycopy(hotel, 0, s.hotel, 0, size);
+        if (deckCount > s.deckOrder.length)
+            throw new IllegalStateException("Baralho maior que o buffer do snapshot.");
+        final int first = Math.min(deckCount, deckOrder.length - deckHead);
+        System.arraycopy(deckOrder, deckHead, s.deckOrder, 0, first);
+        System.arraycopy(deckOrder, 0, s.deckOrder, first, deckCount - first);
+        s.deckCount = deckCount;
+        s.bankCash = bankCash;
+        s.currentPlayerIndex = currentPlayerIndex;
+        s.lastRollerIndex = lastRollerIndex;
+        s.lastDie1 = hasRoll ? lastD1 : 0;
+        s.lastDie2 = hasRoll ? lastD2 : 0;
+        s.lastDrawedCardIndex = lastDrawedCardIndex;
+        s.hasBuiltThisTurn = hasBuiltThisTurn;
+        s.hash = hash.value();
+        for (int p = 0; p < playerCount; p++) s.worth[p] = netWorth.worth(p);
+        s.captured = true;
+    }
+
+    @Override
+    void restoreFrom(final EngineSnapshot s) {
+        s.checkShape(playerCount, size);
+        if (s.deckCount > deckOrder.length)
+            throw new IllegalArgumentException("Snapshot de baralho maior que a capacidade.");
+        System.arraycopy(s.money, 0, money, 0, playerCount);
+        System.arraycopy(s.position, 0, position, 0, playerCount);
+        System.arraycopy(s.jailCards, 0, jailCards, 0, playerCount);
+        System.arraycopy(s.inJail, 0, inJail, 0, playerCount);
+        System.arraycopy(s.alive, 0, alive, 0, playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            final int from = i * size;
+            if (!owned[i].sameOrder(s.owned, from, s.ownedCount[i])) owned[i].setAll(s.owned, from, s.ownedCount[i]);
+        }
+        System.arraycopy(s.owner, 0, owner, 0, size);
+        System.arraycopy(s.houses, 0, houses, 0, size);
+        System.arraycopy(s.hotel, 0, hotel, 0, size);
+        System.arraycopy(s.deckOrder, 0, deckOrder, 0, s.deckCount);
+        this.deckHead = 0;
+        this.deckCount = s.deckCount;
+        this.bankCash = s.bankCash;
+        this.currentPlayerIndex = s.currentPlayerIndex;
+        this.lastRollerIndex = s.lastRollerIndex;
+        this.hasRoll = s.lastDie1 != 0;
+        this.lastD1 = s.lastDie1;
+        this.lastD2 = s.lastDie2;
+        this.lastDrawedCardIndex = s.lastDrawedCardIndex;
+        this.hasBuiltThisTurn = s.hasBuiltThisTurn;
+        if (s.captured) {
+            hash.set(s.hash);
+            for (int p = 0; p < playerCount; p++) netWorth.reset(p, s.worth[p], alive[p]);
+            netWorth.rebuild();
+        } else {
+            hash.set(ZobristHash.of(s));
+            rebuildNetWorth();
+        }
+    }
+
+    @Override
+    long diceState() {
+        return rng.state();
+    }
+
+    @Override
+    void restoreDiceState(final long state) {
+        rng.setState(state);
+    }
+
+    @Override
+    long stateHash() {
+        return hash.value();
+    }
+
+    @Override
+    NetWorthBoard netWorth() {
+        return netWorth;
+    }
+
+    @Override
+    long estimatedBytes() {
+        // Só os arrays de estado: nomes, cores e definições são compartilhados
+        final long p = playerCount;
+        long bytes = 256 + 3 * (16 + 4 * p) + 2 * (16 + p)
+             + 16 + 4 * p + 3 * (16 + (long) size)
+             + 16 + 4L * deckOrder.length
+             + journal.estimatedBytes();
+        for (OwnershipSet set : owned) bytes += set.estimatedBytes();
+        return bytes;
+    }
+
+    // ============ MOCK DE DADOS (TESTES) ============
+    // ============ MOCK DE DADOS (TESTES) ============
+
+    @Override
+    void setMockedDiceValues(final int d1, final int d2) {
+        if (d1 < 1 || d1 > 6 || d2 < 1 || d2 > 6) {
+            throw new IllegalArgumentException("Dice values must be between 1 and 6");
+        }
+        this.mockedDice1 = d1;
+        this.mockedDice2 = d2;
+        this.hasMockedDice = true;
+    }
+
+    @Override
+    void clearMockedDiceValues() {
+        this.hasMockedDice = false;
+    }
+}
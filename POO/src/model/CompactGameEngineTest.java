@@ -0,0 +1,140 @@
+package model;
+
+import static org.junit.Assert.*;
+import static model.api.dto.PlayerColor.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+public class CompactGameEngineTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int BANK_CASH = 1_000_000;
+
+    // Tabuleiro pequeno com todos os tipos de casa (instâncias novas a cada chamada)
+    private List<Square> makeSquares() {
+        List<Square> squares = new ArrayList<>();
+        squares.add(new DummySquare(0, "Start"));
+        squares.add(new StreetOwnableSquare(1, "Rua 1", "R1", 60));
+        squares.add(new ChanceSquare(2, "Chance"));
+        squares.add(new StreetOwnableSquare(3, "Rua 3", "R3", 120));
+        squares.add(new CompanyOwnableSquare(4, "Cia 4", "C4", 150, 20));
+        squares.add(new DummySquare(5, "Jail"));
+        squares.add(new StreetOwnableSquare(6, "Rua 6", "R6", 200));
+        squares.add(new MoneySquare(7, "Tax", -80));
+        squares.add(new StreetOwnableSquare(8, "Rua 8", "R8", 100));
+        squares.add(new GoToJailSquare(9, "Go To Jail"));
+        squares.add(new ChanceSquare(10, "Chance"));
+        squares.add(new MoneySquare(11, "Bonus", 30));
+        return squares;
+    }
+
+    private Board makeBoard() {
+        return new Board(makeSquares(), 5);
+    }
+
+    private DeckDefinition makeDeck() {
+        return DeckDefinition.of(Arrays.asList(
+            new Card(0, Card.CardType.PAY_BANK, 70),
+            new Card(1, Card.CardType.RECEIVE_BANK, 40),
+            new Card(2, Card.CardType.PAY_ALL, 30),
+            new Card(3, Card.CardType.RECEIVE_ALL, 25),
+            new Card(4, Card.CardType.GO_TO_JAIL, 0),
+            new Card(5, Card.CardType.GET_OUT_OF_JAIL, 0)
+        ));
+    }
+
+    private List<Player> makePlayers() {
+        return Arrays.asList(
+            new Player("P1", "Alice", RED, 400),
+            new Player("P2", "Bob", BLUE, 400),
+            new Player("P3", "Carol", GRAY, 400)
+        );
+    }
+
+    private GameEngine newObjectEngine(long seed) {
+        SplittableRandom master = new SplittableRandom(seed);
+        Deck deck = makeDeck().newDeck(master.split());
+        return new GameEngine(makeBoard(), makePlayers(), deck,
+                              new EconomyService(new Bank(BANK_CASH)), 0, master.split());
+    }
+
+    private CompactGameEngine newCompactEngine(long seed) {
+        SplittableRandom master = new SplittableRandom(seed);
+        BoardDefinition board = BoardDefinition.of(makeSquares(), 5);
+        return new CompactGameEngine(board, makeDeck(), makePlayers(), BANK_CASH, 0,
+                                     master.split(), master.split());
+    }
+
+    private void assertSameState(GameCore a, GameCore b, String when) {
+        assertEquals(when + ": jogador da vez", a.currentPlayerIndex(), b.currentPlayerIndex());
+        for (int i = 0; i < a.playerCount(); i++) {
+            assertEquals(when + ": saldo P" + i, a.playerMoney(i), b.playerMoney(i));
+            assertEquals(when + ": posição P" + i, a.playerPosition(i), b.playerPosition(i));
+            assertEquals(when + ": prisão P" + i, a.playerInJail(i), b.playerInJail(i));
+            assertEquals(when + ": vivo P" + i, a.playerAlive(i), b.playerAlive(i));
+        }
+    }
+
+    private int alive(GameCore core) {
+        int n = 0;
+        for (int i = 0; i < core.playerCount(); i++) if (core.playerAlive(i)) n++;
+        return n;
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void compactEngineMustMatchObjectEngineTurnByTurn() {
+        for (long seed = 1; seed <= 50; seed++) {
+            GameEngine obj = newObjectEngine(seed);
+            CompactGameEngine soa = newCompactEngine(seed);
+
+            for (int turn = 0; turn < 300 && alive(obj) > 1; turn++) {
+                String when = "seed " + seed + " turno " + turn;
+                obj.rollAndResolve();
+                soa.rollAndResolve();
+                assertSameState(obj, soa, when);
+                assertEquals(when + ": carta", obj.lastDrawedCardIndex(), soa.lastDrawedCardIndex());
+
+                boolean bought = obj.chooseBuy();
+                assertEquals(when + ": compra", bought, soa.chooseBuy());
+                if (!bought) {
+                    boolean house = obj.chooseBuildHouse();
+                    assertEquals(when + ": casa", house, soa.chooseBuildHouse());
+                    if (!house) {
+                        assertEquals(when + ": hotel", obj.chooseBuildHotel(), soa.chooseBuildHotel());
+                    }
+                }
+                assertEquals(when + ": transações",
+                             obj.collectTransactions().size(), soa.collectTransactions().size());
+
+                obj.endTurn();
+                soa.endTurn();
+                assertSameState(obj, soa, when);
+            }
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void shouldKeepOwnershipAndBuildingsInArrays() {
+        CompactGameEngine soa = newCompactEngine(7L);
+
+        soa.setMockedDiceValues(1, 2); // 0 -> 3 (Rua 3, preço 120)
+        soa.rollAndResolve();
+        assertTrue(soa.chooseBuy());
+        assertEquals(400 - 120, soa.playerMoney(0));
+
+        var info = soa.getStreetOwnableInfo(3);
+        assertEquals("P1", info.core().owner().id());
+        assertEquals(0, info.propertyHouseNumber());
+        assertEquals(1, soa.getCurrentPlayerPropertyData().size());
+
+        // Vende de volta ao banco por 90% do investido
+        soa.sellAtIndex(3);
+        assertEquals(400 - 120 + 108, soa.playerMoney(0));
+        assertNull(soa.getStreetOwnableInfo(3).core().owner());
+    }
+}
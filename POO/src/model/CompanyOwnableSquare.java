@@ -13,7 +13,16 @@ final class CompanyOwnableSquare extends OwnableSquare {
                          final String id,
                          final int price,
                          final int multiplier) {
-        super(index, name, id, price);
+        this(index, name, id, price, multiplier, PropertyValues.company(price));
+    }
+
+    CompanyOwnableSquare(final int index,
+                         final String name,
+                         final String id,
+                         final int price,
+                         final int multiplier,
+                         final PropertyValues values) {
+        super(index, name, id, price, values);
         if (multiplier <= 0)
             throw new IllegalArgumentException("multiplicador deve ser positivo");
         this.multiplier = multiplier;
@@ -26,6 +35,11 @@ final class CompanyOwnableSquare extends OwnableSquare {
     int getTotalInvestment() {
         return getPrice();
     }
+
+    @Override
+    int sellValue() {
+        return values().sellValue(0);
+    }
     
     // Remove o proprietário, se for o atual. 
     void removeOwner(final Player player) {
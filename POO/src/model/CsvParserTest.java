@@ -0,0 +1,189 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CsvParserTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int STRESS_TIMEOUT = 10000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("csv-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        Path p = dir.resolve(name);
+        Files.write(p, bytes);
+        return p;
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return write(name, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void shouldAcceptBomCrlfBlanksAndAccentedNames() throws IOException {
+        String csv = "index,type,name,price,multiplier,value\r\n"
+                   + "0,start,Início,,,\r\n"
+                   + "\r\n"
+                   + "1, Street , Avenida São João ,  220 ,,\r\n"
+                   + "2,CHANCE,Sorte ou Revés,,,\r\n"
+                   + "3,jail,Prisão,,,\r\n"
+                   + "4,Money,Lucros,,,-75\r\n"
+                   + "5,company,Companhia Férrea,200,50,"; // sem quebra final
+        byte[] body = csv.getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[body.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(body, 0, withBom, 3, body.length);
+
+        BoardDefinition def = BoardFactory.parseDefinition(write("board.csv", withBom));
+        assertEquals(6, def.size());
+        assertEquals(3, def.jailIndex());
+        assertEquals("Início", def.name(0));
+        assertEquals("Avenida São João", def.name(1));
+        assertEquals(220, def.price(1));
+        assertEquals("Sorte ou Revés", def.name(2));
+        assertEquals(-75, def.amount(4));
+        assertEquals("Companhia Férrea", def.name(5));
+        assertEquals(50, def.multiplier(5));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void shouldMatchTheBundledBoard() throws IOException {
+        BoardDefinition parsed = BoardFactory.parseDefinition(BOARD_CSV);
+        // Mesmo conteúdo relido linha a linha com split, como era feito antes
+        var lines = Files.readAllLines(BOARD_CSV);
+        int row = 0;
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) continue;
+            String[] p = line.split(",", -1);
+            assertEquals(p[2].trim(), parsed.name(row));
+            assertEquals(p[3].isBlank() ? 0 : Integer.parseInt(p[3].trim()), parsed.price(row));
+            row++;
+        }
+        assertEquals(row, parsed.size());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void shouldRejectBadHeaderRowsAndNumbers() throws IOException {
+        Path badHeader = write("h.csv", "index,kind,value\n1,PAY_BANK,10\n");
+        Path badLine = write("l.csv", "index,type,value\n1,PAY_BANK\n");
+        Path badNumber = write("n.csv", "index,type,value\n1,PAY_BANK,1O\n");
+        Path badType = write("t.csv", "index,type,value\n1,PAY_NOBODY,10\n");
+        Path empty = write("e.csv", "");
+
+        try {
+            DeckFactory.parseDefinition(badHeader);
+            fail("cabeçalho");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Cabeçalho inválido"));
+        }
+        try {
+            DeckFactory.parseDefinition(badLine);
+            fail("linha");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Linha inválida: 1,PAY_BANK", e.getMessage());
+        }
+        try {
+            DeckFactory.parseDefinition(badNumber);
+            fail("número");
+        } catch (NumberFormatException e) {
+            assertTrue(e.getMessage().contains("1,PAY_BANK,1O"));
+        }
+        try {
+            DeckFactory.parseDefinition(badType);
+            fail("tipo");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("PAY_NOBODY"));
+        }
+        try {
+            DeckFactory.parseDefinition(empty);
+            fail("vazio");
+        } catch (IllegalArgumentException e) {
+            assertEquals("CSV vazio.", e.getMessage());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void onlyEmptyLinesShouldBeSkipped() throws IOException {
+        Path spaces = write("s.csv", "index,type,value\n1,PAY_BANK,10\n  \t\r\n\n2,RECEIVE_BANK,5\n");
+        assertEquals(2, DeckFactory.parseDefinition(spaces).size());
+
+        // Só vírgulas não é linha vazia: é uma linha com campos vazios, e malformada
+        Path commas = write("c.csv", "index,type,value\n1,PAY_BANK,10\n,,\n");
+        try {
+            DeckFactory.parseDefinition(commas);
+            fail("linha só de vírgulas");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Tipo de carta inválido: ", e.getMessage());
+        }
+        Path fewer = write("f.csv", "index,type,value\n1,PAY_BANK,10\n,\n");
+        try {
+            DeckFactory.parseDefinition(fewer);
+            fail("linha só de vírgulas");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Linha inválida: ,", e.getMessage());
+        }
+    }
+
+    @Test(timeout = STRESS_TIMEOUT)
+    public void shouldParseSyntheticStressFilesAboveTheMappingThreshold() throws IOException {
+        final int rows = 300_000;
+        final String[] types = { "PAY_BANK", "receive_bank", "PAY_ALL", "RECEIVE_ALL", "GO_TO_JAIL", "GET_OUT_OF_JAIL" };
+        Path deck = dir.resolve("stress-deck.csv");
+        try (BufferedWriter w = Files.newBufferedWriter(deck)) {
+            w.write("index,type,value\n");
+            for (int i = 0; i < rows; i++) {
+                w.write(i + "," + types[i % types.length] + "," + (i % 1000) + "\n");
+            }
+        }
+        Path board = dir.resolve("stress-board.csv");
+        try (BufferedWriter w = Files.newBufferedWriter(board)) {
+            w.write("index,type,name,price,multiplier,value\r\n");
+            w.write("0,START,Início,,,\r\n1,JAIL,Prisão,,,\r\n");
+            for (int i = 2; i < rows; i++) {
+                w.write(i + ",STREET,Rua nº " + i + "," + (100 + i % 300) + ",,\r\n");
+            }
+        }
+        assertTrue(Files.size(deck) >= FactoryBase.MAP_THRESHOLD_BYTES);
+        assertTrue(Files.size(board) >= FactoryBase.MAP_THRESHOLD_BYTES);
+
+        DeckDefinition d = DeckFactory.parseDefinition(deck);
+        assertEquals(rows, d.size());
+        assertEquals(rows - 1, d.id(rows - 1));
+        assertEquals(Card.CardType.RECEIVE_BANK, d.type(7));
+        assertEquals(999, d.value(999));
+
+        BoardDefinition b = BoardFactory.parseDefinition(board);
+        assertEquals(rows, b.size());
+        assertEquals(1, b.jailIndex());
+        assertEquals("Rua nº " + (rows - 1), b.name(rows - 1));
+        assertEquals(100 + (rows - 1) % 300, b.price(rows - 1));
+    }
+}
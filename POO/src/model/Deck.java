@@ -1,5 +1,7 @@
 /* ===========================================================
  * Deck ; baralho de Sorte/Revés.
+ * A ordem é uma fila circular de slots (int) sobre uma tabela fixa de cartas,
+ * o que permite copiar/restaurar o baralho sem alocar.
  * =========================================================== */
 
 package model;
@@ -8,33 +10,109 @@ import java.util.*;
 
 final class Deck {
 
-    private final Deque<Card> cards;
+    // Carta "saída livre" devolvida ao baralho (imutável, compartilhada)
+    private static final Card RETURNED_JAIL_CARD = new Card(0, Card.CardType.GET_OUT_OF_JAIL, 0);
+
+    // Slots 0..n-1: cartas iniciais; slot n: carta "saída livre" devolvida
+    private final Card[] cardTable;
+    private final int returnedJailCardSlot;
+
+    private int[] order;
+    private int head;
+    private int count;
 
     Deck(final List<Card> initialCards) {
         if (initialCards.isEmpty()) throw new IllegalArgumentException("Deck não pode ser vazio.");
-        this.cards = new ArrayDeque<>(initialCards);
+        final int n = initialCards.size();
+        this.cardTable = new Card[n + 1];
+        this.order = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            cardTable[i] = Objects.requireNonNull(initialCards.get(i), "card");
+            order[i] = i;
+        }
+        this.returnedJailCardSlot = n;
+        cardTable[n] = RETURNED_JAIL_CARD;
+        this.head = 0;
+        this.count = n;
     }
 
     Card draw() {
-        Card c = cards.pollFirst();
-        
+        if (count == 0) throw new IllegalStateException("Baralho vazio.");
+        final int slot = order[head];
+        head = (head + 1) % order.length;
+        count--;
+        final Card c = cardTable[slot];
+
         // Se for carta sair da prisão, ela sai do baralho
         if (c.type() == Card.CardType.GET_OUT_OF_JAIL) {
             return c;
         }
-        
-        cards.addLast(c); // volta pro fim depois de usada
+
+        pushBottom(slot); // volta pro fim depois de usada
         return c;
     }
 
     void returnGetOutOfJailCardToBottom() {
-        cards.addLast(new Card(0, Card.CardType.GET_OUT_OF_JAIL, 0));
+        pushBottom(returnedJailCardSlot);
     }
 
     void shuffle() {
-        List<Card> tmp = new ArrayList<>(cards);
-        Collections.shuffle(tmp);
-        cards.clear();
-        cards.addAll(tmp);
+        shuffle(new SplittableRandom());
+    }
+
+    // Embaralha (Fisher-Yates) usando a fonte de aleatoriedade da partida.
+    void shuffle(final SplittableRandom rng) {
+        linearize();
+        for (int i = count - 1; i > 0; i--) {
+            final int j = rng.nextInt(i + 1);
+            final int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+    }
+
+    // ===== Snapshot (sem alocação) =====
+
+    /* Quantidade de cartas no baralho. */
+    int size() { return count; }
+
+    /* Capacidade da fila (tamanho mínimo do buffer de snapshot). */
+    int capacity() { return order.length; }
+
+    /* Copia a ordem atual (topo primeiro) para out e retorna a quantidade de cartas. */
+    int copyOrderTo(final int[] out) {
+        final int first = Math.min(count, order.length - head);
+        System.arraycopy(order, head, out, 0, first);
+        System.arraycopy(order, 0, out, first, count - first);
+        return count;
+    }
+
+    /* Restaura a ordem a partir de slots copiados por copyOrderTo. */
+    void restoreOrder(final int[] src, final int n) {
+        if (n > order.length) throw new IllegalArgumentException("Snapshot de baralho maior que a capacidade.");
+        System.arraycopy(src, 0, order, 0, n);
+        head = 0;
+        count = n;
+    }
+
+    // ===== Auxiliares =====
+
+    private void pushBottom(final int slot) {
+        if (count == order.length) {
+            // Só ocorre se mais cartas "saída livre" forem devolvidas do que existiam
+            linearize();
+            order = Arrays.copyOf(order, order.length * 2);
+        }
+        order[(head + count) % order.length] = slot;
+        count++;
+    }
+
+    // Reposiciona a fila para começar no índice 0.
+    private void linearize() {
+        if (head == 0) return;
+        final int[] tmp = new int[order.length];
+        copyOrderTo(tmp);
+        order = tmp;
+        head = 0;
     }
 }
@@ -0,0 +1,105 @@
+/* ===========================================================
+ * DeckDefinition ; definição imutável do baralho de Sorte/Revés.
+ * Lida uma vez por processo e compartilhada; cada partida guarda só a ordem.
+ * =========================================================== */
+
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+final class DeckDefinition {
+
+    private final List<Card> cards; // Card é imutável: pode ser compartilhada
+    private final int[] ids;
+    private final Card.CardType[] types;
+    private final int[] values;
+
+    // Hash do CSV de origem: gravado pelo DefinitionCache antes de publicar (null fora do cache)
+    private String contentHash;
+
+    private DeckDefinition(final List<Card> cards) {
+        this.cards = List.copyOf(Objects.requireNonNull(cards, "cards"));
+        if (this.cards.isEmpty()) throw new IllegalArgumentException("Deck não pode ser vazio.");
+        final int n = this.cards.size();
+        this.ids = new int[n];
+        this.types = new Card.CardType[n];
+        this.values = new int[n];
+        for (int i = 0; i < n; i++) {
+            final Card c = this.cards.get(i);
+            ids[i] = c.getId();
+            types[i] = c.type();
+            values[i] = c.value();
+        }
+    }
+
+    static DeckDefinition of(final List<Card> cards) {
+        return new DeckDefinition(cards);
+    }
+
+    /* Hash do conteúdo de que a definição veio (ver DefinitionCache.hashOf). */
+    String contentHash() { return contentHash; }
+
+    void setContentHash(final String hash) { this.contentHash = hash; }
+
+    /* Cria o baralho de uma nova partida, já embaralhado. */
+    Deck newDeck(final SplittableRandom rng) {
+        final Deck deck = new Deck(cards);
+        deck.shuffle(rng);
+        return deck;
+    }
+
+    /*
+     * Ordem embaralhada dos slots de carta; consome o rng exatamente como Deck.shuffle,
+     * então a mesma seed produz a mesma ordem nos dois motores.
+     */
+    int[] shuffledOrder(final SplittableRandom rng) {
+        final int[] order = new int[ids.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        for (int i = order.length - 1; i > 0; i--) {
+            final int j = rng.nextInt(i + 1);
+            final int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    // ===== Forma compilada (DefinitionCache) =====
+
+    /* Layout: int cartas; por carta: int id, byte tipo (ordinal), int valor. */
+    void writeTo(final ByteBuffer buf) {
+        buf.putInt(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            buf.putInt(ids[i]);
+            buf.put((byte) types[i].ordinal());
+            buf.putInt(values[i]);
+        }
+    }
+
+    int maxEncodedBytes() {
+        return 4 + ids.length * 9;
+    }
+
+    static DeckDefinition readFrom(final ByteBuffer buf) {
+        final int n = buf.getInt();
+        if (n <= 0 || (long) n * 9 > buf.remaining()) throw new IllegalArgumentException("Quantidade de cartas inválida na forma compilada: " + n);
+        final Card.CardType[] all = Card.CardType.values();
+        final List<Card> cards = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            final int cardId = buf.getInt();
+            final int t = buf.get();
+            if (t < 0 || t >= all.length) throw new IllegalArgumentException("Tipo de carta inválido na forma compilada: " + t);
+            cards.add(new Card(cardId, all[t], buf.getInt()));
+        }
+        return of(cards);
+    }
+
+    int size() { return ids.length; }
+    int id(final int slot) { return ids[slot]; }
+    Card.CardType type(final int slot) { return types[slot]; }
+    int value(final int slot) { return values[slot]; }
+}
@@ -4,31 +4,54 @@
 
 package model;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.*;
 
 final class DeckFactory extends FactoryBase<Card> {
 
     private static final List<String> EXPECTED_HEADER = List.of("index", "type", "value");
+    private static final Card.CardType[] CARD_TYPES = Card.CardType.values();
 
     static Deck fromCSV(final Path csvPath) {
-        DeckFactory factory = new DeckFactory();
-        List<Card> cards = factory.readCSV(csvPath, EXPECTED_HEADER);
+        return fromCSV(csvPath, new SplittableRandom());
+    }
+
+    // Cria o baralho embaralhado com a fonte de aleatoriedade da partida.
+    static Deck fromCSV(final Path csvPath, final SplittableRandom rng) {
+        Objects.requireNonNull(rng, "rng");
+        return parseDefinition(csvPath).newDeck(rng);
+    }
+
+    /* Definição compartilhada do baralho: o CSV só é lido quando o conteúdo é novo (DefinitionCache). */
+    static DeckDefinition definition(final Path csvPath) {
+        Objects.requireNonNull(csvPath);
+        return DefinitionCache.deck(csvPath);
+    }
+
+    static DeckDefinition parseDefinition(final Path csvPath) {
+        return toDefinition(new DeckFactory().readCSV(csvPath, EXPECTED_HEADER), csvPath.toString());
+    }
+
+    /* Parse do conteúdo já lido (o DefinitionCache faz hash e parse dos mesmos bytes). */
+    static DeckDefinition parseDefinition(final ByteBuffer csv, final String source) {
+        return toDefinition(new DeckFactory().parseCSV(csv, EXPECTED_HEADER), source);
+    }
 
+    private static DeckDefinition toDefinition(final List<Card> cards, final String source) {
         if (cards.isEmpty())
-            throw new IllegalArgumentException("Deck vazio: " + csvPath);
+            throw new IllegalArgumentException("Deck vazio: " + source);
 
-        Deck deck = new Deck(cards);
-        deck.shuffle();
-        return deck;
+        return DeckDefinition.of(cards);
     }
 
     @Override
-    protected Card parseLine(String[] p) {
-        int id = parseInt(p[0]);
-        String typeStr = p[1].trim().toUpperCase(Locale.ROOT);
-        int value = parseInt(p[2]);
-        Card.CardType type = Card.CardType.valueOf(typeStr);
-        return new Card(id, type, value);
+    protected Card parseRow(CsvRow row) {
+        int id = row.intField(0);
+        int value = row.intField(2);
+        for (Card.CardType type : CARD_TYPES) {
+            if (row.equalsIgnoreCase(1, type.name())) return new Card(id, type, value);
+        }
+        throw new IllegalArgumentException("Tipo de carta inválido: " + row.stringField(1));
     }
 }
@@ -0,0 +1,391 @@
+/* ===========================================================
+ * DefinitionCache ; cache das definições de tabuleiro e baralho, chaveado
+ * pelo hash (SHA-256) do conteúdo do CSV.
+ *
+ * 1) Em processo: hash -> definição já validada (compartilhada por todas as partidas).
+ * 2) Em disco: forma compilada (binária, com CRC32) em <diretório>/<tipo>-<hash>.bin,
+ *    que sobrevive ao processo; o CSV só é lido/validado quando o conteúdo é novo.
+ * Para não reler o CSV a cada partida, guarda-se por arquivo (tamanho, data de
+ * modificação) -> hash; se nenhum dos dois mudou, a busca é só um lookup.
+ * Quando o CSV precisa ser lido, ele é lido uma vez só (FactoryBase.contents: no
+ * heap, ou mapeado se grande): o hash e o parse usam o mesmo buffer (o arquivo
+ * pode mudar entre duas leituras, ex.: recarga a quente).
+ * Falhas de E/S no cache em disco não são fatais: cai-se no parse do CSV.
+ * A forma compilada tem versão própria (COMPILED_VERSION); arquivos de outra
+ * versão, ou com bytes sobrando após a decodificação, também caem no CSV.
+ * Arquivos observados por um DefinitionReloader ficam "fixados": a definição
+ * publicada pelo reloader é devolvida sem nem consultar o sistema de arquivos.
+ * Cada arquivo aceita um único reloader.
+ * Partidas salvas guardam o hash das definições (hashOf, gravado na própria
+ * definição); ao carregar, board/deck com hash buscam aquele conteúdo (memória
+ * ou disco) mesmo que o CSV tenha mudado.
+ * Em memória ficam só a última definição carregada de cada arquivo e as que
+ * ainda estão em uso (referência fraca): conteúdos antigos de um CSV editado
+ * saem do cache quando a última partida que os usava termina.
+ * =========================================================== */
+
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+final class DefinitionCache {
+
+    static final int BOARD_MAGIC = 0x4D425244; // "MBRD"
+    static final int DECK_MAGIC = 0x4D44434B;  // "MDCK"
+
+    // Até a 2 o preâmbulo era o do GameSaveCodec, com contagens e índices em short
+    static final short COMPILED_VERSION = 3;
+
+    /** Diretório padrão do cache em disco (sobrescrito por -Dmonopoly.definitions.cache=...). */
+    static final String DIRECTORY_PROPERTY = "monopoly.definitions.cache";
+
+    // Carimbo de um arquivo já visto: se tamanho e data não mudaram, o hash é o mesmo
+    private record Stamp(long size, long modified, String hash) { }
+
+    private static final Map<Path, Stamp> STAMPS = new ConcurrentHashMap<>();
+    private static final Memory<BoardDefinition> BOARDS = new Memory<>(BoardDefinition::setContentHash);
+    private static final Memory<DeckDefinition> DECKS = new Memory<>(DeckDefinition::setContentHash);
+
+    // Definições publicadas por um DefinitionReloader (caminho absoluto -> definição atual)
+    private static final Map<Path, BoardDefinition> PINNED_BOARDS = new ConcurrentHashMap<>();
+    private static final Map<Path, DeckDefinition> PINNED_DECKS = new ConcurrentHashMap<>();
+
+    private static volatile Path directory = Paths.get(System.getProperty(DIRECTORY_PROPERTY,
+            Paths.get(System.getProperty("java.io.tmpdir"), "monopoly-definitions").toString()));
+
+    private DefinitionCache() { }
+
+    // ===== API =====
+
+    static BoardDefinition board(final Path csvPath) {
+        final BoardDefinition pinned = PINNED_BOARDS.get(key(csvPath));
+        return pinned != null ? pinned : loadBoard(csvPath);
+    }
+
+    static DeckDefinition deck(final Path csvPath) {
+        final DeckDefinition pinned = PINNED_DECKS.get(key(csvPath));
+        return pinned != null ? pinned : loadDeck(csvPath);
+    }
+
+    /*
+     * Definição com o hash dado (a de uma partida salva), mesmo que o CSV tenha
+     * mudado depois. hash null: a atual. Sem aquele conteúdo em memória, no disco
+     * ou no próprio CSV, a partida não pode ser reconstruída.
+     */
+    static BoardDefinition board(final Path csvPath, final String hash) {
+        if (hash == null) return board(csvPath);
+        final BoardDefinition known = lookup("board", BOARD_MAGIC, hash, BOARDS, BoardDefinition::readFrom);
+        if (known != null) return known;
+        final BoardDefinition current = board(csvPath);
+        if (!hash.equals(hashOf(current))) throw changed("tabuleiro", csvPath);
+        return current;
+    }
+
+    static DeckDefinition deck(final Path csvPath, final String hash) {
+        if (hash == null) return deck(csvPath);
+        final DeckDefinition known = lookup("deck", DECK_MAGIC, hash, DECKS, DeckDefinition::readFrom);
+        if (known != null) return known;
+        final DeckDefinition current = deck(csvPath);
+        if (!hash.equals(hashOf(current))) throw changed("baralho", csvPath);
+        return current;
+    }
+
+    /* Hash do conteúdo de que a definição veio (null se não veio do cache, ex.: BoardDefinition.of). */
+    static String hashOf(final BoardDefinition definition) {
+        return definition.contentHash();
+    }
+
+    static String hashOf(final DeckDefinition definition) {
+        return definition.contentHash();
+    }
+
+    private static IllegalArgumentException changed(final String what, final Path csvPath) {
+        return new IllegalArgumentException("CSV do " + what + " mudou desde que o arquivo foi gravado e o "
+                                            + "conteúdo original não está no cache: " + csvPath);
+    }
+
+    /* Definição do conteúdo atual do arquivo, ignorando a fixada (usado pelo reloader). */
+    static BoardDefinition loadBoard(final Path csvPath) {
+        return load("board", BOARD_MAGIC, csvPath, BOARDS,
+                BoardFactory::parseDefinition, BoardDefinition::readFrom,
+                (def, buf) -> def.writeTo(buf), BoardDefinition::maxEncodedBytes);
+    }
+
+    static DeckDefinition loadDeck(final Path csvPath) {
+        return load("deck", DECK_MAGIC, csvPath, DECKS,
+                csv -> DeckFactory.parseDefinition(csv, csvPath.toString()), DeckDefinition::readFrom,
+                (def, buf) -> def.writeTo(buf), DeckDefinition::maxEncodedBytes);
+    }
+
+    /* Hash do conteúdo atual do arquivo (relê o arquivo só se tamanho/data mudaram). */
+    static String contentHash(final Path csvPath) {
+        final String stamped = stampedHash(csvPath);
+        return stamped != null ? stamped : readContent(csvPath).hash();
+    }
+
+    // Conteúdo lido de uma vez: o buffer (heap ou mapeado) e o hash dele
+    private record Content(ByteBuffer csv, String hash) { }
+
+    /* Hash conhecido pelo carimbo (tamanho e data iguais), ou null se é preciso ler o arquivo. */
+    private static String stampedHash(final Path csvPath) {
+        final Path key = key(csvPath);
+        try {
+            final BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+            final Stamp known = STAMPS.get(key);
+            if (known != null && known.size() == attrs.size()
+                && known.modified() == attrs.lastModifiedTime().toMillis()) return known.hash();
+            return null;
+        } catch (NoSuchFileException e) {
+            throw new UncheckedIOException("Arquivo não encontrado: " + csvPath, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler CSV: " + csvPath, e);
+        }
+    }
+
+    /*
+     * Lê o arquivo uma vez e carimba. Os atributos são lidos antes dos bytes: se o
+     * arquivo mudar no meio, o carimbo fica velho e a próxima busca relê.
+     */
+    private static Content readContent(final Path csvPath) {
+        final Path key = key(csvPath);
+        try {
+            final BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+            final ByteBuffer csv = FactoryBase.contents(key);
+            final String hash = sha256(csv.duplicate());
+            STAMPS.put(key, new Stamp(attrs.size(), attrs.lastModifiedTime().toMillis(), hash));
+            return new Content(csv, hash);
+        } catch (NoSuchFileException e) {
+            throw new UncheckedIOException("Arquivo não encontrado: " + csvPath, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler CSV: " + csvPath, e);
+        }
+    }
+
+    /* Força o próximo contentHash a reler o arquivo (mudança vista por outro meio). */
+    static void forgetStamp(final Path csvPath) {
+        STAMPS.remove(key(csvPath));
+    }
+
+    static Path key(final Path csvPath) {
+        Objects.requireNonNull(csvPath, "csvPath");
+        return csvPath.toAbsolutePath().normalize();
+    }
+
+    // ===== Fixação (DefinitionReloader) =====
+
+    /*
+     * Fixa a definição de um arquivo para um reloader. Um arquivo tem no máximo
+     * um reloader: um segundo é rejeitado (o close de um soltaria a fixação do outro).
+     */
+    static void claimBoard(final Path csvPath, final BoardDefinition definition) {
+        claim(PINNED_BOARDS, key(csvPath), definition);
+    }
+
+    static void claimDeck(final Path csvPath, final DeckDefinition definition) {
+        claim(PINNED_DECKS, key(csvPath), definition);
+    }
+
+    private static <T> void claim(final Map<Path, T> pins, final Path key, final T definition) {
+        if (pins.putIfAbsent(key, Objects.requireNonNull(definition, "definition")) != null)
+            throw new IllegalStateException("Arquivo já observado por outro DefinitionReloader: " + key);
+    }
+
+    /* Publica uma nova definição de um arquivo já fixado (sem efeito se a fixação acabou). */
+    static void pinBoard(final Path csvPath, final BoardDefinition definition) {
+        PINNED_BOARDS.replace(key(csvPath), Objects.requireNonNull(definition, "definition"));
+    }
+
+    static void pinDeck(final Path csvPath, final DeckDefinition definition) {
+        PINNED_DECKS.replace(key(csvPath), Objects.requireNonNull(definition, "definition"));
+    }
+
+    static void unpinBoard(final Path csvPath) {
+        PINNED_BOARDS.remove(key(csvPath));
+    }
+
+    static void unpinDeck(final Path csvPath) {
+        PINNED_DECKS.remove(key(csvPath));
+    }
+
+    // ===== Configuração / testes =====
+
+    static Path directory() { return directory; }
+
+    static void setDirectory(final Path dir) {
+        directory = Objects.requireNonNull(dir, "dir");
+    }
+
+    /* Definições em memória (tabuleiros + baralhos), sem as já coletadas. */
+    static int cachedDefinitions() {
+        return BOARDS.size() + DECKS.size();
+    }
+
+    /* Esquece o cache em processo (o cache em disco permanece). */
+    static void clearMemory() {
+        STAMPS.clear();
+        PINNED_BOARDS.clear();
+        PINNED_DECKS.clear();
+        BOARDS.clear();
+        DECKS.clear();
+    }
+
+    // ===== Disco =====
+
+    @FunctionalInterface
+    private interface Encoder<T> {
+        void write(T definition, ByteBuffer buf);
+    }
+
+    /*
+     * Memória, depois forma compilada em disco, depois CSV. Com carimbo válido o
+     * hash é conhecido sem ler o arquivo; senão os bytes lidos para o hash são os
+     * mesmos do parse, então a definição nunca fica guardada sob o hash errado.
+     */
+    private static <T> T load(final String kind, final int magic, final Path csvPath, final Memory<T> memory,
+                              final Function<ByteBuffer, T> parse, final Function<ByteBuffer, T> decode,
+                              final Encoder<T> encode, final Function<T, Integer> maxBytes) {
+        final String stamped = stampedHash(csvPath);
+        if (stamped != null) {
+            final T known = lookup(kind, magic, stamped, memory, decode);
+            if (known != null) return memory.keep(key(csvPath), known);
+        }
+
+        final Content content = readContent(csvPath);
+        final T known = lookup(kind, magic, content.hash(), memory, decode);
+        if (known != null) return memory.keep(key(csvPath), known);
+
+        final T definition = parse.apply(content.csv());
+        try {
+            Files.createDirectories(directory);
+            final ByteBuffer buf = ByteBuffer.allocate(6 + maxBytes.apply(definition) + 4);
+            buf.putInt(magic);
+            buf.putShort(COMPILED_VERSION);
+            encode.write(definition, buf);
+            GameSaveCodec.writeFile(compiledFile(kind, content.hash()), buf, new CRC32());
+        } catch (IOException | RuntimeException e) {
+            // Cache em disco é só otimização: a definição já está pronta
+        }
+        return memory.keep(key(csvPath), memory.putIfAbsent(content.hash(), definition));
+    }
+
+    /* Definição já conhecida para o hash: em memória ou compilada em disco (null se nenhuma). */
+    private static <T> T lookup(final String kind, final int magic, final String hash,
+                                final Memory<T> memory, final Function<ByteBuffer, T> decode) {
+        final T inMemory = memory.get(hash);
+        if (inMemory != null) return inMemory;
+
+        final Path file = compiledFile(kind, hash);
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            final ByteBuffer buf = GameSaveCodec.readFile(file);
+            if (buf.remaining() < 6 || buf.getInt() != magic || buf.getShort() != COMPILED_VERSION) return null;
+            final T definition = decode.apply(buf);
+            if (buf.hasRemaining()) return null;
+            return memory.putIfAbsent(hash, definition);
+        } catch (IOException | RuntimeException e) {
+            // Forma compilada ilegível/antiga: recompila a partir do CSV
+            return null;
+        }
+    }
+
+    // ===== Memória =====
+
+    /*
+     * hash -> definição, por referência fraca: a entrada some quando nada mais usa
+     * a definição (partidas, fixações ou 'latest', a última carregada de cada arquivo).
+     * A definição recebe o hash (tag) antes de ser publicada, e hashOf não busca nada.
+     */
+    private static final class Memory<T> {
+
+        private final Map<String, Entry<T>> byHash = new ConcurrentHashMap<>();
+        private final Map<Path, T> latest = new ConcurrentHashMap<>();
+        private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+        private final BiConsumer<T, String> tag;
+
+        Memory(final BiConsumer<T, String> tag) {
+            this.tag = tag;
+        }
+
+        T get(final String hash) {
+            final Entry<T> e = byHash.get(hash);
+            return e != null ? e.get() : null;
+        }
+
+        /* Publica sob o hash; se outra definição viva já está lá (corrida), devolve a outra. */
+        T putIfAbsent(final String hash, final T definition) {
+            expunge();
+            tag.accept(definition, hash);
+            final Entry<T> fresh = new Entry<>(hash, definition, collected);
+            while (true) {
+                final Entry<T> current = byHash.putIfAbsent(hash, fresh);
+                if (current == null) return definition;
+                final T known = current.get();
+                if (known != null) return known;
+                if (byHash.replace(hash, current, fresh)) return definition;
+            }
+        }
+
+        T keep(final Path key, final T definition) {
+            latest.put(key, definition);
+            return definition;
+        }
+
+        int size() {
+            expunge();
+            return byHash.size();
+        }
+
+        void clear() {
+            byHash.clear();
+            latest.clear();
+        }
+
+        private void expunge() {
+            for (Object ref; (ref = collected.poll()) != null; ) {
+                final Entry<?> e = (Entry<?>) ref;
+                byHash.remove(e.hash, e);
+            }
+        }
+    }
+
+    private static final class Entry<T> extends WeakReference<T> {
+        final String hash;
+
+        Entry(final String hash, final T definition, final ReferenceQueue<? super T> queue) {
+            super(definition, queue);
+            this.hash = hash;
+        }
+    }
+
+    private static Path compiledFile(final String kind, final String hash) {
+        return directory.resolve(kind + "-" + hash + ".bin");
+    }
+
+    private static String sha256(final ByteBuffer bytes) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(bytes);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
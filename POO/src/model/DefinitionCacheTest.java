@@ -0,0 +1,227 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefinitionCacheTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private Path dir;
+    private Path cacheDir;
+    private Path previousDir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("defcache-test");
+        cacheDir = dir.resolve("cache");
+        previousDir = DefinitionCache.directory();
+        DefinitionCache.setDirectory(cacheDir);
+        DefinitionCache.clearMemory();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        DefinitionCache.setDirectory(previousDir);
+        DefinitionCache.clearMemory();
+        for (Path d : new Path[] { cacheDir, dir }) {
+            if (!Files.exists(d)) continue;
+            try (var files = Files.list(d)) {
+                for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+            }
+            Files.deleteIfExists(d);
+        }
+    }
+
+    private static void assertSameBoard(BoardDefinition expected, BoardDefinition actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.jailIndex(), actual.jailIndex());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("casa " + i, expected.kind(i), actual.kind(i));
+            assertEquals(expected.name(i), actual.name(i));
+            assertEquals(expected.type(i), actual.type(i));
+            assertEquals(expected.price(i), actual.price(i));
+            assertEquals(expected.multiplier(i), actual.multiplier(i));
+            assertEquals(expected.amount(i), actual.amount(i));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void sameContentShouldShareOneDefinitionWhateverThePath() throws IOException {
+        Path copy = dir.resolve("board-copy.csv");
+        Files.copy(BOARD_CSV, copy);
+
+        BoardDefinition a = BoardFactory.definition(BOARD_CSV);
+        assertSame(a, BoardFactory.definition(copy));
+        assertSame(a, BoardFactory.definition(BOARD_CSV));
+    }
+
+    @Test(timeout = 10000)
+    public void oldContentsOfAnEditedFileShouldLeaveTheCacheOnceUnused() throws IOException {
+        Path deck = dir.resolve("deck.csv");
+        DeckDefinition kept = null;
+        for (int v = 0; v < 50; v++) {
+            Files.writeString(deck, "index,type,value\n1,RECEIVE_BANK," + v + "\n");
+            DefinitionCache.forgetStamp(deck);
+            DeckDefinition def = DeckFactory.definition(deck);
+            // O hash vem da própria definição, não de uma busca no cache
+            assertEquals(DefinitionCache.contentHash(deck), DefinitionCache.hashOf(def));
+            if (v == 10) kept = def;
+        }
+        // Fica a última de cada arquivo e a que ainda está em uso
+        for (int gc = 0; gc < 50 && DefinitionCache.cachedDefinitions() > 2; gc++) System.gc();
+        assertEquals(2, DefinitionCache.cachedDefinitions());
+        assertEquals(10, kept.value(0));
+        assertSame(kept, DefinitionCache.deck(deck, DefinitionCache.hashOf(kept)));
+        assertNull(DefinitionCache.hashOf(DeckDefinition.of(List.of(new Card(1, Card.CardType.PAY_BANK, 1)))));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void editedFileShouldProduceNewDefinition() throws IOException {
+        Path deck = dir.resolve("deck.csv");
+        Files.copy(DECK_CSV, deck);
+        DeckDefinition before = DeckFactory.definition(deck);
+
+        // Remove a última carta (conteúdo e tamanho mudam)
+        var lines = Files.readAllLines(deck);
+        Files.write(deck, lines.subList(0, lines.size() - 1));
+        Files.setLastModifiedTime(deck, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        DeckDefinition after = DeckFactory.definition(deck);
+        assertNotSame(before, after);
+        assertEquals(before.size() - 1, after.size());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void compiledFormOnDiskShouldRebuildTheSameDefinitions() throws IOException {
+        BoardDefinition parsedBoard = BoardFactory.definition(BOARD_CSV);
+        DeckDefinition parsedDeck = DeckFactory.definition(DECK_CSV);
+        try (var files = Files.list(cacheDir)) {
+            assertEquals(2, files.count());
+        }
+
+        // Novo "processo": só o cache em disco sobrevive
+        DefinitionCache.clearMemory();
+        BoardDefinition loadedBoard = BoardFactory.definition(BOARD_CSV);
+        DeckDefinition loadedDeck = DeckFactory.definition(DECK_CSV);
+        assertNotSame(parsedBoard, loadedBoard);
+        assertSameBoard(parsedBoard, loadedBoard);
+        assertEquals(parsedDeck.size(), loadedDeck.size());
+        for (int i = 0; i < parsedDeck.size(); i++) {
+            assertEquals(parsedDeck.id(i), loadedDeck.id(i));
+            assertEquals(parsedDeck.type(i), loadedDeck.type(i));
+            assertEquals(parsedDeck.value(i), loadedDeck.value(i));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void corruptedCompiledFormShouldFallBackToTheCsv() throws IOException {
+        BoardDefinition parsed = BoardFactory.definition(BOARD_CSV);
+        Path compiled = cacheDir.resolve("board-" + DefinitionCache.contentHash(BOARD_CSV) + ".bin");
+        byte[] bytes = Files.readAllBytes(compiled);
+        bytes[bytes.length / 2] ^= 0x3C;
+        Files.write(compiled, bytes);
+
+        DefinitionCache.clearMemory();
+        assertSameBoard(parsed, BoardFactory.definition(BOARD_CSV));
+
+        // E a forma compilada é regravada
+        Path other = dir.resolve("board.bin");
+        Files.copy(compiled, other, StandardCopyOption.REPLACE_EXISTING);
+        GameSaveCodec.readFile(other);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void compiledFormShouldKeepMoreThanAShortOfCards() throws IOException {
+        Path deck = dir.resolve("deck-big.csv");
+        StringBuilder csv = new StringBuilder("index,type,value\n");
+        for (int i = 0; i < 70_000; i++) csv.append(i).append(",RECEIVE_BANK,").append(i % 500).append('\n');
+        Files.writeString(deck, csv);
+
+        assertEquals(70_000, DeckFactory.definition(deck).size());
+        DefinitionCache.clearMemory();
+        DeckDefinition loaded = DeckFactory.definition(deck);
+        assertEquals(70_000, loaded.size());
+        assertEquals(69_999, loaded.id(69_999));
+        assertEquals(69_999 % 500, loaded.value(69_999));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void compiledFormOfAnotherVersionShouldFallBackToTheCsv() throws IOException {
+        DeckDefinition parsed = DeckFactory.definition(DECK_CSV);
+        Path compiled = cacheDir.resolve("deck-" + DefinitionCache.contentHash(DECK_CSV) + ".bin");
+
+        // Forma da versão 2: preâmbulo do GameSaveCodec e contagem em short
+        java.nio.ByteBuffer old = java.nio.ByteBuffer.allocate(6 + 2 + parsed.size() * 9 + 4);
+        old.putInt(DefinitionCache.DECK_MAGIC).putShort((short) 2).putShort((short) parsed.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            old.putInt(parsed.id(i)).put((byte) parsed.type(i).ordinal()).putInt(parsed.value(i));
+        }
+        GameSaveCodec.writeFile(compiled, old, new java.util.zip.CRC32());
+
+        DefinitionCache.clearMemory();
+        assertEquals(parsed.size(), DeckFactory.definition(DECK_CSV).size());
+        java.nio.ByteBuffer rewritten = GameSaveCodec.readFile(compiled);
+        assertEquals(DefinitionCache.DECK_MAGIC, rewritten.getInt());
+        assertEquals(DefinitionCache.COMPILED_VERSION, rewritten.getShort());
+    }
+
+    @Test(timeout = 5000)
+    public void definitionShouldBeCachedUnderTheHashOfTheBytesItWasParsedFrom() throws Exception {
+        Path deck = dir.resolve("deck-race.csv");
+        String small = "index,type,value\n1,RECEIVE_BANK,10\n";
+        String large = small + "2,PAY_BANK,20\n3,PAY_BANK,30\n";
+        Files.writeString(deck, small);
+        String smallHash = DefinitionCache.contentHash(deck);
+        Files.writeString(deck, large);
+        DefinitionCache.forgetStamp(deck);
+        String largeHash = DefinitionCache.contentHash(deck);
+
+        // Alterna o conteúdo enquanto o cache relê o arquivo
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; !Thread.currentThread().isInterrupted(); i++) {
+                    Files.writeString(deck, i % 2 == 0 ? small : large);
+                }
+            } catch (IOException e) {
+                // o teste terminou e apagou o diretório
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 300; i++) {
+                DefinitionCache.clearMemory();
+                try {
+                    DefinitionCache.loadDeck(deck);
+                } catch (RuntimeException e) {
+                    // leitura de um arquivo pela metade: não entra no cache
+                }
+            }
+        } finally {
+            writer.interrupt();
+            writer.join();
+        }
+
+        for (String[] expected : new String[][] { { smallHash, "1" }, { largeHash, "3" } }) {
+            Path compiled = cacheDir.resolve("deck-" + expected[0] + ".bin");
+            if (!Files.exists(compiled)) continue;
+            java.nio.ByteBuffer buf = GameSaveCodec.readFile(compiled);
+            buf.position(6);
+            assertEquals(Integer.parseInt(expected[1]), DeckDefinition.readFrom(buf).size());
+        }
+    }
+}
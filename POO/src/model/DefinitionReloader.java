@@ -0,0 +1,196 @@
+/* ===========================================================
+ * DefinitionReloader ; recarga a quente de board.csv e deck.csv.
+ *
+ * Observa os diretórios dos CSVs (WatchService) numa thread própria. Quando um
+ * arquivo muda, espera as escritas assentarem, faz o parse em segundo plano
+ * (via DefinitionCache) e publica a nova definição de uma vez: as próximas
+ * partidas criadas já a usam. Partidas em andamento guardam a definição com
+ * que começaram e não são afetadas.
+ * O caminho de criação de partidas só lê a definição publicada (um lookup),
+ * nunca espera parse nem E/S. Se o arquivo novo for inválido, a definição
+ * anterior continua valendo e o erro fica em lastError().
+ * =========================================================== */
+
+package model;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public final class DefinitionReloader implements AutoCloseable {
+
+    // Editores costumam gravar em várias etapas: espera este silêncio antes de reler
+    static final long SETTLE_MILLIS = 100;
+
+    private final Path boardCsv;
+    private final Path deckCsv;
+    private final WatchService watcher;
+    private final Thread thread;
+
+    // Guardados sob o monitor do próprio reloader
+    private long generation;
+    private RuntimeException lastError;
+    private boolean closed;
+
+    private DefinitionReloader(final Path boardCsv, final Path deckCsv) throws IOException {
+        this.boardCsv = DefinitionCache.key(boardCsv);
+        this.deckCsv = DefinitionCache.key(deckCsv);
+
+        // Carga inicial síncrona: arquivo inválido (ou já observado) aqui é erro de configuração
+        DefinitionCache.claimBoard(this.boardCsv, DefinitionCache.loadBoard(this.boardCsv));
+        try {
+            DefinitionCache.claimDeck(this.deckCsv, DefinitionCache.loadDeck(this.deckCsv));
+        } catch (RuntimeException e) {
+            DefinitionCache.unpinBoard(this.boardCsv);
+            throw e;
+        }
+
+        this.watcher = this.boardCsv.getFileSystem().newWatchService();
+        try {
+            register(this.boardCsv.getParent());
+            if (!this.deckCsv.getParent().equals(this.boardCsv.getParent())) register(this.deckCsv.getParent());
+        } catch (IOException e) {
+            watcher.close();
+            unpin();
+            throw e;
+        }
+
+        this.thread = new Thread(this::run, "definition-reloader");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Passa a observar os dois CSVs. Novas partidas que usem esses caminhos
+     * recebem sempre a última versão válida dos arquivos. Um arquivo já observado
+     * por outro reloader (ainda aberto) é rejeitado com IllegalStateException.
+     */
+    public static DefinitionReloader watch(final Path boardCsv, final Path deckCsv) throws IOException {
+        Objects.requireNonNull(boardCsv, "boardCsv");
+        Objects.requireNonNull(deckCsv, "deckCsv");
+        return new DefinitionReloader(boardCsv, deckCsv);
+    }
+
+    /** Quantas vezes uma definição nova foi publicada desde o início. */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /** Erro da última tentativa de recarga (null se ela deu certo). */
+    public synchronized RuntimeException lastError() {
+        return lastError;
+    }
+
+    /** Para de observar; os caminhos voltam a ser resolvidos pelo DefinitionCache. */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            unpin();
+            notifyAll();
+        }
+        watcher.close();
+    }
+
+    /* Espera até a geração alcançar 'target' (ou o prazo acabar). */
+    synchronized boolean awaitGeneration(final long target, final long timeoutMillis) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (generation < target && !closed) {
+            final long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (left <= 0) return false;
+            wait(left);
+        }
+        return generation >= target;
+    }
+
+    // ===== Thread de observação =====
+
+    private void register(final Path dir) throws IOException {
+        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean board = false;
+                boolean deck = false;
+                // Junta os eventos até os arquivos ficarem quietos por SETTLE_MILLIS
+                do {
+                    final Path dir = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            board = true;
+                            deck = true;
+                            continue;
+                        }
+                        final Path changed = dir.resolve((Path) event.context());
+                        board |= changed.equals(boardCsv);
+                        deck |= changed.equals(deckCsv);
+                    }
+                    key.reset();
+                    key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                if (board) reloadBoard();
+                if (deck) reloadDeck();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Reloader encerrado
+        }
+    }
+
+    private void reloadBoard() {
+        try {
+            // O evento já diz que o arquivo mudou: não confia no carimbo tamanho/data
+            DefinitionCache.forgetStamp(boardCsv);
+            final BoardDefinition next = DefinitionCache.loadBoard(boardCsv);
+            synchronized (this) {
+                lastError = null;
+                if (closed || next == DefinitionCache.board(boardCsv)) return;
+                DefinitionCache.pinBoard(boardCsv, next);
+                published();
+            }
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private void reloadDeck() {
+        try {
+            DefinitionCache.forgetStamp(deckCsv);
+            final DeckDefinition next = DefinitionCache.loadDeck(deckCsv);
+            synchronized (this) {
+                lastError = null;
+                if (closed || next == DefinitionCache.deck(deckCsv)) return;
+                DefinitionCache.pinDeck(deckCsv, next);
+                published();
+            }
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private void published() {
+        generation++;
+        notifyAll();
+    }
+
+    private synchronized void failed(final RuntimeException e) {
+        // Mantém a definição anterior; uma próxima gravação do arquivo tenta de novo
+        lastError = e;
+        notifyAll();
+    }
+
+    private void unpin() {
+        DefinitionCache.unpinBoard(boardCsv);
+        DefinitionCache.unpinDeck(deckCsv);
+    }
+}
@@ -0,0 +1,160 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefinitionReloaderTest {
+
+    private static final int RELOAD_TIMEOUT = 5000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private Path dir;
+    private Path board;
+    private Path deck;
+    private Path previousCacheDir;
+    private DefinitionReloader reloader;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("reload-test");
+        board = dir.resolve("board.csv");
+        deck = dir.resolve("deck.csv");
+        Files.copy(BOARD_CSV, board);
+        Files.copy(DECK_CSV, deck);
+        previousCacheDir = DefinitionCache.directory();
+        DefinitionCache.setDirectory(dir.resolve("cache"));
+        DefinitionCache.clearMemory();
+        reloader = DefinitionReloader.watch(board, deck);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        reloader.close();
+        DefinitionCache.setDirectory(previousCacheDir);
+        DefinitionCache.clearMemory();
+        for (Path d : new Path[] { dir.resolve("cache"), dir }) {
+            if (!Files.exists(d)) continue;
+            try (var files = Files.list(d)) {
+                for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+            }
+            Files.deleteIfExists(d);
+        }
+    }
+
+    /* Grava como um editor: arquivo temporário + rename atômico. */
+    private void replace(Path target, List<String> lines) throws IOException {
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+        Files.write(tmp, lines);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int firstStreet(BoardDefinition def) {
+        for (int i = 0; i < def.size(); i++) {
+            if (def.kind(i) == BoardDefinition.SQ_STREET) return i;
+        }
+        throw new AssertionError("sem ruas");
+    }
+
+    /* Troca o preço da casa 'index' no CSV. */
+    private List<String> withPrice(int index, int price) throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(board));
+        for (int i = 1; i < lines.size(); i++) {
+            String[] p = lines.get(i).split(",", -1);
+            if (p.length > 3 && p[0].trim().equals(String.valueOf(index))) {
+                p[3] = String.valueOf(price);
+                lines.set(i, String.join(",", p));
+            }
+        }
+        return lines;
+    }
+
+    @Test(timeout = RELOAD_TIMEOUT)
+    public void editedBoardShouldBePublishedForNewGamesOnly() throws Exception {
+        BoardDefinition running = BoardFactory.definition(board);
+        DeckDefinition runningDeck = DeckFactory.definition(deck);
+        int street = firstStreet(running);
+        int oldPrice = running.price(street);
+
+        replace(board, withPrice(street, oldPrice * 2));
+        assertTrue(reloader.awaitGeneration(1, RELOAD_TIMEOUT));
+        assertNull(reloader.lastError());
+
+        BoardDefinition fresh = BoardFactory.definition(board);
+        assertNotSame(running, fresh);
+        assertEquals(oldPrice * 2, fresh.price(street));
+        // Quem já tinha a definição continua com a antiga
+        assertEquals(oldPrice, running.price(street));
+        // O baralho não mudou
+        assertSame(runningDeck, DeckFactory.definition(deck));
+    }
+
+    @Test(timeout = RELOAD_TIMEOUT)
+    public void invalidFileShouldKeepThePreviousDefinition() throws Exception {
+        DeckDefinition before = DeckFactory.definition(deck);
+        replace(deck, List.of("index,type,value", "1,PAY_NOBODY,10"));
+
+        while (reloader.lastError() == null) Thread.sleep(10);
+        assertSame(before, DeckFactory.definition(deck));
+        assertEquals(0, reloader.generation());
+
+        // Corrigido o arquivo, a recarga volta a funcionar
+        replace(deck, List.of("index,type,value", "1,PAY_BANK,10", "2,RECEIVE_BANK,20"));
+        assertTrue(reloader.awaitGeneration(1, RELOAD_TIMEOUT));
+        assertEquals(2, DeckFactory.definition(deck).size());
+        assertNull(reloader.lastError());
+    }
+
+    @Test(timeout = RELOAD_TIMEOUT)
+    public void closedReloaderShouldFallBackToTheCache() throws Exception {
+        BoardDefinition pinned = BoardFactory.definition(board);
+        reloader.close();
+        assertSame(pinned, BoardFactory.definition(board));
+
+        int street = firstStreet(pinned);
+        replace(board, withPrice(street, 1));
+        // Sem reloader, o cache percebe a mudança pelo hash do conteúdo
+        DefinitionCache.forgetStamp(board);
+        assertEquals(1, BoardFactory.definition(board).price(street));
+    }
+
+    @Test(timeout = RELOAD_TIMEOUT)
+    public void secondReloaderOnTheSameFileShouldBeRejected() throws Exception {
+        BoardDefinition pinnedBoard = BoardFactory.definition(board);
+        DeckDefinition pinnedDeck = DeckFactory.definition(deck);
+        Path otherBoard = dir.resolve("board-2.csv");
+        Path otherDeck = dir.resolve("deck-2.csv");
+        Files.copy(BOARD_CSV, otherBoard);
+        Files.copy(DECK_CSV, otherDeck);
+
+        // O tabuleiro é fixado antes do baralho: a falha no baralho desfaz o tabuleiro
+        try {
+            DefinitionReloader.watch(otherBoard, deck).close();
+            fail("segundo reloader no mesmo baralho");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("deck.csv"));
+        }
+        try (DefinitionReloader other = DefinitionReloader.watch(otherBoard, otherDeck)) {
+            assertEquals(0, other.generation());
+        }
+
+        // O primeiro reloader continua com as suas fixações
+        int street = firstStreet(pinnedBoard);
+        replace(board, withPrice(street, 1));
+        assertTrue(reloader.awaitGeneration(1, RELOAD_TIMEOUT));
+        assertEquals(1, BoardFactory.definition(board).price(street));
+        assertSame(pinnedDeck, DeckFactory.definition(deck));
+    }
+}
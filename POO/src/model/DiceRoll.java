@@ -5,11 +5,20 @@
 package model;
 
 import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.ThreadLocalRandom;
 
 
 final class DiceRoll {
 
+    // Tabela dos 36 lances possíveis (DiceRoll é imutável: pode ser compartilhado)
+    private static final DiceRoll[] TABLE = new DiceRoll[36];
+    static {
+        for (int a = 1; a <= 6; a++)
+            for (int b = 1; b <= 6; b++)
+                TABLE[(a - 1) * 6 + (b - 1)] = new DiceRoll(a, b);
+    }
+
     private final int d1;
     private final int d2;
     private final int sum;
@@ -36,6 +45,14 @@ final class DiceRoll {
         this.isDouble = (d1 == d2);
     }
 
+    // Construtor com fonte de aleatoriedade injetada (uma por partida, nunca compartilhada)
+    public DiceRoll(SplittableRandom rng) {
+        this.d1 = rng.nextInt(1, 7);
+        this.d2 = rng.nextInt(1, 7);
+        this.sum = d1 + d2;
+        this.isDouble = (d1 == d2);
+    }
+
     // Construtor para injetar valores específicos (ex.: testes)
     public DiceRoll(int d1, int d2) {
         // validação de intervalo 1..6
@@ -48,6 +65,14 @@ final class DiceRoll {
         this.isDouble = (d1 == d2);
     }
 
+    // Lance com valores específicos, sem alocar (usa a tabela compartilhada)
+    static DiceRoll of(int d1, int d2) {
+        if (d1 < 1 || d1 > 6 || d2 < 1 || d2 > 6) {
+            throw new IllegalArgumentException("Dice values must be between 1 and 6");
+        }
+        return TABLE[(d1 - 1) * 6 + (d2 - 1)];
+    }
+
     // Getters compatíveis com o teste
     public int getD1() { return d1; }
     public int getD2() { return d2; }
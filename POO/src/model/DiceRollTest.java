@@ -2,6 +2,8 @@ package model;
 
 import static org.junit.Assert.*;
 
+import java.util.SplittableRandom;
+
 import org.junit.Test;
 import org.junit.Before;
 
@@ -65,6 +67,18 @@ public class DiceRollTest {
         assertEquals("mesma seed deve gerar mesma soma", r1.getSum(), r2.getSum());
     }
 
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void shouldBeReproducibleWithSameSplittableSource() {
+        SplittableRandom a = new SplittableRandom(42L);
+        SplittableRandom b = new SplittableRandom(42L);
+        for (int i = 0; i < 100; i++) {
+            DiceRoll r1 = new DiceRoll(a);
+            DiceRoll r2 = new DiceRoll(b);
+            assertEquals("mesma seed deve gerar mesmo d1", r1.getD1(), r2.getD1());
+            assertEquals("mesma seed deve gerar mesmo d2", r1.getD2(), r2.getD2());
+        }
+    }
+
 	public DiceRoll getRoll() {
 		return roll;
 	}
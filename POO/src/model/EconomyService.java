@@ -5,16 +5,16 @@
 
 package model;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 final class EconomyService {
 
     private final Bank bank;
-    private static final double BANK_BUYBACK_RATE = 0.90;
     private static final int PASS_START_AMOUNT = 200;
 
+    private GameAPI.LiquidationPolicy liquidationPolicy = GameAPI.LiquidationPolicy.MIN_VALUE;
+    private final LiquidationPlanner planner = new LiquidationPlanner();
+
     EconomyService(final Bank bank) {
         this.bank = Objects.requireNonNull(bank, "bank");
     }
@@ -109,6 +109,32 @@ final class EconomyService {
         bank.transfer(from, to, amount);
     }
     
+    /* ===========================================================
+     * Cartas PAY_ALL / RECEIVE_ALL: acerto atômico com todos os outros
+     * jogadores vivos, registrado como uma única transação (parte ALL).
+     *  - payAll: o pagador garante liquidez uma vez, para o total; se falir,
+     *    ninguém recebe (como no aluguel).
+     *  - receiveAll: cada devedor garante a própria liquidez (quem falir não
+     *    paga); depois todos pagam de uma vez.
+     * =========================================================== */
+    void payAll(final Player payer, final java.util.List<Player> players, final int amount) {
+        if (amount <= 0) return;
+        if (payer.isBankrupt()) return;
+        final int legs = Bank.countOthers(payer, players);
+        if (legs == 0) return;
+        if (!liquidateOrBankruptIfNeeded(payer, amount * legs)) return;
+        bank.payToAll(payer, players, amount);
+    }
+
+    void receiveAll(final Player receiver, final java.util.List<Player> players, final int amount) {
+        if (amount <= 0) return;
+        for (int i = 0; i < players.size(); i++) {
+            final Player p = players.get(i);
+            if (p != receiver && p.isAlive()) liquidateOrBankruptIfNeeded(p, amount);
+        }
+        bank.collectFromAll(receiver, players, amount);
+    }
+
     /* ===========================================================
      * Aplica pagamento do jogador ao banco.
      * =========================================================== */
@@ -150,10 +176,17 @@ final class EconomyService {
         // Faltando
         int missing = player.howMuchMissing(required);
         
-        // Tenta vender propriedades para cobrir o valor faltante
-        final List<OwnableSquare> owned = new ArrayList<>(player.getProperties());
-        for (OwnableSquare prop : owned) {
-            final int received = buybackPropertyToPlayer(prop, player);
+        // Vende o conjunto de menor valor que cobre a dívida (se houver um)
+        if (liquidationPolicy == GameAPI.LiquidationPolicy.MIN_VALUE && sellCheapestCover(player, missing)) {
+            return true;
+        }
+
+        // Tenta vender propriedades (em ordem de aquisição) para cobrir o valor faltante.
+        // Regra original; com MIN_VALUE só chega aqui se nem tudo cobre (e aí vende tudo).
+        // A venda desencadeia o título do conjunto, então o próximo é sempre o primeiro.
+        OwnableSquare next;
+        while ((next = player.firstProperty()) != null) {
+            final int received = buybackPropertyToPlayer(next, player);
             missing -= received;
             if (missing <= 0) return true;
         }
@@ -163,13 +196,37 @@ final class EconomyService {
         return false;
     }
 
+    /* Planeja com LiquidationPlanner e vende os escolhidos, em ordem de aquisição. */
+    private boolean sellCheapestCover(final Player player, final int missing) {
+        final OwnershipSet owned = player.ownership();
+        planner.clear();
+        for (int sq = owned.first(); sq != OwnershipSet.NONE; sq = owned.next(sq)) {
+            planner.add(evaluateSellValue(player.propertyOn(sq)));
+        }
+        final int n = planner.plan(missing);
+        if (n < 0) return false;
+
+        int k = 0;
+        int pos = 0;
+        for (int sq = owned.first(); sq != OwnershipSet.NONE && k < n; pos++) {
+            final int next = owned.next(sq);   // antes de vender (a venda desencadeia sq)
+            if (pos == planner.picked(k)) {
+                buybackPropertyToPlayer(player.propertyOn(sq), player);
+                k++;
+            }
+            sq = next;
+        }
+        return true;
+    }
+
     /* ===========================================================
      * Falência: remove jogador do jogo e devolve seus títulos.
      * =========================================================== */
     void declareBankruptcy(final Player player) {
 
         // Devolve todos os títulos ao banco (sem pagamento adicional)
-        for (OwnableSquare prop : new ArrayList<>(player.getProperties())) {
+        OwnableSquare prop;
+        while ((prop = player.lastProperty()) != null) {
             player.removeProperty(prop);
             prop.removeOwner(player); 
         }
@@ -180,8 +237,7 @@ final class EconomyService {
      * Venda de propriedade do jogador para o banco.
      * =========================================================== */
     int buybackPropertyToPlayer(final OwnableSquare prop, final Player player) {
-        final int gross = prop.getTotalInvestment();
-        final int received = (int) Math.floor(gross * BANK_BUYBACK_RATE);
+        final int received = prop.sellValue();
 
         // Banco paga ao jogador (BANK -> Player)
         bank.transfer(null, player, received);
@@ -197,8 +253,7 @@ final class EconomyService {
      * Avalia o valor de recompra de uma propriedade pelo banco.
      * =========================================================== */
     int evaluateSellValue(final OwnableSquare prop) {
-        final int gross = prop.getTotalInvestment(); 
-        return (int) Math.floor(gross * BANK_BUYBACK_RATE);
+        return prop.sellValue();
     }
 
     /* ===========================================================
@@ -222,6 +277,34 @@ final class EconomyService {
         return true;
     }
 
+    /* ===========================================================
+     * Caixa do banco (snapshot/restauração do estado da partida).
+     * =========================================================== */
+    int bankCash() {
+        return bank.cash();
+    }
+
+    void restoreBankCash(final int cash) {
+        bank.restoreCash(cash);
+    }
+
+    void setTransactionLogging(final boolean enabled) {
+        bank.setRecording(enabled);
+    }
+
+    void setLiquidationPolicy(final GameAPI.LiquidationPolicy policy) {
+        this.liquidationPolicy = Objects.requireNonNull(policy, "policy");
+    }
+
+    TransactionJournal transactionJournal() {
+        return bank.journal();
+    }
+
+    /* Registra os jogadores no diário em ordem (parte = índice do jogador). */
+    void registerPlayers(final java.util.List<Player> players) {
+        for (int i = 0; i < players.size(); i++) bank.registerParty(players.get(i));
+    }
+
     /* ===========================================================
      * Drena (retorna e limpa) o log de transações do banco.
      * =========================================================== */
@@ -0,0 +1,107 @@
+/* ===========================================================
+ * EngineSnapshot ; cópia compacta do estado completo de uma partida.
+ * Buffers primitivos alocados uma única vez (com a forma da partida) e
+ * reaproveitados: capturar e restaurar não alocam memória.
+ * Cobre jogadores, posse/construções, ordem do baralho, caixa do banco e flags do turno.
+ * A fonte de aleatoriedade da partida não faz parte do snapshot (o save a grava à parte).
+ * Capturado de um motor, leva também o hash Zobrist e o patrimônio de cada
+ * jogador: a restauração os copia em vez de recalculá-los casa a casa.
+ * =========================================================== */
+
+package model;
+
+public final class EngineSnapshot {
+
+    static final byte NO_OWNER = -1;
+
+    // --- Forma da partida ---
+    final int players;
+    final int squares;
+
+    // --- Jogadores ---
+    final int[] money;
+    final int[] position;
+    final int[] jailCards;
+    final boolean[] inJail;
+    final boolean[] alive;
+    final int[] owned;      // propriedades em ordem de aquisição: [jogador * squares + k]
+    final int[] ownedCount;
+
+    // --- Casas ---
+    final byte[] owner;
+    final byte[] houses;
+    final byte[] hotel;
+
+    // --- Baralho (slots de carta, topo primeiro) ---
+    final int[] deckOrder;
+    int deckCount;
+
+    // --- Banco e turno ---
+    int bankCash;
+    int currentPlayerIndex;
+    int lastRollerIndex;
+    int lastDie1;           // 0 = nenhum lance no turno
+    int lastDie2;
+    int lastDrawedCardIndex; // -1 = nenhuma carta sacada
+    boolean hasBuiltThisTurn;
+
+    // --- Derivados (só valem se captured; um estado lido de arquivo não os traz) ---
+    boolean captured;
+    long hash;
+    final int[] worth;      // NetWorthBoard.worth por jogador
+
+    EngineSnapshot(final int players, final int squares, final int deckCapacity) {
+        if (players <= 0 || squares <= 0 || deckCapacity <= 0)
+            throw new IllegalArgumentException("Forma de snapshot inválida.");
+        this.players = players;
+        this.squares = squares;
+        this.money = new int[players];
+        this.position = new int[players];
+        this.jailCards = new int[players];
+        this.inJail = new boolean[players];
+        this.alive = new boolean[players];
+        this.owned = new int[players * squares];
+        this.ownedCount = new int[players];
+        this.worth = new int[players];
+        this.owner = new byte[squares];
+        this.houses = new byte[squares];
+        this.hotel = new byte[squares];
+        this.deckOrder = new int[deckCapacity];
+    }
+
+    /* Garante que o snapshot tem a mesma forma da partida. */
+    void checkShape(final int players, final int squares) {
+        if (this.players != players || this.squares != squares) {
+            throw new IllegalArgumentException("Snapshot de outra partida (forma diferente).");
+        }
+    }
+
+    /** Copia o conteúdo de outro snapshot de mesma forma (sem alocar). */
+    public void copyFrom(final EngineSnapshot other) {
+        other.checkShape(players, squares);
+        if (other.deckCount > deckOrder.length)
+            throw new IllegalArgumentException("Snapshot de baralho maior que a capacidade.");
+        System.arraycopy(other.money, 0, money, 0, players);
+        System.arraycopy(other.position, 0, position, 0, players);
+        System.arraycopy(other.jailCards, 0, jailCards, 0, players);
+        System.arraycopy(other.inJail, 0, inJail, 0, players);
+        System.arraycopy(other.alive, 0, alive, 0, players);
+        System.arraycopy(other.owned, 0, owned, 0, owned.length);
+        System.arraycopy(other.ownedCount, 0, ownedCount, 0, players);
+        System.arraycopy(other.owner, 0, owner, 0, squares);
+        System.arraycopy(other.houses, 0, houses, 0, squares);
+        System.arraycopy(other.hotel, 0, hotel, 0, squares);
+        System.arraycopy(other.deckOrder, 0, deckOrder, 0, other.deckCount);
+        this.deckCount = other.deckCount;
+        this.bankCash = other.bankCash;
+        this.currentPlayerIndex = other.currentPlayerIndex;
+        this.lastRollerIndex = other.lastRollerIndex;
+        this.lastDie1 = other.lastDie1;
+        this.lastDie2 = other.lastDie2;
+        this.lastDrawedCardIndex = other.lastDrawedCardIndex;
+        this.hasBuiltThisTurn = other.hasBuiltThisTurn;
+        this.captured = other.captured;
+        this.hash = other.hash;
+        System.arraycopy(other.worth, 0, worth, 0, players);
+    }
+}
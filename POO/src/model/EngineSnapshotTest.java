@@ -0,0 +1,200 @@
+package model;
+
+import static org.junit.Assert.*;
+import static model.api.dto.PlayerColor.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+public class EngineSnapshotTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int BANK_CASH = 1_000_000;
+
+    private List<Square> makeSquares() {
+        List<Square> squares = new ArrayList<>();
+        squares.add(new DummySquare(0, "Start"));
+        squares.add(new StreetOwnableSquare(1, "Rua 1", "R1", 60));
+        squares.add(new ChanceSquare(2, "Chance"));
+        squares.add(new StreetOwnableSquare(3, "Rua 3", "R3", 120));
+        squares.add(new CompanyOwnableSquare(4, "Cia 4", "C4", 150, 20));
+        squares.add(new DummySquare(5, "Jail"));
+        squares.add(new StreetOwnableSquare(6, "Rua 6", "R6", 200));
+        squares.add(new MoneySquare(7, "Tax", -80));
+        squares.add(new StreetOwnableSquare(8, "Rua 8", "R8", 100));
+        squares.add(new GoToJailSquare(9, "Go To Jail"));
+        squares.add(new ChanceSquare(10, "Chance"));
+        squares.add(new MoneySquare(11, "Bonus", 30));
+        return squares;
+    }
+
+    private DeckDefinition makeDeck() {
+        return DeckDefinition.of(Arrays.asList(
+            new Card(0, Card.CardType.PAY_BANK, 70),
+            new Card(1, Card.CardType.RECEIVE_BANK, 40),
+            new Card(2, Card.CardType.PAY_ALL, 30),
+            new Card(3, Card.CardType.RECEIVE_ALL, 25),
+            new Card(4, Card.CardType.GO_TO_JAIL, 0),
+            new Card(5, Card.CardType.GET_OUT_OF_JAIL, 0)
+        ));
+    }
+
+    private List<Player> makePlayers() {
+        return Arrays.asList(
+            new Player("P1", "Alice", RED, 1500),
+            new Player("P2", "Bob", BLUE, 1500),
+            new Player("P3", "Carol", GRAY, 1500)
+        );
+    }
+
+    private GameEngine newObjectEngine(long seed) {
+        SplittableRandom master = new SplittableRandom(seed);
+        Deck deck = makeDeck().newDeck(master.split());
+        return new GameEngine(new Board(makeSquares(), 5), makePlayers(), deck,
+                              new EconomyService(new Bank(BANK_CASH)), 0, master.split());
+    }
+
+    private CompactGameEngine newCompactEngine(long seed) {
+        SplittableRandom master = new SplittableRandom(seed);
+        return new CompactGameEngine(BoardDefinition.of(makeSquares(), 5), makeDeck(), makePlayers(),
+                                     BANK_CASH, 0, master.split(), master.split());
+    }
+
+    private void playTurns(GameCore core, int turns) {
+        for (int t = 0; t < turns; t++) {
+            core.rollAndResolve();
+            if (!core.chooseBuy() && !core.chooseBuildHouse()) core.chooseBuildHotel();
+            core.collectTransactions();
+            core.endTurn();
+        }
+    }
+
+    /* Estado observável pela API, em forma comparável. */
+    private String describe(GameCore core) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("vez=").append(core.currentPlayerIndex());
+        for (int i = 0; i < core.playerCount(); i++) {
+            sb.append(" | P").append(i)
+              .append(' ').append(core.playerMoney(i))
+              .append(' ').append(core.playerPosition(i))
+              .append(' ').append(core.playerInJail(i))
+              .append(' ').append(core.playerAlive(i));
+        }
+        for (int idx : new int[] { 1, 3, 6, 8 }) {
+            var info = core.getStreetOwnableInfo(idx);
+            sb.append(" | #").append(idx)
+              .append(' ').append(info.core().owner() == null ? "-" : info.core().owner().id())
+              .append(' ').append(info.propertyHouseNumber())
+              .append(' ').append(info.propertyHasHotel());
+        }
+        return sb.toString();
+    }
+
+    private void assertRestoreRoundTrip(GameCore core) {
+        playTurns(core, 40);
+        EngineSnapshot snapshot = core.newSnapshot();
+        String before = describe(core);
+
+        playTurns(core, 60);
+        assertNotEquals("o jogo deveria ter avançado", before, describe(core));
+
+        core.restoreFrom(snapshot);
+        assertEquals(before, describe(core));
+
+        // Capturar de novo no mesmo buffer deve reproduzir o snapshot original
+        assertSameState(snapshot, core.newSnapshot());
+    }
+
+    private static void assertSameState(EngineSnapshot expected, EngineSnapshot actual) {
+        assertArrayEquals(expected.money, actual.money);
+        assertArrayEquals(expected.position, actual.position);
+        assertArrayEquals(expected.ownedCount, actual.ownedCount);
+        assertArrayEquals(expected.owned, actual.owned);
+        assertArrayEquals(expected.owner, actual.owner);
+        assertArrayEquals(expected.houses, actual.houses);
+        assertArrayEquals(expected.hotel, actual.hotel);
+        assertEquals(expected.deckCount, actual.deckCount);
+        assertArrayEquals(Arrays.copyOf(expected.deckOrder, expected.deckCount),
+                          Arrays.copyOf(actual.deckOrder, actual.deckCount));
+        assertEquals(expected.bankCash, actual.bankCash);
+        assertEquals(expected.hash, actual.hash);
+        assertArrayEquals(expected.worth, actual.worth);
+    }
+
+    /* A restauração só toca no que difere: ir e voltar entre dois estados não pode deixar resto. */
+    private void assertAlternatingRestores(GameCore core) {
+        playTurns(core, 30);
+        EngineSnapshot a = core.newSnapshot();
+        playTurns(core, 12);
+        EngineSnapshot b = core.newSnapshot();
+        assertFalse("os estados deveriam diferir", Arrays.equals(a.owned, b.owned) && Arrays.equals(a.money, b.money));
+
+        for (int k = 0; k < 6; k++) {
+            EngineSnapshot target = (k & 1) == 0 ? a : b;
+            core.restoreFrom(target);
+            assertSameState(target, core.newSnapshot());
+            assertEquals(ZobristHash.of(target), core.stateHash());
+        }
+        // E segue jogando a partir do estado restaurado
+        playTurns(core, 5);
+        EngineSnapshot after = core.newSnapshot();
+        assertEquals(ZobristHash.of(after), core.stateHash());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void objectEngineShouldAlternateBetweenSnapshots() {
+        assertAlternatingRestores(newObjectEngine(11L));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void compactEngineShouldAlternateBetweenSnapshots() {
+        assertAlternatingRestores(newCompactEngine(11L));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void objectEngineShouldRestoreSnapshot() {
+        assertRestoreRoundTrip(newObjectEngine(11L));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void compactEngineShouldRestoreSnapshot() {
+        assertRestoreRoundTrip(newCompactEngine(11L));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void restoredEnginesShouldKeepPlayingIdentically() {
+        GameEngine obj = newObjectEngine(3L);
+        CompactGameEngine soa = newCompactEngine(3L);
+        playTurns(obj, 25);
+        playTurns(soa, 25);
+
+        // Estado do motor de objetos aplicado no motor compacto (mesma forma de partida)
+        EngineSnapshot snapshot = obj.newSnapshot();
+        playTurns(soa, 10);
+        soa.restoreFrom(snapshot);
+        assertEquals(describe(obj), describe(soa));
+
+        // Mesmos dados daqui em diante: as duas partidas seguem iguais
+        for (int t = 0; t < 30; t++) {
+            int d1 = 1 + (t % 6), d2 = 1 + ((t * 5) % 6);
+            obj.setMockedDiceValues(d1, d2);
+            soa.setMockedDiceValues(d1, d2);
+            obj.rollAndResolve();
+            soa.rollAndResolve();
+            assertEquals(obj.chooseBuy(), soa.chooseBuy());
+            obj.endTurn();
+            soa.endTurn();
+            assertEquals("turno " + t, describe(obj), describe(soa));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT, expected = IllegalArgumentException.class)
+    public void shouldRejectSnapshotFromDifferentShape() {
+        GameEngine obj = newObjectEngine(1L);
+        obj.restoreFrom(new EngineSnapshot(2, 12, 8));
+    }
+}
@@ -1,59 +1,226 @@
 /* ===========================================================
  * FactoryBase — base genérica para leitura de CSVs e construção de entidades.
+ * O arquivo é varrido como bytes (lido de uma vez ou mapeado, se grande):
+ * cada linha vira um CsvRow reaproveitado, com os limites de cada campo;
+ * inteiros são convertidos no próprio buffer e só os campos de texto pedidos
+ * (ex.: nome) viram String.
  * =========================================================== */
 
 
 package model;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 abstract class FactoryBase<T> {
 
+    // Acima disto o arquivo é mapeado em vez de copiado para o heap
+    static final long MAP_THRESHOLD_BYTES = 1 << 20;
+
     protected List<T> readCSV(final Path csvPath, final List<String> expectedHeader) {
         Objects.requireNonNull(csvPath);
         Objects.requireNonNull(expectedHeader);
+        return parseCSV(read(csvPath), expectedHeader);
+    }
 
-        List<T> items = new ArrayList<>();
+    /* Faz o parse de um CSV já em memória (posição..limite do buffer). */
+    protected List<T> parseCSV(final ByteBuffer buf, final List<String> expectedHeader) {
+        final CsvRow row = new CsvRow(buf, expectedHeader.size());
+        int at = buf.position();
+        final int end = buf.limit();
+        // BOM UTF-8
+        if (end - at >= 3 && buf.get(at) == (byte) 0xEF && buf.get(at + 1) == (byte) 0xBB
+            && buf.get(at + 2) == (byte) 0xBF) {
+            at += 3;
+        }
 
-        try (BufferedReader br = Files.newBufferedReader(csvPath)) {
-            String header = br.readLine();
-            validateHeader(header, expectedHeader);
+        if (at >= end) throw new IllegalArgumentException("CSV vazio.");
+        at = row.split(at, end);
+        validateHeader(row, expectedHeader);
 
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.isBlank()) continue;
-                String[] parts = line.split(",", -1);
-                if (parts.length != expectedHeader.size())
-                    throw new IllegalArgumentException("Linha inválida: " + line);
-                items.add(parseLine(parts));
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Erro ao ler CSV: " + e.getMessage(), e);
+        final List<T> items = new ArrayList<>();
+        while (at < end) {
+            at = row.split(at, end);
+            if (row.isBlank()) continue;
+            if (row.fields() != expectedHeader.size())
+                throw new IllegalArgumentException("Linha inválida: " + row.line());
+            items.add(parseRow(row));
         }
-
         return items;
     }
 
     // Método abstrato para ser implementado nas fábricas concretas
-    protected abstract T parseLine(String[] parts);
+    protected abstract T parseRow(CsvRow row);
 
     // Valida se o header está correto
-    protected void validateHeader(String header, List<String> expectedHeader) {
-        if (header == null) throw new IllegalArgumentException("CSV vazio.");
-        String[] cols = header.split(",", -1);
+    protected void validateHeader(final CsvRow header, final List<String> expectedHeader) {
         for (int i = 0; i < expectedHeader.size(); i++) {
-            if (!cols[i].trim().equalsIgnoreCase(expectedHeader.get(i)))
+            if (i >= header.fields() || !header.equalsIgnoreCase(i, expectedHeader.get(i)))
                 throw new IllegalArgumentException("Cabeçalho inválido. Esperado: " + expectedHeader);
         }
     }
 
-    // Converte string numérica para int
-    protected int parseInt(String s) {
-        if (s == null || s.isBlank()) return 0;
-        return Integer.parseInt(s.trim());
+    private static ByteBuffer read(final Path csvPath) {
+        try {
+            return contents(csvPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler CSV: " + e.getMessage(), e);
+        }
+    }
+
+    /*
+     * Conteúdo do arquivo: copiado para o heap, ou mapeado a partir de MAP_THRESHOLD_BYTES.
+     * O DefinitionCache usa o mesmo buffer para o hash e para o parse.
+     */
+    static ByteBuffer contents(final Path csvPath) throws IOException {
+        try (FileChannel ch = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            final long size = ch.size();
+            if (size > Integer.MAX_VALUE) throw new IllegalArgumentException("CSV grande demais: " + csvPath);
+            if (size >= MAP_THRESHOLD_BYTES) return ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            final ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining()) {
+                if (ch.read(buf) < 0) break;
+            }
+            buf.flip();
+            return buf;
+        }
+    }
+
+    /**
+     * Uma linha do CSV, sem cópia: guarda só o início/fim (já sem espaços) de cada campo.
+     * A mesma instância é reutilizada para todas as linhas.
+     */
+    static final class CsvRow {
+
+        private final ByteBuffer buf;
+        private final int expected;
+        private int[] start;
+        private int[] end;
+        private int fields;
+        private int lineStart;
+        private int lineEnd;
+
+        CsvRow(final ByteBuffer buf, final int expectedFields) {
+            this.buf = buf;
+            this.expected = expectedFields;
+            this.start = new int[expectedFields + 1];
+            this.end = new int[expectedFields + 1];
+        }
+
+        /* Separa a linha que começa em 'at'; retorna o início da próxima. */
+        int split(final int at, final int limit) {
+            lineStart = at;
+            fields = 0;
+            int fieldStart = at;
+            int i = at;
+            while (i < limit) {
+                final byte c = buf.get(i);
+                if (c == '\n') break;
+                if (c == ',') {
+                    addField(fieldStart, i);
+                    fieldStart = i + 1;
+                }
+                i++;
+            }
+            int stop = i;
+            if (stop > at && buf.get(stop - 1) == '\r') stop--;
+            if (fieldStart > stop) fieldStart = stop;
+            addField(fieldStart, stop);
+            lineEnd = stop;
+            return i < limit ? i + 1 : limit;
+        }
+
+        private void addField(int from, int to) {
+            while (from < to && isSpace(buf.get(from))) from++;
+            while (to > from && isSpace(buf.get(to - 1))) to--;
+            if (fields == start.length) {
+                start = Arrays.copyOf(start, fields * 2);
+                end = Arrays.copyOf(end, fields * 2);
+            }
+            start[fields] = from;
+            end[fields] = to;
+            fields++;
+        }
+
+        private static boolean isSpace(final byte c) {
+            return c == ' ' || c == '\t' || c == '\r';
+        }
+
+        int fields() { return fields; }
+
+        /* Linha vazia (ou só com espaços). Uma linha só de vírgulas não é vazia: é malformada. */
+        boolean isBlank() {
+            return fields == 1 && end[0] == start[0];
+        }
+
+        boolean isEmpty(final int field) {
+            return end[field] == start[field];
+        }
+
+        /* Inteiro do campo (vazio = 0), convertido direto dos bytes. */
+        int intField(final int field) {
+            int i = start[field];
+            final int stop = end[field];
+            if (i == stop) return 0;
+            boolean negative = false;
+            final byte first = buf.get(i);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                if (++i == stop) throw badNumber(field);
+            }
+            long value = 0;
+            for (; i < stop; i++) {
+                final int d = buf.get(i) - '0';
+                if (d < 0 || d > 9) throw badNumber(field);
+                value = value * 10 + d;
+                if (value > (long) Integer.MAX_VALUE + 1) throw badNumber(field);
+            }
+            if (negative) value = -value;
+            if (value > Integer.MAX_VALUE) throw badNumber(field);
+            return (int) value;
+        }
+
+        /* Texto do campo (UTF-8, sem espaços nas pontas). Aloca. */
+        String stringField(final int field) {
+            final int len = end[field] - start[field];
+            final byte[] bytes = new byte[len];
+            buf.get(start[field], bytes, 0, len);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /* Compara o campo com um texto ASCII, ignorando maiúsculas/minúsculas. Não aloca. */
+        boolean equalsIgnoreCase(final int field, final String ascii) {
+            final int len = end[field] - start[field];
+            if (len != ascii.length()) return false;
+            for (int k = 0; k < len; k++) {
+                final int c = buf.get(start[field] + k);
+                final int e = ascii.charAt(k);
+                if (c != e && toUpper(c) != toUpper(e)) return false;
+            }
+            return true;
+        }
+
+        private static int toUpper(final int c) {
+            return c >= 'a' && c <= 'z' ? c - 32 : c;
+        }
+
+        /* Linha inteira como texto (só para mensagens de erro). */
+        String line() {
+            final byte[] bytes = new byte[lineEnd - lineStart];
+            buf.get(lineStart, bytes, 0, bytes.length);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private NumberFormatException badNumber(final int field) {
+            return new NumberFormatException("Número inválido no campo " + field + " (esperados "
+                                             + expected + " campos): " + line());
+        }
     }
 }
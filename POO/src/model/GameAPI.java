@@ -5,8 +5,12 @@
 
 package model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.zip.CRC32;
 
 import model.api.dto.OwnableInfo;
 import model.api.dto.Ownables;
@@ -16,8 +20,16 @@ import model.api.dto.PlayerRef;
 public final class GameAPI {
 
     // ==== Estado principal mantido pela fachada ====
-    private GameEngine engine;
+    private GameCore engine;
     private boolean started;
+    private boolean transactionLogging = true;
+
+    // ==== Persistência (save/load) ====
+    private GameSaveCodec.Header saveHeader;
+    private ByteBuffer saveBuffer;     // cabeçalho já codificado + estado do último save
+    private int saveStateOffset;
+    private EngineSnapshot saveSnapshot;
+    private final CRC32 saveCrc = new CRC32();
 
     // ==== API pública ====
 
@@ -36,19 +48,80 @@ public final class GameAPI {
                           final Path deckCsvPath,
                           final int initialPlayerMoney,
                           final int initialBankCash) {
+        startGame(playersConfig, boardCsvPath, deckCsvPath, null, null, initialPlayerMoney, initialBankCash,
+                  new SplittableRandom(), EngineKind.OBJECT, LiquidationPolicy.MIN_VALUE);
+    }
+
+    /**
+     * Inicia o jogo de forma determinística a partir de uma seed.
+     * A mesma seed (e as mesmas ações) reproduz exatamente a mesma partida.
+     */
+    public void startGame(final PlayersConfig playersConfig,
+                          final Path boardCsvPath,
+                          final Path deckCsvPath,
+                          final int initialPlayerMoney,
+                          final int initialBankCash,
+                          final long seed) {
+        startGame(playersConfig, boardCsvPath, deckCsvPath, initialPlayerMoney, initialBankCash,
+                  seed, EngineKind.OBJECT);
+    }
+
+    /**
+     * Inicia o jogo determinístico escolhendo o motor de regras.
+     * COMPACT mantém o estado em arrays primitivos (simulação em massa / hospedagem densa);
+     * as regras e a sequência de dados/cartas são as mesmas do motor OBJECT.
+     */
+    public void startGame(final PlayersConfig playersConfig,
+                          final Path boardCsvPath,
+                          final Path deckCsvPath,
+                          final int initialPlayerMoney,
+                          final int initialBankCash,
+                          final long seed,
+                          final EngineKind engineKind) {
+        startGame(playersConfig, boardCsvPath, deckCsvPath, initialPlayerMoney, initialBankCash,
+                  seed, engineKind, LiquidationPolicy.MIN_VALUE);
+    }
+
+    /**
+     * Inicia o jogo determinístico escolhendo motor e regra de liquidação.
+     * ACQUISITION_ORDER reproduz partidas anteriores ao planejador de liquidação;
+     * a regra vai no save/log, então loadGame continua a partida com a mesma.
+     */
+    public void startGame(final PlayersConfig playersConfig,
+                          final Path boardCsvPath,
+                          final Path deckCsvPath,
+                          final int initialPlayerMoney,
+                          final int initialBankCash,
+                          final long seed,
+                          final EngineKind engineKind,
+                          final LiquidationPolicy liquidationPolicy) {
+        startGame(playersConfig, boardCsvPath, deckCsvPath, null, null, initialPlayerMoney, initialBankCash,
+                  new SplittableRandom(seed), engineKind, liquidationPolicy);
+    }
+
+    /* boardHash/deckHash: conteúdo das definições de uma partida salva (null = o atual do CSV). */
+    private void startGame(final PlayersConfig playersConfig,
+                           final Path boardCsvPath,
+                           final Path deckCsvPath,
+                           final String boardHash,
+                           final String deckHash,
+                           final int initialPlayerMoney,
+                           final int initialBankCash,
+                           final SplittableRandom masterRng,
+                           final EngineKind engineKind,
+                           final LiquidationPolicy liquidationPolicy) {
         ensureNotStarted();
         Objects.requireNonNull(playersConfig, "playersConfig não pode ser nulo");
         Objects.requireNonNull(boardCsvPath, "boardCsvPath não pode ser nulo");
         Objects.requireNonNull(deckCsvPath, "deckCsvPath não pode ser nulo");
+        Objects.requireNonNull(engineKind, "engineKind não pode ser nulo");
+        Objects.requireNonNull(liquidationPolicy, "liquidationPolicy não pode ser nulo");
 
-        // 1) Banco e economia
-        final Bank bank = new Bank(initialBankCash);
-        final EconomyService economy = new EconomyService(bank);
-
-        // 2) Baralhos
-        final Deck deck = DeckFactory.fromCSV(deckCsvPath);
+        // 1) Definições compartilhadas (lidas uma vez por processo)
+        final BoardDefinition boardDefinition = DefinitionCache.board(boardCsvPath, boardHash);
+        final DeckDefinition deckDefinition = DefinitionCache.deck(deckCsvPath, deckHash);
 
-        // 3) Jogadores
+        // 2) Jogadores
         validatePlayerCount(playersConfig);
         List<Player> players = new ArrayList<>(playersConfig.size());
         for (PlayerSpec spec : playersConfig.players()) {
@@ -60,40 +133,73 @@ public final class GameAPI {
             ));
         }
 
-        // 4) Tabuleiro
-        final Board board = BoardFactory.fromCSV(boardCsvPath);
-
-        // 5) Engine
-    this.engine = new GameEngine(board, players, deck, economy, 0);
-
-        // 7) Boot concluído
+        // 3) Engine: baralho e dados usam fluxos próprios, derivados da seed mestre
+        final SplittableRandom deckRng = masterRng.split();
+        final SplittableRandom diceRng = masterRng.split();
+        if (engineKind == EngineKind.COMPACT) {
+            // Estado mutável mínimo sobre as definições compartilhadas
+            this.engine = new CompactGameEngine(boardDefinition, deckDefinition, players,
+                                                initialBankCash, 0, deckRng, diceRng);
+        } else {
+            final EconomyService economy = new EconomyService(new Bank(initialBankCash));
+            final Deck deck = deckDefinition.newDeck(deckRng);
+            final Board board = boardDefinition.newBoard();
+            this.engine = new GameEngine(board, players, deck, economy, 0, diceRng);
+        }
+        engine.setLiquidationPolicy(liquidationPolicy);
+
+        // 4) Cabeçalho para save/load (constante durante a partida)
+        this.saveHeader = new GameSaveCodec.Header(engineKind, liquidationPolicy, boardCsvPath, deckCsvPath,
+                                                   DefinitionCache.hashOf(boardDefinition),
+                                                   DefinitionCache.hashOf(deckDefinition),
+                                                   List.copyOf(playersConfig.players()),
+                                                   boardDefinition.size(), deckDefinition.size() + 1);
+        this.saveBuffer = null;
+
+        // 5) Boot concluído
+        this.transactionLogging = true;
         this.started = true;
     }
 
     // ==== Métodos públicos ====
 
+    /**
+     * Hash (SHA-256) do conteúdo atual de um CSV de definições, o mesmo gravado
+     * em saves, logs de turnos e arquivos de partidas.
+     */
+    public static String definitionHash(final Path csvPath) {
+        return DefinitionCache.contentHash(csvPath);
+    }
+
     /** Rola os dados e resolve tudo que não depende do usuário. */
     public void rollAndResolve() {
         ensureStarted();
         engine.rollAndResolve();
+        engine.logStateChanges();
     }
 
     /** Solicita compra da propriedade atual (se aplicável). */
     public boolean  chooseBuy() {
         ensureStarted();
-        return engine.chooseBuy();
+        final boolean ok = engine.chooseBuy();
+        engine.logStateChanges();
+        return ok;
     }
 
     /** Solicita construção de casa em propriedade do jogador. */
     public boolean chooseBuildHouse() {
         ensureStarted();
-        return engine.chooseBuildHouse();
+        final boolean ok = engine.chooseBuildHouse();
+        engine.logStateChanges();
+        return ok;
     }
 
     /** Solicita construção de hotel em propriedade do jogador. */
     public boolean chooseBuildHotel() {
         ensureStarted();
-        return engine.chooseBuildHotel();
+        final boolean ok = engine.chooseBuildHotel();
+        engine.logStateChanges();
+        return ok;
     }
 
     /** Encerra o turno atual e passa para o próximo jogador. */
@@ -110,41 +216,61 @@ public final class GameAPI {
         return engine.currentPlayerIndex();
     }
     
+    /**
+     * Hash de 64 bits do estado visível da partida (posições, saldos, prisão,
+     * donos, construções e jogador da vez). Mantido a cada mudança: ler é O(1).
+     * Estados iguais têm o mesmo hash; serve de chave para tabelas de transposição
+     * e para comparar uma partida com o seu replay (ReplayReader.stateHash()).
+     */
+    public long getStateHash() {
+        ensureStarted();
+        return engine.stateHash();
+    }
+    
+    /**
+     * Heap aproximado ocupado por esta partida (estado mutável e diário de
+     * transações; tabuleiro/baralho compartilhados não contam). Usado pelo
+     * SessionCache para respeitar o orçamento de memória.
+     */
+    public long estimatedHeapBytes() {
+        ensureStarted();
+        return engine.estimatedBytes();
+    }
+    
     /** Retorna o número total de jogadores. */
     public int getNumberOfPlayers() {
         ensureStarted();
-        return engine.allPlayers().size();
+        return engine.playerCount();
     }
     
     /** Retorna a posição de um jogador no tabuleiro. */
     public int getPlayerPosition(int playerIndex) {
         ensureStarted();
-        return engine.allPlayers().get(playerIndex).getPosition();
+        return engine.playerPosition(playerIndex);
     }
     
     /** Retorna o nome de um jogador. */
     public String getPlayerName(int playerIndex) {
         ensureStarted();
-        return engine.allPlayers().get(playerIndex).getName();
+        return engine.playerName(playerIndex);
     }
     
     /** Retorna o saldo de um jogador. */
     public int getPlayerMoney(int playerIndex) {
         ensureStarted();
-        return engine.allPlayers().get(playerIndex).getMoney();
+        return engine.playerMoney(playerIndex);
     }
     
     /** Retorna se um jogador está na prisão. */
     public boolean isPlayerInJail(int playerIndex) {
         ensureStarted();
-        return engine.allPlayers().get(playerIndex).isInJail();
+        return engine.playerInJail(playerIndex);
     }
     
     /** Retorna os valores do último lance de dados (após rollAndResolve). */
     public DiceData getLastDiceData() {
         ensureStarted();
-        final int[] vals = engine.lastRollValues();
-        return new DiceData(vals[0], vals[1], vals[2] == 1);
+        return DiceData.of(engine.lastDie1(), engine.lastDie2());
     }
 
     /** Retorna true se o jogador atual está autorizado a rolar os dados. */
@@ -174,7 +300,7 @@ public final class GameAPI {
     /** Retorna a cor (string) de um jogador. */
     public PlayerColor getPlayerColor(int playerIndex) {
         ensureStarted();
-        return engine.allPlayers().get(playerIndex).getColor();
+        return engine.playerColor(playerIndex);
     }
 
     /** Retorna o nome da square no índice fornecido. */
@@ -198,7 +324,7 @@ public final class GameAPI {
     /** Retorna se o jogador no índice fornecido está ativo/no jogo (não bankrupt). */
     public boolean isPlayerAlive(final int playerIndex) {
         ensureStarted();
-        return engine.allPlayers().get(playerIndex).isAlive();
+        return engine.playerAlive(playerIndex);
     }
 
     /** Retorna o nome da última propriedade/companhia em que um jogador caiu (ou null). */
@@ -229,6 +355,7 @@ public final class GameAPI {
     public void sellAtIndex(final int boardIndex) {
         ensureStarted();
         engine.sellAtIndex(boardIndex);
+        engine.logStateChanges();
     }
 
     /** Retorna e limpa as transações ocorridas desde a última leitura. */
@@ -236,13 +363,318 @@ public final class GameAPI {
         ensureStarted();
         return engine.collectTransactions();
     }
+
+    /**
+     * Diário de transações da partida. Cada consumidor (UI, persistência, análise)
+     * abre o seu cursor com newCursor() e lê sem copiar nem limpar o diário.
+     */
+    public TransactionJournal getTransactionJournal() {
+        ensureStarted();
+        return engine.transactionJournal();
+    }
+
+    /**
+     * Liga/desliga o registro de transações (ligado por padrão).
+     * Desligado, um turno completo não aloca memória (simulação em massa / busca).
+     */
+    public void setTransactionLogging(final boolean enabled) {
+        ensureStarted();
+        this.transactionLogging = enabled;
+        engine.setTransactionLogging(enabled);
+    }
     
     /** Retorna a(s) referência(s) do(s) vencedor(es) da partida. */
     public java.util.List<PlayerRef> getWinners() {
         ensureStarted();
         return engine.getWinners();
     }
-    
+
+    // ==== Classificação por patrimônio (mantida pelo motor; leituras O(1)) ====
+
+    /** Patrimônio do jogador: saldo + valor de recompra dos títulos no nível atual. */
+    public int getPlayerNetWorth(int playerIndex) {
+        ensureStarted();
+        return engine.netWorth().worth(playerIndex);
+    }
+
+    /** Jogador na posição 'rank' da classificação (0 = líder; falidos ficam no fim). */
+    public int getPlayerAtStanding(int rank) {
+        ensureStarted();
+        return engine.netWorth().playerAt(rank);
+    }
+
+    /** Posição do jogador na classificação (0 = líder). */
+    public int getPlayerStanding(int playerIndex) {
+        ensureStarted();
+        return engine.netWorth().rankOf(playerIndex);
+    }
+
+    /** Soma do patrimônio dos jogadores ainda vivos. */
+    public long getAliveNetWorth() {
+        ensureStarted();
+        return engine.netWorth().aliveTotal();
+    }
+
+    // ==== Save/load ====
+
+    /**
+     * Salva a partida em formato binário versionado (ver GameSaveCodec).
+     * O arquivo é substituído de forma atômica; buffers são reaproveitados entre saves.
+     */
+    public void saveGame(final Path file) {
+        Objects.requireNonNull(file, "file");
+        fillSaveBuffer();
+        try {
+            GameSaveCodec.writeFile(file, saveBuffer, saveCrc);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao salvar jogo: " + file, e);
+        }
+    }
+
+    /**
+     * A partida no mesmo formato de saveGame, em memória e sem o CRC do arquivo
+     * (quem guarda os bytes cuida da integridade, como o SessionLog).
+     */
+    public byte[] exportGame() {
+        fillSaveBuffer();
+        final byte[] bytes = new byte[saveBuffer.position()];
+        saveBuffer.flip().get(bytes);
+        return bytes;
+    }
+
+    /* Preâmbulo + cabeçalho (uma vez) + estado atual em saveBuffer; posição = fim dos dados. */
+    private void fillSaveBuffer() {
+        ensureStarted();
+        if (saveBuffer == null) {
+            saveSnapshot = engine.newSnapshot();
+            saveBuffer = ByteBuffer.allocateDirect(saveHeader.maxFileBytes());
+            GameSaveCodec.writePreamble(saveBuffer, GameSaveCodec.MAGIC);
+            saveHeader.write(saveBuffer);
+            saveStateOffset = saveBuffer.position();
+        } else {
+            engine.snapshotInto(saveSnapshot);
+        }
+        saveBuffer.clear().position(saveStateOffset);
+        GameSaveCodec.writeState(saveBuffer, saveSnapshot);
+        saveBuffer.putLong(engine.diceState());
+    }
+
+    /**
+     * Carrega uma partida salva; os próximos lances continuam a sequência da
+     * partida gravada.
+     */
+    public void loadGame(final Path file) {
+        loadGame(file, new SplittableRandom(), true);
+    }
+
+    /** Carrega uma partida salva; os próximos lances/embaralhamentos seguem a seed dada. */
+    public void loadGame(final Path file, final long seed) {
+        loadGame(file, new SplittableRandom(seed), false);
+    }
+
+    /** Carrega uma partida de exportGame; os próximos lances continuam a sequência da partida exportada. */
+    public void importGame(final byte[] data) {
+        Objects.requireNonNull(data, "data");
+        loadGame(ByteBuffer.wrap(data), new SplittableRandom(), true);
+    }
+
+    /** Carrega uma partida de exportGame; os próximos lances/embaralhamentos seguem a seed dada. */
+    public void importGame(final byte[] data, final long seed) {
+        Objects.requireNonNull(data, "data");
+        loadGame(ByteBuffer.wrap(data), new SplittableRandom(seed), false);
+    }
+
+    private void loadGame(final Path file, final SplittableRandom rng, final boolean savedDice) {
+        ensureNotStarted();
+        Objects.requireNonNull(file, "file");
+        final ByteBuffer buf;
+        try {
+            buf = GameSaveCodec.readFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao carregar jogo: " + file, e);
+        }
+        loadGame(buf, rng, savedDice);
+    }
+
+    /* savedDice: retoma a fonte dos dados gravada em vez da seed de rng. */
+    private void loadGame(final ByteBuffer buf, final SplittableRandom rng, final boolean savedDice) {
+        ensureNotStarted();
+        GameSaveCodec.readPreamble(buf, GameSaveCodec.MAGIC);
+        final GameSaveCodec.Header header = GameSaveCodec.Header.read(buf);
+
+        // Saldo/caixa iniciais são irrelevantes: o estado salvo os substitui
+        startGame(new PlayersConfig(header.players()), header.boardCsv(), header.deckCsv(),
+                  header.boardHash(), header.deckHash(), 0, 0, rng, header.engine(), header.liquidation());
+        try {
+            if (saveHeader.squares() != header.squares()) {
+                throw new IllegalArgumentException("Tabuleiro diferente do usado no jogo salvo.");
+            }
+            final EngineSnapshot state = engine.newSnapshot();
+            GameSaveCodec.readState(buf, state);
+            engine.restoreFrom(state);
+            final long dice = buf.getLong();
+            if (savedDice) engine.restoreDiceState(dice);
+        } catch (RuntimeException e) {
+            this.engine = null;
+            this.started = false;
+            throw e;
+        }
+    }
+
+    // ==== Log de turnos (event sourcing) ====
+
+    /**
+     * Passa a registrar cada operação que muda o estado (dados, compra, construção,
+     * venda, carta, fim de turno), com um checkpoint completo a cada N turnos.
+     * O turno 0 do log é o estado atual.
+     */
+    public void enableTurnLog(final int checkpointInterval) {
+        ensureStarted();
+        engine.attachTurnLog(new TurnLog(checkpointInterval, engine.newSnapshot()));
+    }
+
+    /** Se o log de turnos está ativo (enableTurnLog/loadTurnLog). */
+    public boolean isTurnLogEnabled() {
+        ensureStarted();
+        return engine.turnLog() != null;
+    }
+
+    /** Quantidade de turnos completos no log (0 se o log não estiver ativo). */
+    public int getLoggedTurnCount() {
+        ensureStarted();
+        final TurnLog log = engine.turnLog();
+        return log == null ? 0 : log.turnCount();
+    }
+
+    /**
+     * Reconstrói a partida no início do turno dado (checkpoint + replay do log)
+     * e descarta o log posterior; o jogo continua dali.
+     */
+    public void rewindToTurn(final int turn) {
+        ensureStarted();
+        final TurnLog log = requireTurnLog();
+        replayInto(log, turn);
+        log.truncate(turn);
+    }
+
+    /** Grava o log de turnos (com checkpoints) em arquivo binário versionado. */
+    public void saveTurnLog(final Path file) {
+        ensureStarted();
+        Objects.requireNonNull(file, "file");
+        final TurnLog log = requireTurnLog();
+        final int stateBytes = GameSaveCodec.maxStateBytes(saveHeader.players().size(),
+                                                           saveHeader.squares(), saveHeader.deckCapacity());
+        final ByteBuffer buf = ByteBuffer.allocate(saveHeader.maxFileBytes() + log.maxEncodedBytes(stateBytes));
+        GameSaveCodec.writePreamble(buf, GameSaveCodec.LOG_MAGIC);
+        saveHeader.write(buf);
+        log.writeTo(buf);
+        try {
+            GameSaveCodec.writeFile(file, buf, new CRC32());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao salvar log de turnos: " + file, e);
+        }
+    }
+
+    /** Carrega um log de turnos e reconstrói a partida no último turno registrado. */
+    public void loadTurnLog(final Path file) {
+        loadTurnLog(file, -1);
+    }
+
+    /**
+     * Carrega um log de turnos e reconstrói a partida no início do turno dado
+     * (auditoria / reprodução de bugs). O log posterior é descartado.
+     */
+    public void loadTurnLog(final Path file, final int turn) {
+        ensureNotStarted();
+        Objects.requireNonNull(file, "file");
+        final ByteBuffer buf;
+        try {
+            buf = GameSaveCodec.readFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao carregar log de turnos: " + file, e);
+        }
+        GameSaveCodec.readPreamble(buf, GameSaveCodec.LOG_MAGIC);
+        final GameSaveCodec.Header header = GameSaveCodec.Header.read(buf);
+
+        startGame(new PlayersConfig(header.players()), header.boardCsv(), header.deckCsv(),
+                  header.boardHash(), header.deckHash(), 0, 0, new SplittableRandom(),
+                  header.engine(), header.liquidation());
+        try {
+            if (saveHeader.squares() != header.squares()) {
+                throw new IllegalArgumentException("Tabuleiro diferente do usado no log de turnos.");
+            }
+            final TurnLog log = TurnLog.readFrom(buf, engine::newSnapshot);
+            final int target = turn < 0 ? log.turnCount() : turn;
+            replayInto(log, target);
+            log.truncate(target);
+            engine.attachTurnLog(log);
+        } catch (RuntimeException e) {
+            this.engine = null;
+            this.started = false;
+            throw e;
+        }
+    }
+
+    /* Replay sem registrar de novo os eventos nem notificar transações históricas. */
+    private void replayInto(final TurnLog log, final int turn) {
+        engine.attachTurnLog(null);
+        engine.setTransactionLogging(false);
+        try {
+            log.replay(engine, turn);
+        } finally {
+            engine.clearMockedDiceValues();
+            engine.setTransactionLogging(transactionLogging);
+            engine.attachTurnLog(log);
+        }
+    }
+
+    private TurnLog requireTurnLog() {
+        final TurnLog log = engine.turnLog();
+        if (log == null) throw new IllegalStateException("Log de turnos não está ativo. Chame enableTurnLog().");
+        return log;
+    }
+
+    // ==== Snapshot (busca/bots) ====
+
+    /** Cria um snapshot dimensionado para esta partida, com o estado atual. */
+    public EngineSnapshot createSnapshot() {
+        ensureStarted();
+        return engine.newSnapshot();
+    }
+
+    /** Copia o estado atual para um snapshot existente desta partida (sem alocar). */
+    public void snapshotInto(final EngineSnapshot snapshot) {
+        ensureStarted();
+        engine.snapshotInto(Objects.requireNonNull(snapshot, "snapshot"));
+    }
+
+    /**
+     * Restaura o estado da partida a partir de um snapshot (sem alocar).
+     * Recusado com o log de turnos ativo: o log descreveria outra linha do tempo
+     * (use rewindToTurn, ou uma partida separada para a busca).
+     * Custo (bench/model/SnapshotBenchmark): dezenas de ns no motor COMPACT, que copia
+     * arrays; o motor OBJECT percorre os objetos das casas e jogadores e fica na casa
+     * das centenas de ns mesmo tocando só no que mudou. Para busca, use EngineKind.COMPACT.
+     */
+    public void restoreSnapshot(final EngineSnapshot snapshot) {
+        ensureStarted();
+        if (engine.turnLog() != null) {
+            throw new IllegalStateException("Log de turnos ativo: use rewindToTurn() em vez de restoreSnapshot().");
+        }
+        engine.restoreFrom(Objects.requireNonNull(snapshot, "snapshot"));
+    }
+
+    /* Estado da fonte dos dados (SessionLog grava junto de cada lance). */
+    long diceState() {
+        ensureStarted();
+        return engine.diceState();
+    }
+
+    void restoreDiceState(final long state) {
+        ensureStarted();
+        engine.restoreDiceState(state);
+    }
+
     /**
      * Define valores para o próximo lance de dados (modo de teste).
      */
@@ -287,6 +719,30 @@ public final class GameAPI {
     /** Especificação mínima de um jogador. */
     public record PlayerSpec(String id, String name, PlayerColor color) {}
 
+    /** Motor de regras usado por trás da fachada. */
+    public enum EngineKind {
+        OBJECT,  // GameEngine: um objeto por jogador/casa
+        COMPACT  // CompactGameEngine: arrays primitivos por jogador/casa
+    }
+
+    /** Quais títulos um jogador sem saldo vende para pagar uma dívida. */
+    public enum LiquidationPolicy {
+        ACQUISITION_ORDER, // regra original: do mais antigo ao mais novo até cobrir
+        MIN_VALUE          // o subconjunto de menor valor de recompra que cobre (LiquidationPlanner)
+    }
+
     /** Retorna os valores do último lance de dados em um pequeno DTO. */
-    public record DiceData(int d1, int d2, boolean isDouble) {}
+    public record DiceData(int d1, int d2, boolean isDouble) {
+        // Os 36 lances possíveis, compartilhados (record imutável)
+        private static final DiceData[] TABLE = new DiceData[36];
+        static {
+            for (int a = 1; a <= 6; a++)
+                for (int b = 1; b <= 6; b++)
+                    TABLE[(a - 1) * 6 + (b - 1)] = new DiceData(a, b, a == b);
+        }
+
+        static DiceData of(final int d1, final int d2) {
+            return TABLE[(d1 - 1) * 6 + (d2 - 1)];
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/* ===========================================================
+ * GameCore ; contrato interno entre a fachada GameAPI e um motor de regras.
+ * Implementado pelo GameEngine (objetos) e pelo CompactGameEngine (arrays primitivos).
+ * =========================================================== */
+
+package model;
+
+import java.util.List;
+
+import model.api.dto.OwnableInfo;
+import model.api.dto.Ownables;
+import model.api.dto.PlayerColor;
+import model.api.dto.PlayerRef;
+import model.api.dto.Transaction;
+
+abstract class GameCore {
+
+    // ===== Ações do turno =====
+    abstract void rollAndResolve();
+    abstract boolean chooseBuy();
+    abstract boolean chooseBuildHouse();
+    abstract boolean chooseBuildHotel();
+    abstract void sellAtIndex(int boardIndex);
+    abstract int endTurn();
+
+    // ===== Estado dos jogadores (por índice) =====
+    abstract int playerCount();
+    abstract int playerPosition(int playerIndex);
+    abstract String playerName(int playerIndex);
+    abstract int playerMoney(int playerIndex);
+    abstract boolean playerInJail(int playerIndex);
+    abstract PlayerColor playerColor(int playerIndex);
+    abstract boolean playerAlive(int playerIndex);
+
+    // ===== Estado do turno =====
+    abstract int currentPlayerIndex();
+    abstract int lastDie1();
+    abstract int lastDie2();
+    abstract boolean isRollAllowed();
+    abstract int lastDrawedCardIndex();
+    abstract String lastLandedOwnableName();
+
+    // ===== Tabuleiro / DTOs =====
+    abstract String getSquareName(int index);
+    abstract String getSquareType(int index);
+    abstract Ownables.Street getStreetOwnableInfo(int index);
+    abstract Ownables.Company getCompanyOwnableInfo(int index);
+    abstract List<OwnableInfo> getCurrentPlayerPropertyData();
+    abstract List<PlayerRef> getWinners();
+
+    // ===== Motivos de bloqueio (log) =====
+    abstract String buyNotAllowedReason();
+    abstract String buildHouseNotAllowedReason();
+    abstract String buildHotelNotAllowedReason();
+
+    // ===== Snapshot (busca/bots) =====
+    abstract EngineSnapshot newSnapshot();
+    abstract void snapshotInto(EngineSnapshot snapshot);
+    abstract void restoreFrom(EngineSnapshot snapshot);
+
+    /* Estado da fonte dos dados (fora do snapshot: restaurar não repete os lances). */
+    abstract long diceState();
+    abstract void restoreDiceState(long state);
+
+    /* Hash Zobrist do estado visível (mantido a cada mudança; ver ZobristHash). */
+    abstract long stateHash();
+
+    /* Classificação por patrimônio (mantida a cada mudança; ver NetWorthBoard). Só leitura. */
+    abstract NetWorthBoard netWorth();
+
+    /* Heap aproximado da partida (estado mutável + diário); definições compartilhadas não contam. */
+    abstract long estimatedBytes();
+
+    // ===== Transações / testes =====
+    abstract List<Transaction> collectTransactions();
+    abstract void setTransactionLogging(boolean enabled);
+    abstract void setLiquidationPolicy(GameAPI.LiquidationPolicy policy);
+    abstract TransactionJournal transactionJournal();
+    abstract void setMockedDiceValues(int d1, int d2);
+    abstract void clearMockedDiceValues();
+
+    // ===== Log de turnos (event sourcing) =====
+    private TurnLog turnLog;
+    private EngineSnapshot logged;   // último estado já descrito no log
+    private EngineSnapshot scratch;
+
+    final TurnLog turnLog() { return turnLog; }
+
+    final void attachTurnLog(final TurnLog log) {
+        this.turnLog = log;
+        if (log == null) return;
+        if (logged == null) {
+            logged = newSnapshot();
+            scratch = newSnapshot();
+        } else {
+            snapshotInto(logged);
+        }
+    }
+
+    /* Registra um evento no log anexado (se houver) e tira checkpoint quando devido. */
+    final void logEvent(final int type, final int player, final int a, final int b) {
+        final TurnLog log = turnLog;
+        if (log == null) return;
+        log.append(type, player, a, b);
+        if (type == TurnLog.END_TURN && log.checkpointDue()) log.addCheckpoint(newSnapshot());
+    }
+
+    /* Registra os deltas de estado desde a última chamada (chamado após cada ação completa). */
+    final void logStateChanges() {
+        final TurnLog log = turnLog;
+        if (log == null) return;
+        snapshotInto(scratch);
+        log.appendChanges(logged, scratch);
+        final EngineSnapshot t = logged;
+        logged = scratch;
+        scratch = t;
+    }
+}
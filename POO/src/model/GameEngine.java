@@ -6,18 +6,21 @@ package model;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.SplittableRandom;
 import model.api.dto.OwnableInfo;
 import model.api.dto.Ownables; 
+import model.api.dto.PlayerColor;
 import model.api.dto.PlayerRef;
 import model.api.dto.Transaction;
 
-final class GameEngine {
+final class GameEngine extends GameCore {
 
     // Dependências e estado do turno 
     private final Board board;
     private final List<Player> players;
     private final Deck deck;
     private final EconomyService economy;
+    private final SplitMix64 rng; // fonte de aleatoriedade exclusiva desta partida
 
     private int currentPlayerIndex;
     private DiceRoll lastRoll;
@@ -25,6 +28,12 @@ final class GameEngine {
     private int lastDrawedCardIndex = -1;
     private String lastLandedOwnableName = null;
     private boolean hasBuiltThisTurn = false;
+
+    // Hash do estado visível, atualizado por Player/OwnableSquare a cada mudança
+    private final ZobristHash hash = new ZobristHash();
+
+    // Patrimônio de cada jogador, atualizado pelos mesmos pontos de escrita do hash
+    private final NetWorthBoard netWorth;
     
     // Mock de dados para testes
     private Integer mockedDice1;
@@ -35,11 +44,51 @@ final class GameEngine {
                final Deck deck,
                final EconomyService economy,
                final int startIndex) {
+        this(board, players, deck, economy, startIndex, new SplittableRandom());
+    }
+
+    GameEngine(final Board board,
+               final List<Player> players,
+               final Deck deck,
+               final EconomyService economy,
+               final int startIndex,
+               final SplittableRandom rng) {
         this.board   = Objects.requireNonNull(board, "board");
         this.players = Objects.requireNonNull(players, "players");
         this.deck    = Objects.requireNonNull(deck, "deck");
         this.economy = Objects.requireNonNull(economy, "economy");
+        this.rng     = new SplitMix64(Objects.requireNonNull(rng, "rng").nextLong());
         this.currentPlayerIndex = startIndex;
+        this.netWorth = new NetWorthBoard(players.size());
+        economy.registerPlayers(players);
+
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).attachHash(hash, i);
+            players.get(i).attachNetWorth(netWorth);
+        }
+        for (int idx = 0; idx < board.size(); idx++) {
+            final Square sq = board.squareAt(idx);
+            if (sq instanceof OwnableSquare) {
+                ((OwnableSquare) sq).attachHash(hash);
+                ((OwnableSquare) sq).attachNetWorth(netWorth);
+            }
+        }
+        hash.set(ZobristHash.of(newSnapshot()));
+        rebuildNetWorth();
+    }
+
+    /* Patrimônio calculado do zero (referência para o incremental; após restaurar). */
+    private void rebuildNetWorth() {
+        for (int i = 0; i < players.size(); i++) {
+            final Player p = players.get(i);
+            int worth = p.getMoney();
+            final OwnershipSet set = p.ownership();
+            for (int sq = set.first(); sq != OwnershipSet.NONE; sq = set.next(sq)) {
+                worth += economy.evaluateSellValue(p.propertyOn(sq));
+            }
+            netWorth.reset(i, worth, p.isAlive());
+        }
+        netWorth.rebuild();
     }
 
    // Início do turno: limpa estado do dado. 
@@ -100,6 +149,7 @@ final class GameEngine {
     void drawAndUseCard(Player player) {
         final Card card = deck.draw();
         this.lastDrawedCardIndex = card.getId();
+        logEvent(TurnLog.CARD, currentPlayerIndex, card.getId(), 0);
         card.applyEffect(player, this, economy);
   
     }
@@ -129,6 +179,7 @@ final class GameEngine {
 
         // Rola os dados e guarda
         final DiceRoll roll = roll();
+        logEvent(TurnLog.ROLL, currentPlayerIndex, roll.getD1(), roll.getD2());
         applyJailRules(roll);
 
         // Se estiver preso, não move
@@ -159,6 +210,7 @@ final class GameEngine {
 
         if (hasPurchased) {
             this.hasBuiltThisTurn = true;
+            logEvent(TurnLog.BUY, currentPlayerIndex, property.index(), 0);
         }
 
         return hasPurchased;
@@ -183,6 +235,7 @@ final class GameEngine {
 
         if (built) {
             this.hasBuiltThisTurn = true;
+            logEvent(TurnLog.BUILD_HOUSE, currentPlayerIndex, property.index(), 0);
         }
 
         return built;
@@ -207,6 +260,7 @@ final class GameEngine {
 
         if (built) {
             this.hasBuiltThisTurn = true;
+            logEvent(TurnLog.BUILD_HOTEL, currentPlayerIndex, property.index(), 0);
         }
 
         return built;
@@ -220,6 +274,7 @@ final class GameEngine {
         final OwnableSquare prop = (OwnableSquare) sq;
         final Player player = currentPlayer();
         economy.buybackPropertyToPlayer(prop, player);
+        logEvent(TurnLog.SELL, currentPlayerIndex, boardIndex, 0);
     }
 
     /* ===========================================================
@@ -230,9 +285,12 @@ final class GameEngine {
         this.hasBuiltThisTurn = false;
 
     	int n = players.size();
+        final int previous = currentPlayerIndex;
         do {
             currentPlayerIndex = (currentPlayerIndex + 1) % n;
         } while (!players.get(currentPlayerIndex).isAlive());
+        hash.change(ZobristHash.CURRENT, 0, previous, currentPlayerIndex);
+        logEvent(TurnLog.END_TURN, previous, currentPlayerIndex, 0);
         return currentPlayerIndex;
     }
 
@@ -243,13 +301,15 @@ final class GameEngine {
     private DiceRoll roll() {
         // Se há valores mockados, usa-os e limpa
         if (mockedDice1 != null && mockedDice2 != null) {
-            this.lastRoll = new DiceRoll(mockedDice1, mockedDice2);
+            this.lastRoll = DiceRoll.of(mockedDice1, mockedDice2);
             // Limpa os valores mockados após uso (single-use)
             this.mockedDice1 = null;
             this.mockedDice2 = null;
         } else {
-            // Modo normal: aleatório
-            this.lastRoll = new DiceRoll();
+            // Modo normal: aleatório (fonte da partida); lances vêm da tabela compartilhada
+            final int d1 = rng.nextInt(1, 7);
+            final int d2 = rng.nextInt(1, 7);
+            this.lastRoll = DiceRoll.of(d1, d2);
         }
         return lastRoll;
     }
@@ -271,10 +331,10 @@ final class GameEngine {
 
     /* Retorna os DTOs das propriedades do jogador atual */
 	 List<OwnableInfo> getCurrentPlayerPropertyData() {
-	     final int[] indices = currentPlayer().getPropertiesIndex();
-	     final java.util.List<OwnableInfo> out = new java.util.ArrayList<>(indices.length);
+	     final OwnershipSet owned = currentPlayer().ownership();
+	     final java.util.List<OwnableInfo> out = new java.util.ArrayList<>(owned.size());
 	
-	     for (int idx : indices) {
+	     for (int idx = owned.first(); idx != OwnershipSet.NONE; idx = owned.next(idx)) {
 	         final Square sq = board.squareAt(idx);
 	
 	         if (sq instanceof StreetOwnableSquare) {
@@ -294,12 +354,29 @@ final class GameEngine {
         return List.copyOf(players);
     }
 
+    /* Lista interna dos jogadores (sem cópia; não alterar). */
+    List<Player> players() { return players; }
+
+    /* Acesso por índice ao estado dos jogadores (sem copiar a lista). */
+    int playerCount() { return players.size(); }
+    Player playerAt(final int i) { return players.get(i); }
+    int playerPosition(final int playerIndex) { return players.get(playerIndex).getPosition(); }
+    String playerName(final int playerIndex) { return players.get(playerIndex).getName(); }
+    int playerMoney(final int playerIndex) { return players.get(playerIndex).getMoney(); }
+    boolean playerInJail(final int playerIndex) { return players.get(playerIndex).isInJail(); }
+    PlayerColor playerColor(final int playerIndex) { return players.get(playerIndex).getColor(); }
+    boolean playerAlive(final int playerIndex) { return players.get(playerIndex).isAlive(); }
+
     /* Retorna o índice do jogador atual (sem alterar estado). */
     int currentPlayerIndex() { return currentPlayerIndex; }
 
-    /* Retorna os valores do último lance como um array int[3] {d1,d2,isDoubleFlag} */
-    int[] lastRollValues() {
-        return new int[] { lastRoll.getD1(), lastRoll.getD2(), lastRoll.isDouble() ? 1 : 0 };
+    /* Retorna os valores do último lance (sem alocar). */
+    int lastDie1() { return requireRoll().getD1(); }
+    int lastDie2() { return requireRoll().getD2(); }
+
+    private DiceRoll requireRoll() {
+        if (lastRoll == null) throw new IllegalStateException("Nenhum lance de dados neste turno.");
+        return lastRoll;
     }
 
     /* Retorna se o jogador atual está autorizado a rolar os dados. */
@@ -318,19 +395,14 @@ final class GameEngine {
  
     /**
      * Retorna uma lista de PlayerRef representando o(s) vencedor(es) da partida.
-     * O critério é o maior montante de dinheiro entre os jogadores (empates permitidos).
+     * O critério é o maior patrimônio (saldo + recompra dos títulos) entre os
+     * jogadores vivos, lido da classificação mantida (empates permitidos).
      */
     java.util.List<PlayerRef> getWinners() {
-        int max = Integer.MIN_VALUE;
-        for (Player p : players) {
-            if (p.getMoney() > max) max = p.getMoney();
-        }
-        final java.util.List<PlayerRef> res = new java.util.ArrayList<>();
-        for (int i = 0; i < players.size(); i++) {
-            final Player p = players.get(i);
-            if (p.getMoney() == max) {
-                res.add(toPlayerRef(p));
-            }
+        final int n = netWorth.leaders();
+        final java.util.List<PlayerRef> res = new java.util.ArrayList<>(n);
+        for (int r = 0; r < n; r++) {
+            res.add(toPlayerRef(players.get(netWorth.playerAt(r))));
         }
         return java.util.Collections.unmodifiableList(res);
     }
@@ -445,6 +517,171 @@ final class GameEngine {
         return economy.drainTransactionLog();
     }
 
+    /* Liga/desliga o registro de transações (desligado: turnos sem alocação). */
+    void setTransactionLogging(final boolean enabled) {
+        economy.setTransactionLogging(enabled);
+    }
+
+    /* Como o jogador sem saldo escolhe os títulos a vender. */
+    void setLiquidationPolicy(final GameAPI.LiquidationPolicy policy) {
+        economy.setLiquidationPolicy(policy);
+    }
+
+    /* Diário de transações da partida (um cursor por consumidor). */
+    TransactionJournal transactionJournal() {
+        return economy.transactionJournal();
+    }
+
+    // ============ SNAPSHOT ============
+    // ============ SNAPSHOT ============
+
+    /** Cria um snapshot dimensionado para esta partida, já preenchido com o estado atual. */
+    EngineSnapshot newSnapshot() {
+        final EngineSnapshot s = new EngineSnapshot(players.size(), board.size(), deck.capacity());
+        snapshotInto(s);
+        return s;
+    }
+
+    /** Copia o estado atual para o snapshot (sem alocar). */
+    void snapshotInto(final EngineSnapshot s) {
+        final int n = players.size();
+        final int size = board.size();
+        s.checkShape(n, size);
+
+        for (int i = 0; i < n; i++) {
+            final Player p = players.get(i);
+            s.money[i] = p.getMoney();
+            s.position[i] = p.getPosition();
+            s.jailCards[i] = p.getOutOfJailCards();
+            s.inJail[i] = p.isInJail();
+            s.alive[i] = p.isAlive();
+            final OwnershipSet owned = p.ownership();
+            int k = 0;
+            for (int sq = owned.first(); sq != OwnershipSet.NONE; sq = owned.next(sq)) {
+                s.owned[i * size + k++] = sq;
+            }
+            s.ownedCount[i] = k;
+        }
+
+        for (int idx = 0; idx < size; idx++) {
+            final Square sq = board.squareAt(idx);
+            s.owner[idx] = EngineSnapshot.NO_OWNER;
+            s.houses[idx] = 0;
+            s.hotel[idx] = 0;
+            if (!(sq instanceof OwnableSquare)) continue;
+            s.owner[idx] = (byte) indexOfPlayer(((OwnableSquare) sq).getOwner());
+            if (sq instanceof StreetOwnableSquare) {
+                final StreetOwnableSquare street = (StreetOwnableSquare) sq;
+                s.houses[idx] = (byte) street.getHouses();
+                s.hotel[idx] = (byte) (street.hasHotel() ? 1 : 0);
+            }
+        }
+
+        if (deck.size() > s.deckOrder.length)
+            throw new IllegalStateException("Baralho maior que o buffer do snapshot.");
+        s.deckCount = deck.copyOrderTo(s.deckOrder);
+        s.bankCash = economy.bankCash();
+        s.currentPlayerIndex = currentPlayerIndex;
+        s.lastRollerIndex = lastRollerIndex;
+        s.lastDie1 = lastRoll == null ? 0 : lastRoll.getD1();
+        s.lastDie2 = lastRoll == null ? 0 : lastRoll.getD2();
+        s.lastDrawedCardIndex = lastDrawedCardIndex;
+        s.hasBuiltThisTurn = hasBuiltThisTurn;
+        s.hash = hash.value();
+        for (int i = 0; i < n; i++) s.worth[i] = netWorth.worth(i);
+        s.captured = true;
+    }
+
+    /** Restaura o estado a partir do snapshot (sem alocar). */
+    void restoreFrom(final EngineSnapshot s) {
+        final int n = players.size();
+        final int size = board.size();
+        s.checkShape(n, size);
+
+        // Os ganchos do hash e do patrimônio ficam desligados: o valor final vem do snapshot
+        hash.setSuspended(true);
+        netWorth.setSuspended(true);
+        try {
+            // Só toca nos objetos que diferem do snapshot (desfazer uma busca muda poucas casas)
+            for (int idx = 0; idx < size; idx++) {
+                final Square sq = board.squareAt(idx);
+                if (!(sq instanceof OwnableSquare)) continue;
+                final OwnableSquare ownable = (OwnableSquare) sq;
+                final int o = s.owner[idx];
+                final Player owner = o == EngineSnapshot.NO_OWNER ? null : players.get(o);
+                if (ownable.getOwner() != owner) ownable.setOwner(owner);
+                if (sq instanceof StreetOwnableSquare) {
+                    final StreetOwnableSquare street = (StreetOwnableSquare) sq;
+                    final boolean hotel = s.hotel[idx] != 0;
+                    if (street.getHouses() != s.houses[idx] || street.hasHotel() != hotel) {
+                        street.restoreBuildings(s.houses[idx], hotel);
+                    }
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                final Player p = players.get(i);
+                p.restoreScalars(s.money[i], s.position[i], s.inJail[i], s.jailCards[i], s.alive[i]);
+                p.restoreProperties(s.owned, i * size, s.ownedCount[i], board);
+            }
+        } finally {
+            hash.setSuspended(false);
+            netWorth.setSuspended(false);
+        }
+
+        deck.restoreOrder(s.deckOrder, s.deckCount);
+        economy.restoreBankCash(s.bankCash);
+        this.currentPlayerIndex = s.currentPlayerIndex;
+        this.lastRollerIndex = s.lastRollerIndex;
+        this.lastRoll = s.lastDie1 == 0 ? null : DiceRoll.of(s.lastDie1, s.lastDie2);
+        this.lastDrawedCardIndex = s.lastDrawedCardIndex;
+        this.hasBuiltThisTurn = s.hasBuiltThisTurn;
+        if (s.captured) {
+            hash.set(s.hash);
+            for (int i = 0; i < n; i++) netWorth.reset(i, s.worth[i], s.alive[i]);
+            netWorth.rebuild();
+        } else {
+            hash.set(ZobristHash.of(s));
+            rebuildNetWorth();
+        }
+    }
+
+
+    long diceState() {
+        return rng.state();
+    }
+
+    void restoreDiceState(final long state) {
+        rng.setState(state);
+    }
+
+    long stateHash() {
+        return hash.value();
+    }
+
+    NetWorthBoard netWorth() {
+        return netWorth;
+    }
+
+    long estimatedBytes() {
+        // Objeto por casa e por jogador (com o conjunto de propriedades), mais ordem do baralho
+        final long squares = board.size();
+        long bytes = 256 + squares * 56 + 16 + 4 * squares
+             + 16 + 4L * deck.size()
+             + economy.transactionJournal().estimatedBytes();
+        for (Player p : players) bytes += 72 + p.ownershipBytes();
+        return bytes;
+    }
+
+    /* Índice do jogador na lista (ou -1 para o banco/sem dono). */
+    private int indexOfPlayer(final Player p) {
+        if (p == null) return EngineSnapshot.NO_OWNER;
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i) == p) return i;
+        }
+        throw new IllegalStateException("Jogador não pertence à partida: " + p.getId());
+    }
+
     // ============ MOCK DE DADOS (TESTES) ============
     // ============ MOCK DE DADOS (TESTES) ============
 
@@ -0,0 +1,297 @@
+/* ===========================================================
+ * GameSaveCodec ; formato binário versionado de uma partida salva.
+ *
+ * Layout (big-endian):
+ *   int   MAGIC  ("MONO")
+ *   short VERSION
+ *   -- cabeçalho (constante durante a partida) --
+ *   byte  motor (EngineKind.ordinal)
+ *   byte  liquidação (LiquidationPolicy.ordinal)
+ *   str   CSV do tabuleiro, CSV do baralho       (short tamanho + UTF-8)
+ *   str   SHA-256 do conteúdo de cada CSV (DefinitionCache; "" = desconhecido)
+ *   byte  jogadores; por jogador: str id, str nome, byte cor
+ *   short casas, short capacidade do baralho
+ *   -- estado --
+ *   por jogador: int saldo, short posição, short cartões, byte flags (1 preso, 2 vivo),
+ *                short qtd. propriedades, short[] propriedades (ordem de aquisição)
+ *   por casa:    byte dono, byte casas, byte hotel
+ *   short cartas no baralho, short[] ordem (topo primeiro)
+ *   int caixa do banco; byte vez, byte último a rolar, byte dado1, byte dado2, byte já construiu,
+ *   short última carta sacada
+ *   -- só na partida salva (MAGIC) --
+ *   long  estado da fonte dos dados (SplitMix64)
+ *   -- int CRC32 de tudo que vem antes --
+ * =========================================================== */
+
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import model.GameAPI.EngineKind;
+import model.GameAPI.LiquidationPolicy;
+import model.GameAPI.PlayerSpec;
+import model.api.dto.PlayerColor;
+
+final class GameSaveCodec {
+
+    static final int MAGIC = 0x4D4F4E4F;     // "MONO": partida salva
+    static final int LOG_MAGIC = 0x4D544C47; // "MTLG": log de turnos (TurnLog)
+    static final short VERSION = 1;
+
+    private static final byte FLAG_IN_JAIL = 1;
+    private static final byte FLAG_ALIVE = 2;
+    // Casas por rua sem hotel (o nível em PropertyValues vai até 4 + 5)
+    private static final int MAX_HOUSES = PropertyValues.LEVELS / 2 - 1;
+
+    private GameSaveCodec() { }
+
+    /*
+     * Cabeçalho: identifica a partida (motor, definições e jogadores).
+     * boardHash/deckHash: conteúdo das definições usadas (null = desconhecido).
+     */
+    record Header(EngineKind engine, LiquidationPolicy liquidation, Path boardCsv, Path deckCsv,
+                  String boardHash, String deckHash, List<PlayerSpec> players, int squares, int deckCapacity) {
+
+        void write(final ByteBuffer buf) {
+            buf.put((byte) engine.ordinal());
+            buf.put((byte) liquidation.ordinal());
+            putString(buf, boardCsv.toString());
+            putString(buf, deckCsv.toString());
+            putString(buf, boardHash != null ? boardHash : "");
+            putString(buf, deckHash != null ? deckHash : "");
+            buf.put((byte) players.size());
+            for (PlayerSpec p : players) {
+                putString(buf, p.id());
+                putString(buf, p.name());
+                buf.put((byte) p.color().ordinal());
+            }
+            buf.putShort((short) squares);
+            buf.putShort((short) deckCapacity);
+        }
+
+        static Header read(final ByteBuffer buf) {
+            final EngineKind engine = ordinal(EngineKind.values(), buf.get(), "motor");
+            final LiquidationPolicy liquidation = ordinal(LiquidationPolicy.values(), buf.get(), "liquidação");
+            final Path board = Paths.get(getString(buf));
+            final Path deck = Paths.get(getString(buf));
+            final String boardHash = hashOrNull(getString(buf));
+            final String deckHash = hashOrNull(getString(buf));
+            final int n = buf.get();
+            if (n <= 0) throw invalid("jogadores");
+            final List<PlayerSpec> players = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                final String id = getString(buf);
+                final String name = getString(buf);
+                players.add(new PlayerSpec(id, name, ordinal(PlayerColor.values(), buf.get(), "cor")));
+            }
+            final int squares = buf.getShort();
+            final int deckCapacity = buf.getShort();
+            if (squares <= 0) throw invalid("tabuleiro");
+            if (deckCapacity <= 0) throw invalid("baralho");
+            return new Header(engine, liquidation, board, deck, boardHash, deckHash, players, squares, deckCapacity);
+        }
+
+        private static <E extends Enum<E>> E ordinal(final E[] values, final int i, final String what) {
+            if (i < 0 || i >= values.length) throw invalid(what);
+            return values[i];
+        }
+
+        private static String hashOrNull(final String hash) {
+            return hash.isEmpty() ? null : hash;
+        }
+
+        /* Tamanho máximo do arquivo (cabeçalho + estado + CRC). */
+        int maxFileBytes() {
+            int size = 4 + 2 + 1 + 1 + 1 + 2 + 2;
+            size += 2 + 4 * boardCsv.toString().length();
+            size += 2 + 4 * deckCsv.toString().length();
+            size += 2 + (boardHash != null ? boardHash.length() : 0);
+            size += 2 + (deckHash != null ? deckHash.length() : 0);
+            for (PlayerSpec p : players) {
+                size += 2 + 4 * p.id().length() + 2 + 4 * p.name().length() + 1;
+            }
+            return size + maxStateBytes(players.size(), squares, deckCapacity) + 8 + 4;
+        }
+    }
+
+    // ===== Estado =====
+
+    /* Tamanho máximo do estado codificado por writeState. */
+    static int maxStateBytes(final int players, final int squares, final int deckCapacity) {
+        return players * (4 + 2 + 2 + 1 + 2 + 2 * squares)
+             + squares * 3
+             + 2 + 2 * deckCapacity
+             + 4 + 5 + 2;
+    }
+
+    static void writeState(final ByteBuffer buf, final EngineSnapshot s) {
+        for (int i = 0; i < s.players; i++) {
+            buf.putInt(s.money[i]);
+            buf.putShort((short) s.position[i]);
+            buf.putShort((short) s.jailCards[i]);
+            buf.put((byte) ((s.inJail[i] ? FLAG_IN_JAIL : 0) | (s.alive[i] ? FLAG_ALIVE : 0)));
+            final int count = s.ownedCount[i];
+            buf.putShort((short) count);
+            for (int k = 0; k < count; k++) buf.putShort((short) s.owned[i * s.squares + k]);
+        }
+        for (int idx = 0; idx < s.squares; idx++) {
+            buf.put(s.owner[idx]);
+            buf.put(s.houses[idx]);
+            buf.put(s.hotel[idx]);
+        }
+        buf.putShort((short) s.deckCount);
+        for (int k = 0; k < s.deckCount; k++) buf.putShort((short) s.deckOrder[k]);
+        buf.putInt(s.bankCash);
+        buf.put((byte) s.currentPlayerIndex);
+        buf.put((byte) s.lastRollerIndex);
+        buf.put((byte) s.lastDie1);
+        buf.put((byte) s.lastDie2);
+        buf.put((byte) (s.hasBuiltThisTurn ? 1 : 0));
+        buf.putShort((short) s.lastDrawedCardIndex);
+    }
+
+    /* Tamanho do estado que começa em 'offset' (leitura absoluta, sem decodificar). */
+    static int stateLength(final ByteBuffer buf, final int offset, final int players, final int squares) {
+        int at = offset;
+        for (int i = 0; i < players; i++) {
+            at += 4 + 2 + 2 + 1;
+            final int count = buf.getShort(at);
+            if (count < 0 || count > squares) throw invalid("quantidade de propriedades");
+            at += 2 + 2 * count;
+        }
+        at += squares * 3;
+        final int deckCount = buf.getShort(at);
+        if (deckCount < 0) throw invalid("tamanho do baralho");
+        at += 2 + 2 * deckCount;
+        return at + 4 + 5 + 2 - offset;
+    }
+
+    static void readState(final ByteBuffer buf, final EngineSnapshot s) {
+        s.captured = false; // hash e derivados não são gravados
+        for (int i = 0; i < s.players; i++) {
+            s.money[i] = buf.getInt();
+            s.position[i] = range(buf.getShort(), 0, s.squares - 1, "posição");
+            s.jailCards[i] = range(buf.getShort(), 0, Short.MAX_VALUE, "cartas de saída da prisão");
+            final byte flags = buf.get();
+            s.inJail[i] = (flags & FLAG_IN_JAIL) != 0;
+            s.alive[i] = (flags & FLAG_ALIVE) != 0;
+            final int count = buf.getShort();
+            if (count < 0 || count > s.squares) throw invalid("quantidade de propriedades");
+            s.ownedCount[i] = count;
+            for (int k = 0; k < count; k++) {
+                s.owned[i * s.squares + k] = range(buf.getShort(), 0, s.squares - 1, "propriedade");
+            }
+        }
+        for (int idx = 0; idx < s.squares; idx++) {
+            // houses/hotel indexam as tabelas de PropertyValues (nível = casas + 5 * hotel)
+            s.owner[idx] = (byte) range(buf.get(), EngineSnapshot.NO_OWNER, s.players - 1, "dono");
+            s.houses[idx] = (byte) range(buf.get(), 0, MAX_HOUSES, "casas");
+            s.hotel[idx] = (byte) range(buf.get(), 0, 1, "hotel");
+        }
+        final int deckCount = buf.getShort();
+        if (deckCount < 0 || deckCount > s.deckOrder.length) throw invalid("tamanho do baralho");
+        s.deckCount = deckCount;
+        for (int k = 0; k < deckCount; k++) {
+            s.deckOrder[k] = range(buf.getShort(), 0, s.deckOrder.length - 1, "carta do baralho");
+        }
+        s.bankCash = buf.getInt();
+        s.currentPlayerIndex = range(buf.get(), 0, s.players - 1, "jogador da vez");
+        s.lastRollerIndex = range(buf.get(), -1, s.players - 1, "último a rolar");
+        s.lastDie1 = range(buf.get(), 0, 6, "dado");
+        s.lastDie2 = range(buf.get(), 0, 6, "dado");
+        s.hasBuiltThisTurn = buf.get() != 0;
+        s.lastDrawedCardIndex = range(buf.getShort(), -1, Short.MAX_VALUE, "carta sacada");
+    }
+
+    // ===== Arquivo =====
+
+    /* Início do arquivo: assinatura (MAGIC ou LOG_MAGIC) e VERSION. */
+    static void writePreamble(final ByteBuffer buf, final int magic) {
+        buf.putInt(magic);
+        buf.putShort(VERSION);
+    }
+
+    static void readPreamble(final ByteBuffer buf, final int magic) {
+        if (buf.remaining() < 6 || buf.getInt() != magic) throw invalid("assinatura");
+        final short version = buf.getShort();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versão de arquivo de jogo não suportada: " + version);
+        }
+    }
+
+    /*
+     * Acrescenta o CRC32 ao buffer (posição atual = fim dos dados) e grava tudo
+     * em um arquivo temporário, que depois substitui o destino de forma atômica.
+     */
+    static void writeFile(final Path file, final ByteBuffer buf, final CRC32 crc) throws IOException {
+        final ByteBuffer view = buf.duplicate();
+        view.flip();
+        crc.reset();
+        crc.update(view);
+        buf.putInt((int) crc.getValue());
+        buf.flip();
+
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /* Lê o arquivo inteiro e confere o CRC32; o buffer retornado exclui o CRC. */
+    static ByteBuffer readFile(final Path file) throws IOException {
+        final ByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = ch.size();
+            if (size < 10 || size > Integer.MAX_VALUE) throw invalid("tamanho");
+            buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining()) {
+                if (ch.read(buf) < 0) throw invalid("fim inesperado");
+            }
+        }
+        buf.flip();
+        final int dataLength = buf.limit() - 4;
+        final CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, dataLength);
+        if ((int) crc.getValue() != buf.getInt(dataLength)) throw invalid("CRC");
+        buf.limit(dataLength);
+        return buf;
+    }
+
+    // ===== Auxiliares =====
+
+    static void putString(final ByteBuffer buf, final String s) {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        buf.putShort((short) bytes.length);
+        buf.put(bytes);
+    }
+
+    static String getString(final ByteBuffer buf) {
+        final int len = buf.getShort();
+        if (len < 0 || len > buf.remaining()) throw invalid("texto");
+        final byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int range(final int value, final int min, final int max, final String what) {
+        if (value < min || value > max) throw invalid(what);
+        return value;
+    }
+
+    private static IllegalArgumentException invalid(final String what) {
+        return new IllegalArgumentException("Arquivo de jogo inválido (" + what + ").");
+    }
+}
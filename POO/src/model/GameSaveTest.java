@@ -0,0 +1,251 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+
+public class GameSaveTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("save-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private GameAPI newGame(GameAPI.EngineKind kind) {
+        List<PlayerSpec> specs = new ArrayList<>();
+        specs.add(new PlayerSpec("P1", "Alice", PlayerColor.RED));
+        specs.add(new PlayerSpec("P2", "Bob", PlayerColor.BLUE));
+        specs.add(new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 1500, 200_000, 21L, kind);
+        return api;
+    }
+
+    private void playTurns(GameAPI api, int turns) {
+        for (int t = 0; t < turns; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy()) api.chooseBuildHouse();
+            api.endTurn();
+        }
+    }
+
+    private String describe(GameAPI api) {
+        StringBuilder sb = new StringBuilder("vez=" + api.getCurrentPlayerIndex());
+        for (int i = 0; i < api.getNumberOfPlayers(); i++) {
+            sb.append(" | ").append(api.getPlayerName(i)).append(' ').append(api.getPlayerColor(i))
+              .append(' ').append(api.getPlayerMoney(i)).append(' ').append(api.getPlayerPosition(i))
+              .append(' ').append(api.isPlayerInJail(i)).append(' ').append(api.isPlayerAlive(i));
+        }
+        for (int idx = 0; idx < 40; idx++) {
+            var street = api.getStreetOwnableInfo(idx);
+            if (street != null && street.core().owner() != null) {
+                sb.append(" | #").append(idx).append(' ').append(street.core().owner().id())
+                  .append(' ').append(street.propertyHouseNumber()).append(' ').append(street.propertyHasHotel());
+            }
+            var company = api.getCompanyOwnableInfo(idx);
+            if (company != null && company.core().owner() != null) {
+                sb.append(" | #").append(idx).append(' ').append(company.core().owner().id());
+            }
+        }
+        return sb.toString();
+    }
+
+    private void assertRoundTrip(GameAPI.EngineKind kind) {
+        GameAPI original = newGame(kind);
+        playTurns(original, 80);
+        Path file = dir.resolve("game-" + kind + ".sav");
+        original.saveGame(file);
+
+        GameAPI loaded = new GameAPI();
+        loaded.loadGame(file, 5L);
+        assertEquals(describe(original), describe(loaded));
+
+        // Mesma ordem de baralho e mesmos dados daqui em diante: partidas idênticas
+        for (int t = 0; t < 60; t++) {
+            int d1 = 1 + (t % 6), d2 = 1 + ((t * 7 + 3) % 6);
+            original.setMockedDiceValues(d1, d2);
+            loaded.setMockedDiceValues(d1, d2);
+            original.rollAndResolve();
+            loaded.rollAndResolve();
+            assertEquals(original.getLastDrawedCardIndex(), loaded.getLastDrawedCardIndex());
+            assertEquals(original.chooseBuy(), loaded.chooseBuy());
+            original.endTurn();
+            loaded.endTurn();
+            assertEquals("turno " + t, describe(original), describe(loaded));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void objectGameShouldSurviveSaveAndLoad() {
+        assertRoundTrip(GameAPI.EngineKind.OBJECT);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void compactGameShouldSurviveSaveAndLoad() {
+        assertRoundTrip(GameAPI.EngineKind.COMPACT);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void repeatedSavesShouldOverwriteWithLatestState() {
+        GameAPI api = newGame(GameAPI.EngineKind.OBJECT);
+        Path file = dir.resolve("live.sav");
+        for (int t = 0; t < 30; t++) {
+            playTurns(api, 1);
+            api.saveGame(file);
+        }
+        GameAPI loaded = new GameAPI();
+        loaded.loadGame(file);
+        assertEquals(describe(api), describe(loaded));
+        assertFalse(Files.exists(dir.resolve("live.sav.tmp")));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void corruptedFileShouldBeRejected() throws IOException {
+        GameAPI api = newGame(GameAPI.EngineKind.OBJECT);
+        playTurns(api, 10);
+        Path file = dir.resolve("bad.sav");
+        api.saveGame(file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        GameAPI loaded = new GameAPI();
+        try {
+            loaded.loadGame(file);
+            fail("Arquivo corrompido deveria ser rejeitado");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().contains("CRC"));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void loadShouldUseTheDefinitionsTheGameWasSavedWith() throws IOException {
+        Path previousCache = DefinitionCache.directory();
+        Path cache = Files.createDirectories(dir.resolve("cache"));
+        DefinitionCache.setDirectory(cache);
+        DefinitionCache.clearMemory();
+        try {
+            Path board = Files.copy(BOARD_CSV, dir.resolve("board.csv"));
+            Path deck = Files.copy(DECK_CSV, dir.resolve("deck.csv"));
+            List<PlayerSpec> specs = List.of(new PlayerSpec("P1", "Alice", PlayerColor.RED),
+                                             new PlayerSpec("P2", "Bob", PlayerColor.BLUE),
+                                             new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+            GameAPI original = new GameAPI();
+            original.startGame(new PlayersConfig(specs), board, deck, 1500, 200_000, 8L, GameAPI.EngineKind.COMPACT);
+            original.enableTurnLog(8);
+            playTurns(original, 20);
+            Path save = dir.resolve("game.sav");
+            Path log = dir.resolve("game.mtlg");
+            original.saveGame(save);
+            original.saveTurnLog(log);
+
+            // O baralho perde uma carta depois do save
+            List<String> lines = Files.readAllLines(deck);
+            Files.write(deck, lines.subList(0, lines.size() - 1));
+            Files.setLastModifiedTime(deck, java.nio.file.attribute.FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+            GameAPI loaded = new GameAPI();
+            loaded.loadGame(save);
+            GameAPI audited = new GameAPI();
+            audited.loadTurnLog(log);
+            assertEquals(original.getStateHash(), loaded.getStateHash());
+            assertEquals(original.getStateHash(), audited.getStateHash());
+            playTurns(original, 20);
+            playTurns(loaded, 20);
+            assertEquals(original.getStateHash(), loaded.getStateHash());
+
+            // Sem o conteúdo original em memória nem no disco: recusado, nunca com o CSV novo
+            DefinitionCache.clearMemory();
+            try (var files = Files.list(cache)) {
+                for (Path p : (Iterable<Path>) files::iterator) Files.delete(p);
+            }
+            for (Runnable load : new Runnable[] { () -> new GameAPI().loadGame(save),
+                                                  () -> new GameAPI().loadTurnLog(log) }) {
+                try {
+                    load.run();
+                    fail("CSV alterado deveria ser detectado");
+                } catch (IllegalArgumentException expected) {
+                    assertTrue(expected.getMessage().contains("mudou"));
+                }
+            }
+        } finally {
+            DefinitionCache.setDirectory(previousCache);
+            DefinitionCache.clearMemory();
+            try (var files = Files.list(cache)) {
+                for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+            }
+            Files.deleteIfExists(cache);
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT, expected = IllegalArgumentException.class)
+    public void unknownVersionShouldBeRejected() throws IOException {
+        GameAPI api = newGame(GameAPI.EngineKind.OBJECT);
+        Path file = dir.resolve("old.sav");
+        api.saveGame(file);
+
+        // Reescreve a versão e recalcula o CRC para chegar à checagem de versão
+        corrupt(file, 5, (byte) 99);
+
+        new GameAPI().loadGame(file);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void outOfRangeValuesShouldBeRejected() throws IOException {
+        GameAPI api = newGame(GameAPI.EngineKind.COMPACT);
+        Path file = dir.resolve("corrupt.sav");
+        api.saveGame(file);
+        byte[] original = Files.readAllBytes(file);
+
+        // motor (logo após MAGIC + VERSION) e dado1 (antes de: já construiu, carta, dados, CRC)
+        for (int offset : new int[] { 6, original.length - 4 - 8 - 2 - 1 - 1 - 1 }) {
+            Files.write(file, original);
+            corrupt(file, offset, (byte) 99);
+            try {
+                new GameAPI().loadGame(file);
+                fail("byte " + offset + " fora do intervalo foi aceito");
+            } catch (IllegalArgumentException expected) {
+                assertTrue(expected.getMessage(), expected.getMessage().contains("inválido"));
+            }
+        }
+    }
+
+    /* Troca um byte e recalcula o CRC, para o erro vir da validação do conteúdo. */
+    private static void corrupt(Path file, int offset, byte value) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[offset] = value;
+        java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        java.nio.ByteBuffer.wrap(bytes).putInt(bytes.length - 4, (int) crc.getValue());
+        Files.write(file, bytes);
+    }
+}
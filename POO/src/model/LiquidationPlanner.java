@@ -0,0 +1,144 @@
+/* ===========================================================
+ * LiquidationPlanner ; escolhe quais títulos vender para cobrir uma dívida.
+ *
+ * Mochila 0/1 de cobertura: entre os subconjuntos cujo valor de recompra
+ * soma >= faltante, pega o de menor soma (o jogador entrega o mínimo de
+ * patrimônio). Subset-sum em bitset: linha i = somas alcançáveis com os
+ * i primeiros títulos; a linha i+1 é linha i OR (linha i << valor).
+ *
+ * As somas vão só até faltante + maior valor - 1: num conjunto mínimo, tirar
+ * qualquer título já deixa a soma abaixo do faltante. Os valores são contados
+ * em múltiplos do seu mdc (preços de tabuleiro são redondos, então o bitset
+ * fica dezenas de vezes menor). Com ~30 títulos são algumas centenas de
+ * operações em long por cobrança, sem alocar depois do aquecimento.
+ *
+ * Empates ficam com os títulos mais antigos (a reconstrução evita o mais
+ * novo quando pode). Os dois motores usam esta classe com os valores na
+ * ordem de aquisição, então escolhem os mesmos títulos.
+ * Não é thread-safe: uma instância por economia/motor.
+ * =========================================================== */
+
+package model;
+
+import java.util.Arrays;
+
+final class LiquidationPlanner {
+
+    private int[] values = new int[32];
+    private int[] picked = new int[32];
+    private long[] rows = new long[32 * 8];
+    private int count;
+
+    /** Esvazia a lista de candidatos. */
+    void clear() { count = 0; }
+
+    /** Acrescenta um título candidato (na ordem de aquisição). */
+    void add(final int sellValue) {
+        if (sellValue < 0) throw new IllegalArgumentException("Valor de venda negativo.");
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+            picked = Arrays.copyOf(picked, count * 2);
+        }
+        values[count++] = sellValue;
+    }
+
+    /**
+     * Planeja a venda para cobrir 'missing'.
+     * @return quantos títulos vender (posições em picked(k), crescentes),
+     *         ou -1 se nem vendendo tudo a dívida é coberta
+     */
+    int plan(final int missing) {
+        if (missing <= 0) return 0;
+        long total = 0;
+        int max = 0;
+        int unit = 0;
+        for (int i = 0; i < count; i++) {
+            total += values[i];
+            max = Math.max(max, values[i]);
+            if (unit != 1) unit = gcd(unit, values[i]);
+        }
+        if (total < missing) return -1;
+
+        // Toda soma é múltipla do mdc dos valores: trabalha em unidades dele
+        // (preços redondos encolhem o bitset na mesma proporção)
+        total /= unit;
+        max /= unit;
+        final int need = (missing + unit - 1) / unit;
+        final int cap = (int) Math.min(total, (long) need + max - 1);
+        final int words = (cap >>> 6) + 1;
+        final long lastMask = -1L >>> (63 - (cap & 63));
+        if (rows.length < (count + 1) * words) {
+            rows = new long[Math.max((count + 1) * words, rows.length * 2)];
+        }
+
+        // Linha 0: só a soma vazia
+        Arrays.fill(rows, 0, words, 0L);
+        rows[0] = 1L;
+        for (int i = 0; i < count; i++) {
+            shiftOr(rows, i * words, (i + 1) * words, words, values[i] / unit);
+            rows[(i + 1) * words + words - 1] &= lastMask;
+        }
+
+        // Menor soma alcançável >= faltante
+        final int base = count * words;
+        int target = -1;
+        for (int s = need; s <= cap; ) {
+            final int w = s >>> 6;
+            final long word = rows[base + w] & (-1L << s);
+            if (word != 0) {
+                target = (w << 6) + Long.numberOfTrailingZeros(word);
+                break;
+            }
+            s = (w + 1) << 6;
+        }
+        if (target < 0 || target > cap) {
+            throw new IllegalStateException("Cobertura não encontrada (total " + total * unit + ", faltante " + missing + ").");
+        }
+
+        // Reconstrução do último para o primeiro: só vende i se a soma não sai sem ele
+        int n = 0;
+        for (int i = count - 1; i >= 0 && target > 0; i--) {
+            if (isSet(rows, i * words, target)) continue;
+            picked[n++] = i;
+            target -= values[i] / unit;
+        }
+        // Ordem crescente (ordem de aquisição) para a venda
+        for (int a = 0, b = n - 1; a < b; a++, b--) {
+            final int t = picked[a];
+            picked[a] = picked[b];
+            picked[b] = t;
+        }
+        return n;
+    }
+
+    /** k-ésima posição escolhida pelo último plan(). */
+    int picked(final int k) { return picked[k]; }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            final int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static boolean isSet(final long[] rows, final int row, final int bit) {
+        return (rows[row + (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    /* dst = src | (src << shift), em 'words' palavras. */
+    private static void shiftOr(final long[] a, final int src, final int dst, final int words, final int shift) {
+        final int q = shift >>> 6;
+        final int r = shift & 63;
+        for (int w = words - 1; w >= 0; w--) {
+            long v = a[src + w];
+            final int from = w - q;
+            if (from >= 0) {
+                v |= a[src + from] << r;
+                if (r != 0 && from > 0) v |= a[src + from - 1] >>> (64 - r);
+            }
+            a[dst + w] = v;
+        }
+    }
+}
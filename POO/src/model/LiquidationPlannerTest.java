@@ -0,0 +1,164 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import model.GameAPI.LiquidationPolicy;
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+
+public class LiquidationPlannerTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int SIMULATION_TIMEOUT = 10000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    /* Menor soma >= missing entre todos os subconjuntos (ou -1). */
+    private static int bruteForce(int[] values, int missing) {
+        int best = -1;
+        for (int mask = 0; mask < 1 << values.length; mask++) {
+            int sum = 0;
+            for (int i = 0; i < values.length; i++) if ((mask & 1 << i) != 0) sum += values[i];
+            if (sum >= missing && (best < 0 || sum < best)) best = sum;
+        }
+        return best;
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void planShouldMatchBruteForceCover() {
+        LiquidationPlanner planner = new LiquidationPlanner();
+        SplittableRandom rnd = new SplittableRandom(5);
+        for (int round = 0; round < 400; round++) {
+            int[] values = new int[rnd.nextInt(0, 13)];
+            for (int i = 0; i < values.length; i++) values[i] = rnd.nextInt(0, round % 2 == 0 ? 400 : 3000);
+            int missing = rnd.nextInt(1, 4000);
+
+            planner.clear();
+            for (int v : values) planner.add(v);
+            int n = planner.plan(missing);
+            int expected = bruteForce(values, missing);
+            if (expected < 0) {
+                assertEquals(-1, n);
+                continue;
+            }
+            int sum = 0;
+            for (int k = 0; k < n; k++) {
+                if (k > 0) assertTrue("posições crescentes", planner.picked(k) > planner.picked(k - 1));
+                sum += values[planner.picked(k)];
+            }
+            assertEquals("rodada " + round, expected, sum);
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void minValueShouldKeepTheBuiltStreet() {
+        for (LiquidationPolicy policy : LiquidationPolicy.values()) {
+            Player poor = new Player("p1", "Alice", PlayerColor.RED, 0);
+            EconomyService economy = new EconomyService(new Bank(1_000_000));
+            economy.registerPlayers(List.of(poor));
+            economy.setLiquidationPolicy(policy);
+
+            // Rua construída (mais antiga) e uma companhia barata
+            StreetOwnableSquare street = new StreetOwnableSquare(3, "Rua 3", "R3", 300);
+            street.setOwner(poor);
+            poor.addProperty(street);
+            street.buildHouse();
+            street.buildHouse();
+            CompanyOwnableSquare company = new CompanyOwnableSquare(5, "Cia 5", "C5", 150, 20);
+            company.setOwner(poor);
+            poor.addProperty(company);
+
+            assertTrue(economy.liquidateOrBankruptIfNeeded(poor, 100));
+            if (policy == LiquidationPolicy.MIN_VALUE) {
+                assertTrue("a rua fica", poor.owns(street));
+                assertFalse(poor.owns(company));
+                assertEquals(135, poor.getMoney());
+            } else {
+                assertFalse("ordem de aquisição vende a rua", poor.owns(street));
+                assertTrue(poor.owns(company));
+            }
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void insufficientAssetsShouldStillBankrupt() {
+        Player poor = new Player("p1", "Alice", PlayerColor.RED, 5);
+        EconomyService economy = new EconomyService(new Bank(1_000_000));
+        economy.registerPlayers(List.of(poor));
+        StreetOwnableSquare a = new StreetOwnableSquare(1, "Rua 1", "R1", 50);
+        a.setOwner(poor);
+        poor.addProperty(a);
+
+        assertFalse(economy.liquidateOrBankruptIfNeeded(poor, 500));
+        assertTrue(poor.isBankrupt());
+        assertEquals(0, poor.propertyCount());
+        assertFalse(a.hasOwner());
+    }
+
+    private static GameAPI newGame(long seed, GameAPI.EngineKind kind, LiquidationPolicy policy) {
+        List<PlayerSpec> specs = new ArrayList<>();
+        specs.add(new PlayerSpec("P1", "Alice", PlayerColor.RED));
+        specs.add(new PlayerSpec("P2", "Bob", PlayerColor.BLUE));
+        specs.add(new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+        specs.add(new PlayerSpec("P4", "Dave", PlayerColor.YELLOW));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 1500, 200_000, seed, kind, policy);
+        api.setTransactionLogging(false);
+        return api;
+    }
+
+    private static void greedyTurn(GameAPI api) {
+        api.rollAndResolve();
+        if (!api.chooseBuy() && !api.chooseBuildHouse()) api.chooseBuildHotel();
+        api.endTurn();
+    }
+
+    @Test(timeout = SIMULATION_TIMEOUT)
+    public void bothEnginesShouldLiquidateAlike() {
+        boolean policiesDiverged = false;
+        for (long seed = 1; seed <= 4; seed++) {
+            GameAPI legacy = newGame(seed, GameAPI.EngineKind.OBJECT, LiquidationPolicy.ACQUISITION_ORDER);
+            for (LiquidationPolicy policy : LiquidationPolicy.values()) {
+                GameAPI obj = newGame(seed, GameAPI.EngineKind.OBJECT, policy);
+                GameAPI compact = newGame(seed, GameAPI.EngineKind.COMPACT, policy);
+                for (int t = 0; t < 400; t++) {
+                    greedyTurn(obj);
+                    greedyTurn(compact);
+                    assertEquals(policy + " seed " + seed + " turno " + t, obj.getStateHash(), compact.getStateHash());
+                    if (policy == LiquidationPolicy.MIN_VALUE) {
+                        greedyTurn(legacy);
+                        policiesDiverged |= legacy.getStateHash() != obj.getStateHash();
+                    }
+                }
+            }
+        }
+        assertTrue("nenhuma liquidação escolheu diferente em 4 partidas", policiesDiverged);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void saveHeaderShouldCarryThePolicy() {
+        List<PlayerSpec> specs = List.of(new PlayerSpec("P1", "Alice", PlayerColor.RED),
+                                         new PlayerSpec("P2", "Bob", PlayerColor.BLUE));
+        GameSaveCodec.Header header = new GameSaveCodec.Header(GameAPI.EngineKind.COMPACT,
+                LiquidationPolicy.ACQUISITION_ORDER, BOARD_CSV, DECK_CSV,
+                DefinitionCache.contentHash(BOARD_CSV), DefinitionCache.contentHash(DECK_CSV), specs, 40, 17);
+        ByteBuffer buf = ByteBuffer.allocate(header.maxFileBytes());
+        GameSaveCodec.writePreamble(buf, GameSaveCodec.MAGIC);
+        header.write(buf);
+        buf.flip();
+        GameSaveCodec.readPreamble(buf, GameSaveCodec.MAGIC);
+        assertEquals(header, GameSaveCodec.Header.read(buf));
+        assertFalse(buf.hasRemaining());
+    }
+}
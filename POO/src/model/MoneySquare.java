@@ -15,6 +15,9 @@ final class MoneySquare extends Square {
         this.amount = amount;
     }
 
+    // Valor da casa (positivo = ganho, negativo = perda).
+    int amount() { return amount; }
+
     @Override
     void onLand(final Player player, final GameEngine engine, final EconomyService economy) {
         if (amount == 0) {
@@ -0,0 +1,139 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import model.api.dto.PlayerColor;
+import model.api.dto.Transaction;
+
+public class MultiPartySettlementTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int BANK_CASH = 1_000_000;
+
+    // Início, rua, chance (onde o jogador da vez cai com 1+1) e casas neutras
+    private List<Square> makeSquares() {
+        List<Square> squares = new ArrayList<>();
+        squares.add(new DummySquare(0, "Start"));
+        squares.add(new StreetOwnableSquare(1, "Rua 1", "R1", 60));
+        squares.add(new ChanceSquare(2, "Chance"));
+        squares.add(new DummySquare(3, "Jail"));
+        squares.add(new StreetOwnableSquare(4, "Rua 4", "R4", 200));
+        squares.add(new DummySquare(5, "Free"));
+        return squares;
+    }
+
+    private DeckDefinition deckOf(Card.CardType type, int value) {
+        return DeckDefinition.of(Arrays.asList(new Card(0, type, value)));
+    }
+
+    private List<Player> players(int... money) {
+        List<Player> ps = new ArrayList<>();
+        String[] names = { "Alice", "Bob", "Carol", "Dave", "Eve", "Frank" };
+        for (int i = 0; i < money.length; i++) {
+            ps.add(new Player("P" + i, names[i], PlayerColor.values()[i], money[i]));
+        }
+        return ps;
+    }
+
+    /* Os dois motores com o mesmo estado inicial; o jogador 0 cai na chance. */
+    private GameCore[] engines(DeckDefinition deck, int... money) {
+        return engines(new Board(makeSquares(), 3), deck, money);
+    }
+
+    private GameCore[] engines(Board board, DeckDefinition deck, int... money) {
+        GameEngine obj = new GameEngine(board, players(money),
+                                        deck.newDeck(new SplittableRandom(1)),
+                                        new EconomyService(new Bank(BANK_CASH)), 0, new SplittableRandom(2));
+        CompactGameEngine compact = new CompactGameEngine(BoardDefinition.of(makeSquares(), 3), deck,
+                                                          players(money), BANK_CASH, 0,
+                                                          new SplittableRandom(1), new SplittableRandom(2));
+        return new GameCore[] { obj, compact };
+    }
+
+    private static List<Transaction> drawCard(GameCore engine) {
+        engine.collectTransactions();
+        engine.setMockedDiceValues(1, 1);
+        engine.rollAndResolve();
+        return engine.collectTransactions();
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void payAllShouldBeOneCompoundEntry() {
+        for (GameCore engine : engines(deckOf(Card.CardType.PAY_ALL, 50), 500, 100, 100, 100, 100, 100)) {
+            List<Transaction> txs = drawCard(engine);
+
+            assertEquals(1, txs.size());
+            Transaction t = txs.get(0);
+            assertEquals("Alice", t.fromId);
+            assertEquals("ALL", t.toId);
+            assertNull(t.toColor);
+            assertEquals(250, t.amount);
+            assertEquals(250, t.fromBalanceAfter);
+            assertEquals(5 * 150, t.toBalanceAfter);
+            assertEquals(250, engine.playerMoney(0));
+            for (int i = 1; i < 6; i++) assertEquals(150, engine.playerMoney(i));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void payerThatCannotCoverTheTotalShouldPayNobody() {
+        // Deve 3 * 50 = 150 e só tem 120: antes pagava dois e falia no terceiro
+        for (GameCore engine : engines(deckOf(Card.CardType.PAY_ALL, 50), 120, 100, 100, 100)) {
+            List<Transaction> txs = drawCard(engine);
+
+            assertFalse(engine.playerAlive(0));
+            for (int i = 1; i < 4; i++) assertEquals("ninguém recebe de um falido", 100, engine.playerMoney(i));
+            assertTrue(txs.isEmpty());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void receiveAllShouldSkipBankruptDebtorsAndRecordOnce() {
+        for (GameCore engine : engines(deckOf(Card.CardType.RECEIVE_ALL, 40), 100, 500, 10, 500)) {
+            List<Transaction> txs = drawCard(engine);
+
+            assertFalse("Carol não tinha como pagar", engine.playerAlive(2));
+            assertEquals(1, txs.size());
+            Transaction t = txs.get(0);
+            assertEquals("ALL", t.fromId);
+            assertEquals("Alice", t.toId);
+            assertEquals(80, t.amount);
+            assertEquals(460 + 460, t.fromBalanceAfter);
+            assertEquals(180, t.toBalanceAfter);
+            assertEquals(180, engine.playerMoney(0));
+            assertEquals(460, engine.playerMoney(1));
+            assertEquals(460, engine.playerMoney(3));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void payerShouldLiquidateOnceForTheWholeSettlement() {
+        Board board = new Board(makeSquares(), 3);
+        GameCore[] both = engines(board, deckOf(Card.CardType.PAY_ALL, 30), 40, 100, 100, 100);
+        // Alice tem uma rua de 200 (recompra 180): vende uma vez e paga os três
+        GameEngine obj = (GameEngine) both[0];
+        StreetOwnableSquare street = (StreetOwnableSquare) board.squareAt(4);
+        street.setOwner(obj.playerAt(0));
+        obj.playerAt(0).addProperty(street);
+        EngineSnapshot s = obj.newSnapshot();
+        both[1].restoreFrom(s);
+
+        for (GameCore engine : both) {
+            List<Transaction> txs = drawCard(engine);
+            assertEquals("venda ao banco + acerto composto", 2, txs.size());
+            assertEquals("BANK", txs.get(0).fromId);
+            assertEquals(180, txs.get(0).amount);
+            assertEquals("ALL", txs.get(1).toId);
+            assertEquals(90, txs.get(1).amount);
+            assertEquals(40 + 180 - 90, engine.playerMoney(0));
+        }
+        assertEquals(both[0].stateHash(), both[1].stateHash());
+    }
+}
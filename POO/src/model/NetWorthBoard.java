@@ -0,0 +1,126 @@
+/* ===========================================================
+ * NetWorthBoard ; classificação dos jogadores por patrimônio, mantida
+ * de forma incremental (como o ZobristHash) a cada escrita de estado.
+ *
+ * Patrimônio = saldo + valor de recompra (evaluateSellValue) de cada título,
+ * no nível de construção atual. Quem escreve o estado avisa o delta:
+ *   saldo:        add(p, novo - antigo)
+ *   dono:         o valor do título sai de um jogador e entra no outro
+ *   construções:  add(dono, valor no nível novo - valor no antigo)
+ *   falência:     setAlive(p, false)
+ *
+ * Ordem: vivos antes dos falidos, patrimônio decrescente, índice crescente.
+ * Escritas só ajustam o patrimônio e o total (O(1)) e marcam a ordem como
+ * desatualizada; a próxima leitura de posição a refaz por inserção a partir
+ * da ordem anterior (quase ordenada: com até 6 jogadores, poucas trocas e
+ * nenhuma alocação). Um turno escreve várias vezes e raramente lê a ordem.
+ * Patrimônio e total são sempre O(1).
+ * =========================================================== */
+
+package model;
+
+final class NetWorthBoard {
+
+    private final int[] worth;
+    private final boolean[] alive;
+    private final int[] order;   // posição -> jogador
+    private final int[] rank;    // jogador -> posição
+    private long aliveTotal;     // soma do patrimônio dos vivos
+    private boolean sorted = true; // false: order/rank desatualizados
+    private boolean suspended;   // restauração em curso: o estado final vem do snapshot
+
+    NetWorthBoard(final int players) {
+        this.worth = new int[players];
+        this.alive = new boolean[players];
+        this.order = new int[players];
+        this.rank = new int[players];
+        for (int i = 0; i < players; i++) {
+            order[i] = i;
+            rank[i] = i;
+            alive[i] = true;
+        }
+    }
+
+    int size() { return order.length; }
+
+    /** Patrimônio do jogador p. */
+    int worth(final int p) { return worth[p]; }
+
+    /** Posição de p na classificação (0 = líder). */
+    int rankOf(final int p) {
+        if (!sorted) sort();
+        return rank[p];
+    }
+
+    /** Jogador na posição r da classificação. */
+    int playerAt(final int r) {
+        if (!sorted) sort();
+        return order[r];
+    }
+
+    /** Soma do patrimônio dos jogadores vivos. */
+    long aliveTotal() { return aliveTotal; }
+
+    /** Quantos jogadores dividem a liderança (mesmo patrimônio e estado do líder). */
+    int leaders() {
+        if (!sorted) sort();
+        final int first = order[0];
+        int n = 1;
+        while (n < order.length && alive[order[n]] == alive[first] && worth[order[n]] == worth[first]) n++;
+        return n;
+    }
+
+    /* Liga/desliga as atualizações incrementais (o motor desliga durante restoreFrom). */
+    void setSuspended(final boolean flag) { this.suspended = flag; }
+
+    /** O patrimônio de p mudou em delta. */
+    void add(final int p, final int delta) {
+        if (delta == 0 || suspended) return;
+        worth[p] += delta;
+        if (alive[p]) aliveTotal += delta;
+        sorted = false;
+    }
+
+    void setAlive(final int p, final boolean flag) {
+        if (alive[p] == flag || suspended) return;
+        alive[p] = flag;
+        aliveTotal += flag ? worth[p] : -worth[p];
+        sorted = false;
+    }
+
+    /* Define o estado de p sem reordenar (restauração; depois chamar rebuild()). */
+    void reset(final int p, final int worth, final boolean alive) {
+        this.worth[p] = worth;
+        this.alive[p] = alive;
+    }
+
+    /* Recalcula o total após reset de todos os jogadores (a ordem é refeita na próxima leitura). */
+    void rebuild() {
+        aliveTotal = 0;
+        for (int i = 0; i < worth.length; i++) {
+            if (alive[i]) aliveTotal += worth[i];
+        }
+        sorted = false;
+    }
+
+    /* Inserção a partir da ordem atual (quase ordenada após poucas escritas). */
+    private void sort() {
+        for (int i = 1; i < order.length; i++) {
+            final int p = order[i];
+            int r = i;
+            while (r > 0 && before(p, order[r - 1])) {
+                order[r] = order[r - 1];
+                r--;
+            }
+            order[r] = p;
+        }
+        for (int r = 0; r < order.length; r++) rank[order[r]] = r;
+        sorted = true;
+    }
+
+    private boolean before(final int a, final int b) {
+        if (alive[a] != alive[b]) return alive[a];
+        if (worth[a] != worth[b]) return worth[a] > worth[b];
+        return a < b;
+    }
+}
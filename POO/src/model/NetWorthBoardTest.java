@@ -0,0 +1,255 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+import model.api.dto.PlayerRef;
+import model.sim.SimulationConfig;
+import model.sim.SimulationRunner;
+import model.sim.SimulationStats;
+
+public class NetWorthBoardTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int SIMULATION_TIMEOUT = 10000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private List<Player> makePlayers(int... money) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < money.length; i++) {
+            players.add(new Player("P" + (i + 1), "Player " + (i + 1), PlayerColor.values()[i], money[i]));
+        }
+        return players;
+    }
+
+    /* Monta o motor como GameAPI.startGame faz (mesma divisão da seed). */
+    private GameCore newEngine(GameAPI.EngineKind kind, BoardDefinition board, long seed) {
+        SplittableRandom master = new SplittableRandom(seed);
+        SplittableRandom deckRng = master.split();
+        SplittableRandom diceRng = master.split();
+        DeckDefinition deck = DeckFactory.definition(DECK_CSV);
+        if (kind == GameAPI.EngineKind.COMPACT) {
+            return new CompactGameEngine(board, deck, makePlayers(1500, 1500, 1500), 200_000, 0, deckRng, diceRng);
+        }
+        return new GameEngine(board.newBoard(), makePlayers(1500, 1500, 1500), deck.newDeck(deckRng),
+                              new EconomyService(new Bank(200_000)), 0, diceRng);
+    }
+
+    /* Patrimônio calculado do zero a partir de um snapshot. */
+    private static int fullWorth(BoardDefinition board, EngineSnapshot s, int p) {
+        int worth = s.money[p];
+        for (int k = 0; k < s.ownedCount[p]; k++) {
+            int sq = s.owned[p * s.squares + k];
+            worth += board.sellValue(sq, true, s.houses[sq], s.hotel[sq] != 0);
+        }
+        return worth;
+    }
+
+    private static void assertMatchesFull(BoardDefinition board, GameCore core, String when) {
+        EngineSnapshot s = core.newSnapshot();
+        NetWorthBoard standings = core.netWorth();
+        long aliveTotal = 0;
+        for (int p = 0; p < core.playerCount(); p++) {
+            assertEquals(when + " jogador " + p, fullWorth(board, s, p), standings.worth(p));
+            if (s.alive[p]) aliveTotal += standings.worth(p);
+        }
+        assertEquals(when, aliveTotal, standings.aliveTotal());
+        assertOrdered(standings, s.alive);
+    }
+
+    /* Vivos primeiro, patrimônio decrescente, índice crescente; rank é o inverso de playerAt. */
+    private static void assertOrdered(NetWorthBoard standings, boolean[] alive) {
+        for (int r = 0; r < standings.size(); r++) {
+            int p = standings.playerAt(r);
+            assertEquals(r, standings.rankOf(p));
+            if (r == 0) continue;
+            int q = standings.playerAt(r - 1);
+            if (alive[q] != alive[p]) {
+                assertTrue("vivos antes dos falidos", alive[q]);
+            } else {
+                assertTrue(standings.worth(q) > standings.worth(p)
+                           || standings.worth(q) == standings.worth(p) && q < p);
+            }
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void boardShouldMatchAFullSortUnderRandomChanges() {
+        SplittableRandom rnd = new SplittableRandom(9);
+        NetWorthBoard standings = new NetWorthBoard(6);
+        int[] worth = new int[6];
+        boolean[] alive = new boolean[6];
+        Arrays.fill(alive, true);
+
+        for (int step = 0; step < 5000; step++) {
+            int p = rnd.nextInt(6);
+            if (rnd.nextInt(40) == 0) {
+                alive[p] = !alive[p];
+                standings.setAlive(p, alive[p]);
+            } else {
+                int delta = rnd.nextInt(-300, 301);
+                worth[p] += delta;
+                standings.add(p, delta);
+            }
+
+            Integer[] expected = { 0, 1, 2, 3, 4, 5 };
+            Arrays.sort(expected, Comparator.<Integer, Boolean>comparing(i -> !alive[i])
+                                            .thenComparing(i -> -worth[i])
+                                            .thenComparing(i -> i));
+            long total = 0;
+            for (int r = 0; r < 6; r++) {
+                assertEquals("passo " + step, (int) expected[r], standings.playerAt(r));
+                assertEquals(worth[r], standings.worth(r));
+                if (alive[r]) total += worth[r];
+            }
+            assertEquals(total, standings.aliveTotal());
+            assertOrdered(standings, alive);
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void incrementalNetWorthShouldMatchFullRecomputationOnBothEngines() {
+        BoardDefinition board = BoardFactory.definition(BOARD_CSV);
+        GameCore obj = newEngine(GameAPI.EngineKind.OBJECT, board, 21L);
+        GameCore soa = newEngine(GameAPI.EngineKind.COMPACT, board, 21L);
+
+        for (int t = 0; t < 250; t++) {
+            String when = "turno " + t;
+            for (GameCore core : new GameCore[] { obj, soa }) {
+                core.rollAndResolve();
+                assertMatchesFull(board, core, when + " (rolagem)");
+                if (!core.chooseBuy() && !core.chooseBuildHouse()) core.chooseBuildHotel();
+                assertMatchesFull(board, core, when + " (compra/construção)");
+                if (t % 13 == 12) {
+                    EngineSnapshot s = core.newSnapshot();
+                    int p = s.currentPlayerIndex;
+                    if (s.ownedCount[p] > 0) core.sellAtIndex(s.owned[p * s.squares]);
+                    assertMatchesFull(board, core, when + " (venda)");
+                }
+                core.endTurn();
+            }
+            for (int r = 0; r < obj.playerCount(); r++) {
+                assertEquals(when, obj.netWorth().playerAt(r), soa.netWorth().playerAt(r));
+            }
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void restoringASnapshotShouldRebuildTheStandings() {
+        BoardDefinition board = BoardFactory.definition(BOARD_CSV);
+        for (GameAPI.EngineKind kind : GameAPI.EngineKind.values()) {
+            GameCore core = newEngine(kind, board, 5L);
+            for (int t = 0; t < 60; t++) {
+                core.rollAndResolve();
+                if (!core.chooseBuy()) core.chooseBuildHouse();
+                core.endTurn();
+            }
+            EngineSnapshot saved = core.newSnapshot();
+            int[] order = new int[core.playerCount()];
+            for (int r = 0; r < order.length; r++) order[r] = core.netWorth().playerAt(r);
+
+            for (int t = 0; t < 60; t++) {
+                core.rollAndResolve();
+                if (!core.chooseBuy()) core.chooseBuildHouse();
+                core.endTurn();
+            }
+            core.restoreFrom(saved);
+            assertMatchesFull(board, core, kind + " restaurado");
+            for (int r = 0; r < order.length; r++) assertEquals(order[r], core.netWorth().playerAt(r));
+
+            // Estado lido de arquivo (sem o patrimônio capturado): recalcula do zero
+            core.rollAndResolve();
+            core.endTurn();
+            saved.captured = false;
+            core.restoreFrom(saved);
+            assertMatchesFull(board, core, kind + " restaurado sem derivados");
+            for (int r = 0; r < order.length; r++) assertEquals(order[r], core.netWorth().playerAt(r));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void winnersShouldRankByNetWorthNotCash() {
+        List<Square> squares = new ArrayList<>();
+        squares.add(new DummySquare(0, "Start"));
+        squares.add(new StreetOwnableSquare(1, "Rua 1", "R1", 200));
+        squares.add(new DummySquare(2, "Free"));
+        Board board = new Board(squares, 2);
+        DeckDefinition deck = DeckDefinition.of(List.of(new Card(0, Card.CardType.RECEIVE_BANK, 10)));
+        GameEngine obj = new GameEngine(board, makePlayers(100, 250), deck.newDeck(new SplittableRandom(1)),
+                                        new EconomyService(new Bank(1_000_000)), 0, new SplittableRandom(2));
+        CompactGameEngine compact = new CompactGameEngine(BoardDefinition.of(squares, 2), deck,
+                                                          makePlayers(100, 250), 1_000_000, 0,
+                                                          new SplittableRandom(1), new SplittableRandom(2));
+        // Player 1 tem menos caixa, mas a rua (recompra 180) o põe à frente: 280 x 250
+        StreetOwnableSquare street = (StreetOwnableSquare) board.squareAt(1);
+        street.setOwner(obj.playerAt(0));
+        obj.playerAt(0).addProperty(street);
+        compact.restoreFrom(obj.newSnapshot());
+
+        for (GameCore core : new GameCore[] { obj, compact }) {
+            assertEquals(280, core.netWorth().worth(0));
+            List<PlayerRef> winners = core.getWinners();
+            assertEquals(1, winners.size());
+            assertEquals(PlayerColor.values()[0], winners.get(0).color());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void apiStandingsShouldBeSortedByNetWorth() {
+        List<PlayerSpec> specs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) specs.add(new PlayerSpec("P" + (i + 1), "Player " + (i + 1), PlayerColor.values()[i]));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 1500, 200_000, 3L, GameAPI.EngineKind.COMPACT);
+        for (int t = 0; t < 200; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy() && !api.chooseBuildHouse()) api.chooseBuildHotel();
+            api.endTurn();
+
+            long total = 0;
+            for (int r = 0; r < 4; r++) {
+                int p = api.getPlayerAtStanding(r);
+                assertEquals(r, api.getPlayerStanding(p));
+                if (r > 0 && api.isPlayerAlive(p)) {
+                    assertTrue(api.getPlayerNetWorth(api.getPlayerAtStanding(r - 1)) >= api.getPlayerNetWorth(p));
+                }
+                if (api.isPlayerAlive(p)) total += api.getPlayerNetWorth(p);
+            }
+            assertEquals(total, api.getAliveNetWorth());
+        }
+    }
+
+    @Test(timeout = SIMULATION_TIMEOUT)
+    public void decidedGamesShouldEndEarly() {
+        SimulationConfig full = new SimulationConfig(
+            24, 3, BOARD_CSV, DECK_CSV, 1500, 200_000, 400, 2, 17L, GameAPI.EngineKind.COMPACT);
+        SimulationConfig early = new SimulationConfig(
+            24, 3, BOARD_CSV, DECK_CSV, 1500, 200_000, 400, 2, 17L, GameAPI.EngineKind.COMPACT,
+            GameAPI.LiquidationPolicy.MIN_VALUE, 60);
+
+        SimulationStats a = SimulationRunner.run(full);
+        SimulationStats b = SimulationRunner.run(early);
+        assertEquals(24, b.games());
+        assertTrue("partidas decididas param antes", b.turns() < a.turns());
+        assertTrue(b.finishedGames() >= a.finishedGames());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT, expected = IllegalArgumentException.class)
+    public void decidedShareMustExceedAnEvenSplit() {
+        new SimulationConfig(1, 4, BOARD_CSV, DECK_CSV, 1500, 200_000, 100, 1, 1L, GameAPI.EngineKind.OBJECT,
+                             GameAPI.LiquidationPolicy.MIN_VALUE, 25);
+    }
+}
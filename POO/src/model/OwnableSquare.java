@@ -10,30 +10,60 @@ abstract class OwnableSquare extends Square {
 
     private final String id;
     private final int price;
+    private final PropertyValues values; // tabelas por nível (compartilhadas pelo tabuleiro)
     private Player owner; // null = sem dono
+    private ZobristHash hash; // hash da partida (null fora de um GameEngine)
+    private NetWorthBoard netWorth; // classificação por patrimônio (idem)
 
     protected OwnableSquare(final int index,
                             final String name,
                             final String id,
-                            final int price) {
+                            final int price,
+                            final PropertyValues values) {
         super(index, name);
         this.id = Objects.requireNonNull(id, "id");
         if (price < 0) throw new IllegalArgumentException("price deve ser >= 0");
         this.price = price;
+        this.values = Objects.requireNonNull(values, "values");
     }
 
     boolean hasOwner() { return owner != null; }
     Player getOwner() { return owner; }
     int getPrice() { return price; }
     String getId() { return id; }
+    PropertyValues values() { return values; }
 
-    /** Define o proprietário. */
+    /** Define o proprietário (o valor de recompra do título muda de patrimônio). */
     void setOwner(final Player player) {
+        if (hash != null) hash.change(ZobristHash.OWNER, index(), ownerIndex(owner), ownerIndex(player));
+        final Player previous = owner;
+        final int before = sellValue();
         this.owner = player;
+        if (netWorth != null && previous != player) {
+            if (previous != null) netWorth.add(previous.hashIndex(), -before);
+            if (player != null) netWorth.add(player.hashIndex(), sellValue());
+        }
+    }
+
+    /** Liga a casa ao hash da partida. */
+    void attachHash(final ZobristHash hash) { this.hash = hash; }
+
+    ZobristHash hash() { return hash; }
+
+    /** Liga a casa à classificação por patrimônio da partida. */
+    void attachNetWorth(final NetWorthBoard board) { this.netWorth = board; }
+
+    NetWorthBoard netWorth() { return netWorth; }
+
+    private static int ownerIndex(final Player p) {
+        return p == null ? EngineSnapshot.NO_OWNER : p.hashIndex();
     }
     
     // Calcula todo o valor investido pelo owner 
     abstract int getTotalInvestment();
+
+    // Quanto o banco paga ao recomprar (lido da tabela; 0 em rua sem dono). 
+    abstract int sellValue();
     	
     // Devolve propriedade ao banco (remove dono). 
     abstract void removeOwner(final Player target);
@@ -0,0 +1,148 @@
+/* ===========================================================
+ * OwnershipSet ; casas possuídas por um jogador.
+ *
+ * Bitset (long[]; um long cobre o tabuleiro de 40 casas) para testar, incluir
+ * e remover em O(1), mais uma lista duplamente encadeada em arrays (next/prev
+ * indexados pela casa) com a ordem de aquisição, que as regras usam: a
+ * liquidação vende do título mais antigo para o mais novo e o snapshot guarda
+ * essa ordem. Remover do meio não desloca nada.
+ *
+ * Iteração sem alocação:
+ *   ordem de aquisição: for (int sq = s.first(); sq != NONE; sq = s.next(sq))
+ *   ordem do tabuleiro: for (int sq = s.nextSetBit(0); sq != NONE; sq = s.nextSetBit(sq + 1))
+ * Os arrays crescem sob demanda se aparecer uma casa além da capacidade.
+ * =========================================================== */
+
+package model;
+
+import java.util.Arrays;
+
+final class OwnershipSet {
+
+    static final int NONE = -1;
+
+    private long[] bits;
+    private int[] next;
+    private int[] prev;
+    private int head = NONE;
+    private int tail = NONE;
+    private int count;
+
+    OwnershipSet(final int squares) {
+        final int capacity = Math.max(64, squares);
+        this.bits = new long[(capacity + 63) >>> 6];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+    }
+
+    boolean contains(final int sq) {
+        final int w = sq >>> 6;
+        return sq >= 0 && w < bits.length && (bits[w] & (1L << sq)) != 0;
+    }
+
+    /** Inclui no fim da ordem de aquisição; false se já estava. */
+    boolean add(final int sq) {
+        if (sq < 0) throw new IllegalArgumentException("Casa inválida: " + sq);
+        if (contains(sq)) return false;
+        if (sq >= next.length) grow(sq + 1);
+        bits[sq >>> 6] |= 1L << sq;
+        prev[sq] = tail;
+        next[sq] = NONE;
+        if (tail == NONE) head = sq; else next[tail] = sq;
+        tail = sq;
+        count++;
+        return true;
+    }
+
+    /** Remove mantendo a ordem das demais; false se não estava. */
+    boolean remove(final int sq) {
+        if (!contains(sq)) return false;
+        bits[sq >>> 6] &= ~(1L << sq);
+        final int p = prev[sq];
+        final int n = next[sq];
+        if (p == NONE) head = n; else next[p] = n;
+        if (n == NONE) tail = p; else prev[n] = p;
+        count--;
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(bits, 0L);
+        head = tail = NONE;
+        count = 0;
+    }
+
+    /**
+     * Substitui o conteúdo por src[offset..offset+n), já em ordem de aquisição
+     * (restauração de snapshot): encadeia direto, sem os testes de add().
+     * Casa negativa ou repetida (arquivo corrompido) é recusada.
+     */
+    void setAll(final int[] src, final int offset, final int n) {
+        Arrays.fill(bits, 0L);
+        int last = NONE;
+        for (int k = 0; k < n; k++) {
+            final int sq = src[offset + k];
+            if (sq < 0) throw new IllegalArgumentException("Casa inválida: " + sq);
+            if (sq >= next.length) grow(sq + 1);
+            if ((bits[sq >>> 6] & (1L << sq)) != 0) throw new IllegalArgumentException("Casa repetida: " + sq);
+            bits[sq >>> 6] |= 1L << sq;
+            prev[sq] = last;
+            if (last == NONE) head = sq; else next[last] = sq;
+            last = sq;
+        }
+        if (last == NONE) head = NONE; else next[last] = NONE;
+        tail = last;
+        count = n;
+    }
+
+    /** Contém exatamente src[offset..offset+n), nessa ordem de aquisição? */
+    boolean sameOrder(final int[] src, final int offset, final int n) {
+        if (count != n) return false;
+        int sq = head;
+        for (int k = 0; k < n; k++) {
+            if (sq != src[offset + k]) return false;
+            sq = next[sq];
+        }
+        return true;
+    }
+
+    int size() { return count; }
+    boolean isEmpty() { return count == 0; }
+
+    /** Mais antiga (ou NONE). */
+    int first() { return head; }
+
+    /** Mais recente (ou NONE). */
+    int last() { return tail; }
+
+    /** Seguinte na ordem de aquisição (ou NONE); sq precisa estar no conjunto. */
+    int next(final int sq) { return next[sq]; }
+
+    /** Anterior na ordem de aquisição (ou NONE); sq precisa estar no conjunto. */
+    int prev(final int sq) { return prev[sq]; }
+
+    /** Menor casa >= from no conjunto (ordem do tabuleiro), ou NONE. */
+    int nextSetBit(final int from) {
+        if (from < 0) throw new IllegalArgumentException("from < 0");
+        int w = from >>> 6;
+        if (w >= bits.length) return NONE;
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == bits.length) return NONE;
+            word = bits[w];
+        }
+    }
+
+    /** Heap aproximado (objeto e arrays). */
+    long estimatedBytes() {
+        return 40 + 16 + 8L * bits.length + 2 * (16 + 4L * next.length);
+    }
+
+    private void grow(final int capacity) {
+        final int n = Math.max(capacity, next.length * 2);
+        bits = Arrays.copyOf(bits, (n + 63) >>> 6);
+        next = Arrays.copyOf(next, n);
+        prev = Arrays.copyOf(prev, n);
+    }
+}
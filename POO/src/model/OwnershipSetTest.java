@@ -0,0 +1,135 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import model.api.dto.PlayerColor;
+
+public class OwnershipSetTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+
+    private static List<Integer> acquisitionOrder(OwnershipSet s) {
+        List<Integer> out = new ArrayList<>();
+        for (int sq = s.first(); sq != OwnershipSet.NONE; sq = s.next(sq)) out.add(sq);
+        return out;
+    }
+
+    private static List<Integer> boardOrder(OwnershipSet s) {
+        List<Integer> out = new ArrayList<>();
+        for (int sq = s.nextSetBit(0); sq != OwnershipSet.NONE; sq = s.nextSetBit(sq + 1)) out.add(sq);
+        return out;
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void shouldKeepAcquisitionOrderAcrossRemovals() {
+        OwnershipSet s = new OwnershipSet(40);
+        assertTrue(s.isEmpty());
+        assertEquals(OwnershipSet.NONE, s.first());
+
+        for (int sq : new int[] { 21, 3, 39, 5, 12 }) assertTrue(s.add(sq));
+        assertFalse("duplicata deve ser ignorada", s.add(3));
+        assertEquals(5, s.size());
+        assertEquals(List.of(21, 3, 39, 5, 12), acquisitionOrder(s));
+        assertEquals(List.of(3, 5, 12, 21, 39), boardOrder(s));
+
+        assertTrue(s.remove(39));   // meio
+        assertTrue(s.remove(21));   // primeira
+        assertTrue(s.remove(12));   // última
+        assertFalse(s.remove(12));
+        assertFalse(s.contains(21));
+        assertTrue(s.contains(5));
+        assertEquals(List.of(3, 5), acquisitionOrder(s));
+        assertEquals(3, s.first());
+        assertEquals(5, s.last());
+        assertEquals(3, s.prev(5));
+
+        // Re-adquirir vai para o fim
+        s.add(21);
+        assertEquals(List.of(3, 5, 21), acquisitionOrder(s));
+
+        s.clear();
+        assertTrue(s.isEmpty());
+        assertEquals(OwnershipSet.NONE, s.nextSetBit(0));
+        assertEquals(List.of(), acquisitionOrder(s));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void shouldGrowForBoardsBeyondOneWord() {
+        OwnershipSet s = new OwnershipSet(40);
+        s.add(200);
+        s.add(64);
+        s.add(63);
+        assertTrue(s.contains(200));
+        assertFalse(s.contains(199));
+        assertFalse(s.contains(1000));
+        assertEquals(List.of(200, 64, 63), acquisitionOrder(s));
+        assertEquals(List.of(63, 64, 200), boardOrder(s));
+        assertEquals(200, s.nextSetBit(65));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void setAllShouldReplaceTheContentInTheGivenOrder() {
+        OwnershipSet s = new OwnershipSet(40);
+        s.add(7);
+        s.add(30);
+        int[] snapshot = { -9, 21, 3, 100, 5, -9 };
+        s.setAll(snapshot, 1, 4);
+        assertEquals(4, s.size());
+        assertFalse(s.contains(7));
+        assertEquals(List.of(21, 3, 100, 5), acquisitionOrder(s));
+        assertEquals(List.of(3, 5, 21, 100), boardOrder(s));
+        assertEquals(5, s.last());
+        assertEquals(21, s.prev(3));
+
+        // Continua uma lista comum depois de restaurada
+        assertTrue(s.remove(21));
+        s.add(8);
+        assertEquals(List.of(3, 100, 5, 8), acquisitionOrder(s));
+
+        s.setAll(snapshot, 0, 0);
+        assertTrue(s.isEmpty());
+        assertEquals(OwnershipSet.NONE, s.first());
+        assertEquals(OwnershipSet.NONE, s.last());
+
+        try {
+            s.setAll(new int[] { 4, 9, 4 }, 0, 3);
+            fail("casa repetida deve ser recusada");
+        } catch (IllegalArgumentException expected) {
+            // corrompido: não pode virar um ciclo na ordem de aquisição
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void playerShouldSellAndForfeitInAcquisitionOrder() {
+        Player p = new Player("P1", "Alice", PlayerColor.RED, 0);
+        StreetOwnableSquare a = new StreetOwnableSquare(9, "Rua 9", "R9", 100);
+        StreetOwnableSquare b = new StreetOwnableSquare(1, "Rua 1", "R1", 100);
+        StreetOwnableSquare c = new StreetOwnableSquare(5, "Rua 5", "R5", 100);
+        p.addProperty(a);
+        p.addProperty(b);
+        p.addProperty(c);
+        p.addProperty(b);
+
+        assertEquals(3, p.propertyCount());
+        assertSame(a, p.firstProperty());
+        assertSame(c, p.lastProperty());
+        assertEquals(List.of(a, b, c), p.getProperties());
+        assertTrue(p.owns(b));
+        assertSame(c, p.propertyOn(5));
+        assertNull(p.propertyOn(2));
+
+        p.removeProperty(a);
+        assertFalse(p.owns(a));
+        assertSame(b, p.firstProperty());
+
+        p.restoreState(0, 0, false, 0, true);
+        assertEquals(0, p.propertyCount());
+        assertNull(p.firstProperty());
+        assertNull(p.propertyOn(5));
+    }
+}
@@ -6,6 +6,7 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -28,9 +29,16 @@ final class Player {
     private int getOutOfJailCards;
 
     // --- Patrimônio e status ---
-    private final List<OwnableSquare> properties;
+    private final OwnershipSet owned;          // casas possuídas, em ordem de aquisição
+    private OwnableSquare[] squares;           // casa -> propriedade (só as possuídas)
     private boolean alive;
 
+    // --- Hash incremental da partida (null fora de um GameEngine) ---
+    private ZobristHash hash;
+    private int hashIndex = -1;
+    private NetWorthBoard netWorth;   // classificação por patrimônio (mesmo índice do hash)
+    private int journalParty = -1;    // índice no diário de transações do banco (ver Bank.partyOf)
+
     Player(final String id, final String name, final PlayerColor color, final int initialMoney) {
         this.id = Objects.requireNonNull(id, "id");
         this.name = Objects.requireNonNull(name, "name");
@@ -40,7 +48,8 @@ final class Player {
         this.position = 0;
         this.inJail = false;
         this.getOutOfJailCards = 0;
-        this.properties = new ArrayList<>();
+        this.owned = new OwnershipSet(64);
+        this.squares = new OwnableSquare[64];
         this.alive = true;
     }
 
@@ -49,7 +58,7 @@ final class Player {
     /** Credita valor ao jogador. */
     void credit(final int amount) {
         if (amount < 0) throw new IllegalArgumentException("amount deve ser >= 0");
-        this.money += amount;
+        setMoney(this.money + amount);
     }
 
     /** Debita valor do jogador (saldo nunca fica negativo - EconomyService garante liquidez). */
@@ -58,7 +67,13 @@ final class Player {
         if (amount > this.money) {
             throw new IllegalStateException("Saldo insuficiente para débito: " + amount + " > " + money);
         }
-        this.money -= amount;
+        setMoney(this.money - amount);
+    }
+
+    private void setMoney(final int money) {
+        if (hash != null) hash.change(ZobristHash.MONEY, hashIndex, this.money, money);
+        if (netWorth != null) netWorth.add(hashIndex, money - this.money);
+        this.money = money;
     }
 
     // ===== Movimento/posição =====
@@ -66,13 +81,17 @@ final class Player {
     /** Move peão para índice do tabuleiro. */
     void moveTo(final int index) {
         if (index < 0) throw new IllegalArgumentException("index deve ser >= 0");
+        if (hash != null) hash.change(ZobristHash.POSITION, hashIndex, this.position, index);
         this.position = index;
     }
 
     // ===== Prisão/cartas =====
 
     /** Define estado de prisão. */
-    void setInJail(final boolean flag) { this.inJail = flag; }
+    void setInJail(final boolean flag) {
+        if (hash != null) hash.change(ZobristHash.IN_JAIL, hashIndex, this.inJail, flag);
+        this.inJail = flag;
+    }
 
     /** Está preso? */
     boolean isInJail() { return inJail; }
@@ -80,6 +99,7 @@ final class Player {
     /** Consome 1 cartão "saída livre", se houver. */
     boolean consumeGetOutOfJailCard() {
         if (getOutOfJailCards > 0) {
+            if (hash != null) hash.change(ZobristHash.JAIL_CARDS, hashIndex, getOutOfJailCards, getOutOfJailCards - 1);
             getOutOfJailCards--;
             return true;
         }
@@ -87,27 +107,150 @@ final class Player {
     }
 
     /** Concede 1 cartão "saída livre". */
-    void grantGetOutOfJailCard() { this.getOutOfJailCards++; }
+    void grantGetOutOfJailCard() {
+        if (hash != null) hash.change(ZobristHash.JAIL_CARDS, hashIndex, getOutOfJailCards, getOutOfJailCards + 1);
+        this.getOutOfJailCards++;
+    }
+
+    /** Quantidade de cartões "saída livre". */
+    int getOutOfJailCards() { return getOutOfJailCards; }
 
     // ===== Propriedades =====
 
-    /** Adiciona propriedade ao patrimônio. */
+    /** Adiciona propriedade ao patrimônio (O(1); ignora se já possui). */
     void addProperty(final OwnableSquare p) {
-        if (!properties.contains(p)) properties.add(p);
+        final int sq = p.index();
+        if (!owned.add(sq)) return;
+        if (sq >= squares.length) squares = Arrays.copyOf(squares, Math.max(sq + 1, squares.length * 2));
+        squares[sq] = p;
     }
 
-    /** Remove propriedade do patrimônio. */
+    /** Remove propriedade do patrimônio (O(1)). */
     void removeProperty(final OwnableSquare p) {
-        properties.remove(p);
+        final int sq = p.index();
+        if (owned.contains(sq) && squares[sq] == p && owned.remove(sq)) squares[sq] = null;
+    }
+
+    /** Possui a propriedade? (O(1)) */
+    boolean owns(final OwnableSquare p) {
+        final int sq = p.index();
+        return owned.contains(sq) && squares[sq] == p;
+    }
+
+    /** Quantidade de propriedades (acesso sem cópia). */
+    int propertyCount() { return owned.size(); }
+
+    /**
+     * Casas possuídas, em ordem de aquisição, para laços sem alocação:
+     * for (int sq = set.first(); sq != OwnershipSet.NONE; sq = set.next(sq)) propertyOn(sq)...
+     * Não alterar o patrimônio durante o laço.
+     */
+    OwnershipSet ownership() { return owned; }
+
+    /** Heap aproximado do patrimônio (conjunto e tabela casa -> propriedade). */
+    long ownershipBytes() {
+        return owned.estimatedBytes() + 16 + 4L * squares.length;
+    }
+
+    /** Propriedade possuída na casa sq (null se não possui). */
+    OwnableSquare propertyOn(final int sq) {
+        return owned.contains(sq) ? squares[sq] : null;
+    }
+
+    /** Propriedade mais antiga (null se não tem nenhuma). */
+    OwnableSquare firstProperty() {
+        final int sq = owned.first();
+        return sq == OwnershipSet.NONE ? null : squares[sq];
+    }
+
+    /** Propriedade mais recente (null se não tem nenhuma). */
+    OwnableSquare lastProperty() {
+        final int sq = owned.last();
+        return sq == OwnershipSet.NONE ? null : squares[sq];
+    }
+
+    // ===== Snapshot =====
+
+    /** Restaura o estado escalar do jogador e esvazia o patrimônio (sem alocar). */
+    void restoreState(final int money, final int position, final boolean inJail,
+                      final int getOutOfJailCards, final boolean alive) {
+        restoreScalars(money, position, inJail, getOutOfJailCards, alive);
+        for (int sq = owned.first(); sq != OwnershipSet.NONE; sq = owned.next(sq)) squares[sq] = null;
+        this.owned.clear();
+    }
+
+    /* Só o estado escalar; o patrimônio fica como está (ver restoreProperties). */
+    void restoreScalars(final int money, final int position, final boolean inJail,
+                        final int getOutOfJailCards, final boolean alive) {
+        if (hash != null) {
+            hash.change(ZobristHash.MONEY, hashIndex, this.money, money);
+            hash.change(ZobristHash.POSITION, hashIndex, this.position, position);
+            hash.change(ZobristHash.IN_JAIL, hashIndex, this.inJail, inJail);
+            hash.change(ZobristHash.JAIL_CARDS, hashIndex, this.getOutOfJailCards, getOutOfJailCards);
+            hash.change(ZobristHash.ALIVE, hashIndex, this.alive, alive);
+        }
+        if (netWorth != null) {
+            netWorth.add(hashIndex, money - this.money);
+            netWorth.setAlive(hashIndex, alive);
+        }
+        this.money = money;
+        this.position = position;
+        this.inJail = inJail;
+        this.getOutOfJailCards = getOutOfJailCards;
+        this.alive = alive;
+    }
+
+    /**
+     * Substitui o patrimônio pelas casas src[offset..offset+n), na ordem de aquisição
+     * do snapshot. Nada a fazer se já é o mesmo (o caso comum ao desfazer uma busca).
+     */
+    void restoreProperties(final int[] src, final int offset, final int n, final Board board) {
+        if (owned.sameOrder(src, offset, n)) return;
+        for (int sq = owned.first(); sq != OwnershipSet.NONE; sq = owned.next(sq)) squares[sq] = null;
+        owned.setAll(src, offset, n);
+        for (int k = 0; k < n; k++) {
+            final int sq = src[offset + k];
+            if (sq >= squares.length) squares = Arrays.copyOf(squares, Math.max(sq + 1, squares.length * 2));
+            squares[sq] = (OwnableSquare) board.squareAt(sq);
+        }
+    }
+
+    /** Reanexa uma propriedade na ordem do snapshot. */
+    void restoreProperty(final OwnableSquare p) {
+        addProperty(p);
+    }
+
+    // ===== Hash incremental =====
+
+    /** Liga o jogador ao hash da partida, como o jogador de índice 'index'. */
+    void attachHash(final ZobristHash hash, final int index) {
+        this.hash = hash;
+        this.hashIndex = index;
     }
 
+    /** Índice do jogador no hash da partida (-1 se não ligado). */
+    int hashIndex() { return hashIndex; }
+
+    /** Liga o jogador à classificação por patrimônio (depois de attachHash). */
+    void attachNetWorth(final NetWorthBoard board) { this.netWorth = board; }
+
+    /* Índice do jogador no diário do banco (-1 se ainda não registrado). */
+    int journalParty() { return journalParty; }
+
+    void setJournalParty(final int party) { this.journalParty = party; }
+
     // ===== Status de vida/bankruptcy =====
 
     /** Está falido? (equivale a não estar vivo no jogo) */
     boolean isBankrupt() { return !alive; }
 
     /** Marca jogador como falido (fora do jogo). */
-    void setBankrupt() { this.alive = false; this.money = 0;}
+    void setBankrupt() {
+        if (hash != null) hash.change(ZobristHash.ALIVE, hashIndex, this.alive, false);
+        if (netWorth != null) netWorth.setAlive(hashIndex, false);
+        this.alive = false;
+        setMoney(0);
+    }
 
     /** Está ativo no jogo? */
     boolean isAlive() { return alive; }
@@ -145,20 +288,13 @@ final class Player {
     /** Cor do jogador. */
     PlayerColor getColor() { return color; }
 
-    /** Lista imutável das propriedades. */
-    List<OwnableSquare> getProperties() { return Collections.unmodifiableList(properties); }
-    
-    /* Retorna os índices das propriedades pertencentes ao jogador. */
-    int[] getPropertiesIndex() {
-    	 final int size = properties.size();
-    	    final int[] indices = new int[size];
-    	    for (int i = 0; i < size; i++) {
-    	        indices[i] = properties.get(i).index();
-    	    }
-    	    return indices;
+    /** Cópia imutável das propriedades, em ordem de aquisição (aloca; laços quentes usam ownership()). */
+    List<OwnableSquare> getProperties() {
+        final List<OwnableSquare> list = new ArrayList<>(owned.size());
+        for (int sq = owned.first(); sq != OwnershipSet.NONE; sq = owned.next(sq)) list.add(squares[sq]);
+        return Collections.unmodifiableList(list);
     }
 
-
     @Override public String toString() {
         return "Player{id='%s', name='%s', money=%d, pos=%d, alive=%s}".formatted(id, name, money, position, alive);
     }
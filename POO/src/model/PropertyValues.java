@@ -0,0 +1,77 @@
+/* ===========================================================
+ * PropertyValues ; valores de uma propriedade por nível de construção,
+ * calculados uma vez a partir do preço (único lugar com as fórmulas em double).
+ *
+ * Nível = casas (0–4) + 5 se tiver hotel. Por nível:
+ *   aluguel da rua: Va = Vb + Vc*n + Vh  (Vb 10%, Vc 15% por casa, Vh 30% do preço)
+ *   recompra pelo banco: 90% (arredondado para baixo) do investido
+ *                        (preço + casas * custo da casa + hotel)
+ * Companhias não constroem: o aluguel depende dos dados e a recompra é 90%
+ * do preço em qualquer nível.
+ *
+ * Imutável; BoardDefinition cria uma por casa ao carregar o tabuleiro e
+ * todas as partidas daquele tabuleiro a compartilham.
+ * =========================================================== */
+
+package model;
+
+import java.util.Arrays;
+
+final class PropertyValues {
+
+    static final int LEVELS = 10;
+
+    private static final double BANK_BUYBACK_RATE = 0.90;
+
+    private final int houseCost;
+    private final int hotelCost;
+    private final int[] rent;   // por nível (só ruas)
+    private final int[] sell;   // por nível, com dono
+
+    private PropertyValues(final int houseCost, final int hotelCost, final int[] rent, final int[] sell) {
+        this.houseCost = houseCost;
+        this.hotelCost = hotelCost;
+        this.rent = rent;
+        this.sell = sell;
+    }
+
+    static PropertyValues street(final int price) {
+        final int houseCost = (int) Math.round(price * 0.5);
+        final int hotelCost = price;
+        final int vb = (int) Math.round(price * 0.1);
+        final int vc = (int) Math.round(price * 0.15);
+        final int vh = (int) Math.round(price * 0.3);
+        final int[] rent = new int[LEVELS];
+        final int[] sell = new int[LEVELS];
+        for (int level = 0; level < LEVELS; level++) {
+            final int houses = level % 5;
+            final boolean hotel = level >= 5;
+            rent[level] = vb + vc * houses + (hotel ? vh : 0);
+            sell[level] = buyback(price + houses * houseCost + (hotel ? hotelCost : 0));
+        }
+        return new PropertyValues(houseCost, hotelCost, rent, sell);
+    }
+
+    static PropertyValues company(final int price) {
+        final int[] sell = new int[LEVELS];
+        Arrays.fill(sell, buyback(price));
+        return new PropertyValues(0, 0, new int[LEVELS], sell);
+    }
+
+    static int level(final int houses, final boolean hotel) {
+        return houses + (hotel ? 5 : 0);
+    }
+
+    int houseCost() { return houseCost; }
+    int hotelCost() { return hotelCost; }
+
+    /** Aluguel da rua no nível dado. */
+    int rent(final int level) { return rent[level]; }
+
+    /** Valor de recompra pelo banco no nível dado (propriedade com dono). */
+    int sellValue(final int level) { return sell[level]; }
+
+    private static int buyback(final int investment) {
+        return (int) Math.floor(investment * BANK_BUYBACK_RATE);
+    }
+}
@@ -0,0 +1,72 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import model.api.dto.PlayerColor;
+
+public class PropertyValuesTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+
+    /* Fórmulas originais (double), como eram calculadas a cada chamada. */
+    private static int formulaRent(int price, int houses, boolean hotel) {
+        int vb = (int) Math.round(price * 0.1);
+        int vc = (int) Math.round(price * 0.15);
+        int vh = hotel ? (int) Math.round(price * 0.3) : 0;
+        return vb + vc * houses + vh;
+    }
+
+    private static int formulaSell(int price, int houses, boolean hotel) {
+        int investment = houses * (int) Math.round(price * 0.5) + (hotel ? price : 0) + price;
+        return (int) Math.floor(investment * 0.90);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void tablesShouldMatchTheOriginalFormulas() {
+        for (int price = 0; price <= 1000; price++) {
+            PropertyValues street = PropertyValues.street(price);
+            assertEquals((int) Math.round(price * 0.5), street.houseCost());
+            assertEquals(price, street.hotelCost());
+            for (int houses = 0; houses <= 4; houses++) {
+                for (boolean hotel : new boolean[] { false, true }) {
+                    int level = PropertyValues.level(houses, hotel);
+                    assertEquals("aluguel " + price, formulaRent(price, houses, hotel), street.rent(level));
+                    assertEquals("recompra " + price, formulaSell(price, houses, hotel), street.sellValue(level));
+                }
+            }
+            assertEquals((int) Math.floor(price * 0.90), PropertyValues.company(price).sellValue(0));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void squaresShouldReadTheSharedTables() {
+        BoardDefinition def = BoardFactory.definition(Paths.get("assets", "dados", "board.csv"));
+        Board a = def.newBoard();
+        Board b = def.newBoard();
+        Player owner = new Player("P1", "Alice", PlayerColor.RED, 0);
+        for (int i = 0; i < def.size(); i++) {
+            if (!def.isOwnable(i)) continue;
+            OwnableSquare sa = (OwnableSquare) a.squareAt(i);
+            assertSame("tabelas compartilhadas entre partidas", sa.values(), ((OwnableSquare) b.squareAt(i)).values());
+            if (sa instanceof StreetOwnableSquare) assertEquals("rua sem dono", 0, sa.sellValue());
+
+            sa.setOwner(owner);
+            if (sa instanceof StreetOwnableSquare) {
+                StreetOwnableSquare street = (StreetOwnableSquare) sa;
+                street.buildHouse();
+                street.buildHouse();
+                street.buildHotel();
+                assertEquals(formulaRent(street.getPrice(), 2, true), street.calcRent(null));
+                assertEquals(formulaSell(street.getPrice(), 2, true), street.sellValue());
+                assertEquals(def.streetRent(i, 2, true), street.calcRent(null));
+                assertEquals(def.sellValue(i, true, 2, true), street.sellValue());
+            } else {
+                assertEquals(def.sellValue(i, true, 0, false), sa.sellValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/* ===========================================================
+ * ReplayReader ; leitura de logs de turnos gravados (GameAPI.saveTurnLog)
+ * direto do arquivo mapeado em memória, sem executar as regras do jogo.
+ *
+ * - A tabela de início de turnos do arquivo é lida no próprio mapeamento:
+ *   localizar o turno N é O(1) e não ocupa heap por turno.
+ * - Índice esparso em memória: só o offset de cada checkpoint (um a cada
+ *   "intervalo" turnos). seek(N) decodifica o checkpoint mais próximo e
+ *   aplica os deltas de no máximo um intervalo de turnos.
+ * - O evento atual é exposto como flyweight (eventType/eventPlayer/...), e o
+ *   estado visível em arrays primitivos; DTOs só são criados sob demanda
+ *   (streetInfo/companyInfo/propertyData), para alimentar um GameObserver.
+ * Um leitor não deve ser compartilhado entre threads (cursor e estado são dele).
+ * =========================================================== */
+
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+import model.GameAPI.PlayerSpec;
+import model.api.dto.OwnableInfo;
+import model.api.dto.Ownables;
+import model.api.dto.PlayerColor;
+import model.api.dto.PlayerRef;
+
+public final class ReplayReader {
+
+    // --- Tipos de evento (ver TurnLog) ---
+    public static final int ROLL = TurnLog.ROLL;
+    public static final int BUY = TurnLog.BUY;
+    public static final int BUILD_HOUSE = TurnLog.BUILD_HOUSE;
+    public static final int BUILD_HOTEL = TurnLog.BUILD_HOTEL;
+    public static final int SELL = TurnLog.SELL;
+    public static final int CARD = TurnLog.CARD;
+    public static final int END_TURN = TurnLog.END_TURN;
+    public static final int MONEY = TurnLog.MONEY;
+    public static final int POSITION = TurnLog.POSITION;
+    public static final int OWNER = TurnLog.OWNER;
+    public static final int BUILDINGS = TurnLog.BUILDINGS;
+    public static final int STATUS = TurnLog.STATUS;
+
+    private final MappedByteBuffer buf;
+    private final GameSaveCodec.Header header;
+    private final BoardDefinition board;
+
+    // --- Layout do arquivo (offsets absolutos) ---
+    private final int interval;
+    private final int eventsOffset;
+    private final int eventCount;
+    private final int turnCount;
+    private final int turnStartsOffset;
+    private final int[] checkpointOffset; // índice esparso: turno k * interval
+
+    // --- Cursor e estado visível ---
+    private final EngineSnapshot state;
+    private int cursor;   // índice (em ints) do próximo evento
+    private int turn;     // turno do último evento lido
+    private int event;    // flyweight: evento atual
+    private int value;    // saldo (MONEY)
+
+    private ReplayReader(final MappedByteBuffer buf) {
+        this.buf = buf;
+        GameSaveCodec.readPreamble(buf, GameSaveCodec.LOG_MAGIC);
+        this.header = GameSaveCodec.Header.read(buf);
+        // O tabuleiro com que o log foi gravado, mesmo que o CSV tenha mudado
+        this.board = DefinitionCache.board(header.boardCsv(), header.boardHash());
+        if (board.size() != header.squares()) {
+            throw new IllegalArgumentException("Tabuleiro diferente do usado no log de turnos.");
+        }
+
+        this.interval = buf.getInt();
+        this.eventCount = buf.getInt();
+        this.eventsOffset = buf.position();
+        if (interval <= 0 || eventCount < 0 || eventCount > (buf.limit() - eventsOffset) / 4) {
+            throw new IllegalArgumentException("Log de turnos inválido (eventos).");
+        }
+        buf.position(eventsOffset + eventCount * 4);
+        this.turnCount = buf.getInt();
+        this.turnStartsOffset = buf.position();
+        if (turnCount < 0 || turnCount > eventCount) {
+            throw new IllegalArgumentException("Log de turnos inválido (turnos).");
+        }
+        buf.position(turnStartsOffset + (turnCount + 1) * 4);
+
+        final int count = buf.getInt();
+        if (count <= 0 || count > turnCount / interval + 1) {
+            throw new IllegalArgumentException("Log de turnos inválido (checkpoints).");
+        }
+        final int players = header.players().size();
+        this.checkpointOffset = new int[count];
+        int at = buf.position();
+        for (int k = 0; k < count; k++) {
+            checkpointOffset[k] = at;
+            at += GameSaveCodec.stateLength(buf, at, players, header.squares());
+        }
+
+        this.state = new EngineSnapshot(players, header.squares(), header.deckCapacity());
+        seek(0);
+    }
+
+    /** Mapeia um log de turnos (somente leitura) e confere o CRC32. */
+    public static ReplayReader open(final Path file) throws IOException {
+        Objects.requireNonNull(file, "file");
+        final MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = ch.size();
+            if (size < 10 || size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Arquivo de jogo inválido (tamanho).");
+            }
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        final int dataLength = buf.limit() - 4;
+        final ByteBuffer data = buf.duplicate();
+        data.limit(dataLength);
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        if ((int) crc.getValue() != buf.getInt(dataLength)) {
+            throw new IllegalArgumentException("Arquivo de jogo inválido (CRC).");
+        }
+        buf.limit(dataLength);
+        return new ReplayReader(buf);
+    }
+
+    // ===== Navegação =====
+
+    /** Turnos completos no log (turno válido para seek: 0..turnCount). */
+    public int turnCount() { return turnCount; }
+
+    /** Turno em que o cursor está (o próximo evento pertence a ele). */
+    public int turn() { return turn; }
+
+    /** Posiciona no início do turno dado; o estado passa a ser o daquele instante. */
+    public void seek(final int target) {
+        if (target < 0 || target > turnCount) {
+            throw new IllegalArgumentException("Turno fora do log: " + target + " (0.." + turnCount + ")");
+        }
+        final int k = Math.min(target / interval, checkpointOffset.length - 1);
+        buf.position(checkpointOffset[k]);
+        GameSaveCodec.readState(buf, state);
+
+        cursor = turnStart(k * interval);
+        turn = k * interval;
+        final int end = turnStart(target);
+        while (cursor < end) next();
+        event = 0;
+    }
+
+    /** Pula n turnos (negativo volta); limitado ao início/fim do log. */
+    public void skip(final int turns) {
+        seek(Math.max(0, Math.min(turnCount, turn + turns)));
+    }
+
+    /** Avança para o próximo evento e o aplica ao estado; false no fim do log. */
+    public boolean next() {
+        if (cursor >= eventCount) return false;
+        event = buf.getInt(eventsOffset + cursor * 4);
+        cursor++;
+        if (TurnLog.type(event) == TurnLog.MONEY) {
+            value = buf.getInt(eventsOffset + cursor * 4);
+            cursor++;
+        }
+        apply();
+        return true;
+    }
+
+    public boolean hasNext() { return cursor < eventCount; }
+
+    private int turnStart(final int t) {
+        return buf.getInt(turnStartsOffset + t * 4);
+    }
+
+    private void apply() {
+        final int p = TurnLog.player(event);
+        final int a = TurnLog.a(event);
+        final int b = TurnLog.b(event);
+        switch (TurnLog.type(event)) {
+            case TurnLog.ROLL:
+                state.lastRollerIndex = p;
+                state.lastDie1 = a;
+                state.lastDie2 = b;
+                break;
+            case TurnLog.CARD:
+                state.lastDrawedCardIndex = a;
+                break;
+            case TurnLog.END_TURN:
+                state.currentPlayerIndex = a;
+                state.lastDie1 = 0;
+                state.lastDie2 = 0;
+                turn++;
+                break;
+            case TurnLog.MONEY:
+                state.money[p] = value;
+                break;
+            case TurnLog.POSITION:
+                state.position[p] = a;
+                break;
+            case TurnLog.OWNER:
+                state.owner[a] = (byte) (p - 1);
+                break;
+            case TurnLog.BUILDINGS:
+                state.houses[a] = (byte) (b & ~TurnLog.HOTEL_BIT);
+                state.hotel[a] = (byte) ((b & TurnLog.HOTEL_BIT) != 0 ? 1 : 0);
+                break;
+            case TurnLog.STATUS:
+                state.inJail[p] = (a & TurnLog.STATUS_IN_JAIL) != 0;
+                state.alive[p] = (a & TurnLog.STATUS_ALIVE) != 0;
+                state.jailCards[p] = b;
+                break;
+            default:
+                break; // BUY/BUILD/SELL: o efeito chega pelos deltas seguintes
+        }
+    }
+
+    // ===== Evento atual (flyweight) =====
+
+    /** Tipo do evento atual (0 logo após seek). */
+    public int eventType() { return TurnLog.type(event); }
+    public int eventPlayer() { return TurnLog.player(event); }
+    public int eventA() { return TurnLog.a(event); }
+    public int eventB() { return TurnLog.b(event); }
+    /** Saldo carregado por MONEY. */
+    public int eventValue() { return value; }
+
+    // ===== Estado visível =====
+
+    public int playerCount() { return state.players; }
+    public String playerId(final int i) { return spec(i).id(); }
+    public String playerName(final int i) { return spec(i).name(); }
+    public PlayerColor playerColor(final int i) { return spec(i).color(); }
+    public int playerMoney(final int i) { return state.money[i]; }
+    public int playerPosition(final int i) { return state.position[i]; }
+    public boolean isPlayerInJail(final int i) { return state.inJail[i]; }
+    public boolean isPlayerAlive(final int i) { return state.alive[i]; }
+    public int currentPlayerIndex() { return state.currentPlayerIndex; }
+    public int lastDie1() { return state.lastDie1; }
+    public int lastDie2() { return state.lastDie2; }
+    public int lastDrawedCardIndex() { return state.lastDrawedCardIndex; }
+
+    /** Hash do estado reconstruído: igual a GameAPI.getStateHash() no mesmo ponto da partida. */
+    public long stateHash() { return ZobristHash.of(state); }
+
+    public int squareCount() { return state.squares; }
+    public String squareName(final int sq) { return board.name(sq); }
+    public String squareType(final int sq) { return board.type(sq); }
+    /** Índice do dono da casa, ou -1. */
+    public int ownerOf(final int sq) { return state.owner[sq]; }
+    public int houses(final int sq) { return state.houses[sq]; }
+    public boolean hasHotel(final int sq) { return state.hotel[sq] != 0; }
+
+    /** DTO da rua (null se não for rua). Aloca: use só na borda com a UI. */
+    public Ownables.Street streetInfo(final int sq) {
+        if (board.kind(sq) != BoardDefinition.SQ_STREET) return null;
+        return new Ownables.Street(core(sq), board.streetRent(sq, houses(sq), hasHotel(sq)),
+                                   houses(sq), hasHotel(sq));
+    }
+
+    /** DTO da companhia (null se não for companhia). Aloca: use só na borda com a UI. */
+    public Ownables.Company companyInfo(final int sq) {
+        if (board.kind(sq) != BoardDefinition.SQ_COMPANY) return null;
+        return new Ownables.Company(core(sq), board.multiplier(sq));
+    }
+
+    /** Propriedades do jogador, em ordem do tabuleiro. Aloca. */
+    public List<OwnableInfo> propertyData(final int player) {
+        final List<OwnableInfo> out = new ArrayList<>();
+        for (int sq = 0; sq < state.squares; sq++) {
+            if (state.owner[sq] != player) continue;
+            out.add(board.kind(sq) == BoardDefinition.SQ_STREET ? streetInfo(sq) : companyInfo(sq));
+        }
+        return out;
+    }
+
+    private OwnableInfo.Core core(final int sq) {
+        final int o = state.owner[sq];
+        final PlayerRef owner = o < 0 ? null : new PlayerRef(playerId(o), playerColor(o));
+        return new OwnableInfo.Core(owner, board.name(sq), sq, board.price(sq),
+                                    board.sellValue(sq, o >= 0, houses(sq), hasHotel(sq)));
+    }
+
+    private PlayerSpec spec(final int i) {
+        return header.players().get(i);
+    }
+}
@@ -0,0 +1,156 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+
+public class ReplayReaderTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("replay-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    /* Joga com log ativo; devolve a descrição do estado no início de cada turno. */
+    private List<String> recordGame(GameAPI.EngineKind kind, int turns, Path file) {
+        List<PlayerSpec> specs = new ArrayList<>();
+        specs.add(new PlayerSpec("P1", "Alice", PlayerColor.RED));
+        specs.add(new PlayerSpec("P2", "Bob", PlayerColor.BLUE));
+        specs.add(new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 1500, 200_000, 77L, kind);
+        api.enableTurnLog(16);
+
+        List<String> states = new ArrayList<>();
+        states.add(describe(api));
+        for (int t = 0; t < turns; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy() && !api.chooseBuildHouse()) api.chooseBuildHotel();
+            api.endTurn();
+            states.add(describe(api));
+        }
+        api.saveTurnLog(file);
+        return states;
+    }
+
+    private String describe(GameAPI api) {
+        StringBuilder sb = new StringBuilder("vez=" + api.getCurrentPlayerIndex());
+        for (int i = 0; i < api.getNumberOfPlayers(); i++) {
+            sb.append(" | ").append(api.getPlayerMoney(i)).append(' ').append(api.getPlayerPosition(i))
+              .append(' ').append(api.isPlayerInJail(i)).append(' ').append(api.isPlayerAlive(i));
+        }
+        for (int idx = 0; idx < 40; idx++) {
+            var street = api.getStreetOwnableInfo(idx);
+            if (street != null && street.core().owner() != null) {
+                sb.append(" | #").append(idx).append(' ').append(street.core().owner().id())
+                  .append(' ').append(street.propertyHouseNumber()).append(' ').append(street.propertyHasHotel())
+                  .append(' ').append(street.propertyActualRent()).append(' ').append(street.core().propertySellValue());
+            }
+            var company = api.getCompanyOwnableInfo(idx);
+            if (company != null && company.core().owner() != null) {
+                sb.append(" | #").append(idx).append(' ').append(company.core().owner().id());
+            }
+        }
+        return sb.toString();
+    }
+
+    private String describe(ReplayReader r) {
+        StringBuilder sb = new StringBuilder("vez=" + r.currentPlayerIndex());
+        for (int i = 0; i < r.playerCount(); i++) {
+            sb.append(" | ").append(r.playerMoney(i)).append(' ').append(r.playerPosition(i))
+              .append(' ').append(r.isPlayerInJail(i)).append(' ').append(r.isPlayerAlive(i));
+        }
+        for (int idx = 0; idx < r.squareCount(); idx++) {
+            var street = r.streetInfo(idx);
+            if (street != null && street.core().owner() != null) {
+                sb.append(" | #").append(idx).append(' ').append(street.core().owner().id())
+                  .append(' ').append(street.propertyHouseNumber()).append(' ').append(street.propertyHasHotel())
+                  .append(' ').append(street.propertyActualRent()).append(' ').append(street.core().propertySellValue());
+            }
+            var company = r.companyInfo(idx);
+            if (company != null && company.core().owner() != null) {
+                sb.append(" | #").append(idx).append(' ').append(company.core().owner().id());
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void sequentialReadShouldMatchLiveStateAtEveryTurn() throws IOException {
+        Path file = dir.resolve("seq.mtlg");
+        List<String> states = recordGame(GameAPI.EngineKind.OBJECT, 150, file);
+
+        ReplayReader reader = ReplayReader.open(file);
+        assertEquals(150, reader.turnCount());
+        assertEquals(states.get(0), describe(reader));
+        int rolls = 0;
+        while (reader.next()) {
+            if (reader.eventType() == ReplayReader.ROLL) rolls++;
+            if (reader.eventType() == ReplayReader.END_TURN) {
+                assertEquals("turno " + reader.turn(), states.get(reader.turn()), describe(reader));
+            }
+        }
+        assertEquals(150, reader.turn());
+        assertEquals(150, rolls);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void seekShouldLandOnAnyTurnInAnyOrder() throws IOException {
+        Path file = dir.resolve("seek.mtlg");
+        List<String> states = recordGame(GameAPI.EngineKind.COMPACT, 200, file);
+
+        ReplayReader reader = ReplayReader.open(file);
+        Random rnd = new Random(5);
+        for (int i = 0; i < 60; i++) {
+            int turn = rnd.nextInt(201);
+            reader.seek(turn);
+            assertEquals(turn, reader.turn());
+            assertEquals("turno " + turn, states.get(turn), describe(reader));
+        }
+        reader.seek(100);
+        reader.skip(-37);
+        assertEquals(states.get(63), describe(reader));
+        reader.skip(1000);
+        assertEquals(states.get(200), describe(reader));
+        assertFalse(reader.hasNext());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT, expected = IllegalArgumentException.class)
+    public void corruptedArchiveShouldBeRejected() throws IOException {
+        Path file = dir.resolve("bad.mtlg");
+        recordGame(GameAPI.EngineKind.OBJECT, 20, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 3] ^= 0x11;
+        Files.write(file, bytes);
+        ReplayReader.open(file);
+    }
+}
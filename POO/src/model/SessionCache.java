@@ -0,0 +1,326 @@
+/* ===========================================================
+ * SessionCache ; mantém em memória só as partidas quentes e despeja as
+ * ociosas em disco, dentro de um orçamento de memória.
+ *
+ * Cada partida registrada recebe um id; as ações passam por withGame(id, ...).
+ * As residentes ficam numa LRU (LinkedHashMap em ordem de acesso) e somam
+ * GameAPI.estimatedHeapBytes(). Quando a soma passa do orçamento, as menos
+ * usadas (e que não estão em uso) são gravadas com saveGame em <dir>/<id>.game
+ * (algumas centenas de bytes) e soltas; o próximo withGame daquele id carrega
+ * o arquivo de volta antes de executar a ação, sem o chamador perceber.
+ *
+ * O save inclui a fonte dos dados: a partida recarregada rola os mesmos lances
+ * que rolaria se nunca tivesse saído da memória. Não volta do disco o extrato
+ * de transações ainda não lido (partidas ociosas já o tiveram lido pela UI).
+ * Partidas com log de turnos ativo não são despejadas (o save não leva o log).
+ *
+ * Travas: 'this' protege os mapas e os contadores; cada entrada tem a sua
+ * (ações e despejo de uma mesma partida não se cruzam). Ordem: entrada, depois
+ * 'this'; nunca o contrário. Arquivos são lidos/gravados fora de 'this'.
+ * =========================================================== */
+
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class SessionCache implements AutoCloseable {
+
+    /**
+     * Contadores desde a criação do cache.
+     * hits/misses: acessos com a partida em memória / recarregada do disco.
+     */
+    public record Metrics(long hits, long misses, long spills, long reloads,
+                          long reloadNanos, long maxReloadNanos,
+                          int residentGames, long residentBytes, int spilledGames, long memoryBudget) {
+
+        public double hitRate() {
+            final long accesses = hits + misses;
+            return accesses == 0 ? 1.0 : (double) hits / accesses;
+        }
+
+        /** Despejos por acesso. */
+        public double spillRate() {
+            final long accesses = hits + misses;
+            return accesses == 0 ? 0.0 : (double) spills / accesses;
+        }
+
+        public double meanReloadMicros() {
+            return reloads == 0 ? 0.0 : reloadNanos / 1e3 / reloads;
+        }
+    }
+
+    private static final class Entry {
+        final long id;
+        GameAPI api;        // null = em disco
+        long bytes;         // última estimativa de heap
+        boolean resident;   // na LRU (protegido por SessionCache.this)
+        int inUse;          // withGame em andamento (protegido por SessionCache.this)
+        boolean removed;
+
+        Entry(final long id) { this.id = id; }
+    }
+
+    private final Path dir;
+    private long memoryBudget;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final LinkedHashMap<Long, Entry> resident = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes;
+    private int spilledGames;
+    private long nextId = 1;
+    private boolean closed;
+
+    private long hits;
+    private long misses;
+    private long spills;
+    private long reloads;
+    private long reloadNanos;
+    private long maxReloadNanos;
+
+    private SessionCache(final Path dir, final long memoryBudget) {
+        this.dir = dir;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * @param dir               onde ficam as partidas despejadas
+     * @param memoryBudgetBytes heap máximo das partidas residentes (fora as que estão em uso)
+     */
+    public static SessionCache open(final Path dir, final long memoryBudgetBytes) throws IOException {
+        Objects.requireNonNull(dir, "dir");
+        if (memoryBudgetBytes < 0) throw new IllegalArgumentException("Orçamento de memória negativo.");
+        Files.createDirectories(dir);
+        return new SessionCache(dir, memoryBudgetBytes);
+    }
+
+    /** Registra uma partida já iniciada e retorna o seu id. */
+    public long add(final GameAPI api) {
+        Objects.requireNonNull(api, "api");
+        final long bytes = api.estimatedHeapBytes();
+        final long id;
+        synchronized (this) {
+            ensureOpen();
+            id = nextId++;
+            final Entry e = new Entry(id);
+            e.api = api;
+            e.bytes = bytes;
+            entries.put(id, e);
+            makeResident(e);
+        }
+        evictOverBudget();
+        return id;
+    }
+
+    /**
+     * Executa a ação sobre a partida, recarregando-a do disco se preciso.
+     * Ações sobre a mesma partida são serializadas; partidas diferentes correm em paralelo.
+     */
+    public <T> T withGame(final long id, final Function<GameAPI, T> action) {
+        Objects.requireNonNull(action, "action");
+        final Entry e;
+        synchronized (this) {
+            ensureOpen();
+            e = entries.get(id);
+            if (e == null) throw new IllegalArgumentException("Sessão desconhecida: " + id);
+            e.inUse++;
+            if (e.resident) resident.get(id); // marca como a mais recente
+        }
+        try {
+            synchronized (e) {
+                if (e.removed) throw new IllegalStateException("Sessão removida: " + id);
+                final boolean hit = e.api != null;
+                if (!hit) reload(e);
+                synchronized (this) {
+                    if (hit) hits++;
+                    if (!e.resident) makeResident(e);
+                }
+                final T result = action.apply(e.api);
+                final long bytes = e.api.estimatedHeapBytes();
+                synchronized (this) {
+                    if (e.resident) residentBytes += bytes - e.bytes;
+                    e.bytes = bytes;
+                }
+                return result;
+            }
+        } finally {
+            synchronized (this) {
+                e.inUse--;
+            }
+            evictOverBudget();
+        }
+    }
+
+    /** withGame para ações sem resultado. */
+    public void run(final long id, final Consumer<GameAPI> action) {
+        Objects.requireNonNull(action, "action");
+        withGame(id, api -> {
+            action.accept(api);
+            return null;
+        });
+    }
+
+    /** Esquece a partida (e apaga o arquivo, se estiver em disco). */
+    public void remove(final long id) {
+        final Entry e;
+        synchronized (this) {
+            e = entries.remove(id);
+            if (e == null) return;
+        }
+        synchronized (e) {
+            e.removed = true;
+            final boolean spilled = e.api == null;
+            e.api = null;
+            synchronized (this) {
+                if (e.resident) {
+                    resident.remove(id);
+                    residentBytes -= e.bytes;
+                    e.resident = false;
+                }
+                if (spilled) spilledGames--;
+            }
+            deleteFile(e.id);
+        }
+    }
+
+    public synchronized boolean isResident(final long id) {
+        final Entry e = entries.get(id);
+        return e != null && e.resident;
+    }
+
+    public synchronized int size() { return entries.size(); }
+
+    /** Muda o orçamento; se diminuiu, despeja na hora o que passar dele. */
+    public void setMemoryBudget(final long bytes) {
+        if (bytes < 0) throw new IllegalArgumentException("Orçamento de memória negativo.");
+        synchronized (this) {
+            memoryBudget = bytes;
+        }
+        evictOverBudget();
+    }
+
+    public synchronized Metrics metrics() {
+        return new Metrics(hits, misses, spills, reloads, reloadNanos, maxReloadNanos,
+                           resident.size(), residentBytes, spilledGames, memoryBudget);
+    }
+
+    /** Solta as partidas e apaga os arquivos de despejo (o cache não é persistente). */
+    @Override
+    public void close() {
+        final List<Entry> all;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            all = new ArrayList<>(entries.values());
+            entries.clear();
+            resident.clear();
+            residentBytes = 0;
+            spilledGames = 0;
+        }
+        for (Entry e : all) {
+            synchronized (e) {
+                e.removed = true;
+                e.api = null;
+                deleteFile(e.id);
+            }
+        }
+    }
+
+    // ===== Internos =====
+
+    /* Chamado com 'this'. */
+    private void makeResident(final Entry e) {
+        resident.put(e.id, e);
+        residentBytes += e.bytes;
+        e.resident = true;
+    }
+
+    /* Escolhe as vítimas (LRU, fora de uso) com 'this' e grava cada uma sem ele. */
+    private void evictOverBudget() {
+        final List<Entry> victims = new ArrayList<>();
+        synchronized (this) {
+            if (residentBytes <= memoryBudget) return;
+            final Iterator<Entry> it = resident.values().iterator();
+            while (residentBytes > memoryBudget && it.hasNext()) {
+                final Entry e = it.next();
+                if (e.inUse > 0) continue;
+                it.remove();
+                residentBytes -= e.bytes;
+                e.resident = false;
+                victims.add(e);
+            }
+        }
+        for (Entry e : victims) spill(e);
+    }
+
+    private void spill(final Entry e) {
+        synchronized (e) {
+            synchronized (this) {
+                // Voltou a ser usada entre a escolha e agora: fica
+                if (e.resident || e.inUse > 0 || e.removed || e.api == null) return;
+                // O log de turnos não vai para o save: fica em memória (no fim da LRU)
+                if (e.api.isTurnLogEnabled()) {
+                    if (!closed) makeResident(e);
+                    return;
+                }
+            }
+            try {
+                e.api.saveGame(file(e.id));
+            } catch (UncheckedIOException ex) {
+                synchronized (this) {
+                    if (!closed) makeResident(e);
+                }
+                throw ex;
+            }
+            e.api = null;
+            synchronized (this) {
+                spills++;
+                spilledGames++;
+            }
+        }
+    }
+
+    /* Chamado com a trava da entrada. */
+    private void reload(final Entry e) {
+        final long start = System.nanoTime();
+        final GameAPI api = new GameAPI();
+        api.loadGame(file(e.id));
+        deleteFile(e.id);
+        final long elapsed = System.nanoTime() - start;
+        e.api = api;
+        e.bytes = api.estimatedHeapBytes();
+        synchronized (this) {
+            misses++;
+            reloads++;
+            spilledGames--;
+            reloadNanos += elapsed;
+            maxReloadNanos = Math.max(maxReloadNanos, elapsed);
+        }
+    }
+
+    private Path file(final long id) {
+        return dir.resolve(id + ".game");
+    }
+
+    private void deleteFile(final long id) {
+        try {
+            Files.deleteIfExists(file(id));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Erro ao apagar partida despejada: " + file(id), ex);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Cache de sessões fechado.");
+    }
+}
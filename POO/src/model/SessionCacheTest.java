@@ -0,0 +1,205 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+
+public class SessionCacheTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int CONCURRENT_TIMEOUT = 10000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("session-cache");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static GameAPI newGame(long seed, GameAPI.EngineKind kind) {
+        List<PlayerSpec> specs = new ArrayList<>();
+        specs.add(new PlayerSpec("P1", "Alice", PlayerColor.RED));
+        specs.add(new PlayerSpec("P2", "Bob", PlayerColor.BLUE));
+        specs.add(new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 1500, 200_000, seed, kind);
+        return api;
+    }
+
+    private static void playTurn(GameAPI api) {
+        api.rollAndResolve();
+        if (!api.chooseBuy()) api.chooseBuildHouse();
+        api.endTurn();
+    }
+
+    private static long spillFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void idleGamesShouldBeSpilledAndReloadedWithTheSameState() throws IOException {
+        final long perGame = newGame(1, GameAPI.EngineKind.OBJECT).estimatedHeapBytes();
+        try (SessionCache cache = SessionCache.open(dir, perGame * 3 + perGame / 2)) {
+            List<Long> ids = new ArrayList<>();
+            long[] hashes = new long[10];
+            for (int i = 0; i < 10; i++) {
+                GameAPI api = newGame(10 + i, GameAPI.EngineKind.values()[i % 2]);
+                for (int t = 0; t < 15; t++) playTurn(api);
+                hashes[i] = api.getStateHash();
+                ids.add(cache.add(api));
+            }
+
+            SessionCache.Metrics m = cache.metrics();
+            assertTrue("residentes: " + m.residentGames(), m.residentGames() <= 4);
+            assertTrue(m.residentBytes() <= m.memoryBudget());
+            assertEquals(10 - m.residentGames(), m.spilledGames());
+            assertEquals(m.spilledGames(), spillFiles(dir));
+            assertFalse(cache.isResident(ids.get(0)));
+            assertTrue(cache.isResident(ids.get(9)));
+
+            // O primeiro acesso a uma partida despejada a recarrega, com o mesmo estado
+            for (int i = 0; i < 10; i++) {
+                assertEquals("partida " + i, hashes[i], cache.withGame(ids.get(i), GameAPI::getStateHash).longValue());
+            }
+            m = cache.metrics();
+            assertEquals(10, m.hits() + m.misses());
+            assertEquals(m.misses(), m.reloads());
+            assertTrue(m.reloads() >= 6);
+            assertTrue(m.maxReloadNanos() > 0);
+
+            // E continua jogável
+            cache.run(ids.get(0), SessionCacheTest::playTurn);
+            cache.remove(ids.get(0));
+            assertEquals(9, cache.size());
+        }
+        assertEquals(0, spillFiles(dir));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void recentlyUsedGamesShouldStayResident() throws IOException {
+        final long perGame = newGame(1, GameAPI.EngineKind.COMPACT).estimatedHeapBytes();
+        try (SessionCache cache = SessionCache.open(dir, perGame * 2)) {
+            long hot = cache.add(newGame(1, GameAPI.EngineKind.COMPACT));
+            for (int i = 0; i < 20; i++) {
+                cache.add(newGame(100 + i, GameAPI.EngineKind.COMPACT));
+                cache.run(hot, SessionCacheTest::playTurn);
+            }
+            SessionCache.Metrics m = cache.metrics();
+            assertTrue(cache.isResident(hot));
+            assertEquals(20, m.hits());
+            assertEquals(0, m.misses());
+            assertEquals(19, m.spills());
+            assertEquals(19.0 / 20, m.spillRate(), 1e-9);
+
+            // Orçamento menor: despeja na hora, inclusive a quente (ninguém a usa agora)
+            cache.setMemoryBudget(0);
+            assertEquals(0, cache.metrics().residentGames());
+            assertFalse(cache.isResident(hot));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void spilledGameShouldRollTheSameDiceAsAnUnspilledTwin() throws IOException {
+        for (GameAPI.EngineKind kind : GameAPI.EngineKind.values()) {
+            try (SessionCache cache = SessionCache.open(dir, 0)) {
+                GameAPI twin = newGame(77, kind);
+                long id = cache.add(newGame(77, kind));
+                for (int t = 0; t < 60; t++) {
+                    // Orçamento zero: cada ação recarrega a partida do disco
+                    assertFalse(cache.isResident(id));
+                    cache.run(id, SessionCacheTest::playTurn);
+                    playTurn(twin);
+                    assertEquals(kind + " turno " + t, twin.getStateHash(),
+                                 (long) cache.withGame(id, GameAPI::getStateHash));
+                }
+                assertEquals(120, cache.metrics().reloads());
+            }
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void gamesWithATurnLogShouldNotBeSpilled() throws IOException {
+        try (SessionCache cache = SessionCache.open(dir, 0)) {
+            GameAPI logged = newGame(5, GameAPI.EngineKind.COMPACT);
+            logged.enableTurnLog(8);
+            long id = cache.add(logged);
+            long other = cache.add(newGame(6, GameAPI.EngineKind.COMPACT));
+            for (int t = 0; t < 10; t++) cache.run(id, SessionCacheTest::playTurn);
+
+            assertTrue(cache.isResident(id));
+            assertFalse(cache.isResident(other));
+            assertEquals(0, cache.metrics().misses());
+            cache.run(id, api -> {
+                assertSame(logged, api);
+                assertEquals(10, api.getLoggedTurnCount());
+            });
+        }
+    }
+
+    @Test(timeout = CONCURRENT_TIMEOUT)
+    public void concurrentActionsShouldRespectTheBudget() throws Exception {
+        final long perGame = newGame(1, GameAPI.EngineKind.OBJECT).estimatedHeapBytes();
+        try (SessionCache cache = SessionCache.open(dir, perGame * 4)) {
+            final List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 16; i++) ids.add(cache.add(newGame(200 + i, GameAPI.EngineKind.values()[i % 2])));
+
+            final int threads = 4;
+            final int actionsPerThread = 200;
+            List<Thread> workers = new ArrayList<>();
+            final Throwable[] failure = new Throwable[1];
+            for (int w = 0; w < threads; w++) {
+                final int seed = w;
+                Thread t = new Thread(() -> {
+                    try {
+                        for (int k = 0; k < actionsPerThread; k++) {
+                            long id = ids.get((seed * 7 + k * (seed + 3)) % ids.size());
+                            cache.run(id, SessionCacheTest::playTurn);
+                        }
+                    } catch (Throwable e) {
+                        synchronized (failure) { failure[0] = e; }
+                    }
+                });
+                workers.add(t);
+                t.start();
+            }
+            for (Thread t : workers) t.join();
+            assertNull(String.valueOf(failure[0]), failure[0]);
+
+            SessionCache.Metrics m = cache.metrics();
+            assertEquals((long) threads * actionsPerThread, m.hits() + m.misses());
+            assertTrue(m.residentBytes() <= m.memoryBudget());
+            assertEquals(16, m.residentGames() + m.spilledGames());
+            assertEquals(m.spilledGames(), spillFiles(dir));
+            assertTrue(m.hitRate() > 0 && m.hitRate() < 1);
+        }
+    }
+}
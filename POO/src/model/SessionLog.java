@@ -0,0 +1,637 @@
+/* ===========================================================
+ * SessionLog ; write-ahead log compartilhado pelas partidas em andamento
+ * (sessões), com commit em grupo.
+ *
+ * Cada ação que muda o estado de uma sessão vira um registro curto no log;
+ * a ação só retorna ao chamador depois que o registro está no disco (fsync).
+ * Um fsync por ação limitaria o servidor a algumas centenas de ações/s; aqui
+ * uma thread ("session-log") junta os registros de todas as sessões e faz um
+ * único write + force por grupo, quando o grupo atinge groupBytes ou quando
+ * o registro mais antigo espera groupMillis.
+ *
+ * Registro: tamanho, CRC32, tipo, sessão e o corpo do tipo:
+ *   CHECKPOINT  partida inteira (GameAPI.exportGame, com o estado da fonte dos dados)
+ *   ROLL        d1, d2 e o estado da fonte dos dados depois do lance (o replay não
+ *               depende da seed, e a sessão recuperada continua a mesma sequência)
+ *   BUY / BUILD_HOUSE / BUILD_HOTEL / END_TURN   (só as que tiveram efeito)
+ *   SELL        casa
+ *   CLOSE       fim da sessão
+ *   NEXT_ID     próximo id de sessão (início de cada segmento: ids não se repetem
+ *               mesmo depois que os segmentos das sessões encerradas somem)
+ *
+ * Recuperação limitada: o log é dividido em segmentos (wal-N.log). Cada sessão
+ * grava um CHECKPOINT a cada checkpointActions ações e sempre que o segmento
+ * do seu último checkpoint fica para trás (sessões ociosas recebem o checkpoint
+ * da própria thread do log). Segmentos anteriores ao checkpoint mais antigo das
+ * sessões vivas são apagados. Assim open() lê no máximo uns poucos segmentos
+ * e rejoga no máximo checkpointActions ações por sessão.
+ * Um registro incompleto no fim do último segmento (queda no meio de um write)
+ * é descartado: a ação dele nunca foi confirmada ao chamador.
+ * =========================================================== */
+
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+public final class SessionLog implements AutoCloseable {
+
+    static final byte CHECKPOINT = 1;
+    static final byte ROLL = 2;
+    static final byte BUY = 3;
+    static final byte BUILD_HOUSE = 4;
+    static final byte BUILD_HOTEL = 5;
+    static final byte SELL = 6;
+    static final byte END_TURN = 7;
+    static final byte CLOSE = 8;
+    static final byte NEXT_ID = 9;
+
+    public static final int DEFAULT_GROUP_MILLIS = 2;
+    public static final int DEFAULT_GROUP_BYTES = 64 << 10;
+    static final long DEFAULT_SEGMENT_BYTES = 16L << 20;
+    static final int DEFAULT_CHECKPOINT_ACTIONS = 512;
+
+    private static final int FRAME_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 16 << 20;
+
+    /** Números da última recuperação (open). */
+    public record Recovery(int segments, long records, long bytes, int sessions, long nanos) {}
+
+    private final Path dir;
+    private final long groupNanos;
+    private final int groupBytes;
+    private final long segmentBytes;
+    private final int checkpointActions;
+
+    // Protegidos por 'lock'
+    private final Object lock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+    private ByteBuffer flushing = ByteBuffer.allocate(1 << 16);
+    private long pendingSince;   // nanoTime do registro mais antigo em pending
+    private long appendedSeq;
+    private long durableSeq;
+    private long groups;
+    private IOException failure;
+    private boolean closed;
+    private long nextSessionId = 1;
+    private final Map<Long, Session> live = new LinkedHashMap<>();
+
+    // Só a thread do log (e open/close) mexem no arquivo
+    private FileChannel channel;
+    private volatile long activeSegment;
+    private long activeBytes;
+    private long firstSegment;
+    private final CRC32 crc = new CRC32();
+
+    private final List<Session> recovered;
+    private final Recovery recovery;
+    private final Thread flusher;
+
+    private SessionLog(final Path dir, final int groupMillis, final int groupBytes,
+                       final long segmentBytes, final int checkpointActions) throws IOException {
+        this.dir = dir;
+        this.groupNanos = TimeUnit.MILLISECONDS.toNanos(groupMillis);
+        this.groupBytes = groupBytes;
+        this.segmentBytes = segmentBytes;
+        this.checkpointActions = checkpointActions;
+
+        final long start = System.nanoTime();
+        final List<Long> segments = listSegments(dir);
+        final Map<Long, GameAPI> games = new LinkedHashMap<>();
+        long records = 0;
+        long bytes = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            final Path file = segmentFile(segments.get(i));
+            bytes += Files.size(file);
+            records += replaySegment(file, games, i == segments.size() - 1);
+        }
+
+        // Continua num segmento novo; as sessões recuperadas começam com um checkpoint nele
+        this.firstSegment = segments.isEmpty() ? 1 : segments.get(0);
+        this.activeSegment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+        this.channel = openSegment(activeSegment);
+        append(NEXT_ID, nextSessionId, 0, 0);
+        final List<Session> sessions = new ArrayList<>(games.size());
+        for (Map.Entry<Long, GameAPI> e : games.entrySet()) {
+            e.getValue().setTransactionLogging(true);
+            final Session s = new Session(e.getKey(), e.getValue());
+            live.put(s.id, s);
+            s.checkpoint();
+            sessions.add(s);
+        }
+        flushPending();
+        deleteSegmentsBefore(activeSegment);
+        this.recovered = Collections.unmodifiableList(sessions);
+        this.recovery = new Recovery(segments.size(), records, bytes, sessions.size(), System.nanoTime() - start);
+
+        this.flusher = new Thread(this::flushLoop, "session-log");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /** Abre (ou cria) o log em dir, recuperando as sessões que ficaram abertas. */
+    public static SessionLog open(final Path dir) throws IOException {
+        return open(dir, DEFAULT_GROUP_MILLIS, DEFAULT_GROUP_BYTES);
+    }
+
+    /**
+     * @param groupMillis espera máxima de um registro antes do fsync do grupo
+     * @param groupBytes  tamanho de grupo que dispara o fsync sem esperar
+     */
+    public static SessionLog open(final Path dir, final int groupMillis, final int groupBytes) throws IOException {
+        return open(dir, groupMillis, groupBytes, DEFAULT_SEGMENT_BYTES, DEFAULT_CHECKPOINT_ACTIONS);
+    }
+
+    static SessionLog open(final Path dir, final int groupMillis, final int groupBytes,
+                           final long segmentBytes, final int checkpointActions) throws IOException {
+        Objects.requireNonNull(dir, "dir");
+        if (groupMillis < 0 || groupBytes <= 0 || segmentBytes <= 0 || checkpointActions <= 0)
+            throw new IllegalArgumentException("Parâmetros do log de sessões inválidos.");
+        Files.createDirectories(dir);
+        return new SessionLog(dir, groupMillis, groupBytes, segmentBytes, checkpointActions);
+    }
+
+    /** Sessões que estavam abertas quando o log foi fechado (ou caiu), já restauradas. */
+    public List<Session> recoveredSessions() { return recovered; }
+
+    public Recovery recovery() { return recovery; }
+
+    /** Registros confirmados (no disco) desde open(). */
+    public long durableRecords() {
+        synchronized (lock) {
+            return durableSeq;
+        }
+    }
+
+    /** Grupos gravados (um fsync cada) desde open(). */
+    public long groupCommits() {
+        synchronized (lock) {
+            return groups;
+        }
+    }
+
+    /** Segmentos em disco (o ativo incluído). */
+    public long segments() {
+        synchronized (lock) {
+            return activeSegment - firstSegment + 1;
+        }
+    }
+
+    /**
+     * Passa a registrar uma partida já iniciada. Retorna depois que o
+     * checkpoint inicial está no disco.
+     */
+    public Session startSession(final GameAPI api) {
+        Objects.requireNonNull(api, "api");
+        final Session s;
+        synchronized (lock) {
+            ensureOpen();
+            s = new Session(nextSessionId++, api);
+            live.put(s.id, s);
+        }
+        s.lock.lock();
+        final long seq;
+        try {
+            seq = s.checkpoint();
+        } finally {
+            s.lock.unlock();
+        }
+        awaitDurable(seq);
+        return s;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flushPending();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /* ===========================================================
+     * Sessão: uma partida cujas ações passam pelo log.
+     * As ações têm o mesmo significado das da GameAPI; cada uma é gravada
+     * (se mudou o estado) e só retorna depois do fsync do seu grupo.
+     * Leituras podem ir direto à api().
+     * =========================================================== */
+    public final class Session {
+
+        private final long id;
+        private final GameAPI api;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int actionsSinceCheckpoint;
+        private volatile long checkpointSegment; // lido pela thread do log em rotate()
+        private volatile boolean closed;
+
+        private Session(final long id, final GameAPI api) {
+            this.id = id;
+            this.api = api;
+        }
+
+        public long id() { return id; }
+        public GameAPI api() { return api; }
+
+        public void rollAndResolve() {
+            lock.lock();
+            final long seq;
+            try {
+                ensureSessionOpen();
+                // Lance recusado (já rolou nesta vez) não muda o estado: nada a gravar
+                if (!api.isRollAllowed()) return;
+                api.rollAndResolve();
+                final GameAPI.DiceData dice = api.getLastDiceData();
+                seq = logged(appendRoll(id, dice.d1(), dice.d2(), api.diceState()));
+            } finally {
+                lock.unlock();
+            }
+            awaitDurable(seq);
+        }
+
+        public boolean chooseBuy() { return choose(BUY); }
+        public boolean chooseBuildHouse() { return choose(BUILD_HOUSE); }
+        public boolean chooseBuildHotel() { return choose(BUILD_HOTEL); }
+
+        public void sellAtIndex(final int boardIndex) {
+            lock.lock();
+            final long seq;
+            try {
+                ensureSessionOpen();
+                api.sellAtIndex(boardIndex);
+                seq = logged(append(SELL, id, boardIndex, 0));
+            } finally {
+                lock.unlock();
+            }
+            awaitDurable(seq);
+        }
+
+        public void endTurn() {
+            lock.lock();
+            final long seq;
+            try {
+                ensureSessionOpen();
+                api.endTurn();
+                seq = logged(append(END_TURN, id, 0, 0));
+            } finally {
+                lock.unlock();
+            }
+            awaitDurable(seq);
+        }
+
+        /** Encerra a sessão: recuperações futuras não a trazem de volta. */
+        public void close() {
+            lock.lock();
+            final long seq;
+            try {
+                if (closed) return;
+                closed = true;
+                seq = append(CLOSE, id, 0, 0);
+                synchronized (SessionLog.this.lock) {
+                    live.remove(id);
+                }
+            } finally {
+                lock.unlock();
+            }
+            awaitDurable(seq);
+        }
+
+        private boolean choose(final byte type) {
+            lock.lock();
+            long seq = 0;
+            final boolean ok;
+            try {
+                ensureSessionOpen();
+                ok = switch (type) {
+                    case BUY -> api.chooseBuy();
+                    case BUILD_HOUSE -> api.chooseBuildHouse();
+                    default -> api.chooseBuildHotel();
+                };
+                if (ok) seq = logged(append(type, id, 0, 0));
+            } finally {
+                lock.unlock();
+            }
+            if (ok) awaitDurable(seq);
+            return ok;
+        }
+
+        /* Depois de cada ação gravada: checkpoint se a sessão acumulou ações ou ficou para trás. */
+        private long logged(final long seq) {
+            if (++actionsSinceCheckpoint >= checkpointActions || checkpointSegment < activeSegment) {
+                return checkpoint();
+            }
+            return seq;
+        }
+
+        /* Chamado com lock da sessão. */
+        private long checkpoint() {
+            final long segment = activeSegment;
+            final long seq = appendCheckpoint(id, api.exportGame());
+            actionsSinceCheckpoint = 0;
+            checkpointSegment = segment;
+            return seq;
+        }
+
+        private void ensureSessionOpen() {
+            if (closed) throw new IllegalStateException("Sessão encerrada.");
+        }
+    }
+
+    // ===== Gravação =====
+
+    private long append(final byte type, final long session, final int a, final int b) {
+        synchronized (lock) {
+            ensureOpen();
+            final int body = type == SELL ? 4 : 0;
+            final ByteBuffer buf = reserve(FRAME_BYTES + 1 + 8 + body);
+            final int start = buf.position();
+            buf.position(start + FRAME_BYTES);
+            buf.put(type).putLong(session);
+            if (type == SELL) buf.putInt(a);
+            return seal(buf, start);
+        }
+    }
+
+    private long appendRoll(final long session, final int d1, final int d2, final long dice) {
+        synchronized (lock) {
+            ensureOpen();
+            final ByteBuffer buf = reserve(FRAME_BYTES + 1 + 8 + 2 + 8);
+            final int start = buf.position();
+            buf.position(start + FRAME_BYTES);
+            buf.put(ROLL).putLong(session);
+            buf.put((byte) d1).put((byte) d2).putLong(dice);
+            return seal(buf, start);
+        }
+    }
+
+    private long appendCheckpoint(final long session, final byte[] game) {
+        synchronized (lock) {
+            ensureOpen();
+            final ByteBuffer buf = reserve(FRAME_BYTES + 1 + 8 + game.length);
+            final int start = buf.position();
+            buf.position(start + FRAME_BYTES);
+            buf.put(CHECKPOINT).putLong(session).put(game);
+            return seal(buf, start);
+        }
+    }
+
+    /* Chamado com 'lock'. Garante espaço em pending. */
+    private ByteBuffer reserve(final int bytes) {
+        if (pending.remaining() < bytes) {
+            final ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending.flip();
+            bigger.put(pending);
+            pending = bigger;
+        }
+        if (pending.position() == 0) {
+            pendingSince = System.nanoTime();
+            lock.notifyAll(); // a thread do log passa a contar o prazo do grupo
+        }
+        return pending;
+    }
+
+    /* Chamado com 'lock'. Preenche tamanho e CRC do registro que começa em start. */
+    private long seal(final ByteBuffer buf, final int start) {
+        final int length = buf.position() - start - FRAME_BYTES;
+        crc.reset();
+        crc.update(buf.array(), start + FRAME_BYTES, length);
+        buf.putInt(start, length).putInt(start + 4, (int) crc.getValue());
+        if (buf.position() >= groupBytes) lock.notifyAll();
+        return ++appendedSeq;
+    }
+
+    private void awaitDurable(final long seq) {
+        synchronized (lock) {
+            boolean interrupted = false;
+            while (durableSeq < seq && failure == null) {
+                if (closed && !flusher.isAlive()) break;
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            if (failure != null) throw new UncheckedIOException("Erro no log de sessões: " + failure.getMessage(), failure);
+            if (durableSeq < seq) throw new IllegalStateException("Log de sessões fechado.");
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Log de sessões fechado.");
+        if (failure != null) throw new UncheckedIOException("Erro no log de sessões: " + failure.getMessage(), failure);
+    }
+
+    // ===== Thread do log =====
+
+    private void flushLoop() {
+        try {
+            while (true) {
+                synchronized (lock) {
+                    // Espera um grupo cheio, o prazo do registro mais antigo ou o fechamento
+                    while (!closed) {
+                        if (pending.position() >= groupBytes) break;
+                        if (pending.position() > 0) {
+                            final long wait = pendingSince + groupNanos - System.nanoTime();
+                            if (wait <= 0) break;
+                            TimeUnit.NANOSECONDS.timedWait(lock, wait);
+                        } else {
+                            lock.wait();
+                        }
+                    }
+                    if (closed && pending.position() == 0) return;
+                }
+                flushPending();
+                if (activeBytes >= segmentBytes) rotate();
+            }
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e;
+                lock.notifyAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* Grava e sincroniza tudo o que está em pending como um grupo. */
+    private void flushPending() throws IOException {
+        final long target;
+        final ByteBuffer group;
+        synchronized (lock) {
+            if (pending.position() == 0) return;
+            group = pending;
+            pending = flushing;
+            flushing = group;
+            target = appendedSeq;
+        }
+        group.flip();
+        activeBytes += group.remaining();
+        while (group.hasRemaining()) channel.write(group);
+        channel.force(false);
+        group.clear();
+        synchronized (lock) {
+            durableSeq = target;
+            groups++;
+            lock.notifyAll();
+        }
+    }
+
+    /*
+     * Abre o próximo segmento, dá checkpoint nas sessões ociosas que ficaram no
+     * anterior e apaga os segmentos que nenhuma sessão viva ainda precisa.
+     */
+    private void rotate() throws IOException {
+        final FileChannel next = openSegment(activeSegment + 1);
+        channel.close();
+        channel = next;
+        activeBytes = 0;
+        final List<Session> sessions;
+        synchronized (lock) {
+            activeSegment++;
+            sessions = new ArrayList<>(live.values());
+        }
+        append(NEXT_ID, nextSessionId, 0, 0);
+        // Sessão ocupada se ajusta sozinha na próxima ação (Session.logged)
+        for (Session s : sessions) {
+            if (s.lock.tryLock()) {
+                try {
+                    if (!s.closed && s.checkpointSegment < activeSegment) s.checkpoint();
+                } finally {
+                    s.lock.unlock();
+                }
+            }
+        }
+        flushPending();
+
+        long keep = activeSegment;
+        for (Session s : sessions) {
+            if (!s.closed) keep = Math.min(keep, s.checkpointSegment);
+        }
+        deleteSegmentsBefore(keep);
+    }
+
+    // ===== Segmentos =====
+
+    private Path segmentFile(final long segment) {
+        return dir.resolve(String.format("wal-%016d.log", segment));
+    }
+
+    private FileChannel openSegment(final long segment) throws IOException {
+        final FileChannel ch = FileChannel.open(segmentFile(segment), StandardOpenOption.CREATE,
+                                                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        activeBytes = 0;
+        return ch;
+    }
+
+    private void deleteSegmentsBefore(final long segment) throws IOException {
+        long first;
+        synchronized (lock) {
+            first = firstSegment;
+        }
+        for (; first < segment; first++) Files.deleteIfExists(segmentFile(first));
+        synchronized (lock) {
+            firstSegment = Math.max(firstSegment, first);
+        }
+    }
+
+    private static List<Long> listSegments(final Path dir) throws IOException {
+        final List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "wal-*.log")) {
+            for (Path f : files) {
+                final String name = f.getFileName().toString();
+                segments.add(Long.parseLong(name.substring(4, name.length() - 4)));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Segmento de log de sessões com nome inválido.", e);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    // ===== Recuperação =====
+
+    /* Aplica os registros de um segmento às partidas; retorna quantos leu. */
+    private long replaySegment(final Path file, final Map<Long, GameAPI> games, final boolean last) throws IOException {
+        final ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+        final CRC32 check = new CRC32();
+        long records = 0;
+        while (buf.hasRemaining()) {
+            final int at = buf.position();
+            final int length = buf.remaining() >= FRAME_BYTES ? buf.getInt() : -1;
+            final int expected = length >= 0 ? buf.getInt() : 0;
+            final boolean whole = length >= 1 + 8 && length <= MAX_RECORD_BYTES && length <= buf.remaining();
+            if (whole) {
+                check.reset();
+                check.update(buf.array(), buf.position(), length);
+            }
+            if (!whole || (int) check.getValue() != expected) {
+                if (last) break; // cauda de um write interrompido
+                throw new IllegalArgumentException("Log de sessões corrompido: " + file.getFileName() + " @" + at);
+            }
+            final int end = buf.position() + length;
+            final byte type = buf.get();
+            final long session = buf.getLong();
+            nextSessionId = Math.max(nextSessionId, type == NEXT_ID ? session : session + 1);
+            if (type == NEXT_ID) {
+                // só o contador
+            } else if (type == CHECKPOINT) {
+                final byte[] game = new byte[end - buf.position()];
+                buf.get(game);
+                final GameAPI api = new GameAPI();
+                api.importGame(game);
+                api.setTransactionLogging(false); // o replay não gera extrato
+                games.put(session, api);
+            } else {
+                final GameAPI api = games.get(session);
+                // Sem checkpoint: sessão encerrada cujo início já foi apagado
+                if (api != null) apply(api, type, buf, games, session);
+            }
+            buf.position(end);
+            records++;
+        }
+        return records;
+    }
+
+    private static void apply(final GameAPI api, final byte type, final ByteBuffer buf,
+                              final Map<Long, GameAPI> games, final long session) {
+        switch (type) {
+            case ROLL -> {
+                api.setMockedDiceValues(buf.get(), buf.get());
+                api.rollAndResolve();
+                api.restoreDiceState(buf.getLong());
+            }
+            case BUY -> api.chooseBuy();
+            case BUILD_HOUSE -> api.chooseBuildHouse();
+            case BUILD_HOTEL -> api.chooseBuildHotel();
+            case SELL -> api.sellAtIndex(buf.getInt());
+            case END_TURN -> api.endTurn();
+            case CLOSE -> games.remove(session);
+            default -> throw new IllegalArgumentException("Registro de log de sessões inválido: " + type);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+
+public class SessionLogTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int CONCURRENT_TIMEOUT = 10000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("session-log");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static GameAPI newGame(long seed, GameAPI.EngineKind kind) {
+        List<PlayerSpec> specs = new ArrayList<>();
+        specs.add(new PlayerSpec("P1", "Alice", PlayerColor.RED));
+        specs.add(new PlayerSpec("P2", "Bob", PlayerColor.BLUE));
+        specs.add(new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 1500, 200_000, seed, kind);
+        return api;
+    }
+
+    private static void playTurns(SessionLog.Session s, int turns) {
+        for (int t = 0; t < turns; t++) {
+            s.rollAndResolve();
+            if (!s.chooseBuy() && !s.chooseBuildHouse()) s.chooseBuildHotel();
+            if (t % 9 == 8) {
+                List<model.api.dto.OwnableInfo> owned = s.api().getCurrentPlayerPropertyData();
+                if (!owned.isEmpty()) s.sellAtIndex(owned.get(0).core().boardIndex());
+            }
+            s.endTurn();
+        }
+    }
+
+    private static Map<Long, Long> hashes(List<SessionLog.Session> sessions) {
+        Map<Long, Long> h = new HashMap<>();
+        for (SessionLog.Session s : sessions) h.put(s.id(), s.api().getStateHash());
+        return h;
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void reopeningShouldRecoverEveryOpenSession() throws IOException {
+        List<SessionLog.Session> sessions = new ArrayList<>();
+        Map<Long, Long> expected;
+        long closedId;
+        try (SessionLog log = SessionLog.open(dir, 0, 1)) {
+            for (int i = 0; i < 4; i++) {
+                SessionLog.Session s = log.startSession(newGame(100 + i, GameAPI.EngineKind.values()[i % 2]));
+                playTurns(s, 20 + i * 7);
+                sessions.add(s);
+            }
+            SessionLog.Session done = sessions.remove(3);
+            done.close();
+            closedId = done.id();
+            expected = hashes(sessions);
+        }
+
+        try (SessionLog log = SessionLog.open(dir)) {
+            assertEquals(3, log.recoveredSessions().size());
+            assertEquals(expected, hashes(log.recoveredSessions()));
+            for (SessionLog.Session s : log.recoveredSessions()) assertNotEquals(closedId, s.id());
+
+            // Sessões novas não reutilizam ids
+            SessionLog.Session fresh = log.startSession(newGame(9, GameAPI.EngineKind.OBJECT));
+            assertTrue(fresh.id() > closedId);
+            // A sessão recuperada continua jogando e sendo gravada
+            playTurns(log.recoveredSessions().get(0), 5);
+            expected = hashes(log.recoveredSessions());
+            expected.put(fresh.id(), fresh.api().getStateHash());
+        }
+
+        try (SessionLog log = SessionLog.open(dir)) {
+            assertEquals(expected, hashes(log.recoveredSessions()));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void endedControllerGameShouldNotBeRecovered() throws IOException {
+        try (SessionLog log = SessionLog.open(dir, 0, 1)) {
+            controller.GameController finished = new controller.GameController(log);
+            finished.startNewGame(3);
+            controller.GameController running = new controller.GameController(log);
+            running.startNewGame(4);
+            for (int t = 0; t < 5; t++) {
+                for (controller.GameController c : new controller.GameController[] { finished, running }) {
+                    c.rollDiceAndPlay();
+                    c.endTurn();
+                }
+            }
+            finished.getWinners();
+            finished.endGame();
+            finished.endGame(); // idempotente
+        }
+
+        try (SessionLog log = SessionLog.open(dir)) {
+            assertEquals(1, log.recoveredSessions().size());
+            assertEquals(4, log.recoveredSessions().get(0).api().getNumberOfPlayers());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void tornTailShouldBeDiscardedAndOlderRecordsKept() throws IOException {
+        Map<Long, Long> expected;
+        try (SessionLog log = SessionLog.open(dir, 0, 1)) {
+            SessionLog.Session s = log.startSession(newGame(3, GameAPI.EngineKind.OBJECT));
+            playTurns(s, 30);
+            expected = hashes(List.of(s));
+        }
+        // Queda no meio de um write: meio registro no fim do último segmento
+        Path last;
+        try (Stream<Path> files = Files.list(dir)) {
+            last = files.max(Comparator.naturalOrder()).orElseThrow();
+        }
+        Files.write(last, new byte[] { 0, 0, 0, 40, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        try (SessionLog log = SessionLog.open(dir)) {
+            assertEquals(expected, hashes(log.recoveredSessions()));
+        }
+    }
+
+    @Test(timeout = CONCURRENT_TIMEOUT)
+    public void concurrentSessionsShouldShareGroupCommits() throws Exception {
+        final int threads = 8;
+        final List<SessionLog.Session> sessions = new ArrayList<>();
+        final Map<Long, Long> expected;
+        final long records;
+        try (SessionLog log = SessionLog.open(dir, 5, 1 << 20)) {
+            for (int i = 0; i < threads; i++) sessions.add(log.startSession(newGame(40 + i, GameAPI.EngineKind.COMPACT)));
+            final long before = log.groupCommits();
+            List<Thread> workers = new ArrayList<>();
+            for (SessionLog.Session s : sessions) {
+                Thread t = new Thread(() -> playTurns(s, 25));
+                workers.add(t);
+                t.start();
+            }
+            for (Thread t : workers) t.join();
+
+            records = log.durableRecords();
+            // Cada ação esperou o próprio fsync, mas as sessões dividiram os grupos
+            assertTrue("grupos: " + (log.groupCommits() - before), log.groupCommits() - before < records / 2);
+            expected = hashes(sessions);
+        }
+        try (SessionLog log = SessionLog.open(dir)) {
+            assertEquals(expected, hashes(log.recoveredSessions()));
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void recoveredSessionShouldKeepTheDiceSequenceAndSkipRefusedRolls() throws IOException {
+        // Gêmea fora do log, com a mesma seed: referência de como a partida continuaria
+        GameAPI twin = newGame(33, GameAPI.EngineKind.COMPACT);
+        try (SessionLog log = SessionLog.open(dir, 0, 1, 1 << 20, 1000)) {
+            SessionLog.Session s = log.startSession(newGame(33, GameAPI.EngineKind.COMPACT));
+            for (int t = 0; t < 15; t++) {
+                s.rollAndResolve();
+                twin.rollAndResolve();
+                long before = log.durableRecords();
+                s.rollAndResolve(); // recusado: já rolou nesta vez
+                assertEquals("lance recusado não vai para o log", before, log.durableRecords());
+                s.endTurn();
+                twin.endTurn();
+            }
+        }
+
+        try (SessionLog log = SessionLog.open(dir)) {
+            SessionLog.Session s = log.recoveredSessions().get(0);
+            assertEquals(twin.getStateHash(), s.api().getStateHash());
+            // Depois da recuperação os dados seguem a mesma sequência da partida original
+            for (int t = 0; t < 15; t++) {
+                s.rollAndResolve();
+                twin.rollAndResolve();
+                assertEquals("turno " + t, twin.getLastDiceData(), s.api().getLastDiceData());
+                s.endTurn();
+                twin.endTurn();
+                assertEquals("turno " + t, twin.getStateHash(), s.api().getStateHash());
+            }
+        }
+    }
+
+    @Test(timeout = CONCURRENT_TIMEOUT)
+    public void checkpointsShouldBoundTheLogReadOnRecovery() throws IOException {
+        final Map<Long, Long> expected;
+        try (SessionLog log = SessionLog.open(dir, 0, 1, 8 << 10, 32)) {
+            List<SessionLog.Session> sessions = new ArrayList<>();
+            for (int i = 0; i < 3; i++) sessions.add(log.startSession(newGame(70 + i, GameAPI.EngineKind.OBJECT)));
+            // Sessão ociosa: só recebe checkpoints da thread do log
+            SessionLog.Session idle = log.startSession(newGame(80, GameAPI.EngineKind.OBJECT));
+            for (int round = 0; round < 20; round++) {
+                for (SessionLog.Session s : sessions) playTurns(s, 10);
+            }
+            sessions.add(idle);
+            expected = hashes(sessions);
+            // Segmentos antigos foram apagados apesar da sessão ociosa
+            assertTrue("segmentos: " + log.segments(), log.segments() <= 3);
+        }
+
+        try (SessionLog log = SessionLog.open(dir)) {
+            assertEquals(expected, hashes(log.recoveredSessions()));
+            SessionLog.Recovery r = log.recovery();
+            assertTrue("segmentos: " + r.segments(), r.segments() <= 3);
+            // O trabalho da recuperação não cresce com a duração das partidas
+            assertTrue("bytes: " + r.bytes(), r.bytes() <= 3L * (16 << 10));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/* ===========================================================
+ * SplitMix64 ; fonte de aleatoriedade dos dados de uma partida.
+ * nextLong é o mesmo do SplittableRandom (mesma mistura e mesmo gama), mas
+ * nextInt não: usa a rejeição do java.util.Random sobre os 31 bits altos,
+ * então os dados sorteados diferem dos de SplittableRandom.nextInt com a
+ * mesma seed. O estado (um long) fica exposto: o save grava o estado e a
+ * partida carregada continua a mesma sequência de lances (ver GameSaveCodec).
+ * =========================================================== */
+
+package model;
+
+final class SplitMix64 {
+
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    SplitMix64(final long seed) {
+        this.state = seed;
+    }
+
+    /* Estado atual (grava-se este long para continuar a sequência depois). */
+    long state() { return state; }
+
+    void setState(final long state) { this.state = state; }
+
+    long nextLong() {
+        long z = (state += GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /* Inteiro uniforme em [origin, bound) (rejeição, como java.util.Random). */
+    int nextInt(final int origin, final int bound) {
+        final int n = bound - origin;
+        if (n <= 0) throw new IllegalArgumentException("Intervalo vazio.");
+        int bits;
+        int val;
+        do {
+            bits = (int) (nextLong() >>> 33);
+            val = bits % n;
+        } while (bits - val + (n - 1) < 0);
+        return origin + val;
+    }
+}
@@ -12,7 +12,16 @@ final class StreetOwnableSquare extends OwnableSquare {
                         final String name,
                         final String id,
                         final int price) {
-        super(index, name, id, price);
+        this(index, name, id, price, PropertyValues.street(price));
+    }
+
+    // Com as tabelas já calculadas pelo BoardDefinition (compartilhadas entre partidas). 
+    StreetOwnableSquare(final int index,
+                        final String name,
+                        final String id,
+                        final int price,
+                        final PropertyValues values) {
+        super(index, name, id, price, values);
         this.houses = 0;
         this.hasHotel = false;
     }
@@ -29,12 +38,12 @@ final class StreetOwnableSquare extends OwnableSquare {
 
     // Custo de construção de uma casa (50% do preço). 
     int getHouseCost() { 
-        return (int) Math.round(getPrice() * 0.5); 
+        return values().houseCost(); 
     }
 
     // Custo de construção do hotel (100% do preço). 
     int getHotelCost() { 
-        return getPrice(); 
+        return values().hotelCost(); 
     }
 
     // Quantas casas a rua possui (0–4). 
@@ -46,21 +55,40 @@ final class StreetOwnableSquare extends OwnableSquare {
     // Constrói 1 casa. 
     void buildHouse() {
         if (!canBuildHouse()) throw new IllegalStateException("Não é possível construir mais casas aqui.");
-        houses++;
+        setBuildings(houses + 1, hasHotel);
     }
 
     // Constrói o hotel. 
     void buildHotel() {
         if (!canBuildHotel()) throw new IllegalStateException("Não é possível construir hotel aqui.");
-        hasHotel = true;
+        setBuildings(houses, true);
     }
     
+    // Restaura construções a partir de um snapshot. 
+    void restoreBuildings(final int houses, final boolean hasHotel) {
+        if (houses < 0 || houses > 4) throw new IllegalArgumentException("houses deve ser 0..4");
+        setBuildings(houses, hasHotel);
+    }
+
+    // Único ponto de escrita das construções (mantém o hash e o patrimônio do dono). 
+    private void setBuildings(final int houses, final boolean hasHotel) {
+        final ZobristHash hash = hash();
+        if (hash != null) {
+            hash.change(ZobristHash.HOUSES, index(), this.houses, houses);
+            hash.change(ZobristHash.HOTEL, index(), this.hasHotel, hasHotel);
+        }
+        final int before = sellValue();
+        this.houses = houses;
+        this.hasHotel = hasHotel;
+        final NetWorthBoard netWorth = netWorth();
+        if (netWorth != null && getOwner() != null) netWorth.add(getOwner().hashIndex(), sellValue() - before);
+    }
+
     // Remove o dono (caso seja o atual) e reseta construções. 
     @Override
     void removeOwner(final Player target) {
         if (this.getOwner() != null && this.getOwner().equals(target)) {
-            this.houses = 0;
-            this.hasHotel = false;
+            setBuildings(0, false);
             setOwner(null);
         }
     }
@@ -74,17 +102,16 @@ final class StreetOwnableSquare extends OwnableSquare {
         return spentOnBuilds;
     }
 
-    // Calcula o aluguel conforme fórmula: Va = Vb + Vc*n + Vh
-    // Vb = valor base (10% do preço)
-    // Vc = valor por casa (15% do preço)
-    // Vh = valor do hotel (30% do preço)
+    // Valor de recompra pelo banco no nível atual (0 sem dono). 
+    @Override
+    int sellValue() {
+        return getOwner() == null ? 0 : values().sellValue(PropertyValues.level(houses, hasHotel));
+    }
+
+    // Aluguel conforme fórmula Va = Vb + Vc*n + Vh (tabela por nível em PropertyValues)
     @Override
     int calcRent(final GameEngine engine) {
-        int price = getPrice();
-        int vb = (int) Math.round(price * 0.1);  // valor base
-        int vc = (int) Math.round(price * 0.15); // valor por casa
-        int vh = hasHotel ? (int) Math.round(price * 0.3) : 0; // valor do hotel
-        return vb + (vc * houses) + vh;
+        return values().rent(PropertyValues.level(houses, hasHotel));
     }
 
     // Efeito ao cair na casa. 
@@ -0,0 +1,241 @@
+/* ===========================================================
+ * TransactionJournal ; diário de transações em buffer circular limitado.
+ * Um único produtor (a partida) e vários consumidores (UI, persistência, análise),
+ * cada um com o seu Cursor: ler não copia nem limpa nada e não usa locks.
+ * Cada transação recebe um número de sequência crescente (0, 1, 2, ...).
+ * Um consumidor lento demais é ultrapassado: as entradas sobrescritas são
+ * puladas e contadas em Cursor.lost().
+ * Acertos de um jogador com todos os outros (cartas PAY_ALL/RECEIVE_ALL) são
+ * uma única entrada composta com a parte ALL: valor = total, e o saldo do lado
+ * ALL = soma dos saldos dos outros jogadores envolvidos após o acerto.
+ * =========================================================== */
+
+package model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.api.dto.PlayerColor;
+import model.api.dto.Transaction;
+
+public final class TransactionJournal {
+
+    /** Índice de parte que representa o banco. */
+    public static final int BANK = -1;
+    /** Índice de parte que representa os demais jogadores (entrada composta). */
+    public static final int ALL = -2;
+    static final String BANK_NAME = "BANK";
+    static final String ALL_NAME = "ALL";
+    static final int DEFAULT_CAPACITY = 1024;
+
+    /** Recebe as transações lidas por um cursor (valores primitivos, sem objetos). */
+    @FunctionalInterface
+    public interface Visitor {
+        void onTransaction(long sequence, int from, int to, int amount,
+                           int fromBalanceAfter, int toBalanceAfter);
+    }
+
+    private static final VarHandle CLAIMED;
+    private static final VarHandle PUBLISHED;
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CLAIMED = lookup.findVarHandle(TransactionJournal.class, "claimed", long.class);
+            PUBLISHED = lookup.findVarHandle(TransactionJournal.class, "published", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // --- Buffer circular: a entrada da sequência s ocupa SLOT ints a partir de (s & mask) * SLOT ---
+    private static final int SLOT = 8; // 5 campos + folga: uma entrada = meia linha de cache
+    private static final int FROM = 0, TO = 1, AMOUNT = 2, FROM_BALANCE = 3, TO_BALANCE = 4;
+    private final int mask;
+    private final int[] slots;
+
+    // --- Partes (jogadores) referenciadas pelas transações ---
+    private String[] names = new String[8];
+    private PlayerColor[] colors = new PlayerColor[8];
+    private int parties;
+
+    // claimed: próxima sequência em escrita; published: sequências < published estão legíveis
+    @SuppressWarnings("unused") private long claimed;
+    @SuppressWarnings("unused") private long published;
+    private long next; // só o produtor lê/escreve
+
+    TransactionJournal() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    TransactionJournal(final int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Capacidade deve ser potência de 2.");
+        this.mask = capacity - 1;
+        this.slots = new int[capacity * SLOT];
+    }
+
+    // ===== Produtor =====
+
+    /* Registra uma parte (jogador) e retorna o seu índice no diário. */
+    int registerParty(final String name, final PlayerColor color) {
+        if (parties == names.length) {
+            names = Arrays.copyOf(names, parties * 2);
+            colors = Arrays.copyOf(colors, parties * 2);
+        }
+        names[parties] = name;
+        colors[parties] = color;
+        return parties++;
+    }
+
+    /* Acrescenta uma transação (BANK = -1 / ALL = -2 em from/to); não aloca. */
+    void append(final int fromParty, final int toParty, final int value,
+                final int fromBalanceAfter, final int toBalanceAfter) {
+        final long seq = next;
+        // Marca o slot como "em escrita" antes de tocá-lo (leitores detectam sobrescrita)
+        CLAIMED.setOpaque(this, seq + 1);
+        VarHandle.storeStoreFence();
+
+        final int i = ((int) seq & mask) * SLOT;
+        slots[i + FROM] = fromParty;
+        slots[i + TO] = toParty;
+        slots[i + AMOUNT] = value;
+        slots[i + FROM_BALANCE] = fromBalanceAfter;
+        slots[i + TO_BALANCE] = toBalanceAfter;
+
+        next = seq + 1;
+        PUBLISHED.setRelease(this, seq + 1);
+    }
+
+    // ===== Consumidores =====
+
+    /** Cursor posicionado na próxima transação (só vê o que acontecer daqui em diante). */
+    public Cursor newCursor() {
+        return new Cursor(publishedSequence());
+    }
+
+    /** Cursor posicionado na transação mais antiga ainda no buffer. */
+    public Cursor newCursorFromOldest() {
+        return new Cursor(Math.max(0L, publishedSequence() - capacity()));
+    }
+
+    /** Quantidade de transações já publicadas (= próxima sequência). */
+    public long publishedSequence() {
+        return (long) PUBLISHED.getAcquire(this);
+    }
+
+    public int capacity() { return mask + 1; }
+
+    /* Heap aproximado do diário: o array do anel domina. */
+    long estimatedBytes() {
+        return 16 + 4L * SLOT * capacity() + 2L * (16 + 8L * names.length) + 64;
+    }
+
+    /** Nome da parte (ou "BANK" / "ALL"). */
+    public String partyName(final int party) {
+        return party == BANK ? BANK_NAME : party == ALL ? ALL_NAME : names[party];
+    }
+
+    /** Cor da parte (null para o banco e para ALL). */
+    public PlayerColor partyColor(final int party) {
+        return party < 0 ? null : colors[party];
+    }
+
+    /**
+     * Posição de leitura de um consumidor. Cada consumidor usa o seu próprio cursor
+     * (um cursor não deve ser compartilhado entre threads).
+     */
+    public final class Cursor {
+
+        private long position;
+        private long lost;
+
+        private Cursor(final long position) {
+            this.position = position;
+        }
+
+        /** Sequência da próxima transação a ser lida. */
+        public long position() { return position; }
+
+        /** Transações perdidas por terem sido sobrescritas antes da leitura. */
+        public long lost() { return lost; }
+
+        /** Transações publicadas e ainda não lidas (inclui as já sobrescritas). */
+        public long pending() { return publishedSequence() - position; }
+
+        /** Entrega ao visitor todas as transações pendentes; retorna quantas entregou. */
+        public int poll(final Visitor visitor) {
+            return poll(visitor, Integer.MAX_VALUE);
+        }
+
+        /** Entrega no máximo max transações pendentes; retorna quantas entregou. */
+        public int poll(final Visitor visitor, final int max) {
+            final long available = publishedSequence();
+            int delivered = 0;
+            while (position < available && delivered < max) {
+                final long seq = position;
+                if (available - seq > capacity()) {
+                    skipTo(available - capacity());
+                    continue;
+                }
+                final int i = ((int) seq & mask) * SLOT;
+                final int f = slots[i + FROM];
+                final int t = slots[i + TO];
+                final int a = slots[i + AMOUNT];
+                final int fb = slots[i + FROM_BALANCE];
+                final int tb = slots[i + TO_BALANCE];
+
+                // Confere se o produtor não reescreveu o slot durante a leitura
+                VarHandle.loadLoadFence();
+                final long claimedNow = (long) CLAIMED.getOpaque(TransactionJournal.this);
+                if (claimedNow - capacity() > seq) {
+                    skipTo(claimedNow - capacity());
+                    continue;
+                }
+
+                position = seq + 1;
+                delivered++;
+                visitor.onTransaction(seq, f, t, a, fb, tb);
+            }
+            return delivered;
+        }
+
+        /**
+         * Lê as pendentes como DTOs (aloca; conveniente para a UI). A sobrescrita é
+         * conferida uma vez, no fim do lote: os DTOs de slots que o produtor reescreveu
+         * durante a leitura são descartados e contados em lost().
+         */
+        public List<Transaction> pollTransactions() {
+            final long available = publishedSequence();
+            if (position >= available) return List.of();
+            if (available - position > capacity()) skipTo(available - capacity());
+            final long first = position;
+            final int n = (int) (available - first);
+            final List<Transaction> out = new ArrayList<>(n);
+            for (int k = 0; k < n; k++) {
+                final int i = ((int) (first + k) & mask) * SLOT;
+                final int f = slots[i + FROM];
+                final int t = slots[i + TO];
+                out.add(new Transaction(partyName(f), partyColor(f), partyName(t), partyColor(t),
+                                        slots[i + AMOUNT], slots[i + FROM_BALANCE], slots[i + TO_BALANCE]));
+            }
+
+            VarHandle.loadLoadFence();
+            final long oldestValid = (long) CLAIMED.getOpaque(TransactionJournal.this) - capacity();
+            position = available;
+            if (oldestValid > first) {
+                final int skipped = (int) Math.min(oldestValid - first, n);
+                lost += skipped;
+                out.subList(0, skipped).clear();
+            }
+            return out;
+        }
+
+        private void skipTo(final long oldestValid) {
+            lost += oldestValid - position;
+            position = oldestValid;
+        }
+    }
+}
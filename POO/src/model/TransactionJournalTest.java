@@ -0,0 +1,105 @@
+package model;
+
+import static org.junit.Assert.*;
+import static model.api.dto.PlayerColor.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import model.api.dto.Transaction;
+
+public class TransactionJournalTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void eachCursorShouldSeeEveryTransactionIndependently() {
+        Bank bank = new Bank(10_000);
+        Player a = new Player("P1", "Alice", RED, 1000);
+        Player b = new Player("P2", "Bob", BLUE, 1000);
+        TransactionJournal journal = bank.journal();
+        TransactionJournal.Cursor ui = journal.newCursor();
+        TransactionJournal.Cursor analytics = journal.newCursor();
+
+        bank.transfer(a, b, 100);
+        bank.transfer(null, a, 50);
+        bank.transfer(b, null, 30);
+
+        List<Long> seen = new ArrayList<>();
+        assertEquals(3, ui.poll((seq, f, t, amt, fb, tb) -> seen.add(seq)));
+        assertEquals(List.of(0L, 1L, 2L), seen);
+        assertEquals(0, ui.poll((seq, f, t, amt, fb, tb) -> fail("nada pendente")));
+
+        // Outro consumidor continua vendo tudo (ler não limpa o diário)
+        List<Transaction> txs = analytics.pollTransactions();
+        assertEquals(3, txs.size());
+        assertEquals("Alice", txs.get(0).fromId);
+        assertEquals("Bob", txs.get(0).toId);
+        assertEquals(900, txs.get(0).fromBalanceAfter);
+        assertEquals("BANK", txs.get(1).fromId);
+        assertEquals(9_950, txs.get(1).fromBalanceAfter);
+        assertEquals("BANK", txs.get(2).toId);
+        assertNull(txs.get(2).toColor);
+
+        // A drenagem legada tem o próprio cursor
+        assertEquals(3, bank.drainTransactions().size());
+        assertTrue(bank.drainTransactions().isEmpty());
+        assertEquals(3, journal.publishedSequence());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void slowCursorShouldSkipOverwrittenEntriesAndCountThem() {
+        TransactionJournal journal = new TransactionJournal(8);
+        int alice = journal.registerParty("Alice", RED);
+        TransactionJournal.Cursor slow = journal.newCursorFromOldest();
+
+        for (int i = 0; i < 20; i++) journal.append(alice, TransactionJournal.BANK, i, 0, 0);
+
+        List<Integer> amounts = new ArrayList<>();
+        assertEquals(8, slow.poll((seq, f, t, amt, fb, tb) -> amounts.add(amt)));
+        assertEquals(12, slow.lost());
+        assertEquals(List.of(12, 13, 14, 15, 16, 17, 18, 19), amounts);
+        assertEquals(20, slow.position());
+
+        // Cursor novo a partir do mais antigo ainda disponível
+        assertEquals(12, journal.newCursorFromOldest().position());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void concurrentReaderShouldNeverSeeTornOrOutOfOrderEntries() throws Exception {
+        final TransactionJournal journal = new TransactionJournal(64);
+        final int party = journal.registerParty("Alice", RED);
+        final int total = 200_000;
+        final AtomicReference<String> error = new AtomicReference<>();
+        final long[] delivered = new long[1];
+
+        final TransactionJournal.Cursor cursor = journal.newCursor();
+        Thread reader = new Thread(() -> {
+            final long[] last = { -1 };
+            while (cursor.position() < total && error.get() == null) {
+                delivered[0] += cursor.poll((seq, f, t, amt, fb, tb) -> {
+                    // Produtor grava colunas derivadas da sequência: qualquer mistura é detectada
+                    if (seq <= last[0]) error.set("fora de ordem: " + seq);
+                    if (amt != (int) seq || fb != (int) seq * 3 || tb != (int) seq * 7) {
+                        error.set("entrada inconsistente em " + seq);
+                    }
+                    last[0] = seq;
+                });
+                Thread.yield();
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < total; i++) {
+            journal.append(party, TransactionJournal.BANK, i, i * 3, i * 7);
+            if ((i & 1023) == 0) Thread.yield();
+        }
+        reader.join();
+
+        assertNull(error.get());
+        assertEquals(total, delivered[0] + cursor.lost());
+    }
+}
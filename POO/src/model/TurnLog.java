@@ -0,0 +1,263 @@
+/* ===========================================================
+ * TurnLog ; log append-only das operações que mudam o estado da partida,
+ * com checkpoints completos periódicos.
+ * Cada evento ocupa um int: tipo (8 bits) | jogador (8) | a (8) | b (8).
+ *   ROLL a=dado1 b=dado2 | BUY/BUILD_HOUSE/BUILD_HOTEL/SELL a=casa
+ *   CARD a=id da carta   | END_TURN a=próximo jogador
+ * Após cada ação vêm os deltas de estado visível (valores absolutos), que permitem
+ * exibir a partida sem executar as regras (ver ReplayReader):
+ *   MONEY (+1 int com o saldo) | POSITION a=nova b=anterior | OWNER jogador=dono+1 a=casa
+ *   BUILDINGS a=casa b=casas|0x80 se hotel | STATUS a=flags (1 preso, 2 vivo) b=cartões
+ * O turno N é o estado após N eventos END_TURN. Para reconstruí-lo, restaura-se
+ * o checkpoint mais próximo (<= N) e reaplicam-se os eventos seguintes; os dados
+ * vêm do log, então a fonte aleatória não é usada.
+ * =========================================================== */
+
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+final class TurnLog {
+
+    // --- Tipos de evento ---
+    static final int ROLL = 1;
+    static final int BUY = 2;
+    static final int BUILD_HOUSE = 3;
+    static final int BUILD_HOTEL = 4;
+    static final int SELL = 5;
+    static final int CARD = 6;
+    static final int END_TURN = 7;
+
+    // --- Deltas de estado (ignorados no replay pelo motor) ---
+    static final int MONEY = 8;
+    static final int POSITION = 9;
+    static final int OWNER = 10;
+    static final int BUILDINGS = 11;
+    static final int STATUS = 12;
+
+    static final int HOTEL_BIT = 0x80;
+    static final int STATUS_IN_JAIL = 1;
+    static final int STATUS_ALIVE = 2;
+
+    private final int checkpointInterval;
+
+    private int[] events = new int[1024];
+    private int eventCount;
+
+    // turnStarts[t] = índice do primeiro evento do turno t (turnStarts[0] = 0)
+    private int[] turnStarts = new int[256];
+    private int turns;
+
+    // checkpoints.get(i) = estado no início do turno i * checkpointInterval
+    private final List<EngineSnapshot> checkpoints = new ArrayList<>();
+
+    TurnLog(final int checkpointInterval, final EngineSnapshot initialState) {
+        if (checkpointInterval <= 0) throw new IllegalArgumentException("Intervalo de checkpoint deve ser > 0.");
+        this.checkpointInterval = checkpointInterval;
+        this.checkpoints.add(initialState);
+    }
+
+    // ===== Escrita =====
+
+    void append(final int type, final int player, final int a, final int b) {
+        if ((a & ~0xFF) != 0 || (b & ~0xFF) != 0 || (player & ~0xFF) != 0)
+            throw new IllegalArgumentException("Valor de evento fora de 0..255.");
+        if (eventCount + 2 > events.length) events = Arrays.copyOf(events, events.length * 2);
+        events[eventCount++] = (type << 24) | (player << 16) | (a << 8) | b;
+
+        if (type == END_TURN) {
+            turns++;
+            if (turns == turnStarts.length) turnStarts = Arrays.copyOf(turnStarts, turns * 2);
+            turnStarts[turns] = eventCount;
+        }
+    }
+
+    /* Registra como deltas tudo o que é visível e mudou entre dois estados. */
+    void appendChanges(final EngineSnapshot before, final EngineSnapshot after) {
+        for (int i = 0; i < after.players; i++) {
+            if (before.money[i] != after.money[i]) {
+                append(MONEY, i, 0, 0);
+                events[eventCount++] = after.money[i];
+            }
+            if (before.position[i] != after.position[i]) {
+                append(POSITION, i, after.position[i], before.position[i]);
+            }
+            if (before.inJail[i] != after.inJail[i] || before.alive[i] != after.alive[i]
+                || before.jailCards[i] != after.jailCards[i]) {
+                append(STATUS, i, statusFlags(after.inJail[i], after.alive[i]), after.jailCards[i]);
+            }
+        }
+        for (int sq = 0; sq < after.squares; sq++) {
+            if (before.owner[sq] != after.owner[sq]) {
+                append(OWNER, after.owner[sq] + 1, sq, 0);
+            }
+            if (before.houses[sq] != after.houses[sq] || before.hotel[sq] != after.hotel[sq]) {
+                append(BUILDINGS, 0, sq, after.houses[sq] | (after.hotel[sq] != 0 ? HOTEL_BIT : 0));
+            }
+        }
+    }
+
+    static int statusFlags(final boolean inJail, final boolean alive) {
+        return (inJail ? STATUS_IN_JAIL : 0) | (alive ? STATUS_ALIVE : 0);
+    }
+
+    /* Verdadeiro logo após o END_TURN que fecha um intervalo de checkpoint. */
+    boolean checkpointDue() {
+        return turns % checkpointInterval == 0 && checkpoints.size() <= turns / checkpointInterval;
+    }
+
+    void addCheckpoint(final EngineSnapshot state) {
+        checkpoints.add(state);
+    }
+
+    /* Descarta tudo o que veio depois do início do turno 'turn'. */
+    void truncate(final int turn) {
+        checkTurn(turn);
+        eventCount = turnStarts[turn];
+        turns = turn;
+        final int keep = turn / checkpointInterval + 1;
+        while (checkpoints.size() > keep) checkpoints.remove(checkpoints.size() - 1);
+    }
+
+    // ===== Leitura =====
+
+    int turnCount() { return turns; }
+    int eventCount() { return eventCount; }
+    int checkpointInterval() { return checkpointInterval; }
+    int checkpointCount() { return checkpoints.size(); }
+    EngineSnapshot checkpoint(final int i) { return checkpoints.get(i); }
+    int event(final int i) { return events[i]; }
+    int turnStart(final int turn) { return turnStarts[turn]; }
+
+    static int type(final int event) { return event >>> 24; }
+    static int player(final int event) { return (event >>> 16) & 0xFF; }
+    static int a(final int event) { return (event >>> 8) & 0xFF; }
+    static int b(final int event) { return event & 0xFF; }
+
+    /* Tamanho do evento em ints (MONEY carrega o saldo no int seguinte). */
+    static int length(final int event) { return type(event) == MONEY ? 2 : 1; }
+
+    // ===== Codificação (arquivo: ver GameAPI.saveTurnLog) =====
+
+    /* Tamanho máximo de writeTo, dado o tamanho máximo de um estado. */
+    int maxEncodedBytes(final int maxStateBytes) {
+        return 4 + 4 + 4 * eventCount + 4 + 4 * (turns + 1) + 4 + checkpoints.size() * maxStateBytes;
+    }
+
+    /*
+     * Layout: int intervalo, int eventos, int[] eventos, int turnos, int[] início de cada turno
+     * (turnos + 1), int checkpoints, estados (GameSaveCodec.writeState).
+     */
+    void writeTo(final ByteBuffer buf) {
+        buf.putInt(checkpointInterval);
+        buf.putInt(eventCount);
+        for (int i = 0; i < eventCount; i++) buf.putInt(events[i]);
+        buf.putInt(turns);
+        for (int t = 0; t <= turns; t++) buf.putInt(turnStarts[t]);
+        buf.putInt(checkpoints.size());
+        for (EngineSnapshot s : checkpoints) GameSaveCodec.writeState(buf, s);
+    }
+
+    static TurnLog readFrom(final ByteBuffer buf, final Supplier<EngineSnapshot> newState) {
+        final int interval = buf.getInt();
+        final int eventCount = buf.getInt();
+        if (eventCount < 0 || eventCount > buf.remaining() / 4)
+            throw new IllegalArgumentException("Log de turnos inválido (eventos).");
+        final int[] events = new int[Math.max(eventCount, 16)];
+        for (int i = 0; i < eventCount; i++) events[i] = buf.getInt();
+        final int turns = buf.getInt();
+        if (turns < 0 || turns > eventCount)
+            throw new IllegalArgumentException("Log de turnos inválido (turnos).");
+        final int[] turnStarts = new int[turns + 16];
+        for (int t = 0; t <= turns; t++) turnStarts[t] = buf.getInt();
+        final int count = buf.getInt();
+        if (count <= 0 || count > turns / interval + 1)
+            throw new IllegalArgumentException("Log de turnos inválido (checkpoints).");
+
+        EngineSnapshot first = null;
+        final List<EngineSnapshot> rest = new ArrayList<>(count - 1);
+        for (int i = 0; i < count; i++) {
+            final EngineSnapshot s = newState.get();
+            GameSaveCodec.readState(buf, s);
+            if (i == 0) first = s;
+            else rest.add(s);
+        }
+        final TurnLog log = new TurnLog(interval, first);
+        log.checkpoints.addAll(rest);
+        log.events = events;
+        log.eventCount = eventCount;
+        log.turnStarts = turnStarts;
+        log.turns = turns;
+        return log;
+    }
+
+    // ===== Replay =====
+
+    /*
+     * Reconstrói em target (mesma forma de partida, sem log anexado) o estado
+     * no início do turno 'turn'. Lança IllegalStateException se o motor divergir do log.
+     */
+    void replay(final GameCore target, final int turn) {
+        checkTurn(turn);
+        final int cp = Math.min(turn / checkpointInterval, checkpoints.size() - 1);
+        target.restoreFrom(checkpoints.get(cp));
+        final int from = turnStarts[cp * checkpointInterval];
+        final int to = turnStarts[turn];
+        for (int i = from; i < to; i += length(events[i])) {
+            apply(target, events[i], i);
+        }
+    }
+
+    /* Aplica um evento no motor, conferindo o resultado com o que foi registrado. */
+    static void apply(final GameCore target, final int event, final int index) {
+        final int a = a(event);
+        switch (type(event)) {
+            case ROLL:
+                target.setMockedDiceValues(a, b(event));
+                target.rollAndResolve();
+                break;
+            case BUY:
+                expect(target.chooseBuy(), event, index);
+                break;
+            case BUILD_HOUSE:
+                expect(target.chooseBuildHouse(), event, index);
+                break;
+            case BUILD_HOTEL:
+                expect(target.chooseBuildHotel(), event, index);
+                break;
+            case SELL:
+                target.sellAtIndex(a);
+                break;
+            case CARD:
+                expect(target.lastDrawedCardIndex() == a, event, index);
+                break;
+            case END_TURN:
+                expect(target.endTurn() == a, event, index);
+                break;
+            case MONEY:
+            case POSITION:
+            case OWNER:
+            case BUILDINGS:
+            case STATUS:
+                break; // consequência das ações acima; o motor já chegou ao mesmo estado
+            default:
+                throw new IllegalStateException("Evento desconhecido no log: " + type(event));
+        }
+    }
+
+    private static void expect(final boolean ok, final int event, final int index) {
+        if (!ok) {
+            throw new IllegalStateException("Replay divergiu do log no evento " + index
+                                            + " (tipo " + type(event) + ").");
+        }
+    }
+
+    private void checkTurn(final int turn) {
+        if (turn < 0 || turn > turns)
+            throw new IllegalArgumentException("Turno fora do log: " + turn + " (0.." + turns + ")");
+    }
+}
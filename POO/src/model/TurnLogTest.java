@@ -0,0 +1,205 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+
+public class TurnLogTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("turnlog-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private GameAPI newGame(GameAPI.EngineKind kind) {
+        List<PlayerSpec> specs = new ArrayList<>();
+        specs.add(new PlayerSpec("P1", "Alice", PlayerColor.RED));
+        specs.add(new PlayerSpec("P2", "Bob", PlayerColor.BLUE));
+        specs.add(new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 1500, 200_000, 33L, kind);
+        return api;
+    }
+
+    /* Joga 'turns' turnos com log ativo e devolve o estado no início de cada turno (0..turns). */
+    private List<String> playLogged(GameAPI api, int turns) {
+        api.enableTurnLog(8);
+        List<String> states = new ArrayList<>();
+        states.add(describe(api));
+        for (int t = 0; t < turns; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy()) {
+                if (!api.chooseBuildHouse()) api.chooseBuildHotel();
+            }
+            if (t % 17 == 16) api.sellAtIndex(firstOwned(api));
+            api.endTurn();
+            states.add(describe(api));
+        }
+        assertEquals(turns, api.getLoggedTurnCount());
+        return states;
+    }
+
+    private int firstOwned(GameAPI api) {
+        int current = api.getCurrentPlayerIndex();
+        for (int idx = 0; idx < 40; idx++) {
+            var street = api.getStreetOwnableInfo(idx);
+            if (street != null && street.core().owner() != null
+                && street.core().owner().id().equals("P" + (current + 1))) return idx;
+        }
+        return 0;
+    }
+
+    private String describe(GameAPI api) {
+        StringBuilder sb = new StringBuilder("vez=" + api.getCurrentPlayerIndex());
+        for (int i = 0; i < api.getNumberOfPlayers(); i++) {
+            sb.append(" | ").append(api.getPlayerMoney(i)).append(' ').append(api.getPlayerPosition(i))
+              .append(' ').append(api.isPlayerInJail(i)).append(' ').append(api.isPlayerAlive(i));
+        }
+        for (int idx = 0; idx < 40; idx++) {
+            var street = api.getStreetOwnableInfo(idx);
+            if (street != null && street.core().owner() != null) {
+                sb.append(" | #").append(idx).append(' ').append(street.core().owner().id())
+                  .append(' ').append(street.propertyHouseNumber()).append(' ').append(street.propertyHasHotel());
+            }
+            var company = api.getCompanyOwnableInfo(idx);
+            if (company != null && company.core().owner() != null) {
+                sb.append(" | #").append(idx).append(' ').append(company.core().owner().id());
+            }
+        }
+        return sb.toString();
+    }
+
+    private void assertRewind(GameAPI.EngineKind kind) {
+        GameAPI api = newGame(kind);
+        List<String> states = playLogged(api, 120);
+
+        // Dentro e fora dos checkpoints, e de trás para frente (o log é truncado a cada rewind)
+        for (int turn : new int[] { 117, 96, 41, 40, 7, 0 }) {
+            api.rewindToTurn(turn);
+            assertEquals("turno " + turn, states.get(turn), describe(api));
+            assertEquals(turn, api.getLoggedTurnCount());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void objectEngineShouldRewindToAnyLoggedTurn() {
+        assertRewind(GameAPI.EngineKind.OBJECT);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void compactEngineShouldRewindToAnyLoggedTurn() {
+        assertRewind(GameAPI.EngineKind.COMPACT);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void savedLogShouldRebuildAnyTurnWithoutTheOriginalSeed() {
+        GameAPI api = newGame(GameAPI.EngineKind.OBJECT);
+        List<String> states = playLogged(api, 90);
+        Path file = dir.resolve("game.mtlg");
+        api.saveTurnLog(file);
+
+        GameAPI latest = new GameAPI();
+        latest.loadTurnLog(file);
+        assertEquals(states.get(90), describe(latest));
+        assertEquals(90, latest.getLoggedTurnCount());
+
+        GameAPI audit = new GameAPI();
+        audit.loadTurnLog(file, 53);
+        assertEquals(states.get(53), describe(audit));
+
+        // A partida continua registrando a partir do turno carregado
+        audit.rollAndResolve();
+        audit.endTurn();
+        assertEquals(54, audit.getLoggedTurnCount());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void restoringASnapshotShouldBeRejectedWhileLogging() {
+        GameAPI api = newGame(GameAPI.EngineKind.COMPACT);
+        EngineSnapshot start = api.createSnapshot();
+        List<String> states = playLogged(api, 6);
+        try {
+            api.restoreSnapshot(start);
+            fail("restoreSnapshot com log ativo deveria ser recusado");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().contains("rewindToTurn"));
+        }
+
+        // Nada mudou: o log continua descrevendo a partida jogada
+        assertEquals(states.get(6), describe(api));
+        for (int t = 0; t < 6; t++) {
+            api.rollAndResolve();
+            api.endTurn();
+        }
+        assertEquals(12, api.getLoggedTurnCount());
+        api.rewindToTurn(5);
+        assertEquals(states.get(5), describe(api));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void tamperedEventShouldBeReportedAsDivergence() throws IOException {
+        GameAPI api = newGame(GameAPI.EngineKind.COMPACT);
+        playLogged(api, 30);
+        Path file = dir.resolve("tampered.mtlg");
+        api.saveTurnLog(file);
+
+        // Localiza os eventos: preâmbulo + cabeçalho + intervalo + quantidade
+        List<PlayerSpec> specs = List.of(new PlayerSpec("P1", "Alice", PlayerColor.RED),
+                                         new PlayerSpec("P2", "Bob", PlayerColor.BLUE),
+                                         new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+        ByteBuffer header = ByteBuffer.allocate(1024);
+        new GameSaveCodec.Header(GameAPI.EngineKind.COMPACT, GameAPI.LiquidationPolicy.MIN_VALUE, BOARD_CSV, DECK_CSV,
+                                 DefinitionCache.contentHash(BOARD_CSV), DefinitionCache.contentHash(DECK_CSV),
+                                 specs, 0, 0).write(header);
+        int events = 6 + header.position() + 8;
+
+        // Primeiro END_TURN passa a apontar para o jogador errado; CRC recalculado
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        int at = events;
+        while (TurnLog.type(buf.getInt(at)) != TurnLog.END_TURN) at += 4;
+        bytes[at + 2] = (byte) ((bytes[at + 2] + 1) % 3);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        buf.putInt(bytes.length - 4, (int) crc.getValue());
+        Files.write(file, bytes);
+
+        GameAPI loaded = new GameAPI();
+        try {
+            loaded.loadTurnLog(file, 5);
+            fail("Divergência deveria ser detectada");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().contains("divergiu"));
+        }
+    }
+}
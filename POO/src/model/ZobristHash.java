@@ -0,0 +1,80 @@
+/* ===========================================================
+ * ZobristHash ; hash de 64 bits do estado visível de uma partida, mantido
+ * de forma incremental (XOR da chave antiga e da nova a cada mudança).
+ *
+ * Componentes (os mesmos que o TurnLog/ReplayReader reconstroem):
+ *   por jogador: posição, saldo, preso, vivo, cartas de saída livre
+ *   por casa:    dono, casas, hotel
+ *   turno:       jogador da vez
+ * Caixa do banco, ordem do baralho, dados e flags do turno ficam de fora.
+ * Cada componente sempre contribui com key(tipo, alvo, valor), inclusive
+ * valores "vazios" (sem dono = -1, 0 casas): a troca é sempre um XOR duplo.
+ * As chaves vêm de uma função fixa (finalizador do SplitMix64), sem tabelas:
+ * servem para qualquer forma de partida e são as mesmas em todo processo.
+ * Custo: cada troca calcula duas chaves (~4 ns); um turno típico faz 3-4
+ * trocas (posição, saldos, jogador da vez). A atualização é feita na escrita
+ * porque a simulação lê o hash a cada turno; recalcular do zero (of) custa
+ * ~140 chaves por leitura.
+ * =========================================================== */
+
+package model;
+
+final class ZobristHash {
+
+    static final int POSITION = 1;
+    static final int MONEY = 2;
+    static final int IN_JAIL = 3;
+    static final int ALIVE = 4;
+    static final int JAIL_CARDS = 5;
+    static final int OWNER = 6;
+    static final int HOUSES = 7;
+    static final int HOTEL = 8;
+    static final int CURRENT = 9;
+
+    private static final long SEED = 0x6A09E667F3BCC909L;
+
+    private long value;
+    private boolean suspended; // restauração em curso: o valor final vem do snapshot
+
+    long value() { return value; }
+
+    void set(final long value) { this.value = value; }
+
+    /* Liga/desliga as atualizações incrementais (o motor desliga durante restoreFrom). */
+    void setSuspended(final boolean flag) { this.suspended = flag; }
+
+    /* Componente (tipo, alvo) passou de 'from' para 'to'. */
+    void change(final int kind, final int target, final int from, final int to) {
+        if (from != to && !suspended) value ^= key(kind, target, from) ^ key(kind, target, to);
+    }
+
+    void change(final int kind, final int target, final boolean from, final boolean to) {
+        if (from != to && !suspended) value ^= key(kind, target, 0) ^ key(kind, target, 1);
+    }
+
+    /* Chave de um componente: bijeção de (tipo, alvo, valor) em 64 bits. */
+    static long key(final int kind, final int target, final int v) {
+        long z = ((long) kind << 56 | (long) (target & 0xFFFFFF) << 32 | (v & 0xFFFFFFFFL)) + SEED;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /* Hash calculado do zero a partir de um snapshot (referência para o incremental). */
+    static long of(final EngineSnapshot s) {
+        long h = key(CURRENT, 0, s.currentPlayerIndex);
+        for (int p = 0; p < s.players; p++) {
+            h ^= key(POSITION, p, s.position[p])
+               ^ key(MONEY, p, s.money[p])
+               ^ key(IN_JAIL, p, s.inJail[p] ? 1 : 0)
+               ^ key(ALIVE, p, s.alive[p] ? 1 : 0)
+               ^ key(JAIL_CARDS, p, s.jailCards[p]);
+        }
+        for (int sq = 0; sq < s.squares; sq++) {
+            h ^= key(OWNER, sq, s.owner[sq])
+               ^ key(HOUSES, sq, s.houses[sq])
+               ^ key(HOTEL, sq, s.hotel[sq]);
+        }
+        return h;
+    }
+}
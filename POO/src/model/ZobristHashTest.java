@@ -0,0 +1,153 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+
+public class ZobristHashTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private GameAPI newGame(GameAPI.EngineKind kind, long seed) {
+        List<PlayerSpec> specs = new ArrayList<>();
+        specs.add(new PlayerSpec("P1", "Alice", PlayerColor.RED));
+        specs.add(new PlayerSpec("P2", "Bob", PlayerColor.BLUE));
+        specs.add(new PlayerSpec("P3", "Carol", PlayerColor.GRAY));
+        GameAPI api = new GameAPI();
+        api.startGame(new PlayersConfig(specs), BOARD_CSV, DECK_CSV, 1500, 200_000, seed, kind);
+        return api;
+    }
+
+    private List<Player> makePlayers() {
+        List<Player> players = new ArrayList<>();
+        players.add(new Player("P1", "Alice", PlayerColor.RED, 1500));
+        players.add(new Player("P2", "Bob", PlayerColor.BLUE, 1500));
+        players.add(new Player("P3", "Carol", PlayerColor.GRAY, 1500));
+        return players;
+    }
+
+    /* Monta o motor como GameAPI.startGame faz (mesma divisão da seed). */
+    private GameCore newEngine(GameAPI.EngineKind kind, long seed) {
+        SplittableRandom master = new SplittableRandom(seed);
+        SplittableRandom deckRng = master.split();
+        SplittableRandom diceRng = master.split();
+        BoardDefinition board = BoardFactory.definition(BOARD_CSV);
+        DeckDefinition deck = DeckFactory.definition(DECK_CSV);
+        if (kind == GameAPI.EngineKind.COMPACT) {
+            return new CompactGameEngine(board, deck, makePlayers(), 200_000, 0, deckRng, diceRng);
+        }
+        return new GameEngine(board.newBoard(), makePlayers(), deck.newDeck(deckRng),
+                              new EconomyService(new Bank(200_000)), 0, diceRng);
+    }
+
+    private static void assertIncrementalMatchesFull(GameCore core, String when) {
+        assertEquals(when, ZobristHash.of(core.newSnapshot()), core.stateHash());
+    }
+
+    private static int firstOwnedByCurrent(GameCore core) {
+        EngineSnapshot s = core.newSnapshot();
+        int p = s.currentPlayerIndex;
+        return s.ownedCount[p] == 0 ? -1 : s.owned[p * s.squares];
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void incrementalHashShouldMatchFullRecomputationOnBothEngines() {
+        GameCore obj = newEngine(GameAPI.EngineKind.OBJECT, 21L);
+        GameCore soa = newEngine(GameAPI.EngineKind.COMPACT, 21L);
+        assertEquals(obj.stateHash(), soa.stateHash());
+
+        for (int t = 0; t < 250; t++) {
+            String when = "turno " + t;
+            for (GameCore core : new GameCore[] { obj, soa }) {
+                core.rollAndResolve();
+                assertIncrementalMatchesFull(core, when + " (rolagem)");
+                if (!core.chooseBuy() && !core.chooseBuildHouse()) core.chooseBuildHotel();
+                assertIncrementalMatchesFull(core, when + " (compra/construção)");
+                if (t % 13 == 12) {
+                    int owned = firstOwnedByCurrent(core);
+                    if (owned >= 0) core.sellAtIndex(owned);
+                    assertIncrementalMatchesFull(core, when + " (venda)");
+                }
+                core.endTurn();
+                assertIncrementalMatchesFull(core, when + " (fim)");
+            }
+            // Os dois motores jogam a mesma partida: mesmo estado, mesmo hash
+            assertEquals(when, obj.stateHash(), soa.stateHash());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void restoringASnapshotShouldRestoreTheHash() {
+        for (GameAPI.EngineKind kind : GameAPI.EngineKind.values()) {
+            GameCore core = newEngine(kind, 5L);
+            for (int t = 0; t < 40; t++) {
+                core.rollAndResolve();
+                core.chooseBuy();
+                core.endTurn();
+            }
+            EngineSnapshot saved = core.newSnapshot();
+            long hash = core.stateHash();
+
+            for (int t = 0; t < 40; t++) {
+                core.rollAndResolve();
+                core.chooseBuy();
+                core.endTurn();
+            }
+            assertNotEquals(kind.toString(), hash, core.stateHash());
+
+            core.restoreFrom(saved);
+            assertEquals(kind.toString(), hash, core.stateHash());
+            // E continua incremental depois da restauração
+            core.rollAndResolve();
+            core.chooseBuy();
+            core.endTurn();
+            assertIncrementalMatchesFull(core, kind + " após restaurar");
+
+            // Estado lido de arquivo (sem o hash capturado): recalcula do zero
+            saved.captured = false;
+            core.restoreFrom(saved);
+            assertEquals(kind.toString(), hash, core.stateHash());
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void replayShouldReproduceTheLiveHashAtEveryTurn() throws IOException {
+        GameAPI api = newGame(GameAPI.EngineKind.OBJECT, 8L);
+        api.enableTurnLog(16);
+        List<Long> hashes = new ArrayList<>();
+        hashes.add(api.getStateHash());
+        for (int t = 0; t < 120; t++) {
+            api.rollAndResolve();
+            if (!api.chooseBuy()) api.chooseBuildHouse();
+            api.endTurn();
+            hashes.add(api.getStateHash());
+        }
+
+        Path file = Files.createTempFile("zobrist", ".mtlg");
+        try {
+            api.saveTurnLog(file);
+            ReplayReader reader = ReplayReader.open(file);
+            for (int turn = 0; turn <= 120; turn += 7) {
+                reader.seek(turn);
+                assertEquals("turno " + turn, hashes.get(turn).longValue(), reader.stateHash());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
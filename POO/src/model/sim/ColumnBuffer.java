@@ -0,0 +1,35 @@
+/* ===========================================================
+ * ColumnBuffer ; bytes de uma coluna em construção (delta + varint).
+ * Os valores chegam já como deltas; aqui viram zigzag + varint (7 bits por byte),
+ * então deltas pequenos ocupam 1 byte, qualquer que seja o sinal.
+ * putLong grava 8 bytes fixos (valores sem estrutura, como hashes).
+ * =========================================================== */
+
+package model.sim;
+
+import java.util.Arrays;
+
+final class ColumnBuffer {
+
+    private byte[] bytes = new byte[4096];
+    private int size;
+
+    void putVarLong(final long value) {
+        if (bytes.length - size < 10) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        long v = (value << 1) ^ (value >> 63); // zigzag
+        while ((v & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        bytes[size++] = (byte) v;
+    }
+
+    void putLong(final long value) {
+        if (bytes.length - size < 8) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        for (int shift = 56; shift >= 0; shift -= 8) bytes[size++] = (byte) (value >>> shift);
+    }
+
+    byte[] array() { return bytes; }
+    int size() { return size; }
+    void clear() { size = 0; }
+}
@@ -0,0 +1,41 @@
+/* ===========================================================
+ * GameArchiveHeader ; como as partidas de um arquivo foram criadas
+ * (motor, regra de liquidação, jogadores, CSVs e dinheiro inicial). Junto com a seed de cada
+ * partida é o que basta para reiniciá-la pela GameAPI.
+ * boardHash/deckHash: conteúdo dos CSVs na gravação (GameAPI.definitionHash; null = desconhecido).
+ * =========================================================== */
+
+package model.sim;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import model.GameAPI;
+import model.GameAPI.EngineKind;
+import model.GameAPI.LiquidationPolicy;
+
+public record GameArchiveHeader(EngineKind engine,
+                                LiquidationPolicy liquidation,
+                                int players,
+                                Path boardCsv,
+                                Path deckCsv,
+                                int initialPlayerMoney,
+                                int initialBankCash,
+                                String boardHash,
+                                String deckHash) {
+
+    public GameArchiveHeader {
+        Objects.requireNonNull(engine, "engine não pode ser nulo");
+        Objects.requireNonNull(liquidation, "liquidation não pode ser nulo");
+        Objects.requireNonNull(boardCsv, "boardCsv não pode ser nulo");
+        Objects.requireNonNull(deckCsv, "deckCsv não pode ser nulo");
+        if (players < 2 || players > 6)
+            throw new IllegalArgumentException("Quantidade de jogadores inválida (precisa ser entre 2 e 6).");
+    }
+
+    public static GameArchiveHeader of(final SimulationConfig config) {
+        return new GameArchiveHeader(config.engine(), config.liquidation(), config.players(), config.boardCsv(), config.deckCsv(),
+                                     config.initialPlayerMoney(), config.initialBankCash(),
+                                     GameAPI.definitionHash(config.boardCsv()), GameAPI.definitionHash(config.deckCsv()));
+    }
+}
@@ -0,0 +1,150 @@
+/* ===========================================================
+ * GameArchiveReader ; leitura sequencial do arquivo de GameArchiveWriter.
+ * Um registro por vez (next), com o CRC conferido antes de decodificar:
+ * o arquivo pode ter milhões de partidas e nunca é carregado inteiro.
+ * Um leitor não deve ser compartilhado entre threads.
+ * =========================================================== */
+
+package model.sim;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+import model.GameAPI.EngineKind;
+import model.GameAPI.LiquidationPolicy;
+
+public final class GameArchiveReader implements AutoCloseable {
+
+    private static final int MAX_RECORD_BYTES = 64 << 20;
+
+    private final DataInputStream in;
+    private final GameArchiveHeader header;
+    private final CRC32 crc = new CRC32();
+    private byte[] buffer = new byte[1 << 12];
+    private int at;      // posição de leitura em buffer
+    private int limit;   // fim do registro atual em buffer
+    private long records;
+
+    private GameArchiveReader(final DataInputStream in) throws IOException {
+        this.in = in;
+        if (in.readInt() != GameArchiveWriter.MAGIC)
+            throw new IllegalArgumentException("Arquivo de partidas inválido (magic).");
+        final short version = in.readShort();
+        if (version != GameArchiveWriter.VERSION)
+            throw new IllegalArgumentException("Versão de arquivo de partidas não suportada: " + version);
+        final int engine = in.readUnsignedByte();
+        if (engine >= EngineKind.values().length)
+            throw new IllegalArgumentException("Arquivo de partidas inválido (motor).");
+        final int liquidation = in.readUnsignedByte();
+        if (liquidation >= LiquidationPolicy.values().length)
+            throw new IllegalArgumentException("Arquivo de partidas inválido (liquidação).");
+        final int players = in.readUnsignedByte();
+        final int money = in.readInt();
+        final int cash = in.readInt();
+        final String board = in.readUTF();
+        final String deck = in.readUTF();
+        final String boardHash = in.readUTF();
+        final String deckHash = in.readUTF();
+        this.header = new GameArchiveHeader(EngineKind.values()[engine], LiquidationPolicy.values()[liquidation], players,
+                                            Paths.get(board), Paths.get(deck), money, cash,
+                                            boardHash.isEmpty() ? null : boardHash, deckHash.isEmpty() ? null : deckHash);
+    }
+
+    public static GameArchiveReader open(final Path file) throws IOException {
+        Objects.requireNonNull(file, "file");
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        try {
+            return new GameArchiveReader(in);
+        } catch (EOFException e) {
+            in.close();
+            throw new IllegalArgumentException("Arquivo de partidas inválido (cabeçalho truncado).");
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public GameArchiveHeader header() { return header; }
+
+    /** Registros lidos até agora. */
+    public long records() { return records; }
+
+    /** Próxima partida, ou null no fim do arquivo. */
+    public GameRecord next() throws IOException {
+        final int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        try {
+            final int expectedCrc = in.readInt();
+            if (length < 0 || length > MAX_RECORD_BYTES) throw corrupted();
+            if (buffer.length < length) buffer = new byte[Math.max(length, buffer.length * 2)];
+            in.readFully(buffer, 0, length);
+            crc.reset();
+            crc.update(buffer, 0, length);
+            if ((int) crc.getValue() != expectedCrc)
+                throw new IllegalArgumentException("Arquivo de partidas inválido (CRC do registro " + records + ").");
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Arquivo de partidas inválido (registro " + records + " truncado).");
+        }
+
+        at = 0;
+        limit = length;
+        final long game = varLong();
+        final long seed = fixedLong();
+        final int[] actions = new int[count()];
+        for (int i = 0; i < actions.length; i++) actions[i] = (int) varLong();
+        final long[] fingerprints = new long[count()];
+        for (int i = 0; i < fingerprints.length; i++) fingerprints[i] = fixedLong();
+        if (at != limit || fingerprints.length == 0) throw corrupted();
+        records++;
+        return new GameRecord(game, seed, actions, fingerprints);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ===== Internos =====
+
+    private int count() {
+        final long n = varLong();
+        if (n < 0 || n > limit - at) throw corrupted(); // cada valor ocupa ao menos 1 byte
+        return (int) n;
+    }
+
+    /* zigzag varint (ColumnBuffer.putVarLong) */
+    private long varLong() {
+        long raw = 0;
+        int shift = 0;
+        byte x;
+        do {
+            if (at >= limit || shift > 63) throw corrupted();
+            x = buffer[at++];
+            raw |= (long) (x & 0x7F) << shift;
+            shift += 7;
+        } while (x < 0);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private long fixedLong() {
+        if (limit - at < 8) throw corrupted();
+        long v = 0;
+        for (int i = 0; i < 8; i++) v = v << 8 | (buffer[at++] & 0xFF);
+        return v;
+    }
+
+    private IllegalArgumentException corrupted() {
+        return new IllegalArgumentException("Arquivo de partidas inválido (registro " + records + ").");
+    }
+}
@@ -0,0 +1,142 @@
+/* ===========================================================
+ * GameArchiveWriter ; grava partidas (GameRecord) para verificação posterior
+ * pelo ReplayVerifier.
+ *
+ * Arquivo:
+ *   cabeçalho: magic "MGAR", versão, motor, liquidação, jogadores, dinheiro inicial,
+ *              caixa do banco, CSV do tabuleiro e do baralho (UTF), SHA-256 do conteúdo
+ *              de cada CSV (UTF, "" = desconhecido)
+ *   registros: tamanho, CRC32, e o registro:
+ *              partida, seed (8 bytes), nº de ações, ações (varint),
+ *              nº de impressões digitais, impressões (8 bytes cada)
+ * Uma ação típica ocupa 1 byte; um turno da simulação gulosa fica em ~12 bytes.
+ * Registros são independentes (o leitor pode parar em qualquer um) e saem em
+ * lotes de FLUSH_BYTES. append() é sincronizado, como no SimulationResultWriter.
+ * =========================================================== */
+
+package model.sim;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+public final class GameArchiveWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x4D474152; // "MGAR"
+    static final short VERSION = 1;
+    static final int RECORD_HEADER_BYTES = 8;
+
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ColumnBuffer record = new ColumnBuffer();
+    private final ByteBuffer pending = ByteBuffer.allocate(FLUSH_BYTES);
+    private final CRC32 crc = new CRC32();
+    private long games;
+    private boolean closed;
+
+    private GameArchiveWriter(final FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /** Cria (ou sobrescreve) o arquivo de partidas. */
+    public static GameArchiveWriter create(final Path file, final GameArchiveHeader header) throws IOException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(header, "header");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeByte(header.engine().ordinal());
+            out.writeByte(header.liquidation().ordinal());
+            out.writeByte(header.players());
+            out.writeInt(header.initialPlayerMoney());
+            out.writeInt(header.initialBankCash());
+            out.writeUTF(header.boardCsv().toString());
+            out.writeUTF(header.deckCsv().toString());
+            out.writeUTF(header.boardHash() != null ? header.boardHash() : "");
+            out.writeUTF(header.deckHash() != null ? header.deckHash() : "");
+        }
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                     StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            writeFully(channel, ByteBuffer.wrap(bytes.toByteArray()));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new GameArchiveWriter(channel);
+    }
+
+    /** Partidas gravadas até agora. */
+    public synchronized long games() { return games; }
+
+    public void append(final GameRecord game) throws IOException {
+        append(game.game(), game.seed(), game.actions(), game.actions().length,
+               game.fingerprints(), game.fingerprints().length);
+    }
+
+    /**
+     * Acrescenta uma partida a partir de buffers do chamador (só os primeiros
+     * actionCount / fingerprintCount valores são usados).
+     */
+    public synchronized void append(final long game, final long seed, final int[] actions, final int actionCount,
+                                    final long[] fingerprints, final int fingerprintCount) throws IOException {
+        if (closed) throw new IllegalStateException("Arquivo de partidas já fechado.");
+        if (fingerprintCount < 1 || actionCount < 0)
+            throw new IllegalArgumentException("Partida arquivada inválida.");
+
+        record.clear();
+        record.putVarLong(game);
+        record.putLong(seed);
+        record.putVarLong(actionCount);
+        for (int i = 0; i < actionCount; i++) record.putVarLong(actions[i]);
+        record.putVarLong(fingerprintCount);
+        for (int i = 0; i < fingerprintCount; i++) record.putLong(fingerprints[i]);
+
+        crc.reset();
+        crc.update(record.array(), 0, record.size());
+        if (pending.remaining() < RECORD_HEADER_BYTES + record.size()) flush();
+        if (pending.remaining() < RECORD_HEADER_BYTES + record.size()) {
+            // Registro maior que o lote: vai direto
+            writeFully(channel, ByteBuffer.allocate(RECORD_HEADER_BYTES)
+                .putInt(record.size()).putInt((int) crc.getValue()).flip());
+            writeFully(channel, ByteBuffer.wrap(record.array(), 0, record.size()));
+        } else {
+            pending.putInt(record.size()).putInt((int) crc.getValue()).put(record.array(), 0, record.size());
+        }
+        games++;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            flush();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ===== Internos =====
+
+    private void flush() throws IOException {
+        pending.flip();
+        writeFully(channel, pending);
+        pending.clear();
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) channel.write(buf);
+    }
+}
@@ -0,0 +1,44 @@
+/* ===========================================================
+ * GameRecord ; uma partida arquivada: seed, ações do jogador e a impressão
+ * digital (GameAPI.getStateHash) do estado ao fim de cada turno.
+ *
+ * Dados e cartas saem da seed; as ações são só as decisões tomadas, na ordem,
+ * com os mesmos códigos do ReplayReader (ROLL, BUY, ..., END_TURN).
+ * Cada ação é um int: tipo nos 3 bits baixos, argumento (casa do SELL) acima.
+ * fingerprints[0] é o estado inicial; fingerprints[t] o estado após o turno t.
+ * =========================================================== */
+
+package model.sim;
+
+import java.util.Objects;
+
+import model.ReplayReader;
+
+public record GameRecord(long game, long seed, int[] actions, long[] fingerprints) {
+
+    public static final int ROLL = ReplayReader.ROLL;
+    public static final int BUY = ReplayReader.BUY;
+    public static final int BUILD_HOUSE = ReplayReader.BUILD_HOUSE;
+    public static final int BUILD_HOTEL = ReplayReader.BUILD_HOTEL;
+    public static final int SELL = ReplayReader.SELL;
+    public static final int END_TURN = ReplayReader.END_TURN;
+
+    public GameRecord {
+        Objects.requireNonNull(actions, "actions");
+        Objects.requireNonNull(fingerprints, "fingerprints");
+        if (fingerprints.length == 0) throw new IllegalArgumentException("Partida sem estado inicial.");
+    }
+
+    /** Turnos jogados (um END_TURN por turno). */
+    public int turns() { return fingerprints.length - 1; }
+
+    public static int action(final int type) { return action(type, 0); }
+
+    public static int action(final int type, final int arg) {
+        if (type < ROLL || type > END_TURN || arg < 0) throw new IllegalArgumentException("Ação inválida: " + type);
+        return arg << 3 | type;
+    }
+
+    public static int type(final int action) { return action & 7; }
+    public static int arg(final int action) { return action >>> 3; }
+}
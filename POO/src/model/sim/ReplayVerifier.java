@@ -0,0 +1,256 @@
+/* ===========================================================
+ * ReplayVerifier ; prova que o motor ainda joga as partidas arquivadas
+ * exatamente como foram jogadas.
+ *
+ * Cada GameRecord é rejogado pela GameAPI a partir da seed, aplicando a lista
+ * de ações na ordem; ao fim de cada turno o hash do estado (getStateHash) é
+ * comparado com a impressão digital gravada. A primeira diferença encerra a
+ * partida e vira uma Divergence (turno, esperado, obtido).
+ * O motor do replay pode ser outro que o da gravação: gravar com OBJECT e
+ * verificar com COMPACT (ou uma versão nova do motor) é o uso principal.
+ *
+ * Se os CSVs mudaram desde a gravação (hash do cabeçalho), toda partida
+ * divergiria: a verificação é recusada antes de rejogar qualquer uma.
+ *
+ * O arquivo é lido em sequência numa só thread e as partidas seguem em lotes
+ * para um ForkJoinPool; um semáforo limita os lotes em voo, então a memória
+ * não cresce com o tamanho do arquivo.
+ * =========================================================== */
+
+package model.sim;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.GameAPI;
+import model.GameAPI.EngineKind;
+import model.GameAPI.PlayersConfig;
+
+public final class ReplayVerifier {
+
+    // Partidas por lote enviado ao pool
+    private static final int BATCH_GAMES = 256;
+
+    /** Divergências guardadas no relatório (as de menor índice de partida). */
+    public static final int MAX_REPORTED = 100;
+
+    private ReplayVerifier() {}
+
+    /**
+     * Primeira diferença de uma partida.
+     * @param turn turno cujo estado final diferiu (0 = estado inicial)
+     */
+    public record Divergence(long game, long seed, int turn, long expected, long actual, String reason) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "partida %d (seed %d): turno %d, esperado %016x, obtido %016x (%s)",
+                                 game, seed, turn, expected, actual, reason);
+        }
+    }
+
+    public record Report(long games, long turns, long diverged, List<Divergence> divergences) {
+        public boolean ok() { return diverged == 0; }
+    }
+
+    /**
+     * Rejoga uma partida. Retorna null se todos os turnos baterem.
+     */
+    public static Divergence verify(final GameArchiveHeader header, final GameRecord record, final EngineKind engine) {
+        checkDefinitions(header);
+        return replay(header, SimulationTask.makePlayersConfig(header.players()), record, engine);
+    }
+
+    /** Verifica todas as partidas do arquivo com o motor em que foram gravadas. */
+    public static Report verify(final Path archive, final int parallelism) throws IOException {
+        return verify(archive, null, parallelism);
+    }
+
+    /**
+     * Verifica todas as partidas do arquivo.
+     * @param engine motor do replay; null usa o do cabeçalho
+     */
+    public static Report verify(final Path archive, final EngineKind engine, final int parallelism) throws IOException {
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism deve ser positivo");
+
+        try (GameArchiveReader reader = GameArchiveReader.open(archive)) {
+            final GameArchiveHeader header = reader.header();
+            checkDefinitions(header);
+            final Tally tally = new Tally(header, engine != null ? engine : header.engine(), parallelism * 2);
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<GameRecord> batch = new ArrayList<>(BATCH_GAMES);
+                GameRecord r;
+                while (tally.failure.get() == null && (r = reader.next()) != null) {
+                    batch.add(r);
+                    if (batch.size() == BATCH_GAMES) {
+                        tally.submit(pool, batch);
+                        batch = new ArrayList<>(BATCH_GAMES);
+                    }
+                }
+                if (!batch.isEmpty()) tally.submit(pool, batch);
+                tally.awaitAll();
+            } finally {
+                pool.shutdown();
+            }
+            if (tally.failure.get() != null) throw tally.failure.get();
+            return tally.report();
+        }
+    }
+
+    // ===== Internos =====
+
+    private static void checkDefinitions(final GameArchiveHeader header) {
+        checkDefinition("tabuleiro", header.boardCsv(), header.boardHash());
+        checkDefinition("baralho", header.deckCsv(), header.deckHash());
+    }
+
+    private static void checkDefinition(final String what, final Path csv, final String hash) {
+        if (hash != null && !hash.equals(GameAPI.definitionHash(csv))) {
+            throw new IllegalArgumentException("CSV do " + what + " mudou desde a gravação do arquivo: " + csv);
+        }
+    }
+
+    private static Divergence replay(final GameArchiveHeader header, final PlayersConfig players,
+                                     final GameRecord record, final EngineKind engine) {
+        final long[] expected = record.fingerprints();
+        final GameAPI api = new GameAPI();
+        api.startGame(players, header.boardCsv(), header.deckCsv(),
+                      header.initialPlayerMoney(), header.initialBankCash(), record.seed(), engine,
+                      header.liquidation());
+        api.setTransactionLogging(false);
+
+        long actual = api.getStateHash();
+        if (actual != expected[0]) return divergence(record, 0, actual, "estado inicial");
+
+        int turn = 0;
+        try {
+            for (int action : record.actions()) {
+                switch (GameRecord.type(action)) {
+                    case GameRecord.ROLL -> api.rollAndResolve();
+                    case GameRecord.BUY -> api.chooseBuy();
+                    case GameRecord.BUILD_HOUSE -> api.chooseBuildHouse();
+                    case GameRecord.BUILD_HOTEL -> api.chooseBuildHotel();
+                    case GameRecord.SELL -> api.sellAtIndex(GameRecord.arg(action));
+                    case GameRecord.END_TURN -> {
+                        api.endTurn();
+                        turn++;
+                        actual = api.getStateHash();
+                        if (turn >= expected.length) return divergence(record, turn, actual, "turno não gravado");
+                        if (actual != expected[turn]) return divergence(record, turn, actual, "estado");
+                    }
+                    default -> throw new IllegalArgumentException("Ação inválida: " + action);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Ação recusada pelo motor: a partida já não é a gravada
+            return divergence(record, turn + 1, api.getStateHash(), "ação recusada: " + e.getMessage());
+        }
+        if (turn + 1 != expected.length) return divergence(record, turn + 1, actual, "faltam ações");
+        return null;
+    }
+
+    private static Divergence divergence(final GameRecord record, final int turn, final long actual,
+                                         final String reason) {
+        final long[] expected = record.fingerprints();
+        return new Divergence(record.game(), record.seed(), turn,
+                              turn < expected.length ? expected[turn] : 0L, actual, reason);
+    }
+
+    /* Contadores compartilhados pelos lotes de uma verificação. */
+    private static final class Tally {
+        private final GameArchiveHeader header;
+        private final PlayersConfig players;
+        private final EngineKind engine;
+        private final int inFlight;
+        private final Semaphore slots;
+        private final LongAdder games = new LongAdder();
+        private final LongAdder turns = new LongAdder();
+        private final LongAdder diverged = new LongAdder();
+        private final TreeMap<Long, Divergence> first = new TreeMap<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        Tally(final GameArchiveHeader header, final EngineKind engine, final int inFlight) {
+            this.header = header;
+            this.players = SimulationTask.makePlayersConfig(header.players());
+            this.engine = engine;
+            this.inFlight = inFlight;
+            this.slots = new Semaphore(inFlight);
+        }
+
+        /* Bloqueia enquanto houver inFlight lotes em andamento. */
+        void submit(final ForkJoinPool pool, final List<GameRecord> batch) {
+            slots.acquireUninterruptibly();
+            pool.execute(() -> {
+                try {
+                    for (GameRecord g : batch) {
+                        final Divergence d = replay(header, players, g, engine);
+                        games.increment();
+                        turns.add(g.turns());
+                        if (d != null) keep(d);
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+
+        void awaitAll() {
+            slots.acquireUninterruptibly(inFlight);
+            slots.release(inFlight);
+        }
+
+        private void keep(final Divergence d) {
+            diverged.increment();
+            synchronized (first) {
+                first.put(d.game(), d);
+                if (first.size() > MAX_REPORTED) first.pollLastEntry();
+            }
+        }
+
+        Report report() {
+            synchronized (first) {
+                return new Report(games.sum(), turns.sum(), diverged.sum(), List.copyOf(first.values()));
+            }
+        }
+    }
+
+    /**
+     * Uso: ReplayVerifier arquivo [threads] [object|compact]
+     * Sai com código 1 se alguma partida divergir.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Uso: ReplayVerifier arquivo [threads] [object|compact]");
+            System.exit(2);
+        }
+        final int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final EngineKind engine = args.length > 2 ? EngineKind.valueOf(args[2].toUpperCase(Locale.ROOT)) : null;
+
+        final long start = System.nanoTime();
+        final Report report;
+        try {
+            report = verify(Paths.get(args[0]), engine, threads);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Partidas: " + report.games() + " | turnos: " + report.turns()
+            + " | divergentes: " + report.diverged() + " | threads: " + threads);
+        System.out.printf("Tempo: %.3f s | partidas/s: %.1f%n", seconds, report.games() / seconds);
+        for (Divergence d : report.divergences()) System.out.println("  " + d);
+        if (!report.ok()) System.exit(1);
+    }
+}
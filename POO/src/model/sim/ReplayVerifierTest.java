@@ -0,0 +1,140 @@
+package model.sim;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameAPI.EngineKind;
+
+public class ReplayVerifierTest {
+
+    private static final int SIMULATION_TIMEOUT = 20000;
+
+    private static final SimulationConfig CONFIG = new SimulationConfig(
+        24, 3, Paths.get("assets", "dados", "board.csv"), Paths.get("assets", "dados", "deck.csv"),
+        1500, 200_000, 120, 2, 31L, EngineKind.OBJECT);
+
+    private Path archive;
+    private Path tampered;
+
+    @Before
+    public void setUp() throws IOException {
+        archive = Files.createTempFile("games", ".mgar");
+        tampered = Files.createTempFile("games-tampered", ".mgar");
+        try (GameArchiveWriter w = GameArchiveWriter.create(archive, GameArchiveHeader.of(CONFIG))) {
+            SimulationRunner.run(CONFIG, null, w);
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(archive);
+        Files.deleteIfExists(tampered);
+    }
+
+    private List<GameRecord> readAll(Path file) throws IOException {
+        List<GameRecord> games = new ArrayList<>();
+        try (GameArchiveReader r = GameArchiveReader.open(file)) {
+            for (GameRecord g = r.next(); g != null; g = r.next()) games.add(g);
+        }
+        return games;
+    }
+
+    @Test(timeout = SIMULATION_TIMEOUT)
+    public void archivedGamesShouldReplayIdenticallyOnBothEngines() throws IOException {
+        List<GameRecord> games = readAll(archive);
+        assertEquals(24, games.size());
+        long turns = 0;
+        for (GameRecord g : games) turns += g.turns();
+
+        for (EngineKind engine : EngineKind.values()) {
+            ReplayVerifier.Report report = ReplayVerifier.verify(archive, engine, 2);
+            assertTrue(engine + ": " + report.divergences(), report.ok());
+            assertEquals(24, report.games());
+            assertEquals(turns, report.turns());
+        }
+    }
+
+    @Test(timeout = SIMULATION_TIMEOUT)
+    public void shouldReportTheFirstDivergentTurn() throws IOException {
+        List<GameRecord> games = readAll(archive);
+        GameArchiveHeader header = GameArchiveHeader.of(CONFIG);
+
+        try (GameArchiveWriter w = GameArchiveWriter.create(tampered, header)) {
+            for (GameRecord g : games) {
+                if (g.game() == 5) {
+                    // Impressão digital adulterada no turno 7
+                    long[] fp = g.fingerprints().clone();
+                    fp[7] ^= 1;
+                    w.append(new GameRecord(g.game(), g.seed(), g.actions(), fp));
+                } else if (g.game() == 9) {
+                    // Seed trocada: mesmo estado inicial, dados diferentes
+                    w.append(new GameRecord(g.game(), g.seed() + 1, g.actions(), g.fingerprints()));
+                } else {
+                    w.append(g);
+                }
+            }
+        }
+
+        ReplayVerifier.Report report = ReplayVerifier.verify(tampered, 2);
+        assertEquals(24, report.games());
+        assertEquals(2, report.diverged());
+        ReplayVerifier.Divergence first = report.divergences().get(0);
+        assertEquals(5, first.game());
+        assertEquals(7, first.turn());
+        assertEquals(first.expected() ^ 1, first.actual());
+        assertEquals(9, report.divergences().get(1).game());
+        assertTrue(report.divergences().get(1).turn() >= 1);
+
+        // Partida sozinha, com ações a menos: falta o último turno
+        GameRecord g = games.get(0);
+        int[] shorter = Arrays.copyOf(g.actions(), g.actions().length - 1);
+        ReplayVerifier.Divergence d = ReplayVerifier.verify(header, new GameRecord(g.game(), g.seed(), shorter,
+                                                            g.fingerprints()), EngineKind.COMPACT);
+        assertNotNull(d);
+        assertEquals(g.turns(), d.turn());
+    }
+
+    @Test(timeout = SIMULATION_TIMEOUT)
+    public void archiveOfAnotherDeckShouldBeRejected() throws IOException {
+        GameArchiveHeader h = GameArchiveHeader.of(CONFIG);
+        GameArchiveHeader other = new GameArchiveHeader(h.engine(), h.liquidation(), h.players(), h.boardCsv(),
+                                                        h.deckCsv(), h.initialPlayerMoney(), h.initialBankCash(),
+                                                        h.boardHash(), "0".repeat(64));
+        try (GameArchiveWriter w = GameArchiveWriter.create(tampered, other)) {
+            for (GameRecord g : readAll(archive)) w.append(g);
+        }
+        try (GameArchiveReader r = GameArchiveReader.open(tampered)) {
+            assertEquals(other, r.header());
+        }
+        try {
+            ReplayVerifier.verify(tampered, 1);
+            fail("CSV diferente do da gravação");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("baralho"));
+        }
+    }
+
+    @Test(timeout = SIMULATION_TIMEOUT)
+    public void corruptedRecordShouldBeRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(archive);
+        bytes[bytes.length - 3] ^= 0x10; // dentro da última impressão digital
+        Files.write(tampered, bytes);
+        try {
+            ReplayVerifier.verify(tampered, 1);
+            fail("CRC");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("CRC"));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/* ===========================================================
+ * SimulationColumn ; colunas do arquivo de resultados de simulação.
+ * =========================================================== */
+
+package model.sim;
+
+public enum SimulationColumn {
+    GAME,          // índice da partida no lote
+    SEED,          // seed da partida (reproduz a partida pela GameAPI)
+    WINNER,        // índice do vencedor, ou -1 (limite de turnos)
+    TURNS,         // turnos jogados
+    BANKRUPTCIES,  // jogadores falidos ao fim da partida
+    BALANCES;      // saldo de cada jogador ao fim de cada turno (turno a turno, jogador a jogador)
+
+    static final SimulationColumn[] ALL = values();
+}
@@ -0,0 +1,61 @@
+/* ===========================================================
+ * SimulationConfig ; parâmetros de um lote de simulação headless.
+ * decidedShare: encerra a partida quando o líder tem ao menos esse
+ * percentual do patrimônio dos vivos (0 = joga até sobrar um ou maxTurns).
+ * Precisa ser maior que 100 / jogadores: no início todos têm a mesma fatia.
+ * =========================================================== */
+
+package model.sim;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import model.GameAPI.EngineKind;
+import model.GameAPI.LiquidationPolicy;
+
+public record SimulationConfig(long games,
+                               int players,
+                               Path boardCsv,
+                               Path deckCsv,
+                               int initialPlayerMoney,
+                               int initialBankCash,
+                               int maxTurns,
+                               int parallelism,
+                               long seed,
+                               EngineKind engine,
+                               LiquidationPolicy liquidation,
+                               int decidedShare) {
+
+    public SimulationConfig {
+        Objects.requireNonNull(boardCsv, "boardCsv não pode ser nulo");
+        Objects.requireNonNull(deckCsv, "deckCsv não pode ser nulo");
+        Objects.requireNonNull(engine, "engine não pode ser nulo");
+        Objects.requireNonNull(liquidation, "liquidation não pode ser nulo");
+        if (games < 0) throw new IllegalArgumentException("games deve ser >= 0");
+        if (players < 2 || players > 6)
+            throw new IllegalArgumentException("Quantidade de jogadores inválida (precisa ser entre 2 e 6).");
+        if (maxTurns <= 0) throw new IllegalArgumentException("maxTurns deve ser positivo");
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism deve ser positivo");
+        if (decidedShare < 0 || decidedShare > 100)
+            throw new IllegalArgumentException("decidedShare deve estar entre 0 e 100");
+        if (decidedShare != 0 && decidedShare * players <= 100)
+            throw new IllegalArgumentException("decidedShare deve ser maior que 100 / jogadores");
+    }
+
+    /** Sem encerramento antecipado (joga até sobrar um ou maxTurns). */
+    public SimulationConfig(final long games, final int players, final Path boardCsv, final Path deckCsv,
+                            final int initialPlayerMoney, final int initialBankCash, final int maxTurns,
+                            final int parallelism, final long seed, final EngineKind engine,
+                            final LiquidationPolicy liquidation) {
+        this(games, players, boardCsv, deckCsv, initialPlayerMoney, initialBankCash, maxTurns,
+             parallelism, seed, engine, liquidation, 0);
+    }
+
+    /** Com a liquidação padrão da GameAPI (MIN_VALUE), sem encerramento antecipado. */
+    public SimulationConfig(final long games, final int players, final Path boardCsv, final Path deckCsv,
+                            final int initialPlayerMoney, final int initialBankCash, final int maxTurns,
+                            final int parallelism, final long seed, final EngineKind engine) {
+        this(games, players, boardCsv, deckCsv, initialPlayerMoney, initialBankCash, maxTurns,
+             parallelism, seed, engine, LiquidationPolicy.MIN_VALUE, 0);
+    }
+}
@@ -0,0 +1,213 @@
+/* ===========================================================
+ * SimulationResultReader ; leitura colunar do arquivo de SimulationResultWriter.
+ *
+ * open() percorre só os cabeçalhos dos blocos e monta um índice pequeno
+ * (offset, partidas e tamanho/CRC de cada coluna por bloco). scan(coluna) lê do
+ * disco apenas os bytes daquela coluna, bloco a bloco, num buffer reaproveitado,
+ * confere o CRC e decodifica delta + varint (SEED: 8 bytes fixos) direto do array.
+ * Um leitor não deve ser compartilhado entre threads (o buffer é dele).
+ * =========================================================== */
+
+package model.sim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+public final class SimulationResultReader implements AutoCloseable {
+
+    private static final int COLUMNS = SimulationColumn.ALL.length;
+    private static final int BLOCK_HEADER_BYTES = 4 + COLUMNS * 8;
+
+    private final FileChannel channel;
+    private final int players;
+    private final boolean hasBalances;
+    private final int blocks;
+    private final long[] blockOffset;   // início dos dados do bloco (após o cabeçalho)
+    private final int[] blockGames;
+    private final int[] columnLength;   // [bloco * COLUMNS + coluna]
+    private final int[] columnCrc;
+    private final long games;
+    private final CRC32 crc = new CRC32();
+    private byte[] buffer = new byte[1 << 16];
+
+    private SimulationResultReader(final FileChannel channel) throws IOException {
+        this.channel = channel;
+        final long size = channel.size();
+
+        final ByteBuffer header = ByteBuffer.allocate(SimulationResultWriter.HEADER_BYTES);
+        readFully(0, header);
+        if (header.getInt() != SimulationResultWriter.MAGIC)
+            throw new IllegalArgumentException("Arquivo de resultados inválido (magic).");
+        final short version = header.getShort();
+        if (version != SimulationResultWriter.VERSION)
+            throw new IllegalArgumentException("Versão de arquivo de resultados não suportada: " + version);
+        this.players = header.get();
+        this.hasBalances = (header.get() & SimulationResultWriter.FLAG_BALANCES) != 0;
+        header.getInt(); // partidas por bloco (só informativo)
+        if (players < 1) throw new IllegalArgumentException("Arquivo de resultados inválido (jogadores).");
+
+        // Índice: percorre os cabeçalhos dos blocos
+        long[] offsets = new long[16];
+        int[] gamesIn = new int[16];
+        int[] lengths = new int[16 * COLUMNS];
+        int[] crcs = new int[16 * COLUMNS];
+        final ByteBuffer bh = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+        long at = SimulationResultWriter.HEADER_BYTES;
+        long total = 0;
+        int n = 0;
+        while (at < size) {
+            if (size - at < BLOCK_HEADER_BYTES)
+                throw new IllegalArgumentException("Arquivo de resultados inválido (bloco truncado).");
+            if (n == offsets.length) {
+                offsets = Arrays.copyOf(offsets, n * 2);
+                gamesIn = Arrays.copyOf(gamesIn, n * 2);
+                lengths = Arrays.copyOf(lengths, n * 2 * COLUMNS);
+                crcs = Arrays.copyOf(crcs, n * 2 * COLUMNS);
+            }
+            bh.clear();
+            readFully(at, bh);
+            gamesIn[n] = bh.getInt();
+            long dataBytes = 0;
+            for (int c = 0; c < COLUMNS; c++) {
+                lengths[n * COLUMNS + c] = bh.getInt();
+                crcs[n * COLUMNS + c] = bh.getInt();
+                if (lengths[n * COLUMNS + c] < 0 || gamesIn[n] <= 0)
+                    throw new IllegalArgumentException("Arquivo de resultados inválido (bloco " + n + ").");
+                dataBytes += lengths[n * COLUMNS + c];
+            }
+            offsets[n] = at + BLOCK_HEADER_BYTES;
+            at = offsets[n] + dataBytes;
+            if (at > size) throw new IllegalArgumentException("Arquivo de resultados inválido (bloco truncado).");
+            total += gamesIn[n];
+            n++;
+        }
+        this.blocks = n;
+        this.blockOffset = offsets;
+        this.blockGames = gamesIn;
+        this.columnLength = lengths;
+        this.columnCrc = crcs;
+        this.games = total;
+    }
+
+    public static SimulationResultReader open(final Path file) throws IOException {
+        Objects.requireNonNull(file, "file");
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new SimulationResultReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int players() { return players; }
+    public boolean hasBalances() { return hasBalances; }
+    public long games() { return games; }
+    public int blocks() { return blocks; }
+
+    /** Bytes ocupados pela coluna no arquivo (sem cabeçalhos). */
+    public long columnBytes(final SimulationColumn column) {
+        long bytes = 0;
+        for (int b = 0; b < blocks; b++) bytes += columnLength[b * COLUMNS + column.ordinal()];
+        return bytes;
+    }
+
+    /**
+     * Entrega todos os valores de uma coluna, na ordem do arquivo, lendo do disco
+     * só essa coluna. Em BALANCES são turns * players valores por partida,
+     * turno a turno (use TURNS para separar as partidas).
+     */
+    public void scan(final SimulationColumn column, final LongConsumer sink) throws IOException {
+        Objects.requireNonNull(sink, "sink");
+        final int c = column.ordinal();
+        final boolean balances = column == SimulationColumn.BALANCES;
+        final long[] previousBalance = new long[players];
+
+        for (int b = 0; b < blocks; b++) {
+            final int len = columnLength[b * COLUMNS + c];
+            final byte[] bytes = load(b, c, len);
+            final int count = blockGames[b];
+            if (column == SimulationColumn.SEED) {
+                if (len != 8 * count) throw corrupted(b, column);
+                for (int i = 0; i < len; i += 8) sink.accept(fixedLong(bytes, i));
+                continue;
+            }
+            int i = 0;
+            long previous = 0;
+            int p = 0;
+            int rows = 0;
+            while (i < len) {
+                // zigzag varint
+                long raw = 0;
+                int shift = 0;
+                byte x;
+                do {
+                    if (i >= len || shift > 63) throw corrupted(b, column);
+                    x = bytes[i++];
+                    raw |= (long) (x & 0x7F) << shift;
+                    shift += 7;
+                } while (x < 0);
+                final long delta = (raw >>> 1) ^ -(raw & 1);
+
+                if (balances) {
+                    previousBalance[p] += delta;
+                    sink.accept(previousBalance[p]);
+                    if (++p == players) p = 0;
+                } else {
+                    previous += delta;
+                    sink.accept(previous);
+                }
+                rows++;
+            }
+            if (balances ? p != 0 : rows != count) throw corrupted(b, column);
+            if (balances) Arrays.fill(previousBalance, 0);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ===== Internos =====
+
+    /* Lê a coluna c do bloco b para o buffer e confere o CRC. */
+    private byte[] load(final int block, final int c, final int len) throws IOException {
+        if (buffer.length < len) buffer = new byte[Math.max(len, buffer.length * 2)];
+        long at = blockOffset[block];
+        for (int k = 0; k < c; k++) at += columnLength[block * COLUMNS + k];
+        readFully(at, ByteBuffer.wrap(buffer, 0, len));
+
+        crc.reset();
+        crc.update(buffer, 0, len);
+        if ((int) crc.getValue() != columnCrc[block * COLUMNS + c])
+            throw new IllegalArgumentException("Arquivo de resultados inválido (CRC do bloco " + block + ").");
+        return buffer;
+    }
+
+    private void readFully(long at, final ByteBuffer dst) throws IOException {
+        while (dst.hasRemaining()) {
+            final int r = channel.read(dst, at);
+            if (r < 0) throw new IllegalArgumentException("Arquivo de resultados inválido (tamanho).");
+            at += r;
+        }
+        dst.flip();
+    }
+
+    private static long fixedLong(final byte[] bytes, final int at) {
+        long v = 0;
+        for (int k = 0; k < 8; k++) v = (v << 8) | (bytes[at + k] & 0xFF);
+        return v;
+    }
+
+    private static IllegalArgumentException corrupted(final int block, final SimulationColumn column) {
+        return new IllegalArgumentException("Arquivo de resultados inválido (coluna " + column + ", bloco " + block + ").");
+    }
+}
@@ -0,0 +1,146 @@
+package model.sim;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameAPI.EngineKind;
+
+public class SimulationResultStoreTest {
+
+    private static final int DEFAULT_TIMEOUT = 2000;
+    private static final int SIMULATION_TIMEOUT = 20000;
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("sim-results", ".msim");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static List<Long> scan(SimulationResultReader reader, SimulationColumn column) throws IOException {
+        List<Long> values = new ArrayList<>();
+        reader.scan(column, values::add);
+        return values;
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void columnsShouldRoundTripAcrossBlocks() throws IOException {
+        final int players = 3;
+        final int games = 50;
+        final SplittableRandom rng = new SplittableRandom(7L);
+        final long[] seeds = new long[games];
+        final int[] turns = new int[games];
+        final List<Long> expectedBalances = new ArrayList<>();
+
+        try (SimulationResultWriter w = SimulationResultWriter.create(file, players, true, 8)) {
+            for (int g = 0; g < games; g++) {
+                seeds[g] = rng.nextLong(); // extremos de long: o delta dá a volta
+                turns[g] = rng.nextInt(12);
+                int[] balances = new int[turns[g] * players];
+                for (int i = 0; i < balances.length; i++) {
+                    balances[i] = rng.nextInt(-500, 6000);
+                    expectedBalances.add((long) balances[i]);
+                }
+                w.append(g, seeds[g], g % 4 - 1, turns[g], g % players, balances);
+            }
+        }
+
+        try (SimulationResultReader r = SimulationResultReader.open(file)) {
+            assertEquals(players, r.players());
+            assertTrue(r.hasBalances());
+            assertEquals(games, r.games());
+            assertEquals(7, r.blocks());
+
+            List<Long> game = scan(r, SimulationColumn.GAME);
+            List<Long> seed = scan(r, SimulationColumn.SEED);
+            List<Long> winner = scan(r, SimulationColumn.WINNER);
+            List<Long> turn = scan(r, SimulationColumn.TURNS);
+            List<Long> bankrupt = scan(r, SimulationColumn.BANKRUPTCIES);
+            for (int g = 0; g < games; g++) {
+                assertEquals(g, game.get(g).longValue());
+                assertEquals(seeds[g], seed.get(g).longValue());
+                assertEquals(g % 4 - 1, winner.get(g).longValue());
+                assertEquals(turns[g], turn.get(g).longValue());
+                assertEquals(g % players, bankrupt.get(g).longValue());
+            }
+            assertEquals(expectedBalances, scan(r, SimulationColumn.BALANCES));
+            // Índices sequenciais: 1 byte por partida
+            assertEquals(games, r.columnBytes(SimulationColumn.GAME));
+            // Seeds sem estrutura: 8 bytes fixos por partida
+            assertEquals(8L * games, r.columnBytes(SimulationColumn.SEED));
+        }
+    }
+
+    @Test(timeout = SIMULATION_TIMEOUT)
+    public void simulationRunShouldWriteOneRowPerGame() throws IOException {
+        final int players = 4;
+        final SimulationConfig config = new SimulationConfig(
+            40, players, Paths.get("assets", "dados", "board.csv"), Paths.get("assets", "dados", "deck.csv"),
+            4000, 200_000, 150, 2, 11L, EngineKind.COMPACT);
+
+        final SimulationStats stats;
+        try (SimulationResultWriter w = SimulationResultWriter.create(file, players, true)) {
+            stats = SimulationRunner.run(config, w);
+        }
+
+        try (SimulationResultReader r = SimulationResultReader.open(file)) {
+            assertEquals(stats.games(), r.games());
+
+            BitSet seen = new BitSet();
+            r.scan(SimulationColumn.GAME, g -> seen.set((int) g));
+            assertEquals(40, seen.cardinality());
+            assertEquals(40, seen.nextClearBit(0));
+
+            long[] turns = { 0 };
+            r.scan(SimulationColumn.TURNS, t -> turns[0] += t);
+            assertEquals(stats.turns(), turns[0]);
+
+            long[] winners = { 0 };
+            r.scan(SimulationColumn.WINNER, w -> { if (w >= 0) winners[0]++; });
+            assertEquals(stats.finishedGames(), winners[0]);
+
+            long[] balances = { 0 };
+            r.scan(SimulationColumn.BALANCES, b -> balances[0]++);
+            assertEquals(stats.turns() * players, balances[0]);
+        }
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void corruptedColumnShouldBeRejectedOnlyWhenScanned() throws IOException {
+        try (SimulationResultWriter w = SimulationResultWriter.create(file, 2, false)) {
+            for (int g = 0; g < 100; g++) w.append(g, g * 31L, g % 2, 40 + g, 1, null);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x01; // último byte: coluna BANKRUPTCIES
+        Files.write(file, bytes);
+
+        try (SimulationResultReader r = SimulationResultReader.open(file)) {
+            long[] sum = { 0 };
+            r.scan(SimulationColumn.TURNS, t -> sum[0] += t);
+            assertEquals(100 * 40 + 99 * 100 / 2, sum[0]);
+            try {
+                r.scan(SimulationColumn.BANKRUPTCIES, b -> { });
+                fail("CRC");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("CRC"));
+            }
+        }
+    }
+}
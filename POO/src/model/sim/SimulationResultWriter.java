@@ -0,0 +1,179 @@
+/* ===========================================================
+ * SimulationResultWriter ; grava os resultados de um lote de simulação em
+ * formato colunar comprimido.
+ *
+ * Arquivo:
+ *   cabeçalho: magic "MSIM", versão, jogadores, flags, partidas por bloco
+ *   blocos:    partidas no bloco, (tamanho, CRC32) de cada coluna, e em seguida
+ *              os bytes de cada coluna, na ordem de SimulationColumn
+ * Cada coluna guarda a diferença para o valor anterior da mesma coluna no bloco
+ * (zigzag + varint). Em BALANCES o valor anterior é o do mesmo jogador, no turno
+ * anterior: saldos mudam pouco de um turno para o outro. SEED é a exceção: seeds
+ * não têm estrutura (a diferença ocuparia ~10 bytes), então vão em 8 bytes fixos.
+ * Um leitor que só precisa de uma coluna lê o cabeçalho do bloco e pula as demais.
+ * append() é sincronizado: as tarefas paralelas da simulação gravam no mesmo
+ * arquivo (a coluna GAME diz a que partida do lote cada linha pertence).
+ * =========================================================== */
+
+package model.sim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+public final class SimulationResultWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x4D53494D; // "MSIM"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 4 + 2 + 1 + 1 + 4;
+    static final int FLAG_BALANCES = 1;
+
+    /** Partidas por bloco (uma linha de cada coluna por partida). */
+    public static final int DEFAULT_BLOCK_GAMES = 65_536;
+
+    // Com saldos, o bloco fecha antes se a coluna BALANCES passar deste tamanho
+    static final int MAX_BLOCK_BYTES = 16 << 20;
+
+    private static final int COLUMNS = SimulationColumn.ALL.length;
+    private static final int BALANCES = SimulationColumn.BALANCES.ordinal();
+
+    private final FileChannel channel;
+    private final int players;
+    private final boolean recordBalances;
+    private final int blockGames;
+    private final ColumnBuffer[] columns = new ColumnBuffer[COLUMNS];
+    private final long[] previous = new long[COLUMNS];
+    private final int[] previousBalance;
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(4 + COLUMNS * 8);
+    private final CRC32 crc = new CRC32();
+    private int gamesInBlock;
+    private long games;
+    private boolean closed;
+
+    private SimulationResultWriter(final FileChannel channel, final int players,
+                                   final boolean recordBalances, final int blockGames) {
+        this.channel = channel;
+        this.players = players;
+        this.recordBalances = recordBalances;
+        this.blockGames = blockGames;
+        this.previousBalance = new int[players];
+        for (int c = 0; c < COLUMNS; c++) columns[c] = new ColumnBuffer();
+    }
+
+    /**
+     * Cria (ou sobrescreve) o arquivo de resultados.
+     * @param recordBalances se false, a coluna BALANCES fica vazia (arquivo bem menor)
+     */
+    public static SimulationResultWriter create(final Path file, final int players,
+                                                final boolean recordBalances) throws IOException {
+        return create(file, players, recordBalances, DEFAULT_BLOCK_GAMES);
+    }
+
+    static SimulationResultWriter create(final Path file, final int players, final boolean recordBalances,
+                                         final int blockGames) throws IOException {
+        Objects.requireNonNull(file, "file");
+        if (players < 1 || players > 127) throw new IllegalArgumentException("Quantidade de jogadores inválida.");
+        if (blockGames <= 0) throw new IllegalArgumentException("blockGames deve ser positivo");
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                     StandardOpenOption.TRUNCATE_EXISTING);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putShort(VERSION).put((byte) players)
+              .put((byte) (recordBalances ? FLAG_BALANCES : 0)).putInt(blockGames).flip();
+        try {
+            writeFully(channel, header);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new SimulationResultWriter(channel, players, recordBalances, blockGames);
+    }
+
+    public int players() { return players; }
+    public boolean recordsBalances() { return recordBalances; }
+
+    /** Partidas gravadas até agora (inclui o bloco ainda em memória). */
+    public synchronized long games() { return games; }
+
+    /**
+     * Acrescenta uma partida.
+     * @param winner   índice do vencedor, ou -1
+     * @param balances saldos ao fim de cada turno: turns * players valores, turno a turno
+     *                 (ignorados se o arquivo não grava saldos; pode ser null nesse caso)
+     */
+    public synchronized void append(final long game, final long seed, final int winner, final int turns,
+                                    final int bankruptcies, final int[] balances) throws IOException {
+        if (closed) throw new IllegalStateException("Arquivo de resultados já fechado.");
+        if (turns < 0 || bankruptcies < 0 || winner < -1 || winner >= players)
+            throw new IllegalArgumentException("Resultado de partida inválido.");
+        if (recordBalances && (balances == null ? 0 : balances.length) < (long) turns * players)
+            throw new IllegalArgumentException("Saldos insuficientes para " + turns + " turnos.");
+
+        put(SimulationColumn.GAME, game);
+        columns[SimulationColumn.SEED.ordinal()].putLong(seed);
+        put(SimulationColumn.WINNER, winner);
+        put(SimulationColumn.TURNS, turns);
+        put(SimulationColumn.BANKRUPTCIES, bankruptcies);
+        if (recordBalances) {
+            final ColumnBuffer out = columns[BALANCES];
+            final int n = turns * players;
+            for (int i = 0, p = 0; i < n; i++) {
+                out.putVarLong((long) balances[i] - previousBalance[p]);
+                previousBalance[p] = balances[i];
+                if (++p == players) p = 0;
+            }
+        }
+
+        games++;
+        if (++gamesInBlock == blockGames || columns[BALANCES].size() >= MAX_BLOCK_BYTES) flushBlock();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            if (gamesInBlock > 0) flushBlock();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ===== Internos =====
+
+    private void put(final SimulationColumn column, final long value) {
+        final int c = column.ordinal();
+        columns[c].putVarLong(value - previous[c]);
+        previous[c] = value;
+    }
+
+    private void flushBlock() throws IOException {
+        blockHeader.clear();
+        blockHeader.putInt(gamesInBlock);
+        for (ColumnBuffer col : columns) {
+            crc.reset();
+            crc.update(col.array(), 0, col.size());
+            blockHeader.putInt(col.size()).putInt((int) crc.getValue());
+        }
+        blockHeader.flip();
+        writeFully(channel, blockHeader);
+        for (ColumnBuffer col : columns) {
+            writeFully(channel, ByteBuffer.wrap(col.array(), 0, col.size()));
+            col.clear();
+        }
+        // Cada bloco decodifica sozinho
+        Arrays.fill(previous, 0);
+        Arrays.fill(previousBalance, 0);
+        gamesInBlock = 0;
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) channel.write(buf);
+    }
+}
@@ -0,0 +1,122 @@
+/* ===========================================================
+ * SimulationRunner ; ponto de entrada headless para simulação em massa.
+ * Joga partidas independentes em um ForkJoinPool (work-stealing) usando
+ * apenas o Model, e reporta partidas/s e turnos/s.
+ * Opcionalmente grava o resultado de cada partida em formato colunar
+ * (SimulationResultWriter) para análise posterior, e/ou arquivar as
+ * partidas (GameArchiveWriter) para o ReplayVerifier.
+ * =========================================================== */
+
+package model.sim;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import model.GameAPI.EngineKind;
+import model.GameAPI.LiquidationPolicy;
+
+public final class SimulationRunner {
+
+    // Configurações padrão (mesmas do GameController)
+    private static final int INITIAL_PLAYER_MONEY = 4000;
+    private static final int INITIAL_BANK_CASH = 200000;
+    private static final String BOARD_CSV = "assets/dados/board.csv";
+    private static final String DECK_CSV = "assets/dados/deck.csv";
+    private static final int DEFAULT_MAX_TURNS = 1000;
+
+    private SimulationRunner() {}
+
+    /**
+     * Executa o lote de partidas descrito em config e retorna o agregado.
+     */
+    public static SimulationStats run(final SimulationConfig config) {
+        return run(config, null);
+    }
+
+    /**
+     * Igual a run(config), gravando cada partida em results (se não for null).
+     * O writer não é fechado aqui.
+     */
+    public static SimulationStats run(final SimulationConfig config, final SimulationResultWriter results) {
+        return run(config, results, null);
+    }
+
+    /**
+     * Igual a run(config, results), arquivando também cada partida em archive
+     * (se não for null), criado com GameArchiveHeader.of(config).
+     * Nenhum dos writers é fechado aqui.
+     */
+    public static SimulationStats run(final SimulationConfig config, final SimulationResultWriter results,
+                                      final GameArchiveWriter archive) {
+        if (config.games() == 0) return SimulationStats.empty();
+        if (results != null && results.players() != config.players())
+            throw new IllegalArgumentException("Arquivo de resultados com quantidade de jogadores diferente.");
+
+        final ForkJoinPool pool = new ForkJoinPool(config.parallelism());
+        try {
+            final SplittableRandom master = new SplittableRandom(config.seed());
+            return pool.invoke(new SimulationTask(config, 0, config.games(), master, results, archive));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Uso: SimulationRunner [partidas] [jogadores] [threads] [maxTurnos] [seed] [object|compact]
+     *                        [arquivo de resultados] [saldos: true|false] [arquivo de partidas]
+     *                        [liquidação: min_value|acquisition_order]
+     *                        [partida decidida: % do patrimônio com o líder, 0 = desligado]
+     * Use "-" como arquivo de resultados para só arquivar as partidas, ou como
+     * arquivo de partidas para só escolher a liquidação.
+     */
+    public static void main(final String[] args) throws IOException {
+        final long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+        final int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        final int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        final int maxTurns = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_TURNS;
+        final long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        final EngineKind engine = args.length > 5
+            ? EngineKind.valueOf(args[5].toUpperCase(Locale.ROOT))
+            : EngineKind.OBJECT;
+        final LiquidationPolicy liquidation = args.length > 9
+            ? LiquidationPolicy.valueOf(args[9].toUpperCase(Locale.ROOT))
+            : LiquidationPolicy.MIN_VALUE;
+        final int decidedShare = args.length > 10 ? Integer.parseInt(args[10]) : 0;
+
+        final SimulationConfig config = new SimulationConfig(
+            games, players,
+            Paths.get(BOARD_CSV), Paths.get(DECK_CSV),
+            INITIAL_PLAYER_MONEY, INITIAL_BANK_CASH,
+            maxTurns, threads, seed, engine, liquidation, decidedShare
+        );
+
+        final SimulationResultWriter results = args.length > 6 && !args[6].equals("-")
+            ? SimulationResultWriter.create(Paths.get(args[6]), players, args.length > 7 && Boolean.parseBoolean(args[7]))
+            : null;
+        final GameArchiveWriter archive = args.length > 8 && !args[8].equals("-")
+            ? GameArchiveWriter.create(Paths.get(args[8]), GameArchiveHeader.of(config))
+            : null;
+
+        final long start = System.nanoTime();
+        final SimulationStats stats;
+        try {
+            stats = run(config, results, archive);
+        } finally {
+            if (results != null) results.close();
+            if (archive != null) archive.close();
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Partidas: " + stats.games()
+            + " (finalizadas: " + stats.finishedGames() + ")"
+            + " | turnos: " + stats.turns()
+            + " | threads: " + threads
+            + " | seed: " + seed
+            + " | engine: " + engine);
+        System.out.printf("Tempo: %.3f s | partidas/s: %.1f | turnos/s: %.1f%n",
+            seconds, stats.games() / seconds, stats.turns() / seconds);
+    }
+}
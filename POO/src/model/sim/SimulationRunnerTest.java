@@ -0,0 +1,104 @@
+package model.sim;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameAPI.EngineKind;
+
+public class SimulationRunnerTest {
+
+    private static final int SIMULATION_TIMEOUT = 20000;
+
+    private static final Path BOARD_CSV = Paths.get("assets", "dados", "board.csv");
+    private static final Path DECK_CSV = Paths.get("assets", "dados", "deck.csv");
+
+    private static final int GAMES = 48;
+    private static final int PLAYERS = 3;
+
+    private final List<Path> files = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        files.clear();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path p : files) Files.deleteIfExists(p);
+    }
+
+    private static SimulationConfig config(EngineKind engine, int parallelism) {
+        return new SimulationConfig(GAMES, PLAYERS, BOARD_CSV, DECK_CSV, 1500, 200_000, 300,
+                                    parallelism, 42L, engine);
+    }
+
+    /* Partida -> [seed, vencedor, turnos, falidos, saldos...], independente da ordem de gravação. */
+    private Map<Long, List<Long>> run(SimulationConfig config, SimulationStats[] stats) throws IOException {
+        Path file = Files.createTempFile("sim-runner", ".msim");
+        files.add(file);
+        try (SimulationResultWriter w = SimulationResultWriter.create(file, PLAYERS, true)) {
+            stats[0] = SimulationRunner.run(config, w);
+        }
+
+        try (SimulationResultReader r = SimulationResultReader.open(file)) {
+            List<Long> game = scan(r, SimulationColumn.GAME);
+            List<Long> seed = scan(r, SimulationColumn.SEED);
+            List<Long> winner = scan(r, SimulationColumn.WINNER);
+            List<Long> turns = scan(r, SimulationColumn.TURNS);
+            List<Long> bankrupt = scan(r, SimulationColumn.BANKRUPTCIES);
+            List<Long> balances = scan(r, SimulationColumn.BALANCES);
+
+            Map<Long, List<Long>> games = new TreeMap<>();
+            int at = 0;
+            for (int row = 0; row < game.size(); row++) {
+                List<Long> result = new ArrayList<>(Arrays.asList(seed.get(row), winner.get(row),
+                                                                  turns.get(row), bankrupt.get(row)));
+                int n = (int) (turns.get(row) * PLAYERS);
+                result.addAll(balances.subList(at, at + n));
+                at += n;
+                assertNull("partida repetida: " + game.get(row), games.put(game.get(row), result));
+            }
+            assertEquals(balances.size(), at);
+            return games;
+        }
+    }
+
+    private static List<Long> scan(SimulationResultReader reader, SimulationColumn column) throws IOException {
+        List<Long> values = new ArrayList<>();
+        reader.scan(column, values::add);
+        return values;
+    }
+
+    private void assertSameBatch(EngineKind engine) throws IOException {
+        SimulationStats[] single = new SimulationStats[1];
+        SimulationStats[] parallel = new SimulationStats[1];
+        Map<Long, List<Long>> one = run(config(engine, 1), single);
+        Map<Long, List<Long>> many = run(config(engine, 4), parallel);
+
+        assertEquals(GAMES, one.size());
+        assertEquals(engine + ": partidas", single[0].games(), parallel[0].games());
+        assertEquals(engine + ": turnos", single[0].turns(), parallel[0].turns());
+        assertEquals(engine + ": terminadas", single[0].finishedGames(), parallel[0].finishedGames());
+        for (Map.Entry<Long, List<Long>> e : one.entrySet()) {
+            assertEquals(engine + " partida " + e.getKey(), e.getValue(), many.get(e.getKey()));
+        }
+    }
+
+    @Test(timeout = SIMULATION_TIMEOUT)
+    public void seededBatchShouldNotDependOnTheNumberOfThreads() throws IOException {
+        for (EngineKind engine : EngineKind.values()) assertSameBatch(engine);
+    }
+}
@@ -0,0 +1,43 @@
+/* ===========================================================
+ * SimulationStats ; agregado imutável dos resultados de um lote de partidas.
+ * =========================================================== */
+
+package model.sim;
+
+public final class SimulationStats {
+
+    private final long games;
+    private final long turns;
+    private final long finishedGames; // partidas com um único sobrevivente ou decididas pelo patrimônio
+
+    public SimulationStats(final long games, final long turns, final long finishedGames) {
+        if (games < 0 || turns < 0 || finishedGames < 0)
+            throw new IllegalArgumentException("Contadores devem ser >= 0");
+        this.games = games;
+        this.turns = turns;
+        this.finishedGames = finishedGames;
+    }
+
+    /** Agregado vazio (elemento neutro de combine). */
+    public static SimulationStats empty() {
+        return new SimulationStats(0, 0, 0);
+    }
+
+    /** Soma dois agregados (usado na junção das tarefas paralelas). */
+    public SimulationStats combine(final SimulationStats other) {
+        return new SimulationStats(
+            games + other.games,
+            turns + other.turns,
+            finishedGames + other.finishedGames
+        );
+    }
+
+    public long games() { return games; }
+    public long turns() { return turns; }
+    public long finishedGames() { return finishedGames; }
+
+    @Override
+    public String toString() {
+        return "SimulationStats{games=%d, turns=%d, finished=%d}".formatted(games, turns, finishedGames);
+    }
+}
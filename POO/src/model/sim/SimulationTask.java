@@ -0,0 +1,218 @@
+/* ===========================================================
+ * SimulationTask ; tarefa fork/join que joga um intervalo de partidas.
+ * Divide o intervalo ao meio até o limiar e joga cada partida sequencialmente
+ * através da GameAPI (sem Controller/View carregados).
+ * A aleatoriedade é dividida (split) no momento do fork, antes de qualquer
+ * escalonamento, então o resultado depende só da seed mestre.
+ * Com config.decidedShare() > 0, a partida acaba quando o líder da
+ * classificação por patrimônio (mantida pela GameAPI) já tem essa fatia
+ * do patrimônio dos vivos; o vencedor registrado é o líder.
+ * Se houver um SimulationResultWriter, cada partida vira uma linha dele;
+ * se houver um GameArchiveWriter, a partida é arquivada (seed, ações e hash
+ * do estado a cada turno) para o ReplayVerifier.
+ * =========================================================== */
+
+package model.sim;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+
+import model.GameAPI;
+import model.GameAPI.PlayerSpec;
+import model.GameAPI.PlayersConfig;
+import model.api.dto.PlayerColor;
+
+final class SimulationTask extends RecursiveTask<SimulationStats> {
+
+    private static final long serialVersionUID = 1L;
+
+    // Quantidade de partidas abaixo da qual a tarefa não se divide mais
+    private static final int SPLIT_THRESHOLD = 16;
+
+    private final SimulationConfig config;
+    private final long from;
+    private final long to;
+    private final SplittableRandom rng;
+    private final SimulationResultWriter results; // pode ser null
+    private final GameArchiveWriter archive;      // pode ser null
+
+    // Saldos ao fim de cada turno da partida atual (só com results gravando saldos)
+    private int[] balances;
+
+    // Ações e impressões digitais da partida atual (só com archive)
+    private int[] actions;
+    private int actionCount;
+    private long[] fingerprints;
+
+    SimulationTask(final SimulationConfig config, final long from, final long to, final SplittableRandom rng,
+                   final SimulationResultWriter results, final GameArchiveWriter archive) {
+        this.config = config;
+        this.from = from;
+        this.to = to;
+        this.rng = rng;
+        this.results = results;
+        this.archive = archive;
+    }
+
+    @Override
+    protected SimulationStats compute() {
+        final long count = to - from;
+        if (count <= SPLIT_THRESHOLD) {
+            return playRange();
+        }
+
+        final long mid = from + count / 2;
+        final SimulationTask left = new SimulationTask(config, from, mid, rng.split(), results, archive);
+        final SimulationTask right = new SimulationTask(config, mid, to, rng, results, archive);
+        left.fork();
+        final SimulationStats rightStats = right.compute();
+        return left.join().combine(rightStats);
+    }
+
+    /* Joga sequencialmente as partidas do intervalo [from, to). */
+    private SimulationStats playRange() {
+        final PlayersConfig players = makePlayersConfig(config.players());
+        long turns = 0;
+        long finished = 0;
+        for (long g = from; g < to; g++) {
+            final int played = playGame(players, g, rng.nextLong());
+            turns += Math.abs(played);
+            if (played > 0) finished++;
+        }
+        return new SimulationStats(to - from, turns, finished);
+    }
+
+    /* ===========================================================
+     * Joga uma partida completa com uma política gulosa:
+     * rola, tenta comprar; se não comprou tenta casa e depois hotel; encerra o turno.
+     * Retorna o número de turnos (negativo se a partida atingiu o limite de turnos
+     * sem sobrar um jogador nem ficar decidida).
+     * =========================================================== */
+    private int playGame(final PlayersConfig players, final long game, final long seed) {
+        final GameAPI api = new GameAPI();
+        api.startGame(players, config.boardCsv(), config.deckCsv(),
+                      config.initialPlayerMoney(), config.initialBankCash(), seed, config.engine(),
+                      config.liquidation());
+        api.setTransactionLogging(false); // ninguém lê o log: turnos sem alocação
+
+        final boolean sampleBalances = results != null && results.recordsBalances();
+        final int n = api.getNumberOfPlayers();
+        if (archive != null) startArchive(api);
+        int turns = 0;
+        boolean decided = false;
+        while (turns < config.maxTurns() && alivePlayers(api) > 1 && !(decided = isDecided(api))) {
+            if (archive == null) {
+                api.rollAndResolve();
+                if (!api.chooseBuy() && !api.chooseBuildHouse()) {
+                    api.chooseBuildHotel();
+                }
+                api.endTurn();
+            } else {
+                playArchivedTurn(api, turns);
+            }
+            if (sampleBalances) sampleBalances(api, turns, n);
+            turns++;
+        }
+
+        final int alive = alivePlayers(api);
+        if (results != null) record(api, game, seed, turns, alive, decided, n);
+        if (archive != null) archive(game, seed, turns);
+        return alive <= 1 || decided ? turns : -turns;
+    }
+
+    /* Líder com ao menos decidedShare% do patrimônio dos vivos (leituras O(1)). */
+    private boolean isDecided(final GameAPI api) {
+        final int share = config.decidedShare();
+        if (share == 0) return false;
+        final long total = api.getAliveNetWorth();
+        return total > 0 && api.getPlayerNetWorth(api.getPlayerAtStanding(0)) * 100L >= share * total;
+    }
+
+    /* Saldo de cada jogador ao fim do turno (o mesmo de Transaction.*BalanceAfter). */
+    private void sampleBalances(final GameAPI api, final int turn, final int n) {
+        final int at = turn * n;
+        if (balances == null) balances = new int[Math.max(64, n * 64)];
+        if (at + n > balances.length) balances = Arrays.copyOf(balances, Math.max(at + n, balances.length * 2));
+        for (int i = 0; i < n; i++) balances[at + i] = api.getPlayerMoney(i);
+    }
+
+    /* O mesmo turno guloso, anotando cada ação tentada e o hash ao fim. */
+    private void playArchivedTurn(final GameAPI api, final int turn) {
+        api.rollAndResolve();
+        addAction(GameRecord.ROLL);
+        final boolean bought = api.chooseBuy();
+        addAction(GameRecord.BUY);
+        if (!bought) {
+            final boolean built = api.chooseBuildHouse();
+            addAction(GameRecord.BUILD_HOUSE);
+            if (!built) {
+                api.chooseBuildHotel();
+                addAction(GameRecord.BUILD_HOTEL);
+            }
+        }
+        api.endTurn();
+        addAction(GameRecord.END_TURN);
+        if (turn + 1 == fingerprints.length) fingerprints = Arrays.copyOf(fingerprints, fingerprints.length * 2);
+        fingerprints[turn + 1] = api.getStateHash();
+    }
+
+    private void startArchive(final GameAPI api) {
+        if (actions == null) {
+            actions = new int[256];
+            fingerprints = new long[64];
+        }
+        actionCount = 0;
+        fingerprints[0] = api.getStateHash();
+    }
+
+    private void addAction(final int type) {
+        if (actionCount == actions.length) actions = Arrays.copyOf(actions, actionCount * 2);
+        actions[actionCount++] = GameRecord.action(type);
+    }
+
+    private void archive(final long game, final long seed, final int turns) {
+        try {
+            archive.append(game, seed, actions, actionCount, fingerprints, turns + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao arquivar partida: " + e.getMessage(), e);
+        }
+    }
+
+    private void record(final GameAPI api, final long game, final long seed,
+                        final int turns, final int alive, final boolean decided, final int n) {
+        int winner = decided ? api.getPlayerAtStanding(0) : -1;
+        if (alive == 1) {
+            for (int i = 0; i < n; i++) {
+                if (api.isPlayerAlive(i)) winner = i;
+            }
+        }
+        try {
+            results.append(game, seed, winner, turns, n - alive, balances);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar resultados: " + e.getMessage(), e);
+        }
+    }
+
+    private static int alivePlayers(final GameAPI api) {
+        int alive = 0;
+        final int n = api.getNumberOfPlayers();
+        for (int i = 0; i < n; i++) {
+            if (api.isPlayerAlive(i)) alive++;
+        }
+        return alive;
+    }
+
+    static PlayersConfig makePlayersConfig(final int count) {
+        final PlayerColor[] colors = PlayerColor.values();
+        final List<PlayerSpec> specs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            specs.add(new PlayerSpec("P" + (i + 1), "Player " + (i + 1), colors[i]));
+        }
+        return new PlayersConfig(specs);
+    }
+}
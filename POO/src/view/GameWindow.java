@@ -38,6 +38,7 @@ public class GameWindow extends JFrame implements GameObserver {
     private JLabel currentPlayerLabel;
     private JLabel diceLabel;
     private JLabel moneyLabel;
+    private JLabel[] standingLabels;  // classificação por patrimônio (uma linha por posição)
     private boolean logVisible = true;  // Estado do log
     
     // Campos para mock de dados (teste)
@@ -77,6 +78,12 @@ public class GameWindow extends JFrame implements GameObserver {
             public void windowClosing(WindowEvent e) {
                 showFinalWindow();
             }
+
+            // Descartada por qualquer caminho: a partida acabou
+            @Override
+            public void windowClosed(WindowEvent e) {
+                controller.endGame();
+            }
         });
     }
     
@@ -133,6 +140,9 @@ public class GameWindow extends JFrame implements GameObserver {
 
 
         
+        // Classificação ao vivo por patrimônio
+        JPanel standingsPanel = createStandingsPanel();
+
         // Painel de Mock de Dados (para testes)
         JPanel diceTestPanel = createDiceTestPanel();
         
@@ -240,7 +250,9 @@ public class GameWindow extends JFrame implements GameObserver {
         bottomPanel = createLogPanel();
         
         panel.add(infoPanel);
-        panel.add(Box.createVerticalStrut(20));
+        panel.add(Box.createVerticalStrut(10));
+        panel.add(standingsPanel);
+        panel.add(Box.createVerticalStrut(10));
         panel.add(diceTestPanel);
         panel.add(Box.createVerticalStrut(20));
         panel.add(buttonPanel);
@@ -300,6 +312,52 @@ public class GameWindow extends JFrame implements GameObserver {
         return dicePanel;
     }
     
+    /**
+     * Cria o painel de classificação (patrimônio = saldo + recompra dos títulos).
+     * As linhas são preenchidas por refreshStandings() a cada mudança.
+     */
+    private JPanel createStandingsPanel() {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBackground(Color.WHITE);
+        panel.setBorder(BorderFactory.createTitledBorder("Standings"));
+        panel.setPreferredSize(new Dimension(230, 120));
+        panel.setMaximumSize(new Dimension(230, 120));
+
+        standingLabels = new JLabel[PlayerColor.values().length];
+        for (int r = 0; r < standingLabels.length; r++) {
+            standingLabels[r] = new JLabel(" ");
+            standingLabels[r].setFont(new Font("Arial", Font.PLAIN, 12));
+            standingLabels[r].setAlignmentX(Component.LEFT_ALIGNMENT);
+            standingLabels[r].setVisible(false);
+            panel.add(standingLabels[r]);
+        }
+        return panel;
+    }
+
+    /**
+     * Atualiza a classificação (leituras O(1) por linha; o Model mantém a ordem).
+     */
+    private void refreshStandings() {
+        if (standingLabels == null) return;
+        int n = controller.getNumberOfPlayers();
+        for (int r = 0; r < standingLabels.length; r++) {
+            JLabel label = standingLabels[r];
+            if (r >= n) {
+                label.setVisible(false);
+                continue;
+            }
+            int player = controller.getPlayerAtStanding(r);
+            String worth = controller.isPlayerAlive(player)
+                    ? "$" + controller.getPlayerNetWorth(player)
+                    : "BANKRUPT";
+            label.setText((r + 1) + ". " + controller.getPlayerName(player) + "  " + worth);
+            Color c = PlayerColorAwt.toColor(controller.getPlayerColor(player));
+            label.setForeground(c != null ? c : Color.BLACK);
+            label.setVisible(true);
+        }
+    }
+
     /**
      * Cria o painel de log de eventos.
      */
@@ -373,6 +431,7 @@ public class GameWindow extends JFrame implements GameObserver {
             moneyLabel.setText("Money: $" + money);
             moneyLabel.setForeground(Color.BLACK);
         }
+        refreshStandings();
     }
 
     // ========== Implementação de GameObserver ==========
@@ -388,6 +447,7 @@ public class GameWindow extends JFrame implements GameObserver {
             Color c = PlayerColorAwt.toColor(playerColor);
             if (c != null) currentPlayerLabel.setForeground(c);
         }
+        refreshStandings();
     }
 
     @Override
@@ -460,6 +520,7 @@ public class GameWindow extends JFrame implements GameObserver {
 
     @Override
     public void onTransactionsUpdated(java.util.List<model.api.dto.Transaction> transactions) {
+        refreshStandings();
         if (transactions == null || transactions.isEmpty()) {
             boardPanel.setTransaction(null, null);
             return;
@@ -481,11 +542,13 @@ public class GameWindow extends JFrame implements GameObserver {
 
         // Indica ao board para não renderizar mais este jogador
         boardPanel.setPlayerAlive(playerIndex, false);
+        refreshStandings();
     }
     
     /** Mostra a janela final com os vencedores e encerra a janela principal. */
     private void showFinalWindow() {
         java.util.List<model.api.dto.PlayerRef> winners = controller.getWinners();
+        controller.endGame();
         FinalWindow fw = new FinalWindow(winners);
         fw.setLocationRelativeTo(this);
         fw.setVisible(true);
@@ -6,11 +6,14 @@
 package view;
 
 import controller.GameController;
+import controller.ReplayController;
 
+import java.nio.file.Paths;
 import javax.swing.*;
 
 /**
  * Classe principal que inicia a aplicação Monopoly.
+ * Com "--replay <arquivo>" abre a reprodução de uma partida gravada.
  */
 public class Main {
     
@@ -26,6 +29,18 @@ public class Main {
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
+                if (args.length == 2 && args[0].equals("--replay")) {
+                    openReplay(args[1]);
+                    return;
+                }
+
+                // Edições em board.csv/deck.csv valem para as próximas partidas
+                try {
+                    GameController.enableDefinitionHotReload();
+                } catch (Exception e) {
+                    System.err.println("Hot reload disabled: " + e.getMessage());
+                }
+
                 // Cria o controller
                 GameController controller = new GameController();
 
@@ -35,4 +50,15 @@ public class Main {
             }
         });
     }
+
+    /** Abre a janela de reprodução para um log de turnos gravado. */
+    private static void openReplay(String file) {
+        try {
+            ReplayController replay = new ReplayController(Paths.get(file));
+            new ReplayWindow(replay, replay.getPlayerCount()).setVisible(true);
+        } catch (Exception e) {
+            System.err.println("Error opening replay: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 }
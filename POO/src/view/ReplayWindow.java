@@ -0,0 +1,259 @@
+/* ===========================================================
+ * ReplayWindow ; janela de reprodução de partidas gravadas.
+ * Reaproveita o BoardPanel e recebe os eventos do ReplayController
+ * (mesma interface GameObserver da partida ao vivo).
+ * =========================================================== */
+
+package view;
+
+import controller.GameObserver;
+import controller.ReplayController;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import javax.swing.*;
+import model.api.dto.OwnableInfo;
+import model.api.dto.Ownables;
+import model.api.dto.PlayerColor;
+import view.ui.PlayerColorAwt;
+
+/**
+ * Janela somente leitura: tabuleiro + controles de reprodução (velocidade,
+ * passo a passo, busca de turno e saltos).
+ */
+public class ReplayWindow extends JFrame implements GameObserver {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int WINDOW_WIDTH = 1280;
+    private static final int WINDOW_HEIGHT = 800;
+    private static final int SKIP_TURNS = 10;
+
+    private final ReplayController replay;
+    private final int numberOfPlayers;
+    private BoardPanel boardPanel;
+    private JTextArea logArea;
+    private JLabel currentPlayerLabel;
+    private JLabel diceLabel;
+    private JLabel moneyLabel;
+    private JLabel turnLabel;
+    private JTextField seekField;
+
+    public ReplayWindow(ReplayController replay, int numberOfPlayers) {
+        this.replay = replay;
+        this.numberOfPlayers = numberOfPlayers;
+        initializeUI();
+        replay.addObserver(this);
+        replay.start();
+    }
+
+    private void initializeUI() {
+        setTitle("Monopoly Replay");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setSize(WINDOW_WIDTH, WINDOW_HEIGHT);
+        setLocationRelativeTo(null);
+        setResizable(false);
+        setLayout(new BorderLayout(10, 10));
+
+        boardPanel = new BoardPanel();
+        boardPanel.setNumberOfPlayers(numberOfPlayers);
+        add(boardPanel, BorderLayout.CENTER);
+        add(createSidePanel(), BorderLayout.EAST);
+
+        // O Timer da reprodução não morre com a janela: para ao descartá-la
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                replay.pause();
+            }
+        });
+    }
+
+    private JPanel createSidePanel() {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setPreferredSize(new Dimension(250, WINDOW_HEIGHT));
+        panel.setBackground(new Color(245, 245, 245));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        // Informações do turno
+        JPanel infoPanel = new JPanel();
+        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+        infoPanel.setBackground(Color.WHITE);
+        infoPanel.setBorder(BorderFactory.createTitledBorder("Current Turn"));
+        infoPanel.setMaximumSize(new Dimension(230, 130));
+
+        currentPlayerLabel = createLabel("-", Font.BOLD, 16);
+        diceLabel = createLabel("Dice: -", Font.PLAIN, 14);
+        moneyLabel = createLabel("Money: -", Font.PLAIN, 14);
+        turnLabel = createLabel("Turn: 0 / " + replay.getTurnCount(), Font.PLAIN, 12);
+        infoPanel.add(Box.createVerticalStrut(8));
+        infoPanel.add(currentPlayerLabel);
+        infoPanel.add(Box.createVerticalStrut(8));
+        infoPanel.add(diceLabel);
+        infoPanel.add(Box.createVerticalStrut(6));
+        infoPanel.add(moneyLabel);
+        infoPanel.add(Box.createVerticalStrut(6));
+        infoPanel.add(turnLabel);
+
+        // Controles de reprodução
+        JPanel controls = new JPanel(new GridLayout(0, 2, 6, 6));
+        controls.setBorder(BorderFactory.createTitledBorder("Replay"));
+        controls.setMaximumSize(new Dimension(230, 190));
+        controls.add(createButton("1x", () -> replay.setSpeed(ReplayController.Speed.X1)));
+        controls.add(createButton("10x", () -> replay.setSpeed(ReplayController.Speed.X10)));
+        controls.add(createButton("Max", () -> replay.setSpeed(ReplayController.Speed.MAX)));
+        controls.add(createButton("Pause", replay::pause));
+        controls.add(createButton("Step", replay::step));
+        controls.add(createButton("Step Turn", replay::stepTurn));
+        controls.add(createButton("-" + SKIP_TURNS, () -> jump(() -> replay.skip(-SKIP_TURNS))));
+        controls.add(createButton("+" + SKIP_TURNS, () -> jump(() -> replay.skip(SKIP_TURNS))));
+
+        seekField = new JTextField(5);
+        controls.add(seekField);
+        controls.add(createButton("Go to turn", this::seekToField));
+
+        // Log de eventos
+        JPanel logPanel = new JPanel(new BorderLayout());
+        logPanel.setBorder(BorderFactory.createTitledBorder("Event Log"));
+        logArea = new JTextArea();
+        logArea.setEditable(false);
+        logArea.setFont(new Font("Monospaced", Font.PLAIN, 10));
+        logArea.setLineWrap(true);
+        JScrollPane scroll = new JScrollPane(logArea);
+        scroll.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+        logPanel.add(scroll, BorderLayout.CENTER);
+
+        panel.add(infoPanel);
+        panel.add(Box.createVerticalStrut(15));
+        panel.add(controls);
+        panel.add(Box.createVerticalStrut(15));
+        panel.add(logPanel);
+        return panel;
+    }
+
+    private JLabel createLabel(String text, int style, int size) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Arial", style, size));
+        label.setAlignmentX(Component.CENTER_ALIGNMENT);
+        return label;
+    }
+
+    private JButton createButton(String text, Runnable action) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, 11));
+        button.setFocusPainted(false);
+        button.addActionListener(e -> {
+            action.run();
+            updateTurnLabel();
+        });
+        return button;
+    }
+
+    /** Busca/salto: redesenha o tabuleiro do zero (jogadores falidos podem voltar). */
+    private void jump(Runnable move) {
+        boardPanel.setNumberOfPlayers(numberOfPlayers);
+        boardPanel.setCard(-1);
+        boardPanel.setPropertyInfo(null, null);
+        move.run();
+    }
+
+    private void seekToField() {
+        try {
+            final int turn = Integer.parseInt(seekField.getText().trim());
+            jump(() -> replay.seek(Math.max(0, Math.min(replay.getTurnCount(), turn))));
+        } catch (NumberFormatException e) {
+            addToLog("Invalid turn: " + seekField.getText());
+        }
+    }
+
+    private void updateTurnLabel() {
+        turnLabel.setText("Turn: " + replay.getTurn() + " / " + replay.getTurnCount());
+    }
+
+    private void addToLog(String message) {
+        logArea.append(message + "\n");
+        logArea.setCaretPosition(logArea.getDocument().getLength());
+    }
+
+    // ========== Implementação de GameObserver ==========
+
+    @Override
+    public void onTurnStarted(int playerIndex, String playerName, PlayerColor playerColor, int playerMoney) {
+        currentPlayerLabel.setText(playerName);
+        diceLabel.setText("Dice: -");
+        moneyLabel.setText("Money: $" + playerMoney);
+        Color c = PlayerColorAwt.toColor(playerColor);
+        if (c != null) currentPlayerLabel.setForeground(c);
+        updateTurnLabel();
+    }
+
+    @Override
+    public void onDiceRolled(int dice1, int dice2, boolean isDouble) {
+        diceLabel.setText("Dice: " + dice1 + " + " + dice2 + (isDouble ? " (DOUBLE!)" : ""));
+        boardPanel.setDiceValues(dice1, dice2);
+    }
+
+    @Override
+    public void onPlayerMoved(int playerIndex, int fromPosition, int toPosition) {
+        boardPanel.movePlayer(playerIndex, toPosition);
+    }
+
+    @Override
+    public void onSquareLanded(int playerIndex, int squareIndex, String squareName, String squareType) {
+    }
+
+    @Override
+    public void onChanceSquareLand(int playerIndex, int cardIndex) {
+        boardPanel.setCard(cardIndex);
+    }
+
+    @Override
+    public void onStreetOwnableLand(int playerIndex, String propertyName, Ownables.Street streetInfo) {
+        boardPanel.setPropertyInfo(propertyName, "street");
+        boardPanel.setStreetInfo(streetInfo);
+    }
+
+    @Override
+    public void onCompanyOwnableLand(int playerIndex, String companyName, Ownables.Company companyInfo) {
+        boardPanel.setPropertyInfo(companyName, "company");
+        boardPanel.setCompanyInfo(companyInfo);
+    }
+
+    @Override
+    public void onStreetOwnableUpdate(int playerIndex, Ownables.Street streetInfo) {
+    }
+
+    @Override
+    public void onCompanyOwnableUpdate(int playerIndex, Ownables.Company companyInfo) {
+    }
+
+    @Override
+    public void onTurnEnded() {
+        boardPanel.setCard(-1);
+        boardPanel.setPropertyInfo(null, null);
+    }
+
+    @Override
+    public void onGameMessage(String message) {
+        addToLog(message);
+    }
+
+    @Override
+    public void onCurrentPlayerPropertyDataUpdated(List<OwnableInfo> items) {
+    }
+
+    @Override
+    public void onPropertySold(int playerIndex) {
+    }
+
+    @Override
+    public void onTransactionsUpdated(List<model.api.dto.Transaction> transactions) {
+    }
+
+    @Override
+    public void onPlayerBankrupt(int playerIndex) {
+        boardPanel.setPlayerAlive(playerIndex, false);
+    }
+}